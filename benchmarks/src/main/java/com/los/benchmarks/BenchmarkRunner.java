@@ -0,0 +1,40 @@
+package com.los.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+
+/**
+ * Entry point of benchmarks.jar. Accepts the usual JMH command line options and defaults
+ * to JSON results, so runs can be kept and compared across releases.
+ *
+ * Default result file: results/jmh-&lt;label&gt;.json, where the label comes from
+ * -Dbenchmarks.label (e.g. the release version) and falls back to "latest".
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+        // Utility class
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine);
+
+        if (!commandLine.getResultFormat().hasValue()) {
+            options.resultFormat(ResultFormatType.JSON);
+        }
+        if (!commandLine.getResult().hasValue()) {
+            String label = System.getProperty("benchmarks.label", "latest");
+            File resultFile = new File("results", "jmh-" + label + ".json");
+            resultFile.getParentFile().mkdirs();
+            options.result(resultFile.getPath());
+        }
+
+        new Runner(options.build()).run();
+    }
+}
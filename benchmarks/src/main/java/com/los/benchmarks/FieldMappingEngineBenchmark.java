@@ -0,0 +1,59 @@
+package com.los.benchmarks;
+
+import com.los.domain.LoanApplication;
+import com.los.mapping.FieldMappingEngine;
+import com.los.mapping.FieldTransformer;
+import com.los.mapping.transformers.FullNameTransformer;
+import com.los.mapping.transformers.UpperCaseTransformer;
+import com.los.repository.ApplicantRepository;
+import com.los.repository.BusinessRepository;
+import io.micrometer.observation.ObservationRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Field mapping of a personal-info submission onto the Applicant entity. Repositories are
+ * in-memory stubs, so this measures the mapping work only (no JPA).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FieldMappingEngineBenchmark {
+
+    private FieldMappingEngine fieldMappingEngine;
+    private Map<String, Object> mappingConfig;
+    private Map<String, Object> formData;
+    private LoanApplication application;
+
+    @Setup
+    public void setUp() {
+        Map<String, FieldTransformer> transformers = Map.of(
+                "fullNameTransformer", new FullNameTransformer(),
+                "upperCaseTransformer", new UpperCaseTransformer());
+        fieldMappingEngine = new FieldMappingEngine(
+                RepositoryStubs.stub(ApplicantRepository.class),
+                RepositoryStubs.stub(BusinessRepository.class),
+                transformers,
+                ObservationRegistry.NOOP);
+        mappingConfig = Fixtures.mappings();
+        formData = Fixtures.validPersonalInfo();
+        application = LoanApplication.builder()
+                .applicationId(1L)
+                .productCode("ENTREPRENEURIAL")
+                .partnerCode("SAMASTA")
+                .status("IN_PROGRESS")
+                .currentScreenId("personal-info")
+                .build();
+    }
+
+    @Benchmark
+    public LoanApplication personalInfoMappings() {
+        fieldMappingEngine.applyMappings(application, formData, mappingConfig);
+        return application;
+    }
+}
@@ -0,0 +1,80 @@
+package com.los.benchmarks;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Benchmark fixtures: the sample config request bodies from SAMPLE_CONFIGS.md
+ * (personal-info screen of the ENTREPRENEURIAL / SAMASTA flow).
+ */
+public final class Fixtures {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private Fixtures() {
+        // Utility class
+    }
+
+    public static Map<String, Object> flowDefinition() {
+        return section("flow-config.json", "flowDefinition");
+    }
+
+    public static Map<String, Object> uiConfig() {
+        return section("screen-config.json", "uiConfig");
+    }
+
+    public static Map<String, Object> validationRules() {
+        return section("validation-config.json", "validationRules");
+    }
+
+    public static Map<String, Object> mappings() {
+        return section("field-mapping-config.json", "mappings");
+    }
+
+    /**
+     * A personal-info submission that passes the sample validation rules.
+     */
+    public static Map<String, Object> validPersonalInfo() {
+        Map<String, Object> formData = new LinkedHashMap<>();
+        formData.put("firstName", "Ravi");
+        formData.put("middleName", "Kumar");
+        formData.put("lastName", "Sharma");
+        formData.put("mobile", "9876543210");
+        formData.put("email", "ravi.sharma@example.com");
+        formData.put("dob", "1990-05-15");
+        formData.put("gender", "MALE");
+        return formData;
+    }
+
+    /**
+     * A personal-info submission that fails several rules (pattern, length, required).
+     */
+    public static Map<String, Object> invalidPersonalInfo() {
+        Map<String, Object> formData = new LinkedHashMap<>();
+        formData.put("firstName", "R4");
+        formData.put("lastName", "S");
+        formData.put("mobile", "12345");
+        formData.put("email", "not-an-email");
+        formData.put("gender", "MALE");
+        return formData;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> section(String resource, String key) {
+        try (InputStream in = Fixtures.class.getResourceAsStream("/fixtures/" + resource)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing fixture: " + resource);
+            }
+            Map<String, Object> body = OBJECT_MAPPER.readValue(in, new TypeReference<Map<String, Object>>() {});
+            return (Map<String, Object>) body.get(key);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read fixture " + resource, e);
+        }
+    }
+}
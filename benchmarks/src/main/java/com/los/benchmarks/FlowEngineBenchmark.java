@@ -0,0 +1,62 @@
+package com.los.benchmarks;
+
+import com.los.flow.FlowEngine;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Next-screen evaluation on the sample flow: a plain "next" and the three branches of the
+ * conditional business-info screen.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FlowEngineBenchmark {
+
+    private FlowEngine flowEngine;
+    private Map<String, Object> personalInfoScreen;
+    private Map<String, Object> businessInfoScreen;
+    private Map<String, Object> retailForm;
+    private Map<String, Object> serviceForm;
+    private Map<String, Object> manufacturingForm;
+    private Map<String, Object> personalInfoForm;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        // evaluateNextScreen does not touch the repositories
+        flowEngine = new FlowEngine(null, null, null, null, null, null, null, null);
+        Map<String, Object> screens = (Map<String, Object>) Fixtures.flowDefinition().get("screens");
+        personalInfoScreen = (Map<String, Object>) screens.get("personal-info");
+        businessInfoScreen = (Map<String, Object>) screens.get("business-info");
+        retailForm = Map.of("businessName", "Sharma Stores", "businessType", "RETAIL");
+        serviceForm = Map.of("businessName", "Sharma Repairs", "businessType", "SERVICE");
+        manufacturingForm = Map.of("businessName", "Sharma Works", "businessType", "MANUFACTURING");
+        personalInfoForm = Fixtures.validPersonalInfo();
+    }
+
+    @Benchmark
+    public String simpleNext() {
+        return flowEngine.evaluateNextScreen(personalInfoScreen, personalInfoForm);
+    }
+
+    @Benchmark
+    public String firstConditionMatches() {
+        return flowEngine.evaluateNextScreen(businessInfoScreen, retailForm);
+    }
+
+    @Benchmark
+    public String secondConditionMatches() {
+        return flowEngine.evaluateNextScreen(businessInfoScreen, serviceForm);
+    }
+
+    @Benchmark
+    public String defaultBranch() {
+        return flowEngine.evaluateNextScreen(businessInfoScreen, manufacturingForm);
+    }
+}
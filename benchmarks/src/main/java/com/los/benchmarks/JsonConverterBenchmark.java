@@ -0,0 +1,49 @@
+package com.los.benchmarks;
+
+import com.los.config.converter.JsonConverter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON column conversion for config payloads: the flow definition and the screen uiConfig,
+ * serialized, parsed and round-tripped as on every config read/write.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonConverterBenchmark {
+
+    @Param({"flowDefinition", "uiConfig"})
+    public String payload;
+
+    private JsonConverter jsonConverter;
+    private Map<String, Object> value;
+    private String column;
+
+    @Setup
+    public void setUp() {
+        jsonConverter = new JsonConverter();
+        value = "flowDefinition".equals(payload) ? Fixtures.flowDefinition() : Fixtures.uiConfig();
+        column = jsonConverter.convertToDatabaseColumn(value);
+    }
+
+    @Benchmark
+    public String serialize() {
+        return jsonConverter.convertToDatabaseColumn(value);
+    }
+
+    @Benchmark
+    public Map<String, Object> parse() {
+        return jsonConverter.convertToEntityAttribute(column);
+    }
+
+    @Benchmark
+    public Map<String, Object> roundTrip() {
+        return jsonConverter.convertToEntityAttribute(jsonConverter.convertToDatabaseColumn(value));
+    }
+}
@@ -0,0 +1,173 @@
+package com.los.benchmarks;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.OutputStreamAppender;
+import ch.qos.logback.core.encoder.Encoder;
+import com.los.domain.LoanApplication;
+import com.los.flow.FlowEngine;
+import com.los.logging.DebugLogSampling;
+import com.los.logging.SampledDebugTurboFilter;
+import com.los.mapping.FieldMappingEngine;
+import com.los.mapping.FieldTransformer;
+import com.los.mapping.transformers.FullNameTransformer;
+import com.los.mapping.transformers.UpperCaseTransformer;
+import com.los.repository.ApplicantRepository;
+import com.los.repository.BusinessRepository;
+import com.los.validation.ValidationEngine;
+import com.los.validation.rules.*;
+import io.micrometer.observation.ObservationRegistry;
+import net.logstash.logback.encoder.LogstashEncoder;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logging cost of the CPU-bound part of a screen submission (validate, evaluate next screen,
+ * apply mappings) under the old and the production logging setup. Output goes to a null
+ * stream, so this measures formatting, encoding and appender overhead, not the console.
+ *
+ * verbose: the pre-prod defaults (com.los at DEBUG, synchronous pattern appender).
+ * production: com.los at INFO, JSON encoder behind an AsyncAppender, sampling turbo filter.
+ * production-sampled: as production, for a request picked by DEBUG sampling.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoggingOverheadBenchmark {
+
+    @Param({"verbose", "production", "production-sampled"})
+    public String logging;
+
+    private ValidationEngine validationEngine;
+    private FlowEngine flowEngine;
+    private FieldMappingEngine fieldMappingEngine;
+    private Map<String, Object> validationRules;
+    private Map<String, Object> mappingConfig;
+    private Map<String, Object> personalInfoScreen;
+    private Map<String, Object> formData;
+    private LoanApplication application;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        configureLogging();
+
+        validationEngine = new ValidationEngine(List.of(
+                new RequiredValidationRule(),
+                new RegexValidationRule(),
+                new MinMaxValidationRule(),
+                new MultiSelectValidationRule(),
+                new PanValidationRule(),
+                new AadhaarValidationRule(),
+                new GstValidationRule()), null, ObservationRegistry.NOOP);
+        flowEngine = new FlowEngine(null, null, null, null, null, null, null, null);
+        Map<String, FieldTransformer> transformers = Map.of(
+                "fullNameTransformer", new FullNameTransformer(),
+                "upperCaseTransformer", new UpperCaseTransformer());
+        fieldMappingEngine = new FieldMappingEngine(
+                RepositoryStubs.stub(ApplicantRepository.class),
+                RepositoryStubs.stub(BusinessRepository.class),
+                transformers,
+                ObservationRegistry.NOOP);
+
+        validationRules = Fixtures.validationRules();
+        mappingConfig = Fixtures.mappings();
+        Map<String, Object> screens = (Map<String, Object>) Fixtures.flowDefinition().get("screens");
+        personalInfoScreen = (Map<String, Object>) screens.get("personal-info");
+        formData = Fixtures.validPersonalInfo();
+        application = LoanApplication.builder()
+                .applicationId(1L)
+                .productCode("ENTREPRENEURIAL")
+                .partnerCode("SAMASTA")
+                .status("IN_PROGRESS")
+                .currentScreenId("personal-info")
+                .build();
+    }
+
+    @Setup(Level.Iteration)
+    public void setUpRequest() {
+        // MDC is per thread: set it on the benchmark thread, as CorrelationIdFilter does per request
+        MDC.put("correlationId", "3f2b9c1e-bench");
+        if ("production-sampled".equals(logging)) {
+            MDC.put(DebugLogSampling.MDC_KEY, "true");
+        } else {
+            MDC.remove(DebugLogSampling.MDC_KEY);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        MDC.clear();
+        ((LoggerContext) LoggerFactory.getILoggerFactory()).stop();
+    }
+
+    @Benchmark
+    public String screenSubmission() {
+        validationEngine.validate(formData, validationRules);
+        String nextScreen = flowEngine.evaluateNextScreen(personalInfoScreen, formData);
+        fieldMappingEngine.applyMappings(application, formData, mappingConfig);
+        return nextScreen;
+    }
+
+    private void configureLogging() {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        context.reset();
+
+        Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.setLevel(ch.qos.logback.classic.Level.INFO);
+
+        if ("verbose".equals(logging)) {
+            PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+            encoder.setContext(context);
+            encoder.setPattern("%d{yyyy-MM-dd HH:mm:ss} [%thread] [%X{correlationId}] %-5level %logger{36} - %msg%n");
+            encoder.start();
+            root.addAppender(nullAppender(context, encoder));
+            context.getLogger("com.los").setLevel(ch.qos.logback.classic.Level.DEBUG);
+            return;
+        }
+
+        SampledDebugTurboFilter turboFilter = new SampledDebugTurboFilter();
+        turboFilter.setContext(context);
+        turboFilter.start();
+        context.addTurboFilter(turboFilter);
+
+        LogstashEncoder encoder = new LogstashEncoder();
+        encoder.setContext(context);
+        encoder.setIncludeCallerData(false);
+        encoder.start();
+
+        AsyncAppender async = new AsyncAppender();
+        async.setContext(context);
+        async.setName("ASYNC_JSON");
+        async.setQueueSize(8192);
+        async.setDiscardingThreshold(0);
+        async.setNeverBlock(true);
+        async.setIncludeCallerData(false);
+        async.addAppender(nullAppender(context, encoder));
+        async.start();
+        root.addAppender(async);
+        context.getLogger("com.los").setLevel(ch.qos.logback.classic.Level.INFO);
+    }
+
+    private static OutputStreamAppender<ILoggingEvent> nullAppender(LoggerContext context, Encoder<ILoggingEvent> encoder) {
+        OutputStreamAppender<ILoggingEvent> appender = new OutputStreamAppender<>();
+        appender.setContext(context);
+        appender.setName("NULL");
+        appender.setEncoder(encoder);
+        appender.setOutputStream(OutputStream.nullOutputStream());
+        appender.start();
+        return appender;
+    }
+}
@@ -0,0 +1,47 @@
+package com.los.benchmarks;
+
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * In-memory stand-ins for Spring Data repositories, so the engines can be benchmarked
+ * without a database. Finders return nothing and save returns its argument.
+ */
+public final class RepositoryStubs {
+
+    private RepositoryStubs() {
+        // Utility class
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> T stub(Class<T> repositoryType) {
+        return (T) Proxy.newProxyInstance(
+                repositoryType.getClassLoader(),
+                new Class<?>[]{repositoryType},
+                (proxy, method, args) -> {
+                    String name = method.getName();
+                    if (name.equals("save") || name.equals("saveAndFlush")) {
+                        return args[0];
+                    }
+                    if (name.equals("toString")) {
+                        return "stub " + repositoryType.getSimpleName();
+                    }
+                    if (name.equals("hashCode")) {
+                        return System.identityHashCode(proxy);
+                    }
+                    if (name.equals("equals")) {
+                        return proxy == args[0];
+                    }
+                    Class<?> returnType = method.getReturnType();
+                    if (returnType == Optional.class) {
+                        return Optional.empty();
+                    }
+                    if (List.class.isAssignableFrom(returnType)) {
+                        return Collections.emptyList();
+                    }
+                    return null;
+                });
+    }
+}
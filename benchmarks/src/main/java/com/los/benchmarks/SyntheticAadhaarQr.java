@@ -0,0 +1,72 @@
+package com.los.benchmarks;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Builds Secure QR payloads in the UIDAI layout (the decoder does not verify signatures,
+ * so random signature bytes are enough for benchmarking).
+ *
+ * Layout: 16 fields separated by byte 255 (email/mobile flag first), then the photo,
+ * the 32-byte mobile hash and the 256-byte signature; gzipped and encoded as a decimal string.
+ */
+public final class SyntheticAadhaarQr {
+
+    private static final byte SEPARATOR = (byte) 255;
+
+    private SyntheticAadhaarQr() {
+        // Utility class
+    }
+
+    /**
+     * @param photoBytes Size of the embedded photo (real cards carry a few KB of JPEG 2000)
+     * @return The QR content as ASCII digits, as scanned from the card
+     */
+    public static byte[] generate(int photoBytes, long seed) {
+        Random random = new Random(seed);
+        String[] fields = {
+                "2", "123420190101120000000", "Ravi Kumar Sharma", "15-05-1990", "M",
+                "S/O Ramesh Sharma", "Bengaluru Urban", "Near Water Tank", "12/3",
+                "Jayanagar", "560041", "Jayanagar", "Karnataka", "4th Cross", "Bengaluru South", "Bengaluru"
+        };
+
+        ByteArrayOutputStream payload = new ByteArrayOutputStream();
+        for (String field : fields) {
+            payload.writeBytes(field.getBytes(StandardCharsets.ISO_8859_1));
+            payload.write(SEPARATOR);
+        }
+        payload.writeBytes(randomBytes(random, photoBytes));
+        payload.writeBytes(randomBytes(random, 32));   // mobile hash
+        payload.writeBytes(randomBytes(random, 256));  // signature
+
+        byte[] compressed = gzip(payload.toByteArray());
+        // GZIP magic (0x1f) keeps the leading byte positive, so BigInteger.toByteArray() round-trips exactly
+        return new BigInteger(1, compressed).toString().getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static byte[] randomBytes(Random random, int length) {
+        byte[] bytes = new byte[length];
+        random.nextBytes(bytes);
+        for (int i = 0; i < bytes.length; i++) {
+            if (bytes[i] == SEPARATOR) {
+                bytes[i] = 0;
+            }
+        }
+        return bytes;
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,37 @@
+package com.los.benchmarks;
+
+import com.los.service.qr.UidaiSecureQrDecoder;
+import com.los.service.qr.impl.UidaiSecureQrDecoderImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Secure QR decoding (decimal to BigInteger, gunzip, field split) for synthetic payloads
+ * with a small and a card-sized photo.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UidaiQrDecodeBenchmark {
+
+    @Param({"512", "4096"})
+    public int photoBytes;
+
+    private UidaiSecureQrDecoderImpl decoder;
+    private byte[] qrBytes;
+
+    @Setup
+    public void setUp() {
+        decoder = new UidaiSecureQrDecoderImpl();
+        qrBytes = SyntheticAadhaarQr.generate(photoBytes, 42L);
+    }
+
+    @Benchmark
+    public UidaiSecureQrDecoder.DecodedAadhaarData decode() throws UidaiSecureQrDecoder.QrDecodeException {
+        return decoder.decode(qrBytes);
+    }
+}
@@ -0,0 +1,60 @@
+package com.los.benchmarks;
+
+import com.los.exception.ValidationException;
+import com.los.validation.ValidationEngine;
+import com.los.validation.rules.*;
+import io.micrometer.observation.ObservationRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validation of a personal-info submission against the sample rules, with every rule
+ * registered as in the application context.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidationEngineBenchmark {
+
+    private ValidationEngine validationEngine;
+    private Map<String, Object> validationRules;
+    private Map<String, Object> validForm;
+    private Map<String, Object> invalidForm;
+
+    @Setup
+    public void setUp() {
+        validationEngine = new ValidationEngine(List.of(
+                new RequiredValidationRule(),
+                new RegexValidationRule(),
+                new MinMaxValidationRule(),
+                new MultiSelectValidationRule(),
+                new PanValidationRule(),
+                new AadhaarValidationRule(),
+                new GstValidationRule()), null, ObservationRegistry.NOOP);
+        validationRules = Fixtures.validationRules();
+        validForm = Fixtures.validPersonalInfo();
+        invalidForm = Fixtures.invalidPersonalInfo();
+    }
+
+    @Benchmark
+    public Map<String, Object> validForm() {
+        validationEngine.validate(validForm, validationRules);
+        return validForm;
+    }
+
+    @Benchmark
+    public int invalidForm() {
+        try {
+            validationEngine.validate(invalidForm, validationRules);
+            return 0;
+        } catch (ValidationException e) {
+            return e.getErrors().size();
+        }
+    }
+}
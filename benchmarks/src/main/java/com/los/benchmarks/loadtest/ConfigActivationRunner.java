@@ -0,0 +1,172 @@
+package com.los.benchmarks.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.los.LosConfigServiceApplication;
+import com.los.benchmarks.Fixtures;
+import com.los.config.entity.FieldMappingConfig;
+import com.los.config.entity.FlowConfig;
+import com.los.config.entity.ScreenConfig;
+import com.los.config.entity.ValidationConfig;
+import com.los.repository.FieldMappingConfigRepository;
+import com.los.repository.FlowConfigRepository;
+import com.los.repository.ScreenConfigRepository;
+import com.los.repository.ValidationConfigRepository;
+import com.los.service.ConfigActivationService;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.LongConsumer;
+
+/**
+ * Single-config activation benchmark: starts the service in-process on a fresh file-based H2
+ * database, seeds N scopes with an ACTIVE version 1 and a DRAFT version 2 of each config type,
+ * then activates every version 2 through ConfigActivationService (so each activation also
+ * deprecates version 1) and records the latency per type.
+ *
+ * The first activation.warmup scopes are activated unrecorded. Exits with status 1 when the
+ * p99 of any type exceeds activation.budget-ms.
+ *
+ * Properties: activation.scopes (2000), activation.warmup (200), activation.budget-ms (5),
+ * activation.work-dir, activation.label.
+ */
+public final class ConfigActivationRunner {
+
+    private static final String[] TYPES = {"screen", "validation", "field-mapping", "flow"};
+
+    private ConfigActivationRunner() {
+        // Utility class
+    }
+
+    public static void main(String[] args) throws Exception {
+        int scopes = Integer.getInteger("activation.scopes", 2000);
+        int warmup = Math.min(Integer.getInteger("activation.warmup", 200), scopes / 2);
+        double budgetMs = Double.parseDouble(System.getProperty("activation.budget-ms", "5"));
+        String label = System.getProperty("activation.label", "latest");
+        File workDir = new File(System.getProperty("activation.work-dir",
+                "target/activation/run-" + System.currentTimeMillis())).getAbsoluteFile();
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(LosConfigServiceApplication.class)
+                .run("--server.port=0",
+                        "--los.h2.data-dir=" + new File(workDir, "db").getPath(),
+                        "--file.upload.directory=" + new File(workDir, "uploads").getPath(),
+                        "--spring.flyway.locations=classpath:db/migration",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.com.los=WARN",
+                        "--logging.level.org.flywaydb=WARN");
+        boolean withinBudget;
+        try {
+            withinBudget = run(context, scopes, warmup, budgetMs, label);
+        } finally {
+            context.close();
+        }
+        if (!withinBudget) {
+            System.exit(1);
+        }
+    }
+
+    private static boolean run(ConfigurableApplicationContext context, int scopes, int warmup,
+                               double budgetMs, String label) throws Exception {
+        ConfigActivationService activation = context.getBean(ConfigActivationService.class);
+        Map<String, List<Long>> drafts = seed(context, scopes);
+        System.out.println("Seeded " + scopes + " scopes x " + TYPES.length + " config types");
+
+        LoadTestStats stats = new LoadTestStats();
+        for (int i = 0; i < scopes; i++) {
+            boolean recorded = i >= warmup;
+            activate(stats, recorded, "screen", drafts.get("screen").get(i), activation::activateScreenConfig);
+            activate(stats, recorded, "validation", drafts.get("validation").get(i), activation::activateValidationConfig);
+            activate(stats, recorded, "field-mapping", drafts.get("field-mapping").get(i),
+                    activation::activateFieldMappingConfig);
+            activate(stats, recorded, "flow", drafts.get("flow").get(i), activation::activateFlowConfig);
+        }
+
+        boolean withinBudget = true;
+        for (String type : TYPES) {
+            Histogram latency = stats.latency("activate " + type);
+            withinBudget &= LoadTestStats.millis(latency.getValueAtPercentile(99)) <= budgetMs;
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("scopes", scopes);
+        result.put("warmupScopes", warmup);
+        result.put("budgetMs", budgetMs);
+        result.put("withinBudget", withinBudget);
+        result.put("activations", stats.summary(1.0));
+
+        ObjectMapper writer = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        System.out.println(writer.writeValueAsString(result));
+        File resultFile = new File("results", "config-activation-" + label + ".json");
+        resultFile.getParentFile().mkdirs();
+        writer.writeValue(resultFile, result);
+        System.out.println("Results written to " + resultFile.getAbsolutePath());
+        System.out.println(withinBudget
+                ? "All activation p99 latencies within " + budgetMs + " ms"
+                : "Activation p99 latency over budget of " + budgetMs + " ms");
+        return withinBudget;
+    }
+
+    private static void activate(LoadTestStats stats, boolean recorded, String type, Long configId,
+                                 LongConsumer activation) {
+        long start = System.nanoTime();
+        activation.accept(configId);
+        if (recorded) {
+            stats.record("activate " + type, System.nanoTime() - start, true);
+        }
+    }
+
+    /**
+     * Version 1 ACTIVE and version 2 DRAFT of each type per scope; returns the DRAFT ids per type,
+     * in scope order.
+     */
+    private static Map<String, List<Long>> seed(ConfigurableApplicationContext context, int scopes) {
+        List<ScreenConfig> screens = new ArrayList<>();
+        List<ValidationConfig> validations = new ArrayList<>();
+        List<FieldMappingConfig> mappings = new ArrayList<>();
+        List<FlowConfig> flows = new ArrayList<>();
+        for (int i = 0; i < scopes; i++) {
+            String product = "PRODUCT_" + i % 50;
+            String partner = "PARTNER_" + i / 50;
+            for (int version = 1; version <= 2; version++) {
+                String status = version == 1 ? "ACTIVE" : "DRAFT";
+                screens.add(ScreenConfig.builder().screenId("personal-info").productCode(product).partnerCode(partner)
+                        .version(version).status(status).uiConfig(Fixtures.uiConfig())
+                        .createdBy("activation-benchmark").build());
+                validations.add(ValidationConfig.builder().screenId("personal-info").productCode(product)
+                        .partnerCode(partner).version(version).status(status)
+                        .validationRules(Fixtures.validationRules()).createdBy("activation-benchmark").build());
+                mappings.add(FieldMappingConfig.builder().screenId("personal-info").productCode(product)
+                        .partnerCode(partner).version(version).status(status).mappings(Fixtures.mappings())
+                        .createdBy("activation-benchmark").build());
+                flows.add(FlowConfig.builder().flowId("activation-flow").productCode(product).partnerCode(partner)
+                        .version(version).status(status).flowDefinition(Fixtures.flowDefinition())
+                        .createdBy("activation-benchmark").build());
+            }
+        }
+
+        Map<String, List<Long>> drafts = new LinkedHashMap<>();
+        drafts.put("screen", draftIds(context.getBean(ScreenConfigRepository.class).saveAll(screens),
+                ScreenConfig::getStatus, ScreenConfig::getConfigId));
+        drafts.put("validation", draftIds(context.getBean(ValidationConfigRepository.class).saveAll(validations),
+                ValidationConfig::getStatus, ValidationConfig::getConfigId));
+        drafts.put("field-mapping", draftIds(context.getBean(FieldMappingConfigRepository.class).saveAll(mappings),
+                FieldMappingConfig::getStatus, FieldMappingConfig::getConfigId));
+        drafts.put("flow", draftIds(context.getBean(FlowConfigRepository.class).saveAll(flows),
+                FlowConfig::getStatus, FlowConfig::getConfigId));
+        return drafts;
+    }
+
+    private static <T> List<Long> draftIds(List<T> saved, Function<T, String> status, Function<T, Long> configId) {
+        return saved.stream()
+                .filter(config -> "DRAFT".equals(status.apply(config)))
+                .map(configId)
+                .toList();
+    }
+}
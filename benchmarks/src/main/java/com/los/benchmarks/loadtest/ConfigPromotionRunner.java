@@ -0,0 +1,166 @@
+package com.los.benchmarks.loadtest;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.los.LosConfigServiceApplication;
+import com.los.benchmarks.Fixtures;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bulk promotion benchmark: starts the service in-process on a fresh file-based H2 database,
+ * writes an NDJSON file of N config versions (screens, validations, field mappings and flows
+ * across many scopes, a quarter of them ACTIVE) and times the transfer endpoints on it:
+ *
+ * 1. dry-run import (validation and conflict check only)
+ * 2. import
+ * 3. dry-run import of the same file again (every record is now a VERSION_EXISTS conflict)
+ * 4. export of everything
+ *
+ * Properties: promotion.records (10000), promotion.work-dir, promotion.label.
+ */
+public final class ConfigPromotionRunner {
+
+    private static final String TRANSFER = "/api/v1/configs/transfer";
+    private static final String[] TYPES = {"screen", "validation", "field-mapping", "flow"};
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private ConfigPromotionRunner() {
+        // Utility class
+    }
+
+    public static void main(String[] args) throws Exception {
+        int records = Integer.getInteger("promotion.records", 10_000);
+        String label = System.getProperty("promotion.label", "latest");
+        File workDir = new File(System.getProperty("promotion.work-dir",
+                "target/promotion/run-" + System.currentTimeMillis())).getAbsoluteFile();
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(LosConfigServiceApplication.class)
+                .run("--server.port=0",
+                        "--los.h2.data-dir=" + new File(workDir, "db").getPath(),
+                        "--file.upload.directory=" + new File(workDir, "uploads").getPath(),
+                        "--spring.flyway.locations=classpath:db/migration",
+                        "--spring.jpa.show-sql=false",
+                        "--runtime.request-timing.log-requests=false",
+                        "--logging.level.com.los=WARN",
+                        "--logging.level.org.flywaydb=WARN");
+        try {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            run("http://localhost:" + port, records, label, workDir.toPath());
+        } finally {
+            context.close();
+        }
+    }
+
+    private static void run(String baseUrl, int records, String label, Path workDir) throws Exception {
+        Path file = workDir.resolve("configs.ndjson");
+        writeRecords(file, records);
+        System.out.println("Wrote " + records + " config versions (" + Files.size(file) / 1024 + " KB) to " + file);
+
+        HttpClient client = HttpClient.newHttpClient();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("records", records);
+        result.put("fileBytes", Files.size(file));
+        result.put("dryRun", post(client, baseUrl + TRANSFER + "/import?dryRun=true", file));
+        result.put("import", post(client, baseUrl + TRANSFER + "/import", file));
+        result.put("dryRunAfterImport", post(client, baseUrl + TRANSFER + "/import?dryRun=true", file));
+        result.put("export", export(client, baseUrl + TRANSFER + "/export", workDir.resolve("export.ndjson")));
+
+        ObjectMapper writer = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        System.out.println(writer.writeValueAsString(result));
+        File resultFile = new File("results", "config-promotion-" + label + ".json");
+        resultFile.getParentFile().mkdirs();
+        writer.writeValue(resultFile, result);
+        System.out.println("Results written to " + resultFile.getAbsolutePath());
+    }
+
+    /**
+     * N records over N/40 scopes; each scope gets 10 configs per type, the last version ACTIVE.
+     */
+    private static void writeRecords(Path file, int records) throws IOException {
+        Map<String, Object> uiConfig = Fixtures.uiConfig();
+        Map<String, Object> validationRules = Fixtures.validationRules();
+        Map<String, Object> mappings = Fixtures.mappings();
+        Map<String, Object> flowDefinition = Fixtures.flowDefinition();
+
+        try (JsonGenerator generator = OBJECT_MAPPER.getFactory().createGenerator(Files.newBufferedWriter(file))) {
+            generator.setRootValueSeparator(null);
+            for (int i = 0; i < records; i++) {
+                String type = TYPES[i % TYPES.length];
+                int scope = i / 40;
+                int version = (i / TYPES.length) % 10 + 1;
+                Map<String, Object> record = new LinkedHashMap<>();
+                record.put("type", type);
+                record.put("configKey", "flow".equals(type) ? "promotion-flow" : "personal-info");
+                record.put("productCode", "PRODUCT_" + scope % 50);
+                record.put("partnerCode", "PARTNER_" + scope / 50);
+                record.put("version", version);
+                record.put("status", version == 10 ? "ACTIVE" : "DRAFT");
+                record.put("payload", switch (type) {
+                    case "screen" -> uiConfig;
+                    case "validation" -> validationRules;
+                    case "field-mapping" -> mappings;
+                    default -> flowDefinition;
+                });
+                if ("flow".equals(type)) {
+                    record.put("dashboardMeta", Map.of("title", "Promotion flow " + scope));
+                }
+                record.put("createdBy", "promotion-benchmark");
+                OBJECT_MAPPER.writeValue(generator, record);
+                generator.writeRaw('\n');
+            }
+        }
+    }
+
+    private static Map<String, Object> post(HttpClient client, String url, Path file) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/x-ndjson")
+                .POST(HttpRequest.BodyPublishers.ofFile(file))
+                .build();
+        long start = System.nanoTime();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> report = OBJECT_MAPPER.readValue(response.body(), Map.class);
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("status", response.statusCode());
+        result.put("elapsedMs", elapsedMs);
+        result.put("inserted", report.get("inserted"));
+        result.put("deprecated", report.get("deprecated"));
+        result.put("conflicts", report.get("conflicts"));
+        result.put("committed", report.get("committed"));
+        return result;
+    }
+
+    private static Map<String, Object> export(HttpClient client, String url, Path target) throws Exception {
+        long start = System.nanoTime();
+        HttpResponse<Path> response = client.send(HttpRequest.newBuilder(URI.create(url)).GET().build(),
+                HttpResponse.BodyHandlers.ofFile(target));
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        long lines;
+        try (var stream = Files.lines(target)) {
+            lines = stream.count();
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("status", response.statusCode());
+        result.put("elapsedMs", elapsedMs);
+        result.put("records", lines);
+        result.put("bytes", Files.size(target));
+        return result;
+    }
+}
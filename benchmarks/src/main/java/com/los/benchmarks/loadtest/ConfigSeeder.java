@@ -0,0 +1,85 @@
+package com.los.benchmarks.loadtest;
+
+import com.los.benchmarks.Fixtures;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Creates and activates the configs for N copies of the sample flow, one scope per flow,
+ * through the public config and activation APIs.
+ */
+class ConfigSeeder {
+
+    static final String PRODUCT_CODE = "LOADTEST";
+
+    private final ApiClient apiClient;
+
+    ConfigSeeder(ApiClient apiClient) {
+        this.apiClient = apiClient;
+    }
+
+    /**
+     * Scope of one seeded flow.
+     */
+    static class FlowScope {
+        final String flowId;
+        final String partnerCode;
+
+        FlowScope(String flowId, String partnerCode) {
+            this.flowId = flowId;
+            this.partnerCode = partnerCode;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    List<FlowScope> seed(int flows) throws IOException, InterruptedException {
+        Map<String, Object> flowDefinition = Fixtures.flowDefinition();
+        Map<String, Object> screens = (Map<String, Object>) flowDefinition.get("screens");
+
+        List<FlowScope> scopes = new ArrayList<>();
+        for (int i = 1; i <= flows; i++) {
+            FlowScope scope = new FlowScope("loadtest-flow-" + i, "PARTNER" + i);
+
+            for (Map.Entry<String, Object> screen : screens.entrySet()) {
+                String screenId = screen.getKey();
+                Map<String, Object> uiConfig = "personal-info".equals(screenId)
+                        ? Fixtures.uiConfig()
+                        : Map.of("title", ((Map<String, Object>) screen.getValue()).get("name"), "fields", List.of());
+                createAndActivate("screens", screenBody(scope, screenId, "uiConfig", uiConfig));
+            }
+            createAndActivate("validations", screenBody(scope, "personal-info", "validationRules", Fixtures.validationRules()));
+            createAndActivate("field-mappings", screenBody(scope, "personal-info", "mappings", Fixtures.mappings()));
+
+            Map<String, Object> flowBody = new LinkedHashMap<>();
+            flowBody.put("flowId", scope.flowId);
+            flowBody.put("productCode", PRODUCT_CODE);
+            flowBody.put("partnerCode", scope.partnerCode);
+            flowBody.put("flowDefinition", flowDefinition);
+            flowBody.put("createdBy", "loadtest");
+            createAndActivate("flows", flowBody);
+
+            scopes.add(scope);
+        }
+        return scopes;
+    }
+
+    private Map<String, Object> screenBody(FlowScope scope, String screenId, String payloadKey, Map<String, Object> payload) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("screenId", screenId);
+        body.put("productCode", PRODUCT_CODE);
+        body.put("partnerCode", scope.partnerCode);
+        body.put(payloadKey, payload);
+        body.put("createdBy", "loadtest");
+        return body;
+    }
+
+    private void createAndActivate(String configType, Map<String, Object> body) throws IOException, InterruptedException {
+        Map<String, Object> created = apiClient.postJson("config.create", "/api/v1/configs/" + configType, body);
+        Object configId = created.get("configId");
+        apiClient.postJson("config.activate", "/api/v1/configs/" + configType + "/" + configId + "/activate", Map.of());
+    }
+}
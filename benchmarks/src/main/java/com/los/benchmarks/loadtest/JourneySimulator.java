@@ -0,0 +1,157 @@
+package com.los.benchmarks.loadtest;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * One simulated applicant going through the sample flow:
+ *
+ * flow start -> Aadhaar QR scan -> personal-info -> business-info (RETAIL 40%, SERVICE 30%,
+ * other 30%) -> retail/service details -> loan-details (with camera photo upload) -> review.
+ *
+ * Each step is preceded by think time and may be abandoned with the configured probability.
+ */
+class JourneySimulator {
+
+    private static final String NEXT_SCREEN = "/api/v1/runtime/next-screen";
+    private static final List<String> FIRST_NAMES = List.of("Ravi", "Priya", "Arjun", "Lakshmi", "Suresh", "Anita");
+    private static final List<String> LAST_NAMES = List.of("Sharma", "Reddy", "Iyer", "Patel", "Nair", "Gupta");
+
+    enum Outcome { COMPLETED, ABANDONED }
+
+    private final ApiClient apiClient;
+    private final LoadTestSettings settings;
+    private final List<String> qrPayloads;
+    private final byte[] photo;
+
+    JourneySimulator(ApiClient apiClient, LoadTestSettings settings, List<String> qrPayloads, byte[] photo) {
+        this.apiClient = apiClient;
+        this.settings = settings;
+        this.qrPayloads = qrPayloads;
+        this.photo = photo;
+    }
+
+    Outcome run(ConfigSeeder.FlowScope scope) throws IOException, InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        Map<String, Object> start = new LinkedHashMap<>();
+        start.put("flowId", scope.flowId);
+        start.put("productCode", ConfigSeeder.PRODUCT_CODE);
+        start.put("partnerCode", scope.partnerCode);
+        Map<String, Object> response = apiClient.postJson("runtime.next-screen.start", NEXT_SCREEN, start);
+        Long applicationId = ((Number) response.get("applicationId")).longValue();
+
+        if (think()) {
+            return Outcome.ABANDONED;
+        }
+        apiClient.postJson("qr.aadhaar.decode", "/api/v1/qr/aadhaar/decode",
+                Map.of("qrPayload", qrPayloads.get(random.nextInt(qrPayloads.size()))));
+
+        Map<String, Object> personalInfo = new LinkedHashMap<>();
+        personalInfo.put("firstName", FIRST_NAMES.get(random.nextInt(FIRST_NAMES.size())));
+        personalInfo.put("lastName", LAST_NAMES.get(random.nextInt(LAST_NAMES.size())));
+        personalInfo.put("mobile", "9" + (100000000 + random.nextInt(900000000)));
+        personalInfo.put("dob", "1990-05-15");
+        personalInfo.put("gender", random.nextBoolean() ? "MALE" : "FEMALE");
+        response = submit(scope, applicationId, response, personalInfo);
+        if (response == null) {
+            return Outcome.ABANDONED;
+        }
+
+        double branch = random.nextDouble();
+        String businessType = branch < 0.4 ? "RETAIL" : branch < 0.7 ? "SERVICE" : "MANUFACTURING";
+        response = submit(scope, applicationId, response, Map.of("businessName", "Load Test Traders", "businessType", businessType));
+        if (response == null) {
+            return Outcome.ABANDONED;
+        }
+
+        if ("retail-details".equals(response.get("nextScreenId")) || "service-details".equals(response.get("nextScreenId"))) {
+            response = submit(scope, applicationId, response, Map.of("yearsInBusiness", 1 + random.nextInt(20)));
+            if (response == null) {
+                return Outcome.ABANDONED;
+            }
+        }
+
+        // loan-details: camera photo upload, then the screen submission
+        if (think()) {
+            return Outcome.ABANDONED;
+        }
+        Map<String, Object> upload = apiClient.uploadFile("files.upload", "/api/v1/files/upload",
+                Map.of("applicationId", applicationId.toString(), "screenId", "loan-details",
+                        "fieldId", "applicantPhoto", "fileType", "CAMERA"),
+                "photo.jpg", "image/jpeg", photo);
+        response = submit(scope, applicationId, response, Map.of(
+                "loanAmount", 50000 + random.nextInt(20) * 10000,
+                "tenureMonths", 12 * (1 + random.nextInt(5)),
+                "applicantPhoto", String.valueOf(upload.get("fileId"))));
+        if (response == null) {
+            return Outcome.ABANDONED;
+        }
+
+        // review (last screen)
+        response = submit(scope, applicationId, response, Map.of("confirmed", true));
+        if (response == null) {
+            return Outcome.ABANDONED;
+        }
+        return Outcome.COMPLETED;
+    }
+
+    /**
+     * Think, then submit the screen the previous response pointed to.
+     *
+     * @return the next-screen response, or null if the applicant abandoned the journey
+     */
+    private Map<String, Object> submit(ConfigSeeder.FlowScope scope, Long applicationId,
+                                       Map<String, Object> previous, Map<String, Object> formData)
+            throws IOException, InterruptedException {
+        if (think()) {
+            return null;
+        }
+        Map<String, Object> request = new LinkedHashMap<>();
+        request.put("applicationId", applicationId);
+        request.put("resumeToken", previous.get("resumeToken"));
+        request.put("idempotencyKey", UUID.randomUUID().toString());
+        request.put("currentScreenId", previous.get("nextScreenId"));
+        request.put("flowId", scope.flowId);
+        request.put("productCode", ConfigSeeder.PRODUCT_CODE);
+        request.put("partnerCode", scope.partnerCode);
+        request.put("formData", formData);
+        return apiClient.postJson("runtime.next-screen.submit", NEXT_SCREEN, request);
+    }
+
+    /**
+     * Sleep for an exponentially distributed think time.
+     *
+     * @return true if the applicant abandons the journey at this point
+     */
+    private boolean think() throws InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (settings.thinkTimeMs > 0) {
+            double sample = -Math.log(1.0 - random.nextDouble()) * settings.thinkTimeMs;
+            Thread.sleep((long) Math.min(sample, settings.thinkTimeMs * 5.0));
+        }
+        return random.nextDouble() < settings.abandonRate;
+    }
+
+    /**
+     * JPEG-looking bytes (SOI marker, random body, EOI marker); the upload API only checks the content type.
+     */
+    static byte[] syntheticPhoto(int size) {
+        byte[] bytes = new byte[Math.max(size, 4)];
+        ThreadLocalRandom.current().nextBytes(bytes);
+        bytes[0] = (byte) 0xFF;
+        bytes[1] = (byte) 0xD8;
+        bytes[bytes.length - 2] = (byte) 0xFF;
+        bytes[bytes.length - 1] = (byte) 0xD9;
+        return bytes;
+    }
+
+    static String qrPayload(byte[] asciiDigits) {
+        return new String(asciiDigits, StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,180 @@
+package com.los.benchmarks.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.los.LosConfigServiceApplication;
+import com.los.benchmarks.SyntheticAadhaarQr;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Embedded load test: starts the service in-process on a fresh file-based H2 database,
+ * seeds flows through the config APIs and drives simulated loan journeys against it.
+ *
+ * Reports throughput and HdrHistogram latencies per endpoint, plus JDBC statements per
+ * request and per journey (from the los.http.db.statements metric of the running app).
+ * See benchmarks/README.md for the parameters.
+ */
+public final class LoadTestRunner {
+
+    private static final String STATEMENTS_METRIC = "los.http.db.statements";
+
+    private LoadTestRunner() {
+        // Utility class
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = new LoadTestSettings();
+        System.out.println("Load test: " + settings);
+
+        File workDir = new File(settings.workDir).getAbsoluteFile();
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(LosConfigServiceApplication.class)
+                .run("--server.port=0",
+                        "--los.h2.data-dir=" + new File(workDir, "db").getPath(),
+                        "--file.upload.directory=" + new File(workDir, "uploads").getPath(),
+                        "--spring.flyway.locations=classpath:db/migration",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.com.los=WARN",
+                        "--logging.level.org.springframework.security=WARN",
+                        "--logging.level.org.flywaydb=WARN");
+        try {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            run(settings, "http://localhost:" + port, context.getBean(MeterRegistry.class));
+        } finally {
+            context.close();
+        }
+    }
+
+    private static void run(LoadTestSettings settings, String baseUrl, MeterRegistry meterRegistry) throws Exception {
+        AtomicReference<LoadTestStats> stats = new AtomicReference<>(new LoadTestStats());
+        ApiClient apiClient = new ApiClient(baseUrl, stats);
+
+        List<ConfigSeeder.FlowScope> scopes = new ConfigSeeder(apiClient).seed(settings.flows);
+        System.out.println("Seeded and activated " + scopes.size() + " flows");
+
+        List<String> qrPayloads = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            qrPayloads.add(JourneySimulator.qrPayload(SyntheticAadhaarQr.generate(2048, i)));
+        }
+        JourneySimulator simulator = new JourneySimulator(apiClient, settings, qrPayloads,
+                JourneySimulator.syntheticPhoto(settings.photoBytes));
+
+        long endAt = System.nanoTime() + TimeUnit.SECONDS.toNanos(settings.warmupSeconds + settings.durationSeconds);
+        AtomicInteger threadIds = new AtomicInteger();
+        ExecutorService users = Executors.newFixedThreadPool(settings.users,
+                task -> new Thread(task, "loadtest-user-" + threadIds.incrementAndGet()));
+        for (int i = 0; i < settings.users; i++) {
+            users.submit(() -> runJourneys(simulator, scopes, stats, endAt));
+        }
+
+        TimeUnit.SECONDS.sleep(settings.warmupSeconds);
+        Map<String, double[]> statementsBefore = statementTotals(meterRegistry);
+        stats.set(new LoadTestStats());
+        long measureStart = System.nanoTime();
+        System.out.println("Warm-up done, measuring for " + settings.durationSeconds + "s");
+
+        TimeUnit.SECONDS.sleep(settings.durationSeconds);
+        LoadTestStats measured = stats.getAndSet(new LoadTestStats());
+        double elapsedSeconds = (System.nanoTime() - measureStart) / 1e9;
+        Map<String, double[]> statementsAfter = statementTotals(meterRegistry);
+
+        users.shutdownNow();
+        users.awaitTermination(30, TimeUnit.SECONDS);
+
+        report(settings, measured, elapsedSeconds, statementsBefore, statementsAfter);
+    }
+
+    private static void runJourneys(JourneySimulator simulator, List<ConfigSeeder.FlowScope> scopes,
+                                    AtomicReference<LoadTestStats> stats, long endAt) {
+        while (System.nanoTime() < endAt && !Thread.currentThread().isInterrupted()) {
+            ConfigSeeder.FlowScope scope = scopes.get(ThreadLocalRandom.current().nextInt(scopes.size()));
+            try {
+                JourneySimulator.Outcome outcome = simulator.run(scope);
+                if (outcome == JourneySimulator.Outcome.COMPLETED) {
+                    stats.get().journeysCompleted.increment();
+                } else {
+                    stats.get().journeysAbandoned.increment();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                stats.get().journeysFailed.increment();
+            }
+        }
+    }
+
+    /**
+     * Statement count and request count per "METHOD uri" from the running app's meter registry.
+     */
+    private static Map<String, double[]> statementTotals(MeterRegistry meterRegistry) {
+        Map<String, double[]> totals = new TreeMap<>();
+        for (DistributionSummary summary : meterRegistry.find(STATEMENTS_METRIC).summaries()) {
+            String key = summary.getId().getTag("method") + " " + summary.getId().getTag("uri");
+            totals.put(key, new double[]{summary.totalAmount(), summary.count()});
+        }
+        return totals;
+    }
+
+    private static void report(LoadTestSettings settings, LoadTestStats measured, double elapsedSeconds,
+                               Map<String, double[]> statementsBefore, Map<String, double[]> statementsAfter) throws Exception {
+        Map<String, Map<String, Object>> endpoints = measured.summary(elapsedSeconds);
+
+        long journeysStarted = 0;
+        Map<String, Object> start = endpoints.get("runtime.next-screen.start");
+        if (start != null) {
+            journeysStarted = (Long) start.get("requests");
+        }
+
+        Map<String, Object> statementsPerRequest = new TreeMap<>();
+        double totalStatements = 0;
+        for (Map.Entry<String, double[]> after : statementsAfter.entrySet()) {
+            double[] before = statementsBefore.getOrDefault(after.getKey(), new double[2]);
+            double statements = after.getValue()[0] - before[0];
+            double requests = after.getValue()[1] - before[1];
+            if (requests > 0 && !after.getKey().contains("/actuator")) {
+                statementsPerRequest.put(after.getKey(), LoadTestStats.round(statements / requests));
+                totalStatements += statements;
+            }
+        }
+
+        Map<String, Object> journeys = new LinkedHashMap<>();
+        journeys.put("started", journeysStarted);
+        journeys.put("completed", measured.journeysCompleted.sum());
+        journeys.put("abandoned", measured.journeysAbandoned.sum());
+        journeys.put("failed", measured.journeysFailed.sum());
+        journeys.put("completedPerSecond", LoadTestStats.round(measured.journeysCompleted.sum() / elapsedSeconds));
+        journeys.put("statementsPerJourney", journeysStarted > 0 ? LoadTestStats.round(totalStatements / journeysStarted) : null);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("settings", settings.toString());
+        result.put("measuredSeconds", LoadTestStats.round(elapsedSeconds));
+        result.put("journeys", journeys);
+        result.put("endpoints", endpoints);
+        result.put("dbStatementsPerRequest", statementsPerRequest);
+
+        ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        String json = objectMapper.writeValueAsString(result);
+        System.out.println(json);
+
+        File resultFile = new File("results", "loadtest-" + settings.label + ".json");
+        resultFile.getParentFile().mkdirs();
+        objectMapper.writeValue(resultFile, result);
+        System.out.println("Results written to " + resultFile.getAbsolutePath());
+    }
+}
@@ -0,0 +1,33 @@
+package com.los.benchmarks.loadtest;
+
+/**
+ * Load-test parameters, read from system properties (pass them as -D options to Maven or java).
+ */
+public class LoadTestSettings {
+
+    /** Number of flows (scopes) created and activated through the config APIs */
+    final int flows = Integer.getInteger("loadtest.flows", 4);
+    /** Concurrent simulated applicants, each running journeys back to back */
+    final int users = Integer.getInteger("loadtest.users", 500);
+    /** Warm-up before measuring (JIT, caches, connection pool) */
+    final int warmupSeconds = Integer.getInteger("loadtest.warmup-seconds", 20);
+    /** Measured duration */
+    final int durationSeconds = Integer.getInteger("loadtest.duration-seconds", 120);
+    /** Mean think time between steps (exponentially distributed, capped at 5x the mean) */
+    final long thinkTimeMs = Long.getLong("loadtest.think-time-ms", 2000);
+    /** Probability that an applicant drops out after any screen */
+    final double abandonRate = Double.parseDouble(System.getProperty("loadtest.abandon-rate", "0.02"));
+    /** Size of the uploaded camera photo */
+    final int photoBytes = Integer.getInteger("loadtest.photo-bytes", 64 * 1024);
+    /** Working directory for the H2 database files and uploads (fresh per run by default) */
+    final String workDir = System.getProperty("loadtest.work-dir", "target/loadtest/run-" + System.currentTimeMillis());
+    /** Label of the JSON report (results/loadtest-&lt;label&gt;.json) */
+    final String label = System.getProperty("loadtest.label", "latest");
+
+    @Override
+    public String toString() {
+        return "flows=" + flows + ", users=" + users + ", warmup=" + warmupSeconds + "s, duration=" + durationSeconds
+                + "s, thinkTime=" + thinkTimeMs + "ms, abandonRate=" + abandonRate + ", photoBytes=" + photoBytes
+                + ", workDir=" + workDir;
+    }
+}
@@ -0,0 +1,74 @@
+package com.los.benchmarks.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histograms (microseconds) and error counts per endpoint, plus journey outcomes,
+ * for one measurement window.
+ */
+class LoadTestStats {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+    final LongAdder journeysCompleted = new LongAdder();
+    final LongAdder journeysAbandoned = new LongAdder();
+    final LongAdder journeysFailed = new LongAdder();
+
+    void record(String endpoint, long elapsedNanos, boolean success) {
+        Endpoint stats = endpoints.computeIfAbsent(endpoint, e -> new Endpoint());
+        stats.latency.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(elapsedNanos), HIGHEST_TRACKABLE_MICROS));
+        if (!success) {
+            stats.errors.increment();
+        }
+    }
+
+    /**
+     * Per-endpoint results sorted by endpoint name.
+     */
+    Map<String, Map<String, Object>> summary(double elapsedSeconds) {
+        Map<String, Map<String, Object>> result = new TreeMap<>();
+        endpoints.forEach((name, stats) -> result.put(name, stats.summary(elapsedSeconds)));
+        return result;
+    }
+
+    Histogram latency(String endpoint) {
+        Endpoint stats = endpoints.get(endpoint);
+        return stats != null ? stats.latency.copy() : null;
+    }
+
+    private static class Endpoint {
+        private final ConcurrentHistogram latency = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        private final LongAdder errors = new LongAdder();
+
+        Map<String, Object> summary(double elapsedSeconds) {
+            Histogram snapshot = latency.copy();
+            Map<String, Object> result = new TreeMap<>();
+            result.put("requests", snapshot.getTotalCount());
+            result.put("errors", errors.sum());
+            result.put("throughputPerSecond", round(snapshot.getTotalCount() / elapsedSeconds));
+            result.put("meanMs", round(snapshot.getMean() / 1000.0));
+            result.put("p50Ms", millis(snapshot.getValueAtPercentile(50)));
+            result.put("p90Ms", millis(snapshot.getValueAtPercentile(90)));
+            result.put("p99Ms", millis(snapshot.getValueAtPercentile(99)));
+            result.put("p999Ms", millis(snapshot.getValueAtPercentile(99.9)));
+            result.put("maxMs", millis(snapshot.getMaxValue()));
+            return result;
+        }
+    }
+
+    static double millis(long micros) {
+        return round(micros / 1000.0);
+    }
+
+    static double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+}
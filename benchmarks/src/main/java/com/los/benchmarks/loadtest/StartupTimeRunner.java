@@ -0,0 +1,210 @@
+package com.los.benchmarks.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Startup benchmark: launches the packaged service in a fresh JVM per run and measures the
+ * time from process start to readiness (/actuator/health/readiness UP) and to the first
+ * successful runtime request (GET /api/v1/dashboard/flows), for each startup mode:
+ * - default: the Spring Boot jar (target/), prod profile;
+ * - fast-startup: the launcher jar from mvn -Pfast-startup package (target/fast-startup/),
+ *   with Spring AOT and the AppCDS archive when present, prod and fast-startup profiles.
+ *
+ * Each mode keeps its own file-based H2 database across runs: the first run migrates a fresh
+ * database and is reported separately, the following ones are restarts (the autoscaling case).
+ *
+ * Properties: startup.runs (5), startup.modes (default,fast-startup), startup.service-version,
+ * startup.target-dir (target), startup.timeout-seconds (180), startup.work-dir, startup.label.
+ */
+public final class StartupTimeRunner {
+
+    private static final HttpClient HTTP = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(2))
+            .build();
+
+    private StartupTimeRunner() {
+        // Utility class
+    }
+
+    public static void main(String[] args) throws Exception {
+        int runs = Integer.getInteger("startup.runs", 5);
+        String[] modes = System.getProperty("startup.modes", "default,fast-startup").split(",");
+        String version = System.getProperty("startup.service-version", "1.0.0-SNAPSHOT");
+        File targetDir = new File(System.getProperty("startup.target-dir", "target")).getAbsoluteFile();
+        long timeoutMs = TimeUnit.SECONDS.toMillis(Integer.getInteger("startup.timeout-seconds", 180));
+        String label = System.getProperty("startup.label", "latest");
+        File workDir = new File(System.getProperty("startup.work-dir",
+                "target/startup/run-" + System.currentTimeMillis())).getAbsoluteFile();
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("runs", runs);
+        result.put("java", System.getProperty("java.version"));
+        for (String mode : modes) {
+            List<String> command = command(mode.trim(), targetDir, version);
+            if (command == null) {
+                System.out.println("Skipping " + mode + ": not built (see benchmarks/README.md)");
+                continue;
+            }
+            File modeDir = new File(workDir, mode.trim());
+            modeDir.mkdirs();
+            System.out.println("Mode " + mode + ": " + String.join(" ", command));
+
+            Map<String, Object> first = null;
+            List<Long> readyMs = new ArrayList<>();
+            List<Long> firstRequestMs = new ArrayList<>();
+            for (int run = 0; run <= runs; run++) {
+                Map<String, Object> timing = startOnce(command, modeDir, run, timeoutMs);
+                System.out.println("  run " + run + ": " + timing);
+                if (run == 0) {
+                    first = timing;
+                } else {
+                    readyMs.add((Long) timing.get("readyMs"));
+                    firstRequestMs.add((Long) timing.get("firstRequestMs"));
+                }
+            }
+
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("command", String.join(" ", command));
+            summary.put("freshDatabase", first);
+            summary.put("restartReadyMs", stats(readyMs));
+            summary.put("restartFirstRequestMs", stats(firstRequestMs));
+            result.put(mode.trim(), summary);
+        }
+
+        ObjectMapper writer = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        System.out.println(writer.writeValueAsString(result));
+        File resultFile = new File("results", "startup-" + label + ".json");
+        resultFile.getParentFile().mkdirs();
+        writer.writeValue(resultFile, result);
+        System.out.println("Results written to " + resultFile.getAbsolutePath());
+    }
+
+    /**
+     * JVM command line of a mode without the per-run arguments, or null if its jar is missing.
+     */
+    private static List<String> command(String mode, File targetDir, String version) {
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        List<String> command = new ArrayList<>();
+        command.add(java);
+        if ("default".equals(mode)) {
+            File jar = new File(targetDir, "los-config-service-" + version + ".jar");
+            if (!jar.isFile()) {
+                return null;
+            }
+            command.add("-jar");
+            command.add(jar.getPath());
+            command.add("--spring.profiles.active=prod");
+        } else if ("fast-startup".equals(mode)) {
+            File dir = new File(targetDir, "fast-startup");
+            File jar = new File(dir, "los-config-service-" + version + "-fast-startup.jar");
+            if (!jar.isFile()) {
+                return null;
+            }
+            File archive = new File(dir, "application.jsa");
+            if (archive.isFile()) {
+                command.add("-XX:SharedArchiveFile=" + archive.getPath());
+            }
+            command.add("-Dspring.aot.enabled=true");
+            command.add("-jar");
+            command.add(jar.getPath());
+            command.add("--spring.profiles.active=fast-startup,prod");
+        } else {
+            throw new IllegalArgumentException("Unknown startup mode " + mode + " (default or fast-startup)");
+        }
+        return command;
+    }
+
+    private static Map<String, Object> startOnce(List<String> baseCommand, File modeDir, int run, long timeoutMs)
+            throws IOException, InterruptedException {
+        int port = freePort();
+        List<String> command = new ArrayList<>(baseCommand);
+        command.add("--server.port=" + port);
+        command.add("--los.h2.data-dir=" + new File(modeDir, "db").getPath());
+        command.add("--file.upload.directory=" + new File(modeDir, "uploads").getPath());
+
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(new File(modeDir, "run-" + run + ".log"))
+                .start();
+        long start = System.nanoTime();
+        try {
+            String baseUrl = "http://localhost:" + port;
+            awaitOk(process, baseUrl + "/actuator/health/readiness", start, timeoutMs);
+            long ready = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            awaitOk(process, baseUrl + "/api/v1/dashboard/flows", start, timeoutMs);
+            long firstRequest = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            Map<String, Object> timing = new LinkedHashMap<>();
+            timing.put("readyMs", ready);
+            timing.put("firstRequestMs", firstRequest);
+            return timing;
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    /**
+     * Poll until the URL answers 200; connection refused just means the server is not up yet.
+     */
+    private static void awaitOk(Process process, String url, long start, long timeoutMs)
+            throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(10)).GET().build();
+        while (true) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Service exited with status " + process.exitValue()
+                        + " before " + url + " answered (see the run log)");
+            }
+            if (TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) > timeoutMs) {
+                throw new IllegalStateException("No 200 from " + url + " within " + timeoutMs + " ms");
+            }
+            try {
+                if (HTTP.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (ConnectException e) {
+                // Not listening yet
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    private static Map<String, Object> stats(List<Long> values) {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        if (values.isEmpty()) {
+            return stats;
+        }
+        List<Long> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        stats.put("min", sorted.get(0));
+        stats.put("median", sorted.get(sorted.size() / 2));
+        stats.put("max", sorted.get(sorted.size() - 1));
+        return stats;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
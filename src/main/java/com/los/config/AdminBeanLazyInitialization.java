@@ -0,0 +1,100 @@
+package com.los.config;
+
+import com.los.controller.ConfigActivationController;
+import com.los.controller.ConfigImpactController;
+import com.los.controller.ConfigReleaseController;
+import com.los.controller.ConfigTransferController;
+import com.los.controller.FieldMappingConfigController;
+import com.los.controller.FlowConfigController;
+import com.los.controller.FlowRolloutController;
+import com.los.controller.ScreenConfigController;
+import com.los.controller.ValidationConfigController;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Lazy initialization of admin-only beans (runtime.startup.lazy-admin-beans, fast-startup
+ * profile): the config CRUD/activation/release/transfer controllers and springdoc are created
+ * on their first request instead of at startup. Request mappings are still registered at
+ * startup (from the bean types), so nothing changes for callers apart from the first admin
+ * request being slower.
+ *
+ * Runtime beans (next-screen, dashboard, master data, uploads) stay eager; the startup warm-up
+ * covers those.
+ */
+@Component
+@Slf4j
+public class AdminBeanLazyInitialization implements BeanFactoryPostProcessor, EnvironmentAware {
+
+    private static final Set<String> ADMIN_CONTROLLERS = Set.of(
+            ScreenConfigController.class.getName(),
+            ValidationConfigController.class.getName(),
+            FieldMappingConfigController.class.getName(),
+            FlowConfigController.class.getName(),
+            ConfigActivationController.class.getName(),
+            ConfigImpactController.class.getName(),
+            ConfigReleaseController.class.getName(),
+            ConfigTransferController.class.getName(),
+            FlowRolloutController.class.getName(),
+            OpenApiConfig.class.getName());
+
+    // Beans declared by these packages, or by @Configuration classes in them
+    private static final List<String> ADMIN_PACKAGES = List.of("org.springdoc.");
+
+    private Environment environment;
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        this.environment = environment;
+    }
+
+    @Override
+    public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
+        if (!environment.getProperty("runtime.startup.lazy-admin-beans", Boolean.class, false)) {
+            return;
+        }
+        int count = 0;
+        for (String name : beanFactory.getBeanDefinitionNames()) {
+            BeanDefinition definition = beanFactory.getBeanDefinition(name);
+            if (!definition.isLazyInit() && isAdminBean(beanFactory, definition)) {
+                definition.setLazyInit(true);
+                count++;
+            }
+        }
+        log.info("Lazy initialization enabled for {} admin-only beans", count);
+    }
+
+    private static boolean isAdminBean(ConfigurableListableBeanFactory beanFactory, BeanDefinition definition) {
+        String className = definition.getBeanClassName();
+        if (className == null && definition.getFactoryBeanName() != null
+                && beanFactory.containsBeanDefinition(definition.getFactoryBeanName())) {
+            // @Bean method: attribute it to its @Configuration class
+            className = beanFactory.getBeanDefinition(definition.getFactoryBeanName()).getBeanClassName();
+        }
+        if (className == null) {
+            return false;
+        }
+        // @Configuration classes are CGLIB subclasses by now
+        int proxySuffix = className.indexOf("$$");
+        if (proxySuffix > 0) {
+            className = className.substring(0, proxySuffix);
+        }
+        if (ADMIN_CONTROLLERS.contains(className)) {
+            return true;
+        }
+        for (String prefix : ADMIN_PACKAGES) {
+            if (className.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,118 @@
+package com.los.config;
+
+import com.los.service.ActiveConfigIndex;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.crac.Context;
+import org.crac.Core;
+import org.crac.Resource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Checkpoint/restore (CRaC) support for what Spring does not handle itself.
+ *
+ * On a CRaC JVM with org.crac on the classpath, Spring stops all Lifecycle beans before a
+ * checkpoint and starts them again after restore. The web server, @Scheduled tasks and the
+ * Hikari pool are covered by Spring Boot. This lifecycle stops after the web server and
+ * before the pool:
+ * - stop during a checkpoint: shuts the embedded H2 file database down (it is kept open with
+ *   DB_CLOSE_DELAY=-1, and a checkpoint is refused while files are open); the pool reopens it
+ *   on restore.
+ * - start after a stop: reloads the ActiveConfigIndex, since the image may have been taken
+ *   longer ago than the config change log covers.
+ *
+ * Whether a checkpoint is in progress comes from an org.crac Resource registered after
+ * Spring's own, so it is notified before Spring stops the lifecycle beans. A plain context
+ * stop or shutdown leaves H2 alone.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CheckpointRestoreLifecycle implements SmartLifecycle, Resource {
+
+    // Stop after the web server (DEFAULT_PHASE - 2048) and before the Hikari pool (phase 0)
+    private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+    private final DataSource dataSource;
+    private final ActiveConfigIndex activeConfigIndex;
+
+    @Value("${runtime.db.backend:h2-file}")
+    private String backend;
+
+    private volatile boolean running;
+    private volatile boolean stopped;
+    private volatile boolean checkpointing;
+
+    @PostConstruct
+    void registerCheckpointHook() {
+        // The global context holds resources weakly; this bean is kept alive by the context
+        Core.getGlobalContext().register(this);
+    }
+
+    @Override
+    public void beforeCheckpoint(Context<? extends Resource> context) {
+        checkpointing = true;
+        if (!running) {
+            // Checkpoint on refresh: Spring has not started this bean, so stop() will not run;
+            // start() after restore then sees it as stopped and reloads the index
+            stopped = true;
+            shutdownEmbeddedDatabase();
+        }
+    }
+
+    @Override
+    public void afterRestore(Context<? extends Resource> context) {
+        checkpointing = false;
+    }
+
+    @Override
+    public void start() {
+        if (stopped) {
+            log.info("Restarting after stop (checkpoint restore): reloading the active config index");
+            try {
+                activeConfigIndex.reload();
+            } catch (RuntimeException e) {
+                // Resolution falls back to the database until the change channel catches up
+                log.error("Failed to reload the active config index after restore: {}", e.getMessage(), e);
+            }
+        }
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        stopped = true;
+        if (checkpointing) {
+            shutdownEmbeddedDatabase();
+        }
+    }
+
+    private void shutdownEmbeddedDatabase() {
+        if ("h2-file".equals(backend)) {
+            try {
+                new JdbcTemplate(dataSource).execute("SHUTDOWN");
+                log.info("Embedded H2 database closed");
+            } catch (DataAccessException e) {
+                log.warn("Could not shut down the embedded H2 database: {}", e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+}
@@ -0,0 +1,48 @@
+package com.los.config;
+
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Published once per transaction that changes which config versions are ACTIVE, or the content
+ * of an ACTIVE version (an activation, a release bundle or its rollback, an import, an admin
+ * create/update/delete of an ACTIVE config). In-memory views of ACTIVE configs refresh on it;
+ * listen with @TransactionalEventListener so a rolled-back change is never seen.
+ *
+ * ConfigChangeRelay also hands it to the ConfigChangeChannel before commit, so the other nodes
+ * of a cluster see the same change.
+ */
+@Getter
+public class ConfigChangedEvent {
+
+    /**
+     * What made the change, for logs (e.g. "release 12")
+     */
+    private final String source;
+
+    /**
+     * Changed config ids per type (screen, validation, field-mapping, flow; master-data with
+     * id 0 for a master data cache eviction)
+     */
+    private final Map<String, Set<Long>> configIdsByType;
+
+    public ConfigChangedEvent(String source, Map<String, Set<Long>> configIdsByType) {
+        this.source = source;
+        this.configIdsByType = Collections.unmodifiableMap(configIdsByType);
+    }
+
+    /**
+     * Change of one config by an admin CRUD operation (e.g. "update of screen config 12").
+     */
+    public static ConfigChangedEvent single(String configType, Long configId, String action) {
+        return new ConfigChangedEvent(action + " of " + configType + " config " + configId,
+                Map.of(configType, Set.of(configId)));
+    }
+
+    public int size() {
+        return configIdsByType.values().stream().mapToInt(Set::size).sum();
+    }
+}
@@ -0,0 +1,117 @@
+package com.los.config;
+
+import com.los.config.converter.JsonConverter;
+import com.los.config.entity.ConfigSearchColumns;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.migration.Context;
+import org.flywaydb.core.api.migration.JavaMigration;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+
+/**
+ * Flyway V13: fills the search columns added in V12 for configs saved before it, using the same
+ * derivation as the entities (ConfigSearchColumns). New saves fill them in @PrePersist/@PreUpdate.
+ *
+ * A bean rather than a class under db/migration, so Spring Boot registers it with Flyway for
+ * every backend (H2, PostgreSQL, MySQL) regardless of the migration location. Plain JDBC with
+ * lower-case names; JSON columns are read as text whatever their column type.
+ */
+@Component
+@Slf4j
+public class ConfigSearchColumnsBackfill implements JavaMigration {
+
+    private final JsonConverter jsonConverter = new JsonConverter();
+
+    @Override
+    public MigrationVersion getVersion() {
+        return MigrationVersion.fromVersion("13");
+    }
+
+    @Override
+    public String getDescription() {
+        return "backfill config search columns";
+    }
+
+    @Override
+    public Integer getChecksum() {
+        return null;
+    }
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return true;
+    }
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Connection connection = context.getConnection();
+        int screens = backfill(connection, "screen_configs", "ui_config", "screen_config_field_refs",
+                "UPDATE screen_configs SET screen_type = ? WHERE config_id = ?", null);
+        int validations = backfill(connection, "validation_configs", "validation_rules", "validation_config_field_refs",
+                null, null);
+        int mappings = backfill(connection, "field_mapping_configs", "mappings", "field_mapping_config_field_refs",
+                null, null);
+        int flows = backfill(connection, "flow_configs", "flow_definition", "flow_config_field_refs",
+                "UPDATE flow_configs SET dashboard_title = ? WHERE config_id = ?", "dashboard_meta");
+        log.info("Backfilled config search columns: {} screen, {} validation, {} field mapping, {} flow configs",
+                screens, validations, mappings, flows);
+    }
+
+    /**
+     * @param scalarUpdate UPDATE for the table's derived scalar column (screen type from the
+     *                     payload, or dashboard title from metaColumn), or null if it has none
+     */
+    private int backfill(Connection connection, String table, String payloadColumn, String refsTable,
+                         String scalarUpdate, String metaColumn) throws SQLException {
+        String select = "SELECT config_id, " + payloadColumn + (metaColumn != null ? ", " + metaColumn : "")
+                + " FROM " + table;
+        int rows = 0;
+        try (Statement query = connection.createStatement();
+             ResultSet resultSet = query.executeQuery(select);
+             PreparedStatement insertRef = connection.prepareStatement(
+                     "INSERT INTO " + refsTable + " (config_id, field_id) VALUES (?, ?)");
+             PreparedStatement updateScalar = scalarUpdate != null ? connection.prepareStatement(scalarUpdate) : null) {
+
+            while (resultSet.next()) {
+                long configId = resultSet.getLong(1);
+                Map<String, Object> payload = parse(table, configId, resultSet.getString(2));
+                for (String fieldId : ConfigSearchColumns.referencedFieldIds(payload)) {
+                    insertRef.setLong(1, configId);
+                    insertRef.setString(2, fieldId);
+                    insertRef.addBatch();
+                }
+                if (updateScalar != null) {
+                    String value = metaColumn != null
+                            ? ConfigSearchColumns.dashboardTitle(parse(table, configId, resultSet.getString(3)))
+                            : ConfigSearchColumns.screenType(payload);
+                    updateScalar.setString(1, value);
+                    updateScalar.setLong(2, configId);
+                    updateScalar.addBatch();
+                }
+                rows++;
+            }
+            insertRef.executeBatch();
+            if (updateScalar != null) {
+                updateScalar.executeBatch();
+            }
+        }
+        return rows;
+    }
+
+    private Map<String, Object> parse(String table, long configId, String json) {
+        try {
+            return jsonConverter.convertToEntityAttribute(json);
+        } catch (IllegalArgumentException e) {
+            // Leave the row without search columns rather than failing the migration
+            log.warn("Skipping unreadable JSON in {} config {}: {}", table, configId, e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package com.los.config;
+
+import com.los.util.DbUsageHolder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DataSource wrapper that measures how long each connection is held (checkout to close).
+ * Every checkout is recorded in the los.db.connection.hold timer and added to the
+ * current request's {@link DbUsageHolder} totals, together with the number of statements
+ * prepared on the connection.
+ *
+ * Statements are wrapped too: every execution is timed (los.db.statement, by SQL verb) and
+ * recorded with its SQL in the request's usage, which DbUsageFilter uses for N+1 detection.
+ * Executions slower than the slow-statement threshold are logged with their SQL (placeholders
+ * only, never bound values) and counted in los.db.slow_statements.
+ */
+@Slf4j
+public class ConnectionTrackingDataSource extends DelegatingDataSource {
+
+    private static final Set<String> STATEMENT_METHODS = Set.of("prepareStatement", "prepareCall", "createStatement");
+    private static final int MAX_LOGGED_SQL_LENGTH = 500;
+
+    private final ObjectProvider<MeterRegistry> meterRegistryProvider;
+    private final long slowStatementNanos;
+    private volatile MeterRegistry meterRegistry;
+    private volatile Timer holdTimer;
+    private final Map<String, Timer> statementTimers = new ConcurrentHashMap<>();
+    private volatile Counter slowStatementCounter;
+
+    /**
+     * @param slowStatementMillis Executions at or above this are logged and counted as slow (0 disables)
+     */
+    public ConnectionTrackingDataSource(DataSource targetDataSource, ObjectProvider<MeterRegistry> meterRegistryProvider,
+                                        long slowStatementMillis) {
+        super(targetDataSource);
+        this.meterRegistryProvider = meterRegistryProvider;
+        this.slowStatementNanos = slowStatementMillis > 0 ? TimeUnit.MILLISECONDS.toNanos(slowStatementMillis) : Long.MAX_VALUE;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return track(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return track(super.getConnection(username, password));
+    }
+
+    private Connection track(Connection target) {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                new TrackingHandler(target, System.nanoTime()));
+    }
+
+    private void recordHold(long holdNanos) {
+        DbUsageHolder.Usage usage = DbUsageHolder.get();
+        if (usage != null) {
+            usage.recordConnection(holdNanos);
+        }
+        Timer timer = holdTimer;
+        if (timer == null) {
+            MeterRegistry registry = meterRegistry();
+            if (registry == null) {
+                return;
+            }
+            timer = Timer.builder("los.db.connection.hold")
+                    .description("Time a JDBC connection is held between checkout and close")
+                    .register(registry);
+            holdTimer = timer;
+        }
+        timer.record(holdNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private void recordStatement() {
+        DbUsageHolder.Usage usage = DbUsageHolder.get();
+        if (usage != null) {
+            usage.recordStatement();
+        }
+    }
+
+    private void recordExecution(String sql, long elapsedNanos) {
+        DbUsageHolder.Usage usage = DbUsageHolder.get();
+        if (usage != null) {
+            usage.recordExecution(sql, elapsedNanos);
+        }
+
+        MeterRegistry registry = meterRegistry();
+        if (registry == null) {
+            return;
+        }
+        String verb = sqlVerb(sql);
+        statementTimers.computeIfAbsent(verb, v -> Timer.builder("los.db.statement")
+                        .description("JDBC statement execution time")
+                        .tag("type", v)
+                        .register(registry))
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+
+        if (elapsedNanos >= slowStatementNanos) {
+            Counter counter = slowStatementCounter;
+            if (counter == null) {
+                counter = registry.counter("los.db.slow_statements");
+                slowStatementCounter = counter;
+            }
+            counter.increment();
+            log.warn("Slow statement ({} ms): {}", TimeUnit.NANOSECONDS.toMillis(elapsedNanos), abbreviate(sql));
+        }
+    }
+
+    private MeterRegistry meterRegistry() {
+        MeterRegistry registry = meterRegistry;
+        if (registry == null) {
+            // MeterRegistry may not exist yet while Flyway/JPA bootstrap borrows connections
+            registry = meterRegistryProvider.getIfAvailable();
+            meterRegistry = registry;
+        }
+        return registry;
+    }
+
+    /**
+     * Bounded tag value for the statement timer: select/insert/update/delete/merge/other.
+     */
+    static String sqlVerb(String sql) {
+        if (sql == null) {
+            return "other";
+        }
+        String trimmed = sql.stripLeading();
+        int end = 0;
+        while (end < trimmed.length() && Character.isLetter(trimmed.charAt(end))) {
+            end++;
+        }
+        String verb = trimmed.substring(0, end).toLowerCase(Locale.ROOT);
+        return switch (verb) {
+            case "select", "insert", "update", "delete", "merge" -> verb;
+            default -> "other";
+        };
+    }
+
+    static String abbreviate(String sql) {
+        if (sql == null) {
+            return "<batch>";
+        }
+        return sql.length() <= MAX_LOGGED_SQL_LENGTH ? sql : sql.substring(0, MAX_LOGGED_SQL_LENGTH) + "...";
+    }
+
+    private class TrackingHandler implements InvocationHandler {
+
+        private final Connection target;
+        private final long acquiredAt;
+        private boolean closed;
+
+        TrackingHandler(Connection target, long acquiredAt) {
+            this.target = target;
+            this.acquiredAt = acquiredAt;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if ("close".equals(name) && !closed) {
+                closed = true;
+                recordHold(System.nanoTime() - acquiredAt);
+            } else if (STATEMENT_METHODS.contains(name)) {
+                recordStatement();
+                Object statement = invokeTarget(method, args);
+                String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : null;
+                return trackStatement((Statement) statement, method.getReturnType(), sql, (Connection) proxy);
+            } else if ("unwrap".equals(name) && args[0] == Connection.class) {
+                return target;
+            } else if ("equals".equals(name)) {
+                return proxy == args[0];
+            } else if ("hashCode".equals(name)) {
+                return System.identityHashCode(proxy);
+            }
+            return invokeTarget(method, args);
+        }
+
+        private Object invokeTarget(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+    }
+
+    private Object trackStatement(Statement target, Class<?> statementType, String sql, Connection connection) {
+        return Proxy.newProxyInstance(
+                Statement.class.getClassLoader(),
+                new Class<?>[]{statementType},
+                new StatementHandler(target, sql, connection));
+    }
+
+    /**
+     * Times execute* calls. The SQL is the one the statement was prepared with, or the one
+     * passed to execute for plain statements.
+     */
+    private class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+        private final String preparedSql;
+        private final Connection connection;
+
+        StatementHandler(Statement target, String preparedSql, Connection connection) {
+            this.target = target;
+            this.preparedSql = preparedSql;
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("execute")) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : preparedSql;
+                long start = System.nanoTime();
+                try {
+                    return method.invoke(target, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getTargetException();
+                } finally {
+                    recordExecution(sql, System.nanoTime() - start);
+                }
+            } else if ("getConnection".equals(name)) {
+                return connection;
+            } else if ("equals".equals(name)) {
+                return proxy == args[0];
+            } else if ("hashCode".equals(name)) {
+                return System.identityHashCode(proxy);
+            }
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+    }
+}
@@ -1,29 +1,79 @@
 package com.los.config;
 
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
 import org.springframework.boot.jdbc.DataSourceBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
 
 import javax.sql.DataSource;
 import java.io.File;
 
 /**
- * DataSource configuration to ensure file-based H2 database is always used.
- * This prevents IntelliJ or other tools from overriding the datasource URL.
+ * DataSource configuration.
+ *
+ * runtime.db.backend selects the database:
+ * - h2-file (default): file-based H2 under los.h2.data-dir. spring.datasource.url is ignored
+ *   so IntelliJ or other tools can't point the app at a different (e.g. in-memory) database.
+ * - jdbc: spring.datasource.url/username/password/driver-class-name, for PostgreSQL, MySQL or
+ *   an H2 server (postgresql, mysql and h2-server profiles, see DATABASE.md).
+ *
+ * The pool is HikariCP, configured from spring.datasource.hikari.* (pool size, timeouts, leak
+ * detection, driver properties such as statement caches); see application.yml.
  */
 @Configuration
+@Slf4j
 public class DataSourceConfig {
 
-    @Value("${user.dir}")
-    private String userDir;
+    private static final String BACKEND_H2_FILE = "h2-file";
+    private static final String BACKEND_JDBC = "jdbc";
+
+    @Value("${runtime.db.backend:h2-file}")
+    private String backend;
+
+    // Directory of the H2 database files (overridden by e.g. the load-test harness)
+    @Value("${los.h2.data-dir:${user.dir}/data}")
+    private String dataDirPath;
+
+    // Statement executions at or above this are logged and counted as slow (0 disables)
+    @Value("${runtime.db.slow-statement-ms:200}")
+    private long slowStatementMs;
 
     @Bean
     @Primary
-    public DataSource dataSource() {
+    public DataSource dataSource(DataSourceProperties properties, ObjectProvider<MeterRegistry> meterRegistryProvider,
+                                 Environment environment) {
+        HikariDataSource pooled;
+        if (BACKEND_JDBC.equals(backend)) {
+            pooled = properties.initializeDataSourceBuilder()
+                    .type(HikariDataSource.class)
+                    .build();
+        } else if (BACKEND_H2_FILE.equals(backend)) {
+            pooled = embeddedH2();
+        } else {
+            throw new IllegalStateException("Unknown runtime.db.backend '" + backend
+                    + "' (expected " + BACKEND_H2_FILE + " or " + BACKEND_JDBC + ")");
+        }
+        log.info("Database backend {}: {}", backend, pooled.getJdbcUrl());
+
+        // Same binding Spring Boot applies to an auto-configured Hikari pool
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(pooled));
+
+        // Measure connection hold time and statements per checkout and per request
+        return new ConnectionTrackingDataSource(pooled, meterRegistryProvider, slowStatementMs);
+    }
+
+    private HikariDataSource embeddedH2() {
         // Ensure data directory exists
-        File dataDir = new File(userDir, "data");
+        File dataDir = new File(dataDirPath);
         if (!dataDir.exists()) {
             dataDir.mkdirs();
         }
@@ -36,6 +86,7 @@ public class DataSourceConfig {
         );
 
         return DataSourceBuilder.create()
+                .type(HikariDataSource.class)
                 .driverClassName("org.h2.Driver")
                 .url(jdbcUrl)
                 .username("sa")
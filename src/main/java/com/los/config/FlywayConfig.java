@@ -2,39 +2,148 @@ package com.los.config;
 
 import lombok.extern.slf4j.Slf4j;
 import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.Location;
+import org.flywaydb.core.api.migration.JavaMigration;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
 
 /**
  * Flyway configuration to ensure migrations are always found.
  * This configuration helps when resources aren't properly copied to target/classes.
+ *
+ * With runtime.startup.skip-unchanged-migrations (fast-startup profile), a SHA-256 fingerprint
+ * of the migrations (SQL scripts and registered Java migrations) is stored in schema_fingerprint
+ * after migrating, and Flyway is skipped (no schema history query, validation or migrate) while
+ * the migrations found at startup still match it. Computing the fingerprint still scans the
+ * locations for .sql and .class files and reads them, so the saving is the Flyway work, not
+ * the classpath scan.
  */
 @Configuration
 @Slf4j
 public class FlywayConfig {
 
+    private static final String FINGERPRINT_SELECT = "SELECT fingerprint FROM schema_fingerprint WHERE id = 1";
+    private static final String FINGERPRINT_UPDATE =
+            "UPDATE schema_fingerprint SET fingerprint = ?, updated_at = CURRENT_TIMESTAMP WHERE id = 1";
+    private static final String FINGERPRINT_INSERT =
+            "INSERT INTO schema_fingerprint (id, fingerprint, updated_at) VALUES (1, ?, CURRENT_TIMESTAMP)";
+
     @Value("${spring.flyway.locations:classpath:db/migration}")
     private String flywayLocations;
 
+    @Value("${runtime.startup.skip-unchanged-migrations:false}")
+    private boolean skipUnchangedMigrations;
+
     @Bean
     public FlywayMigrationStrategy flywayMigrationStrategy() {
         return flyway -> {
-            // Verify migrations are available
+            if (!skipUnchangedMigrations) {
+                // Verify migrations are available
+                verifyMigrationsAvailable();
+                // Run migrations
+                flyway.migrate();
+                return;
+            }
+
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(flyway.getConfiguration().getDataSource());
+            String fingerprint = migrationFingerprint(flyway.getConfiguration().getLocations(),
+                    flyway.getConfiguration().getJavaMigrations());
+            if (fingerprint != null && fingerprint.equals(storedFingerprint(jdbcTemplate))) {
+                log.info("Migration scripts unchanged (fingerprint {}); skipping Flyway", fingerprint.substring(0, 12));
+                return;
+            }
             verifyMigrationsAvailable();
-            // Run migrations
             flyway.migrate();
+            if (fingerprint != null) {
+                storeFingerprint(jdbcTemplate, fingerprint);
+            }
         };
     }
 
+    /**
+     * SHA-256 over the names and contents of the .sql scripts and compiled classes in the Flyway
+     * locations plus the registered Java migration beans (class, version, description, checksum),
+     * or null if they cannot be read (Flyway then runs as usual).
+     */
+    String migrationFingerprint(Location[] locations, JavaMigration[] registeredJavaMigrations) {
+        try {
+            PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
+            List<Resource> scripts = new ArrayList<>();
+            for (Location location : locations) {
+                String prefix = location.isClassPath() ? "classpath*:" : "file:";
+                scripts.addAll(List.of(resolver.getResources(prefix + location.getRootPath() + "/**/*.sql")));
+                if (location.isClassPath()) {
+                    // Java migrations picked up by Flyway's own classpath scan
+                    scripts.addAll(List.of(resolver.getResources(prefix + location.getRootPath() + "/**/*.class")));
+                }
+            }
+            List<JavaMigration> javaMigrations = new ArrayList<>(List.of(registeredJavaMigrations));
+            if (scripts.isEmpty() && javaMigrations.isEmpty()) {
+                return null;
+            }
+            scripts.sort(Comparator.comparing(Resource::getFilename).thenComparing(Resource::getDescription));
+            javaMigrations.sort(Comparator.comparing(migration -> migration.getClass().getName()));
+
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (Resource script : scripts) {
+                digest.update(script.getFilename().getBytes(StandardCharsets.UTF_8));
+                try (InputStream in = script.getInputStream()) {
+                    digest.update(in.readAllBytes());
+                }
+            }
+            for (JavaMigration migration : javaMigrations) {
+                String entry = migration.getClass().getName() + "|" + migration.getVersion()
+                        + "|" + migration.getDescription() + "|" + migration.getChecksum();
+                digest.update(entry.getBytes(StandardCharsets.UTF_8));
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (IOException | NoSuchAlgorithmException e) {
+            log.warn("Could not fingerprint migration scripts, running Flyway: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private String storedFingerprint(JdbcTemplate jdbcTemplate) {
+        try {
+            List<String> stored = jdbcTemplate.queryForList(FINGERPRINT_SELECT, String.class);
+            return stored.isEmpty() ? null : stored.get(0);
+        } catch (DataAccessException e) {
+            // No schema_fingerprint table yet (fresh database, or migrations up to V16 only)
+            return null;
+        }
+    }
+
+    private void storeFingerprint(JdbcTemplate jdbcTemplate, String fingerprint) {
+        try {
+            if (jdbcTemplate.update(FINGERPRINT_UPDATE, fingerprint) == 0) {
+                jdbcTemplate.update(FINGERPRINT_INSERT, fingerprint);
+            }
+        } catch (DataAccessException e) {
+            // Concurrent first start on another node, or a target version below V17: migrate next time
+            log.warn("Could not store the migration fingerprint: {}", e.getMessage());
+        }
+    }
+
     private void verifyMigrationsAvailable() {
         try {
             PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
@@ -0,0 +1,227 @@
+package com.los.config;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.los.config.entity.FlowConfig;
+import com.los.config.entity.ValidationConfig;
+import com.los.exception.ValidationException;
+import com.los.flow.FlowEngine;
+import com.los.flow.FlowGraph;
+import com.los.metrics.RuntimeMetrics;
+import com.los.service.ActiveConfigIndex;
+import com.los.service.ConfigResolutionService;
+import com.los.validation.ValidationEngine;
+import com.los.validation.rules.RegexValidationRule;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Startup warm-up, run when the application is ready (alongside DatabaseStartupListener):
+ * 1. loads every ACTIVE config into the ActiveConfigIndex, one query per type in parallel,
+ *    and the most recent flow snapshots into the FlowEngine snapshot cache;
+ * 2. precompiles the regex patterns of ACTIVE validation configs and the graphs of ACTIVE flows;
+ * 3. replays synthetic next-screen journeys through every ACTIVE flow (config resolution,
+ *    next-screen evaluation, validation, JSON serialization; nothing is persisted) so the hot
+ *    paths are JIT-compiled before real traffic arrives.
+ *
+ * The listener runs synchronously, and Spring Boot reports readiness (ACCEPTING_TRAFFIC on
+ * /actuator/health/readiness) only after all ApplicationReadyEvent listeners have returned,
+ * so a node is taken into rotation only once warm-up has completed. Failures are logged and
+ * never prevent startup. Stage durations are exported as los.startup.warmup.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StartupWarmup {
+
+    private final ActiveConfigIndex activeConfigIndex;
+    private final ConfigResolutionService configResolutionService;
+    private final FlowEngine flowEngine;
+    private final ValidationEngine validationEngine;
+    private final RegexValidationRule regexValidationRule;
+    private final ObjectMapper objectMapper;
+    private final RuntimeMetrics runtimeMetrics;
+
+    @Value("${runtime.warmup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${runtime.warmup.parallelism:0}")
+    private int parallelism;
+
+    @Value("${runtime.warmup.recent-snapshots:500}")
+    private int recentSnapshots;
+
+    @Value("${runtime.warmup.journeys-per-flow:50}")
+    private int journeysPerFlow;
+
+    @Value("${runtime.warmup.timeout-ms:60000}")
+    private long timeoutMs;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        long start = System.nanoTime();
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            // The index is loaded even when warm-up is disabled: resolution depends on it
+            long stageStart = System.nanoTime();
+            activeConfigIndex.load(executor);
+            runtimeMetrics.recordWarmupStage("index", System.nanoTime() - stageStart);
+
+            if (!enabled) {
+                log.info("Startup warm-up disabled");
+                return;
+            }
+
+            stageStart = System.nanoTime();
+            int snapshots = preloadSnapshots();
+            runtimeMetrics.recordWarmupStage("snapshots", System.nanoTime() - stageStart);
+
+            stageStart = System.nanoTime();
+            int patterns = precompilePatterns();
+            List<CompiledFlow> flows = compileFlows();
+            runtimeMetrics.recordWarmupStage("precompile", System.nanoTime() - stageStart);
+
+            stageStart = System.nanoTime();
+            int journeys = replayJourneys(flows, executor, start + TimeUnit.MILLISECONDS.toNanos(timeoutMs));
+            runtimeMetrics.recordWarmupStage("journeys", System.nanoTime() - stageStart);
+
+            log.info("Startup warm-up: {} snapshots cached, {} patterns and {} flows precompiled, {} journeys replayed",
+                    snapshots, patterns, flows.size(), journeys);
+        } catch (RuntimeException e) {
+            log.error("Startup warm-up failed; continuing with cold caches", e);
+        } finally {
+            executor.shutdownNow();
+            long elapsed = System.nanoTime() - start;
+            runtimeMetrics.recordWarmupStage("total", elapsed);
+            log.info("Startup warm-up finished in {} ms", elapsed / 1_000_000);
+        }
+    }
+
+    private int preloadSnapshots() {
+        try {
+            return flowEngine.preloadSnapshots(recentSnapshots);
+        } catch (RuntimeException e) {
+            log.warn("Could not preload flow snapshots: {}", e.getMessage());
+            return 0;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private int precompilePatterns() {
+        int count = 0;
+        for (ValidationConfig config : activeConfigIndex.activeValidationConfigs()) {
+            Map<String, Object> rules = config.getValidationRules();
+            Object fields = rules != null ? rules.get("fields") : null;
+            if (!(fields instanceof Map)) {
+                continue;
+            }
+            for (Object fieldRules : ((Map<String, Object>) fields).values()) {
+                Object pattern = fieldRules instanceof Map ? ((Map<String, Object>) fieldRules).get("pattern") : null;
+                if (!(pattern instanceof String)) {
+                    continue;
+                }
+                try {
+                    regexValidationRule.precompile((String) pattern);
+                    count++;
+                } catch (PatternSyntaxException e) {
+                    log.warn("Invalid pattern in validation config {} (screenId={}): {}",
+                            config.getConfigId(), config.getScreenId(), e.getDescription());
+                }
+            }
+        }
+        return count;
+    }
+
+    private List<CompiledFlow> compileFlows() {
+        List<CompiledFlow> flows = new ArrayList<>();
+        for (FlowConfig config : activeConfigIndex.activeFlowConfigs()) {
+            Map<String, Object> definition = config.getFlowDefinition();
+            Object startScreen = definition != null ? definition.get("startScreen") : null;
+            if (!(startScreen instanceof String)) {
+                continue;
+            }
+            FlowGraph graph = FlowGraph.compile(definition);
+            List<String> screenIds = new ArrayList<>();
+            screenIds.add((String) startScreen);
+            screenIds.addAll(graph.reachableFrom((String) startScreen, Integer.MAX_VALUE, Integer.MAX_VALUE));
+            flows.add(new CompiledFlow(config, screenIds));
+        }
+        return flows;
+    }
+
+    private int replayJourneys(List<CompiledFlow> flows, ExecutorService executor, long deadlineNanos) {
+        List<CompletableFuture<Integer>> runs = new ArrayList<>();
+        for (CompiledFlow flow : flows) {
+            runs.add(CompletableFuture.supplyAsync(() -> replay(flow, deadlineNanos), executor));
+        }
+        try {
+            CompletableFuture.allOf(runs.toArray(new CompletableFuture[0]))
+                    .get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            log.warn("Startup warm-up timed out after {} ms; accepting traffic with partially warmed code paths",
+                    timeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("Startup warm-up journeys failed: {}", e.getMessage());
+        }
+        return runs.stream().filter(run -> run.isDone() && !run.isCompletedExceptionally())
+                .mapToInt(CompletableFuture::join).sum();
+    }
+
+    /**
+     * Walk every screen of a flow as a next-screen request would, with empty form data,
+     * journeysPerFlow times (or until the deadline).
+     */
+    private int replay(CompiledFlow flow, long deadlineNanos) {
+        FlowConfig config = flow.config;
+        int journeys = 0;
+        try {
+            for (; journeys < journeysPerFlow && System.nanoTime() < deadlineNanos; journeys++) {
+                ConfigResolutionService.ScreenConfigBatch batch = configResolutionService.resolveActiveScreenConfigs(
+                        flow.screenIds, config.getProductCode(), config.getPartnerCode(), config.getBranchCode());
+                for (String screenId : flow.screenIds) {
+                    Map<String, Object> screen = flowEngine.findScreenDefinition(config.getFlowDefinition(), screenId);
+                    if (screen != null) {
+                        flowEngine.evaluateNextScreen(screen, Map.of());
+                    }
+                    try {
+                        validationEngine.validate(Map.of(), batch.getValidationConfigs().get(screenId));
+                    } catch (ValidationException e) {
+                        // Expected: required fields are missing from the empty form
+                    }
+                    objectMapper.writeValueAsBytes(batch.getScreenConfigs().get(screenId));
+                }
+            }
+        } catch (RuntimeException | JsonProcessingException e) {
+            log.warn("Warm-up journey failed for flowId={} (configId={}): {}",
+                    config.getFlowId(), config.getConfigId(), e.getMessage());
+        }
+        return journeys;
+    }
+
+    private static final class CompiledFlow {
+        private final FlowConfig config;
+        private final List<String> screenIds;
+
+        private CompiledFlow(FlowConfig config, List<String> screenIds) {
+            this.config = config;
+            this.screenIds = screenIds;
+        }
+    }
+}
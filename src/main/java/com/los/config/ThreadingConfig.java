@@ -0,0 +1,66 @@
+package com.los.config;
+
+import com.los.util.CorrelationIdHolder;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+import java.util.Map;
+
+/**
+ * Async execution and threading mode.
+ *
+ * With spring.threads.virtual.enabled=true on Java 21, Spring Boot runs Tomcat requests,
+ * the applicationTaskExecutor (@Async) and the task scheduler on virtual threads; otherwise
+ * the platform-thread defaults apply. Thread-locals are not inherited by executor threads,
+ * so the decorator below carries the correlation ID and MDC into @Async tasks.
+ */
+@Configuration
+@EnableAsync
+@Slf4j
+public class ThreadingConfig {
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreadsRequested;
+
+    /**
+     * Picked up by Boot's task executor auto-configuration (both the pooled and the
+     * virtual-thread SimpleAsyncTaskExecutor variants).
+     */
+    @Bean
+    public TaskDecorator correlationIdTaskDecorator() {
+        return task -> {
+            String correlationId = CorrelationIdHolder.get();
+            Map<String, String> mdc = MDC.getCopyOfContextMap();
+            return () -> {
+                CorrelationIdHolder.set(correlationId);
+                if (mdc != null) {
+                    MDC.setContextMap(mdc);
+                }
+                try {
+                    task.run();
+                } finally {
+                    CorrelationIdHolder.clear();
+                    MDC.clear();
+                }
+            };
+        };
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void logThreadingMode() {
+        int javaVersion = Runtime.version().feature();
+        if (virtualThreadsRequested && javaVersion < 21) {
+            log.warn("spring.threads.virtual.enabled=true is ignored on Java {}; running on platform threads. " +
+                    "Build with -Pjava21 and run on a Java 21 runtime.", javaVersion);
+        } else {
+            log.info("Threading mode: {} threads (Java {})", virtualThreadsRequested ? "virtual" : "platform", javaVersion);
+        }
+    }
+}
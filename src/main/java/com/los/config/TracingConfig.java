@@ -0,0 +1,84 @@
+package com.los.config;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.opentelemetry.exporter.logging.otlp.OtlpJsonLoggingSpanExporter;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import lombok.RequiredArgsConstructor;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+/**
+ * Tracing setup (see TRACING.md).
+ *
+ * Spring Boot's OpenTelemetry bridge turns Micrometer observations into spans: the HTTP server
+ * span per request, plus the los.* observations in the runtime engines. This adds
+ * - a los.repository span around every Spring Data repository call,
+ * - an optional file exporter (OTLP JSON lines, runtime.tracing.file.enabled) next to the OTLP
+ *   exporter Boot configures from management.otlp.tracing.endpoint.
+ */
+@Configuration
+public class TracingConfig {
+
+    /**
+     * Adds a los.repository observation to every repository proxy. Static, because bean post
+     * processors are created before the rest of the configuration.
+     */
+    @Bean
+    public static BeanPostProcessor repositoryObservationPostProcessor(ObjectProvider<ObservationRegistry> observationRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, repositoryInformation) -> proxyFactory.addAdvice(new RepositoryObservationInterceptor(
+                                    observationRegistry, repositoryInformation.getRepositoryInterface().getSimpleName()))));
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Writes finished spans as OTLP JSON, one line per batch, through the
+     * io.opentelemetry.exporter.logging.otlp logger (routed to runtime.tracing.file.path in
+     * logback-spring.xml). Boot adds every SpanExporter bean to its span processor.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "runtime.tracing.file.enabled", havingValue = "true")
+    public SpanExporter fileSpanExporter() {
+        return OtlpJsonLoggingSpanExporter.create();
+    }
+
+    @RequiredArgsConstructor
+    static class RepositoryObservationInterceptor implements MethodInterceptor {
+
+        private final ObjectProvider<ObservationRegistry> observationRegistry;
+        private final String repository;
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            String method = invocation.getMethod().getName();
+            Observation observation = Observation.createNotStarted("los.repository",
+                            observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP))
+                    .contextualName(repository + "." + method)
+                    .lowCardinalityKeyValue("repository", repository)
+                    .lowCardinalityKeyValue("method", method)
+                    .start();
+            try (Observation.Scope scope = observation.openScope()) {
+                return invocation.proceed();
+            } catch (Throwable e) {
+                observation.error(e);
+                throw e;
+            } finally {
+                observation.stop();
+            }
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.los.config.change;
+
+import com.los.config.ConfigChangedEvent;
+
+import java.time.Duration;
+import java.util.function.Consumer;
+
+/**
+ * Carries config changes between the nodes of a cluster, so each node's ActiveConfigIndex
+ * follows changes made through any other node.
+ *
+ * DatabaseConfigChangeChannel (the default, runtime.config-change.channel=database) needs no
+ * infrastructure beyond the config database. A message bus (Kafka, Redis, JMS, ...) plugs in as
+ * another bean implementing this interface, with runtime.config-change.channel set to its name
+ * so the database channel is not created. Without any channel bean (channel=none) the node only
+ * sees its own changes, which is right for a single node.
+ */
+public interface ConfigChangeChannel {
+
+    /**
+     * Announce a change to the other nodes. Called inside the transaction that made it, just
+     * before commit (ConfigChangeRelay): a database implementation writes in that transaction,
+     * a bus implementation should defer sending until after commit.
+     */
+    void publish(ConfigChangedEvent event);
+
+    /**
+     * Receive changes made by other nodes. Changes of this node are not delivered; it applies
+     * them itself after commit.
+     */
+    void subscribe(Consumer<ConfigChangeNotice> subscriber);
+
+    /**
+     * How far behind the rest of the cluster this node may be: time since the channel last
+     * confirmed it had received every change committed before then (e.g. the last successful
+     * poll). The index stops serving once this exceeds runtime.config-index.max-staleness-ms.
+     */
+    Duration staleness();
+}
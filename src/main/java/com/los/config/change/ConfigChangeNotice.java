@@ -0,0 +1,27 @@
+package com.los.config.change;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Config changes made by other nodes, as delivered by a ConfigChangeChannel. Only ids: the
+ * receiver reads the current state of each config, so notices may be repeated or arrive out of
+ * order without harm.
+ */
+@Getter
+@AllArgsConstructor
+public class ConfigChangeNotice {
+
+    /**
+     * Changed config ids per type (screen, validation, field-mapping, flow, master-data)
+     */
+    private final Map<String, Set<Long>> configIdsByType;
+
+    /**
+     * Age of the oldest change in the notice when it was received, for the propagation lag metric
+     */
+    private final long maxAgeNanos;
+}
@@ -0,0 +1,24 @@
+package com.los.config.change;
+
+import com.los.config.ConfigChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Hands every ConfigChangedEvent to the ConfigChangeChannel (if there is one) before its
+ * transaction commits, so a database channel records the change atomically with it.
+ */
+@Component
+@RequiredArgsConstructor
+public class ConfigChangeRelay {
+
+    private final ObjectProvider<ConfigChangeChannel> channel;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onConfigChanged(ConfigChangedEvent event) {
+        channel.ifAvailable(c -> c.publish(event));
+    }
+}
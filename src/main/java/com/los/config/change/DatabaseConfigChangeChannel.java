@@ -0,0 +1,238 @@
+package com.los.config.change;
+
+import com.los.config.ConfigChangedEvent;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * ConfigChangeChannel over the config database (config_change_log, V16): each change is written
+ * as rows in the transaction that made it, and every node polls for rows above the last
+ * change_id it has seen. A committed change reaches the other nodes within one poll interval.
+ *
+ * change_id comes from an identity column, so ids are unique and increasing in insert order but
+ * not in commit order: a transaction can commit after one holding a higher id, and a rolled-back
+ * one leaves a hole. Rows are delivered as soon as they are seen, whatever their order; the
+ * watermark (every id at or below it is done) only moves past a missing id once that id has
+ * been missing for runtime.config-change.gap-timeout-ms, and rows above it are re-read (and
+ * skipped if already delivered) until then. A change that takes longer than that to commit is
+ * missed by the other nodes.
+ *
+ * Timestamps are taken on the database clock, so the propagation lag is not skewed by node
+ * clocks (on PostgreSQL it runs from the start of the writing transaction).
+ */
+@Component
+@ConditionalOnProperty(name = "runtime.config-change.channel", havingValue = "database", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class DatabaseConfigChangeChannel implements ConfigChangeChannel {
+
+    private static final int MAX_SOURCE_LENGTH = 200;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${runtime.config-change.node-id:}")
+    private String nodeId;
+
+    @Value("${runtime.config-change.batch-size:500}")
+    private int batchSize;
+
+    @Value("${runtime.config-change.gap-timeout-ms:30000}")
+    private long gapTimeoutMs;
+
+    @Value("${runtime.config-change.retention-hours:24}")
+    private int retentionHours;
+
+    private final List<Consumer<ConfigChangeNotice>> subscribers = new CopyOnWriteArrayList<>();
+
+    // Poll state, only touched by the (non-overlapping) scheduled poll
+    private boolean started;
+    /** Every change_id at or below this has been delivered or given up on */
+    private long watermark;
+    /** Delivered change_ids above the watermark */
+    private final NavigableSet<Long> deliveredAbove = new TreeSet<>();
+    /** Missing change_ids above the watermark, with the poll (nanoTime) that first missed them */
+    private final Map<Long, Long> missingSince = new HashMap<>();
+
+    private volatile long lastSyncNanos = System.nanoTime();
+
+    @PostConstruct
+    void init() {
+        if (nodeId == null || nodeId.isBlank()) {
+            nodeId = defaultNodeId();
+        }
+        log.info("Config changes propagate through config_change_log (node {})", nodeId);
+    }
+
+    @Override
+    public void publish(ConfigChangedEvent event) {
+        String source = event.getSource() != null && event.getSource().length() > MAX_SOURCE_LENGTH
+                ? event.getSource().substring(0, MAX_SOURCE_LENGTH) : event.getSource();
+        List<Object[]> rows = new ArrayList<>(event.size());
+        event.getConfigIdsByType().forEach((type, ids) -> ids.forEach(id -> rows.add(new Object[]{type, id, source, nodeId})));
+        if (rows.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO config_change_log (config_type, config_id, source, node_id, changed_at) "
+                + "VALUES (?, ?, ?, ?, LOCALTIMESTAMP(6))", rows);
+    }
+
+    @Override
+    public void subscribe(Consumer<ConfigChangeNotice> subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    @Override
+    public Duration staleness() {
+        return Duration.ofNanos(System.nanoTime() - lastSyncNanos);
+    }
+
+    /**
+     * Deliver the changes other nodes committed since the last poll. If a subscriber fails, the
+     * same rows are delivered again on the next poll, and staleness() keeps growing until one
+     * succeeds.
+     */
+    @Scheduled(fixedDelayString = "${runtime.config-change.poll-interval-ms:1000}")
+    public void poll() {
+        long pollStarted = System.nanoTime();
+        try {
+            if (!started) {
+                watermark = startingWatermark();
+                started = true;
+            }
+            List<ChangeRow> rows = jdbcTemplate.query(
+                    "SELECT change_id, config_type, config_id, node_id, changed_at, LOCALTIMESTAMP(6) "
+                            + "FROM config_change_log WHERE change_id > ? ORDER BY change_id LIMIT ?",
+                    (rs, rowNum) -> new ChangeRow(rs.getLong(1), rs.getString(2), rs.getLong(3), rs.getString(4),
+                            ageNanos(rs.getTimestamp(5), rs.getTimestamp(6))),
+                    watermark, batchSize + deliveredAbove.size());
+
+            Map<String, Set<Long>> changed = new HashMap<>();
+            long maxAgeNanos = 0;
+            for (ChangeRow row : rows) {
+                if (!deliveredAbove.contains(row.changeId) && !nodeId.equals(row.nodeId)) {
+                    changed.computeIfAbsent(row.configType, t -> new HashSet<>()).add(row.configId);
+                    maxAgeNanos = Math.max(maxAgeNanos, row.ageNanos);
+                }
+            }
+            if (!changed.isEmpty()) {
+                ConfigChangeNotice notice = new ConfigChangeNotice(changed, maxAgeNanos);
+                subscribers.forEach(subscriber -> subscriber.accept(notice));
+            }
+
+            long previous = watermark;
+            for (ChangeRow row : rows) {
+                for (long missing = previous + 1; missing < row.changeId; missing++) {
+                    missingSince.putIfAbsent(missing, pollStarted);
+                }
+                missingSince.remove(row.changeId);
+                deliveredAbove.add(row.changeId);
+                previous = row.changeId;
+            }
+            advanceWatermark(pollStarted);
+            lastSyncNanos = pollStarted;
+        } catch (RuntimeException e) {
+            log.warn("Config change poll failed (node {} is {} ms behind): {}",
+                    nodeId, staleness().toMillis(), e.getMessage());
+        }
+    }
+
+    /**
+     * Drop changes past the retention window (every node has long applied them).
+     */
+    @Scheduled(fixedDelayString = "${runtime.config-change.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        int deleted = jdbcTemplate.update("DELETE FROM config_change_log WHERE changed_at < ?",
+                Timestamp.valueOf(LocalDateTime.now().minusHours(retentionHours)));
+        if (deleted > 0) {
+            log.info("Purged {} config change log rows", deleted);
+        }
+    }
+
+    private void advanceWatermark(long pollStarted) {
+        long gapTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(gapTimeoutMs);
+        while (true) {
+            long next = watermark + 1;
+            if (deliveredAbove.remove(next)) {
+                watermark = next;
+                continue;
+            }
+            Long missedSince = missingSince.get(next);
+            if (missedSince != null && pollStarted - missedSince >= gapTimeoutNanos) {
+                // Rolled back, or committing too slowly to wait for
+                log.warn("Skipping config change {}: not committed within {} ms", next, gapTimeoutMs);
+                missingSince.remove(next);
+                watermark = next;
+                continue;
+            }
+            return;
+        }
+    }
+
+    /**
+     * Start one gap timeout back from the newest change, so changes still being committed while
+     * this node starts are not skipped. Replayed changes are re-read by the index, which is
+     * harmless.
+     */
+    private long startingWatermark() {
+        Timestamp now = jdbcTemplate.queryForObject("SELECT LOCALTIMESTAMP(6)", Timestamp.class);
+        Timestamp cutoff = Timestamp.valueOf(now.toLocalDateTime().minus(Duration.ofMillis(gapTimeoutMs)));
+        Long start = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(MAX(change_id), 0) FROM config_change_log WHERE changed_at < ?", Long.class, cutoff);
+        return start != null ? start : 0;
+    }
+
+    private static long ageNanos(Timestamp changedAt, Timestamp now) {
+        return Math.max(0, Duration.between(changedAt.toLocalDateTime(), now.toLocalDateTime()).toNanos());
+    }
+
+    private static String defaultNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "node";
+        }
+        // A restarted node is a new node: it loads everything on startup
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    private static final class ChangeRow {
+        private final long changeId;
+        private final String configType;
+        private final long configId;
+        private final String nodeId;
+        private final long ageNanos;
+
+        private ChangeRow(long changeId, String configType, long configId, String nodeId, long ageNanos) {
+            this.changeId = changeId;
+            this.configType = configType;
+            this.configId = configId;
+            this.nodeId = nodeId;
+            this.ageNanos = ageNanos;
+        }
+    }
+}
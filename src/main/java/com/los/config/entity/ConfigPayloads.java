@@ -0,0 +1,32 @@
+package com.los.config.entity;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The config JSON payloads as the admin API returns them.
+ *
+ * The admin UI reads "status" from inside the payload (uiConfig, flowDefinition, ...) as well as
+ * from the entity. That copy is derived from the status column when the entity is serialized,
+ * so activation and release bundles only update the column and never rewrite the JSON; whatever
+ * "status" an older row still stores in its payload is overridden.
+ */
+final class ConfigPayloads {
+
+    private ConfigPayloads() {
+        // Utility class
+    }
+
+    /**
+     * The payload with its "status" entry set to the config status; the stored map itself is
+     * never modified, so reading an entity cannot make it dirty.
+     */
+    static Map<String, Object> withStatus(Map<String, Object> payload, String status) {
+        if (payload == null || status == null || status.equals(payload.get("status"))) {
+            return payload;
+        }
+        Map<String, Object> view = new LinkedHashMap<>(payload);
+        view.put("status", status);
+        return view;
+    }
+}
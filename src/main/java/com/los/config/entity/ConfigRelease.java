@@ -0,0 +1,74 @@
+package com.los.config.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Release bundle: config versions of any type activated together in one transaction.
+ * Each item records the ACTIVE version it replaced; replacedVersions holds every version the
+ * release deprecated, which is what a rollback restores.
+ */
+@Entity
+@Table(name = "config_releases")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ConfigRelease {
+
+    public static final String STATUS_ACTIVATED = "ACTIVATED";
+    public static final String STATUS_ROLLED_BACK = "ROLLED_BACK";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "release_id")
+    private Long releaseId;
+
+    @Column(name = "name", nullable = false, length = 100)
+    private String name;
+
+    @Column(name = "description", length = 500)
+    private String description;
+
+    /**
+     * ACTIVATED or ROLLED_BACK
+     */
+    @Column(name = "status", nullable = false, length = 20)
+    private String status;
+
+    @Column(name = "created_by", length = 100)
+    private String createdBy;
+
+    @Column(name = "activated_at", nullable = false)
+    private LocalDateTime activatedAt;
+
+    @Column(name = "rolled_back_by", length = 100)
+    private String rolledBackBy;
+
+    @Column(name = "rolled_back_at")
+    private LocalDateTime rolledBackAt;
+
+    /**
+     * Small per release and always shown with it, so loaded eagerly.
+     */
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "config_release_items", joinColumns = @JoinColumn(name = "release_id"))
+    @Builder.Default
+    private List<ConfigReleaseItem> items = new ArrayList<>();
+
+    /**
+     * Every ACTIVE version the release deprecated. Usually one per item, but a scope that had
+     * more than one ACTIVE version contributes all of them.
+     */
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "config_release_replaced_versions", joinColumns = @JoinColumn(name = "release_id"))
+    @Builder.Default
+    private Set<ConfigReleaseReplacedVersion> replacedVersions = new LinkedHashSet<>();
+}
@@ -0,0 +1,33 @@
+package com.los.config.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.*;
+
+/**
+ * One config version activated by a release.
+ */
+@Embeddable
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ConfigReleaseItem {
+
+    /**
+     * screen, validation, field-mapping or flow
+     */
+    @Column(name = "config_type", nullable = false, length = 20)
+    private String configType;
+
+    @Column(name = "config_id", nullable = false)
+    private Long configId;
+
+    /**
+     * The ACTIVE version of the same config and scope that this one deprecated, if any (the
+     * oldest, if there were several; ConfigRelease.replacedVersions lists all of them)
+     */
+    @Column(name = "previous_config_id")
+    private Long previousConfigId;
+}
@@ -0,0 +1,26 @@
+package com.los.config.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.*;
+
+/**
+ * One ACTIVE config version deprecated by a release, made ACTIVE again by its rollback.
+ */
+@Embeddable
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class ConfigReleaseReplacedVersion {
+
+    /**
+     * screen, validation, field-mapping or flow
+     */
+    @Column(name = "config_type", nullable = false, length = 20)
+    private String configType;
+
+    @Column(name = "config_id", nullable = false)
+    private Long configId;
+}
@@ -0,0 +1,105 @@
+package com.los.config.entity;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Derives the indexed search columns of the config entities from their JSON payloads, so
+ * admin listings and impact analysis can filter in the database instead of parsing every row.
+ *
+ * Referenced field ids are collected wherever the config formats name a form field:
+ * - "fields" as a list of field definitions (screen uiConfig: each entry's "id"),
+ * - "fields" as a map keyed by field id (validation rules),
+ * - "sourceFields" lists (field mappings),
+ * - "field" values (flow branch conditions).
+ */
+public class ConfigSearchColumns {
+
+    public static final int FIELD_ID_LENGTH = 100;
+    public static final int SCREEN_TYPE_LENGTH = 50;
+    public static final int DASHBOARD_TITLE_LENGTH = 255;
+
+    private ConfigSearchColumns() {
+        // Utility class
+    }
+
+    /**
+     * Screen type from the uiConfig ("screenType", else a top-level "type"), or null.
+     */
+    public static String screenType(Map<String, Object> uiConfig) {
+        if (uiConfig == null) {
+            return null;
+        }
+        Object type = uiConfig.get("screenType");
+        if (!(type instanceof String)) {
+            type = uiConfig.get("type");
+        }
+        return type instanceof String value && !value.isBlank() ? truncate(value, SCREEN_TYPE_LENGTH) : null;
+    }
+
+    /**
+     * Dashboard tile title of a flow, or null.
+     */
+    public static String dashboardTitle(Map<String, Object> dashboardMeta) {
+        Object title = dashboardMeta != null ? dashboardMeta.get("title") : null;
+        return title instanceof String value && !value.isBlank() ? truncate(value, DASHBOARD_TITLE_LENGTH) : null;
+    }
+
+    /**
+     * Field ids referenced anywhere in a config payload, sorted.
+     */
+    public static Set<String> referencedFieldIds(Map<String, Object> payload) {
+        Set<String> fieldIds = new TreeSet<>();
+        collect(payload, fieldIds);
+        return fieldIds;
+    }
+
+    /**
+     * Replace the contents of a (possibly Hibernate-managed) collection only when they differ,
+     * so an unchanged config does not rewrite its reference rows.
+     */
+    static void replace(Set<String> target, Set<String> values) {
+        if (!target.equals(values)) {
+            target.clear();
+            target.addAll(values);
+        }
+    }
+
+    private static void collect(Object node, Set<String> fieldIds) {
+        if (node instanceof Map<?, ?> map) {
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                Object key = entry.getKey();
+                Object value = entry.getValue();
+                if ("fields".equals(key) && value instanceof List<?> fields) {
+                    for (Object field : fields) {
+                        if (field instanceof Map<?, ?> definition) {
+                            add(definition.get("id"), fieldIds);
+                        }
+                    }
+                } else if ("fields".equals(key) && value instanceof Map<?, ?> rules) {
+                    rules.keySet().forEach(fieldId -> add(fieldId, fieldIds));
+                } else if ("sourceFields".equals(key) && value instanceof Collection<?> sources) {
+                    sources.forEach(fieldId -> add(fieldId, fieldIds));
+                } else if ("field".equals(key)) {
+                    add(value, fieldIds);
+                }
+                collect(value, fieldIds);
+            }
+        } else if (node instanceof Collection<?> items) {
+            items.forEach(item -> collect(item, fieldIds));
+        }
+    }
+
+    private static void add(Object fieldId, Set<String> fieldIds) {
+        if (fieldId instanceof String value && !value.isBlank() && value.length() <= FIELD_ID_LENGTH) {
+            fieldIds.add(value);
+        }
+    }
+
+    private static String truncate(String value, int length) {
+        return value.length() <= length ? value : value.substring(0, length);
+    }
+}
@@ -1,5 +1,7 @@
 package com.los.config.entity;
 
+import com.fasterxml.jackson.annotation.JsonGetter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.los.config.converter.JsonConverter;
 import jakarta.persistence.*;
 import lombok.*;
@@ -8,7 +10,9 @@ import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.LocalDateTime;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Configuration entity for flow definitions.
@@ -61,6 +65,23 @@ public class FlowConfig {
     @Convert(converter = JsonConverter.class)
     private Map<String, Object> dashboardMeta;
 
+    /**
+     * Dashboard title, derived from dashboardMeta on save (see ConfigSearchColumns). Indexed.
+     */
+    @Column(name = "dashboard_title", length = ConfigSearchColumns.DASHBOARD_TITLE_LENGTH)
+    private String dashboardTitle;
+
+    /**
+     * Field ids referenced by the flow conditions, derived on save. Indexed by field id for impact
+     * analysis; not part of the API representation.
+     */
+    @JsonIgnore
+    @ElementCollection
+    @CollectionTable(name = "flow_config_field_refs", joinColumns = @JoinColumn(name = "config_id"))
+    @Column(name = "field_id", length = ConfigSearchColumns.FIELD_ID_LENGTH, nullable = false)
+    @Builder.Default
+    private Set<String> referencedFieldIds = new HashSet<>();
+
     @Column(name = "created_by", length = 100)
     private String createdBy;
 
@@ -78,5 +99,23 @@ public class FlowConfig {
     @Version
     @Column(name = "lock_version")
     private Integer lockVersion;
-}
 
+    /**
+     * flowDefinition as serialized by the API, with its "status" taken from the status column
+     * (see ConfigPayloads).
+     */
+    @JsonGetter("flowDefinition")
+    Map<String, Object> flowDefinitionWithStatus() {
+        return ConfigPayloads.withStatus(flowDefinition, status);
+    }
+
+    @PrePersist
+    @PreUpdate
+    void deriveSearchColumns() {
+        dashboardTitle = ConfigSearchColumns.dashboardTitle(dashboardMeta);
+        if (referencedFieldIds == null) {
+            referencedFieldIds = new HashSet<>();
+        }
+        ConfigSearchColumns.replace(referencedFieldIds, ConfigSearchColumns.referencedFieldIds(flowDefinition));
+    }
+}
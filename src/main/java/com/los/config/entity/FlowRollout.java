@@ -0,0 +1,84 @@
+package com.los.config.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Canary or scheduled rollout of a DRAFT flow config version. While RUNNING (from startsAt),
+ * the given percentage of new applications in the candidate's scope start on the candidate
+ * instead of the ACTIVE version; at activateAt, or when promoted, the candidate is activated.
+ */
+@Entity
+@Table(name = "flow_rollouts")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FlowRollout {
+
+    public static final String STATUS_RUNNING = "RUNNING";
+    public static final String STATUS_PROMOTED = "PROMOTED";
+    public static final String STATUS_CANCELLED = "CANCELLED";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "rollout_id")
+    private Long rolloutId;
+
+    /**
+     * The candidate (DRAFT) flow config version
+     */
+    @Column(name = "flow_config_id", nullable = false)
+    private Long flowConfigId;
+
+    @Column(name = "flow_id", nullable = false, length = 100)
+    private String flowId;
+
+    @Column(name = "product_code", length = 50)
+    private String productCode;
+
+    @Column(name = "partner_code", length = 50)
+    private String partnerCode;
+
+    @Column(name = "branch_code", length = 50)
+    private String branchCode;
+
+    /**
+     * Share of new applications (0-100) that start on the candidate
+     */
+    @Column(name = "percentage", nullable = false)
+    private Integer percentage;
+
+    /**
+     * When the canary starts; null = immediately
+     */
+    @Column(name = "starts_at")
+    private LocalDateTime startsAt;
+
+    /**
+     * When the candidate is activated for everyone; null = only by explicit promotion
+     */
+    @Column(name = "activate_at")
+    private LocalDateTime activateAt;
+
+    /**
+     * RUNNING, PROMOTED or CANCELLED
+     */
+    @Column(name = "status", nullable = false, length = 20)
+    private String status;
+
+    @Column(name = "created_by", length = 100)
+    private String createdBy;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "ended_by", length = 100)
+    private String endedBy;
+
+    @Column(name = "ended_at")
+    private LocalDateTime endedAt;
+}
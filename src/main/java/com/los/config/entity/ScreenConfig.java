@@ -1,5 +1,7 @@
 package com.los.config.entity;
 
+import com.fasterxml.jackson.annotation.JsonGetter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.los.config.converter.JsonConverter;
 import jakarta.persistence.*;
 import lombok.*;
@@ -8,7 +10,9 @@ import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.LocalDateTime;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Configuration entity for screen definitions.
@@ -53,6 +57,23 @@ public class ScreenConfig {
     @Convert(converter = JsonConverter.class)
     private Map<String, Object> uiConfig;
 
+    /**
+     * Screen type, derived from uiConfig on save (see ConfigSearchColumns). Indexed.
+     */
+    @Column(name = "screen_type", length = ConfigSearchColumns.SCREEN_TYPE_LENGTH)
+    private String screenType;
+
+    /**
+     * Field ids referenced by the uiConfig, derived on save. Indexed by field id for impact
+     * analysis; not part of the API representation.
+     */
+    @JsonIgnore
+    @ElementCollection
+    @CollectionTable(name = "screen_config_field_refs", joinColumns = @JoinColumn(name = "config_id"))
+    @Column(name = "field_id", length = ConfigSearchColumns.FIELD_ID_LENGTH, nullable = false)
+    @Builder.Default
+    private Set<String> referencedFieldIds = new HashSet<>();
+
     @Column(name = "created_by", length = 100)
     private String createdBy;
 
@@ -70,5 +91,23 @@ public class ScreenConfig {
     @Version
     @Column(name = "lock_version")
     private Integer lockVersion;
-}
 
+    /**
+     * uiConfig as serialized by the API, with its "status" taken from the status column
+     * (see ConfigPayloads).
+     */
+    @JsonGetter("uiConfig")
+    Map<String, Object> uiConfigWithStatus() {
+        return ConfigPayloads.withStatus(uiConfig, status);
+    }
+
+    @PrePersist
+    @PreUpdate
+    void deriveSearchColumns() {
+        screenType = ConfigSearchColumns.screenType(uiConfig);
+        if (referencedFieldIds == null) {
+            referencedFieldIds = new HashSet<>();
+        }
+        ConfigSearchColumns.replace(referencedFieldIds, ConfigSearchColumns.referencedFieldIds(uiConfig));
+    }
+}
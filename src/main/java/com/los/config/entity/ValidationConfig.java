@@ -1,5 +1,7 @@
 package com.los.config.entity;
 
+import com.fasterxml.jackson.annotation.JsonGetter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.los.config.converter.JsonConverter;
 import jakarta.persistence.*;
 import lombok.*;
@@ -8,7 +10,9 @@ import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.LocalDateTime;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Configuration entity for validation rules.
@@ -53,6 +57,17 @@ public class ValidationConfig {
     @Convert(converter = JsonConverter.class)
     private Map<String, Object> validationRules;
 
+    /**
+     * Field ids referenced by the validation rules, derived on save. Indexed by field id for impact
+     * analysis; not part of the API representation.
+     */
+    @JsonIgnore
+    @ElementCollection
+    @CollectionTable(name = "validation_config_field_refs", joinColumns = @JoinColumn(name = "config_id"))
+    @Column(name = "field_id", length = ConfigSearchColumns.FIELD_ID_LENGTH, nullable = false)
+    @Builder.Default
+    private Set<String> referencedFieldIds = new HashSet<>();
+
     @Column(name = "created_by", length = 100)
     private String createdBy;
 
@@ -70,5 +85,22 @@ public class ValidationConfig {
     @Version
     @Column(name = "lock_version")
     private Integer lockVersion;
-}
 
+    /**
+     * validationRules as serialized by the API, with its "status" taken from the status column
+     * (see ConfigPayloads).
+     */
+    @JsonGetter("validationRules")
+    Map<String, Object> validationRulesWithStatus() {
+        return ConfigPayloads.withStatus(validationRules, status);
+    }
+
+    @PrePersist
+    @PreUpdate
+    void deriveSearchColumns() {
+        if (referencedFieldIds == null) {
+            referencedFieldIds = new HashSet<>();
+        }
+        ConfigSearchColumns.replace(referencedFieldIds, ConfigSearchColumns.referencedFieldIds(validationRules));
+    }
+}
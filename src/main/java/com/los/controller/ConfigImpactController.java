@@ -0,0 +1,67 @@
+package com.los.controller;
+
+import com.los.config.ConfigStatus;
+import com.los.dto.config.ConfigImpactResponse;
+import com.los.dto.config.ConfigSummary;
+import com.los.repository.FieldMappingConfigRepository;
+import com.los.repository.FlowConfigRepository;
+import com.los.repository.ScreenConfigRepository;
+import com.los.repository.ValidationConfigRepository;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+// DISABLED FOR TESTING: Authentication removed
+// import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Controller for config impact analysis: which config versions reference a form field.
+ * Answered from the indexed field reference tables, without reading any JSON payload.
+ */
+@RestController
+@RequestMapping("/api/v1/configs/impact")
+@RequiredArgsConstructor
+@Tag(name = "Config Impact Analysis", description = "Find configurations that reference a field")
+public class ConfigImpactController {
+
+    private final ScreenConfigRepository screenConfigRepository;
+    private final ValidationConfigRepository validationConfigRepository;
+    private final FieldMappingConfigRepository fieldMappingConfigRepository;
+    private final FlowConfigRepository flowConfigRepository;
+
+    @Operation(summary = "Find configurations referencing a field",
+            description = "Screens showing the field, validations and mappings on it, and flows branching on it")
+    @GetMapping
+    @Transactional(readOnly = true)
+    // DISABLED FOR TESTING: @PreAuthorize("hasAnyRole('ADMIN', 'CONFIG_EDITOR', 'VIEWER')")
+    public ResponseEntity<ConfigImpactResponse> getImpact(
+            @RequestParam String fieldId,
+            @RequestParam(defaultValue = "false") boolean activeOnly) {
+        List<ConfigSummary> screens = filter(screenConfigRepository.findSummariesReferencingField(fieldId), activeOnly);
+        List<ConfigSummary> validations = filter(validationConfigRepository.findSummariesReferencingField(fieldId), activeOnly);
+        List<ConfigSummary> fieldMappings = filter(fieldMappingConfigRepository.findSummariesReferencingField(fieldId), activeOnly);
+        List<ConfigSummary> flows = filter(flowConfigRepository.findSummariesReferencingField(fieldId), activeOnly);
+
+        return ResponseEntity.ok(ConfigImpactResponse.builder()
+                .fieldId(fieldId)
+                .total(screens.size() + validations.size() + fieldMappings.size() + flows.size())
+                .screens(screens)
+                .validations(validations)
+                .fieldMappings(fieldMappings)
+                .flows(flows)
+                .build());
+    }
+
+    private static List<ConfigSummary> filter(List<ConfigSummary> summaries, boolean activeOnly) {
+        if (!activeOnly) {
+            return summaries;
+        }
+        return summaries.stream()
+                .filter(summary -> ConfigStatus.isRuntimeUsable(summary.getStatus()))
+                .toList();
+    }
+}
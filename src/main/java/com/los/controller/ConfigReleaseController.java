@@ -0,0 +1,61 @@
+package com.los.controller;
+
+import com.los.config.entity.ConfigRelease;
+import com.los.dto.config.ConfigReleaseRequest;
+import com.los.service.ConfigReleaseService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+// DISABLED FOR TESTING: Authentication removed
+// import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Controller for release bundles: activate several configs atomically, and roll them back.
+ */
+@RestController
+@RequestMapping("/api/v1/configs/releases")
+@RequiredArgsConstructor
+@Tag(name = "Config Releases", description = "Activate and roll back sets of configurations together")
+public class ConfigReleaseController {
+
+    private final ConfigReleaseService configReleaseService;
+
+    @Operation(summary = "Get recent releases", description = "The 50 most recent releases, newest first")
+    @GetMapping
+    // DISABLED FOR TESTING: @PreAuthorize("hasAnyRole('ADMIN', 'CONFIG_EDITOR', 'VIEWER')")
+    public ResponseEntity<List<ConfigRelease>> getRecentReleases() {
+        return ResponseEntity.ok(configReleaseService.getRecentReleases());
+    }
+
+    @Operation(summary = "Get release by ID")
+    @GetMapping("/{releaseId}")
+    // DISABLED FOR TESTING: @PreAuthorize("hasAnyRole('ADMIN', 'CONFIG_EDITOR', 'VIEWER')")
+    public ResponseEntity<ConfigRelease> getRelease(@PathVariable Long releaseId) {
+        return ResponseEntity.ok(configReleaseService.getRelease(releaseId));
+    }
+
+    @Operation(summary = "Activate a release",
+            description = "Activates all listed DRAFT configs in one transaction, deprecating the versions they replace")
+    @PostMapping
+    // DISABLED FOR TESTING: @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ConfigRelease> activateRelease(@Valid @RequestBody ConfigReleaseRequest request) {
+        ConfigRelease release = configReleaseService.activateRelease(request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(release);
+    }
+
+    @Operation(summary = "Roll back a release",
+            description = "Deactivates the release's configs and reactivates the versions they replaced")
+    @PostMapping("/{releaseId}/rollback")
+    // DISABLED FOR TESTING: @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ConfigRelease> rollbackRelease(
+            @PathVariable Long releaseId,
+            @RequestParam(required = false) String rolledBackBy) {
+        return ResponseEntity.ok(configReleaseService.rollbackRelease(releaseId, rolledBackBy));
+    }
+}
@@ -0,0 +1,66 @@
+package com.los.controller;
+
+import com.los.dto.config.ConfigImportReport;
+import com.los.service.ConfigTransferService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+// DISABLED FOR TESTING: Authentication removed
+// import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Controller for bulk config export and import (NDJSON), used to promote configs between
+ * environments. See CONFIG_TRANSFER.md.
+ */
+@RestController
+@RequestMapping("/api/v1/configs/transfer")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Config Transfer", description = "Bulk export and import of configurations")
+public class ConfigTransferController {
+
+    private final ConfigTransferService configTransferService;
+
+    @Operation(summary = "Export configurations as NDJSON",
+            description = "One config version per line, with scope, status and payload. Streams; all types unless filtered")
+    @GetMapping(value = "/export", produces = ConfigTransferService.NDJSON)
+    // DISABLED FOR TESTING: @PreAuthorize("hasAnyRole('ADMIN', 'CONFIG_EDITOR')")
+    public ResponseEntity<StreamingResponseBody> exportConfigs(
+            @RequestParam(required = false) List<String> types,
+            @RequestParam(required = false) String status) {
+        log.info("GET /api/v1/configs/transfer/export - types={}, status={}", types, status);
+        StreamingResponseBody body = out -> configTransferService.exportConfigs(types, status, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(ConfigTransferService.NDJSON))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"configs-" + LocalDate.now() + ".ndjson\"")
+                .body(body);
+    }
+
+    @Operation(summary = "Import configurations from NDJSON",
+            description = "Runs in one transaction. dryRun=true only reports conflicts per scope. "
+                    + "onConflict=FAIL rolls back on any conflict, SKIP imports the rest")
+    @PostMapping(value = "/import", consumes = {ConfigTransferService.NDJSON, MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    // DISABLED FOR TESTING: @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ConfigImportReport> importConfigs(
+            InputStream body,
+            @RequestParam(defaultValue = "false") boolean dryRun,
+            @RequestParam(defaultValue = "FAIL") ConfigTransferService.ConflictMode onConflict) throws IOException {
+        log.info("POST /api/v1/configs/transfer/import - dryRun={}, onConflict={}", dryRun, onConflict);
+        ConfigImportReport report = configTransferService.importConfigs(body, dryRun, onConflict);
+        HttpStatus status = report.isDryRun() || report.isCommitted() ? HttpStatus.OK : HttpStatus.CONFLICT;
+        return ResponseEntity.status(status).body(report);
+    }
+}
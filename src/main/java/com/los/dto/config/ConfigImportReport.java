@@ -0,0 +1,95 @@
+package com.los.dto.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Outcome of a config import (or dry run), with counts and conflicts per scope.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ConfigImportReport {
+
+    private boolean dryRun;
+
+    /**
+     * True when the imported configs were written. False for dry runs, and for imports rolled
+     * back because of conflicts (onConflict=FAIL).
+     */
+    private boolean committed;
+
+    private long records;
+
+    /**
+     * Records written, or that a dry run or a rolled-back import would have written
+     */
+    private long inserted;
+
+    /**
+     * Records not imported because of a conflict (onConflict=SKIP)
+     */
+    private long skipped;
+
+    /**
+     * Previously ACTIVE target configs deprecated by imported ACTIVE versions
+     */
+    private long deprecated;
+
+    private long conflicts;
+
+    private long durationMs;
+
+    /**
+     * Per scope, keyed "productCode/partnerCode/branchCode" with "*" for an unset code
+     */
+    @Builder.Default
+    private Map<String, ScopeReport> scopes = new TreeMap<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class ScopeReport {
+        private long records;
+        private long inserted;
+        private long activated;
+        private long deprecated;
+
+        @Builder.Default
+        private List<Conflict> conflicts = new ArrayList<>();
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Conflict {
+
+        /**
+         * Line of the record in the import file (1-based)
+         */
+        private long line;
+
+        private String type;
+
+        private String configKey;
+
+        private Integer version;
+
+        /**
+         * INVALID, DUPLICATE_IN_FILE, VERSION_EXISTS or MULTIPLE_ACTIVE
+         */
+        private String code;
+
+        private String message;
+    }
+}
@@ -0,0 +1,42 @@
+package com.los.dto.config;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO for creating a release bundle: DRAFT config versions to activate together.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ConfigReleaseRequest {
+
+    @NotBlank(message = "Release name is required")
+    @Size(max = 100)
+    private String name;
+
+    @Size(max = 500)
+    private String description;
+
+    private String createdBy;
+
+    @Builder.Default
+    private List<Long> screenConfigIds = new ArrayList<>();
+
+    @Builder.Default
+    private List<Long> validationConfigIds = new ArrayList<>();
+
+    @Builder.Default
+    private List<Long> fieldMappingConfigIds = new ArrayList<>();
+
+    @Builder.Default
+    private List<Long> flowConfigIds = new ArrayList<>();
+}
@@ -0,0 +1,41 @@
+package com.los.dto.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lightweight view of one config version: identity, scope and lifecycle, no JSON payload.
+ * Built directly in JPQL (constructor expressions), so the payload columns are never read.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConfigSummary {
+
+    /**
+     * screen, validation, field-mapping or flow
+     */
+    private String configType;
+
+    private Long configId;
+
+    /**
+     * screenId, or flowId for flow configs
+     */
+    private String configKey;
+
+    private String productCode;
+
+    private String partnerCode;
+
+    private String branchCode;
+
+    private Integer version;
+
+    private String status;
+
+    private LocalDateTime updatedAt;
+}
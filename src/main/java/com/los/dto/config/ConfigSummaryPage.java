@@ -0,0 +1,33 @@
+package com.los.dto.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated config listing.
+ * Pass nextAfterId as afterId to fetch the following page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ConfigSummaryPage {
+
+    private List<ConfigSummary> items;
+
+    /**
+     * Page size applied (after clamping to the configured maximum)
+     */
+    private int limit;
+
+    /**
+     * configId of the last item, or null on the last page
+     */
+    private Long nextAfterId;
+
+    private boolean hasMore;
+}
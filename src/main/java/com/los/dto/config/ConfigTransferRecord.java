@@ -0,0 +1,59 @@
+package com.los.dto.config;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * One line of a config export/import file (NDJSON): a config version of any type with its
+ * scope, activation state and JSON payload. Database ids are not exported; a version is
+ * identified by type, configKey, scope and version.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ConfigTransferRecord {
+
+    /**
+     * screen, validation, field-mapping or flow
+     */
+    private String type;
+
+    /**
+     * screenId, or flowId for flow configs
+     */
+    private String configKey;
+
+    private String productCode;
+
+    private String partnerCode;
+
+    private String branchCode;
+
+    private Integer version;
+
+    /**
+     * DRAFT, ACTIVE, DEPRECATED or INACTIVE
+     */
+    private String status;
+
+    /**
+     * uiConfig, validationRules, mappings or flowDefinition, depending on the type
+     */
+    private Map<String, Object> payload;
+
+    /**
+     * Flow configs only
+     */
+    private Map<String, Object> dashboardMeta;
+
+    private String createdBy;
+
+    private String updatedBy;
+}
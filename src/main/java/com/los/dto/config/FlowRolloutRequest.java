@@ -0,0 +1,36 @@
+package com.los.dto.config;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for starting a flow rollout: a DRAFT flow config version served to a percentage of new
+ * applications in its scope, from startsAt, and optionally activated at activateAt.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FlowRolloutRequest {
+
+    @NotNull(message = "flowConfigId is required")
+    private Long flowConfigId;
+
+    @NotNull(message = "percentage is required")
+    @Min(0)
+    @Max(100)
+    private Integer percentage;
+
+    private LocalDateTime startsAt;
+
+    private LocalDateTime activateAt;
+
+    private String createdBy;
+}
@@ -9,6 +9,7 @@ import java.util.List;
 
 /**
  * Consolidated response containing all master data.
+ * With sinceVersion (delta sync), branches holds only the branches changed since then.
  */
 @Data
 @NoArgsConstructor
@@ -19,4 +20,20 @@ public class MasterDataResponse {
     private List<PartnerDTO> partners;
     private List<ProductDTO> products;
     private List<BranchDTO> branches;
+
+    /**
+     * Branch data version; pass it back as sinceVersion on the next call
+     */
+    private Long version;
+
+    /**
+     * True when branches only holds changes since the requested version (apply them to the
+     * client's copy); false for the full list
+     */
+    private Boolean delta;
+
+    /**
+     * Branches deactivated since the requested version (delta responses only)
+     */
+    private List<String> removedBranchCodes;
 }
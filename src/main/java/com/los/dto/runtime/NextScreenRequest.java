@@ -2,6 +2,7 @@ package com.los.dto.runtime;
 
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -19,8 +20,27 @@ import java.util.Map;
 @Builder
 public class NextScreenRequest {
 
+    /**
+     * Length of runtime_idempotency_keys.idempotency_key
+     */
+    public static final int IDEMPOTENCY_KEY_MAX_LENGTH = 100;
+
     private Long applicationId;
 
+    /**
+     * Signed resume token returned by the previous next-screen response.
+     * Identifies the application (and its flow snapshot) without a lookup query.
+     * Preferred over relying on productCode/partnerCode/branchCode matching.
+     */
+    private String resumeToken;
+
+    /**
+     * Client-generated key identifying this submission (also accepted as the Idempotency-Key header).
+     * Re-sending the same key returns the stored response instead of processing the submission again.
+     */
+    @Size(max = IDEMPOTENCY_KEY_MAX_LENGTH)
+    private String idempotencyKey;
+
     /**
      * Current screen ID. NULL indicates flow start.
      * When NULL, the API will:
@@ -57,5 +77,17 @@ public class NextScreenRequest {
     private String partnerCode;
 
     private String branchCode;
+
+    /**
+     * Number of transitions to look ahead when prefetching upcoming screen configs.
+     * Null or 0 disables prefetching; capped by runtime.prefetch.max-hops.
+     */
+    private Integer prefetchHops;
+
+    /**
+     * ETags of screen configs the client already holds, keyed by screenId.
+     * Matching prefetched screens are returned without their config body.
+     */
+    private Map<String, String> knownScreenETags;
 }
 
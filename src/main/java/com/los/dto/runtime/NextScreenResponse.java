@@ -5,6 +5,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -19,6 +20,17 @@ public class NextScreenResponse {
     private Long applicationId;
     private String nextScreenId;
     private Map<String, Object> screenConfig;
+    private String screenConfigETag;
     private String status;
+
+    /**
+     * Opaque token to send back as {@code resumeToken} on the next submission.
+     */
+    private String resumeToken;
+
+    /**
+     * Configs for screens reachable from nextScreenId, when prefetchHops was requested.
+     */
+    private List<PrefetchedScreenConfig> prefetchedScreens;
 }
 
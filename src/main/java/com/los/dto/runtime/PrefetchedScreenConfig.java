@@ -0,0 +1,25 @@
+package com.los.dto.runtime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Screen config prefetched for an upcoming screen in the flow.
+ * When the client already holds the same version (matching ETag), screenConfig is omitted
+ * and notModified is true.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PrefetchedScreenConfig {
+
+    private String screenId;
+    private String etag;
+    private Map<String, Object> screenConfig;
+    private boolean notModified;
+}
@@ -0,0 +1,26 @@
+package com.los.dto.runtime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * One decoded entry from an application's screen submission log.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ScreenSubmissionRecord {
+
+    private Long submissionId;
+    private Long applicationId;
+    private String screenId;
+    private Integer seq;
+    private LocalDateTime submittedAt;
+    private Map<String, Object> formData;
+}
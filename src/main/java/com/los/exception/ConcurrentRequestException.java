@@ -0,0 +1,16 @@
+package com.los.exception;
+
+/**
+ * Exception thrown when a runtime request conflicts with a concurrent update of the same
+ * application, or with an in-flight request carrying the same idempotency key.
+ */
+public class ConcurrentRequestException extends RuntimeException {
+
+    public ConcurrentRequestException(String message) {
+        super(message);
+    }
+
+    public ConcurrentRequestException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
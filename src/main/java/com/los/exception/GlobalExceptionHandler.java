@@ -79,6 +79,20 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
     }
 
+    @ExceptionHandler(ConcurrentRequestException.class)
+    public ResponseEntity<ErrorResponse> handleConcurrentRequest(ConcurrentRequestException ex) {
+        String correlationId = CorrelationIdHolder.get();
+        log.warn("[{}] Concurrent request conflict: {}", correlationId, ex.getMessage());
+        
+        ErrorResponse response = ErrorResponse.builder()
+                .errorCode("CONCURRENT_UPDATE")
+                .message(ex.getMessage())
+                .correlationId(correlationId)
+                .build();
+        
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGenericException(Exception ex) {
         String correlationId = CorrelationIdHolder.get();
@@ -1,24 +1,36 @@
 package com.los.filter;
 
+import com.los.logging.DebugLogSampling;
 import com.los.util.CorrelationIdHolder;
+import io.micrometer.common.KeyValue;
 import jakarta.servlet.*;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
+import org.springframework.web.filter.ServerHttpObservationFilter;
 
 import java.io.IOException;
 import java.util.UUID;
 
 /**
  * Filter to generate and propagate correlation IDs.
+ * Also decides whether the request is sampled for DEBUG logging (logging.sampling.debug-rate),
+ * and tags the HTTP server span with the correlation ID so traces can be found by it.
  */
 @Component
+@Order(Ordered.LOWEST_PRECEDENCE - 2)
 public class CorrelationIdFilter implements Filter {
 
     private static final String CORRELATION_ID_HEADER = "X-Correlation-Id";
     private static final String CORRELATION_ID_MDC_KEY = "correlationId";
 
+    @Value("${logging.sampling.debug-rate:0}")
+    private double debugSampleRate;
+
     @Override
     public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
             throws IOException, ServletException {
@@ -35,6 +47,12 @@ public class CorrelationIdFilter implements Filter {
         // Set in thread local and MDC for logging
         CorrelationIdHolder.set(correlationId);
         MDC.put(CORRELATION_ID_MDC_KEY, correlationId);
+        String spanCorrelationId = correlationId;
+        ServerHttpObservationFilter.findObservationContext(httpRequest)
+                .ifPresent(context -> context.addHighCardinalityKeyValue(KeyValue.of("correlation.id", spanCorrelationId)));
+        if (DebugLogSampling.shouldSample(debugSampleRate)) {
+            MDC.put(DebugLogSampling.MDC_KEY, "true");
+        }
 
         // Add to response headers
         httpResponse.setHeader(CORRELATION_ID_HEADER, correlationId);
@@ -45,6 +63,7 @@ public class CorrelationIdFilter implements Filter {
             // Clean up
             CorrelationIdHolder.clear();
             MDC.remove(CORRELATION_ID_MDC_KEY);
+            MDC.remove(DebugLogSampling.MDC_KEY);
         }
     }
 }
@@ -0,0 +1,82 @@
+package com.los.filter;
+
+import com.los.util.DbUsageHolder;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.*;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filter to report total DB connection hold time and statement count per request.
+ * Recorded as los.http.db.connection.hold and los.http.db.statements, tagged with the
+ * matched URI template (bounded cardinality) and HTTP method.
+ *
+ * Also flags likely N+1 access: the same SQL executed runtime.db.n-plus-one-threshold times or
+ * more in one request is logged and counted in los.db.n_plus_one.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+@RequiredArgsConstructor
+@Slf4j
+public class DbUsageFilter implements Filter {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${runtime.db.n-plus-one-threshold:5}")
+    private int nPlusOneThreshold;
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
+        DbUsageHolder.start();
+
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            DbUsageHolder.Usage usage = DbUsageHolder.get();
+            DbUsageHolder.clear();
+
+            Object pattern = httpRequest.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern != null ? pattern.toString() : "UNMAPPED";
+            Timer.builder("los.http.db.connection.hold")
+                    .description("Total JDBC connection hold time per HTTP request")
+                    .tag("uri", uri)
+                    .tag("method", httpRequest.getMethod())
+                    .register(meterRegistry)
+                    .record(usage.getConnectionHoldNanos(), TimeUnit.NANOSECONDS);
+            DistributionSummary.builder("los.http.db.statements")
+                    .description("JDBC statements prepared per HTTP request")
+                    .tag("uri", uri)
+                    .tag("method", httpRequest.getMethod())
+                    .register(meterRegistry)
+                    .record(usage.getStatementCount());
+            detectRepeatedStatements(usage, uri, httpRequest.getMethod());
+        }
+    }
+
+    private void detectRepeatedStatements(DbUsageHolder.Usage usage, String uri, String method) {
+        if (nPlusOneThreshold <= 0 || usage.getExecutionCount() < nPlusOneThreshold) {
+            return;
+        }
+        for (Map.Entry<String, Integer> entry : usage.getExecutionsBySql().entrySet()) {
+            if (entry.getValue() >= nPlusOneThreshold) {
+                meterRegistry.counter("los.db.n_plus_one", "uri", uri, "method", method).increment();
+                log.warn("Possible N+1 on {} {}: {} executions of {}", method, uri, entry.getValue(), entry.getKey());
+            }
+        }
+    }
+}
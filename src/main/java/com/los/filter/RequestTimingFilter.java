@@ -0,0 +1,182 @@
+package com.los.filter;
+
+import com.los.metrics.SlowRequestLog;
+import com.los.util.DbUsageHolder;
+import com.los.util.RequestTimingHolder;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.*;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Filter to report where the time of a request went.
+ *
+ * Collects the named timings recorded during the request (RequestTimingHolder: runtime phases,
+ * snapshot loads, QR decode, upload writes) plus DB time from DbUsageFilter, and
+ * - returns them as a Server-Timing header (set just before the response is committed),
+ * - writes one structured log line per request,
+ * - captures requests slower than runtime.request-timing.slow-threshold-ms at WARN and in
+ *   SlowRequestLog (/actuator/slowrequests), counted as los.http.slow_requests.
+ *
+ * Runs inside DbUsageFilter so the request's DB usage is available when the header is built.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+@RequiredArgsConstructor
+@Slf4j
+public class RequestTimingFilter implements Filter {
+
+    private static final String SERVER_TIMING_HEADER = "Server-Timing";
+    private static final String[] EXCLUDED_PATH_PREFIXES = {"/actuator", "/h2-console", "/swagger-ui", "/api-docs"};
+
+    private final MeterRegistry meterRegistry;
+    private final SlowRequestLog slowRequestLog;
+
+    @Value("${runtime.request-timing.server-timing-header:true}")
+    private boolean serverTimingHeader;
+
+    @Value("${runtime.request-timing.log-requests:true}")
+    private boolean logRequests;
+
+    @Value("${runtime.request-timing.slow-threshold-ms:1000}")
+    private long slowThresholdMs;
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
+        HttpServletResponse httpResponse = (HttpServletResponse) response;
+        if (isExcluded(httpRequest.getRequestURI())) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        RequestTimingHolder.Timings timings = RequestTimingHolder.start();
+        DbUsageHolder.Usage dbUsage = DbUsageHolder.get();
+        ServerTimingResponseWrapper wrapper = serverTimingHeader
+                ? new ServerTimingResponseWrapper(httpResponse, timings, dbUsage) : null;
+
+        try {
+            chain.doFilter(request, wrapper != null ? wrapper : response);
+        } finally {
+            RequestTimingHolder.clear();
+            if (wrapper != null && !httpResponse.isCommitted()) {
+                wrapper.addServerTiming();
+            }
+            report(httpRequest, httpResponse, timings, dbUsage, System.nanoTime() - timings.getStartNanos());
+        }
+    }
+
+    private void report(HttpServletRequest request, HttpServletResponse response,
+                        RequestTimingHolder.Timings timings, DbUsageHolder.Usage dbUsage, long totalNanos) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNMAPPED";
+        double totalMs = toMillis(totalNanos);
+        double dbMs = dbUsage != null ? toMillis(dbUsage.getConnectionHoldNanos()) : 0.0;
+        int dbStatements = dbUsage != null ? dbUsage.getStatementCount() : 0;
+        Map<String, Double> timingsMs = new LinkedHashMap<>();
+        timings.getElapsedNanos().forEach((name, nanos) -> timingsMs.put(name, toMillis(nanos)));
+
+        boolean slow = slowThresholdMs > 0 && totalMs >= slowThresholdMs;
+        if (slow) {
+            meterRegistry.counter("los.http.slow_requests", "uri", uri, "method", request.getMethod()).increment();
+            slowRequestLog.capture(new SlowRequestLog.SlowRequest(
+                    Instant.now(), MDC.get("correlationId"), request.getMethod(), uri, request.getRequestURI(),
+                    response.getStatus(), totalMs, dbMs, dbStatements,
+                    dbUsage != null ? dbUsage.getConnectionCount() : 0, timingsMs));
+        } else if (!logRequests) {
+            return;
+        }
+
+        (slow ? log.atWarn() : log.atInfo())
+                .addKeyValue("method", request.getMethod())
+                .addKeyValue("uri", uri)
+                .addKeyValue("status", response.getStatus())
+                .addKeyValue("totalMs", totalMs)
+                .addKeyValue("dbMs", dbMs)
+                .addKeyValue("dbStatements", dbStatements)
+                .addKeyValue("timingsMs", timingsMs)
+                .addKeyValue("slow", slow)
+                .log("{}{} {} {} total={}ms db={}ms/{} statements timings={}",
+                        slow ? "Slow request: " : "", request.getMethod(), uri, response.getStatus(),
+                        totalMs, dbMs, dbStatements, timingsMs);
+    }
+
+    /**
+     * Server-Timing value, e.g. {@code resolve;dur=1.24, validate;dur=0.05, db;dur=3.1;desc="statements=5", total;dur=9.88}.
+     */
+    static String serverTiming(RequestTimingHolder.Timings timings, DbUsageHolder.Usage dbUsage, long totalNanos) {
+        StringBuilder header = new StringBuilder();
+        for (Map.Entry<String, Long> timing : timings.getElapsedNanos().entrySet()) {
+            appendMetric(header, timing.getKey(), timing.getValue()).append(", ");
+        }
+        if (dbUsage != null && dbUsage.getConnectionCount() > 0) {
+            appendMetric(header, "db", dbUsage.getConnectionHoldNanos())
+                    .append(";desc=\"statements=").append(dbUsage.getStatementCount()).append("\", ");
+        }
+        return appendMetric(header, "total", totalNanos).toString();
+    }
+
+    private static StringBuilder appendMetric(StringBuilder header, String name, long nanos) {
+        return header.append(name).append(";dur=").append(toMillis(nanos));
+    }
+
+    private static double toMillis(long nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+
+    private static boolean isExcluded(String path) {
+        for (String prefix : EXCLUDED_PATH_PREFIXES) {
+            if (path.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Adds the Server-Timing header when the response is about to be committed (the body is
+     * flushed by the message converter), since headers can't be added afterwards.
+     */
+    private static class ServerTimingResponseWrapper extends OnCommittedResponseWrapper {
+
+        private final RequestTimingHolder.Timings timings;
+        private final DbUsageHolder.Usage dbUsage;
+        private boolean headerAdded;
+
+        ServerTimingResponseWrapper(HttpServletResponse response, RequestTimingHolder.Timings timings,
+                                    DbUsageHolder.Usage dbUsage) {
+            super(response);
+            this.timings = timings;
+            this.dbUsage = dbUsage;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            addServerTiming();
+        }
+
+        void addServerTiming() {
+            if (!headerAdded) {
+                headerAdded = true;
+                long totalNanos = System.nanoTime() - timings.getStartNanos();
+                ((HttpServletResponse) getResponse()).setHeader(SERVER_TIMING_HEADER, serverTiming(timings, dbUsage, totalNanos));
+            }
+        }
+    }
+}
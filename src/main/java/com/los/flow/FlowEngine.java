@@ -6,17 +6,27 @@ import com.los.config.entity.ScreenConfig;
 import com.los.config.entity.ValidationConfig;
 import com.los.config.entity.FieldMappingConfig;
 import com.los.domain.LoanApplication;
+import com.los.metrics.RuntimeMetrics;
 import com.los.repository.FlowConfigRepository;
 import com.los.repository.FlowSnapshotRepository;
 import com.los.repository.ScreenConfigRepository;
 import com.los.repository.ValidationConfigRepository;
 import com.los.repository.FieldMappingConfigRepository;
 import com.los.service.ConfigResolutionService;
+import com.los.util.RequestTimingHolder;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Component;
 
 import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Flow engine for navigation and decision logic.
@@ -33,26 +43,56 @@ public class FlowEngine {
     private final ValidationConfigRepository validationConfigRepository;
     private final FieldMappingConfigRepository fieldMappingConfigRepository;
     private final ConfigResolutionService configResolutionService;
+    private final RuntimeMetrics runtimeMetrics;
+    private final ObservationRegistry observationRegistry;
+
+    @Value("${runtime.snapshot-cache.max-entries:1000}")
+    private int snapshotCacheMaxEntries;
+
+    // Parsed snapshot data (and its compiled flow graph) by snapshot ID. Snapshots are immutable
+    // once written, so entries never go stale; LRU-bounded so in-flight journeys stay hot without
+    // growing unbounded. Guarded by a ReentrantLock rather than synchronized so contended access
+    // does not pin virtual-thread carriers.
+    private final ReentrantLock snapshotCacheLock = new ReentrantLock();
+    private final Map<Long, CachedSnapshot> snapshotCache = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, CachedSnapshot> eldest) {
+            return size() > snapshotCacheMaxEntries;
+        }
+    };
+
+    @PostConstruct
+    void registerCacheMetrics() {
+        runtimeMetrics.registerCacheSize("flow-snapshot", this, FlowEngine::snapshotCacheSize);
+    }
+
+    private int snapshotCacheSize() {
+        snapshotCacheLock.lock();
+        try {
+            return snapshotCache.size();
+        } finally {
+            snapshotCacheLock.unlock();
+        }
+    }
 
     /**
-     * Get the start screen for a flow and create snapshot.
-     * Called on flow start (currentScreenId == null).
+     * Resolve the flow config for a new application (the ACTIVE version, or a rollout candidate)
+     * and build the snapshot data for it.
+     * Read-only: does not need (or hold) a write transaction.
      * 
-     * @param application The loan application (must have productCode, partnerCode, branchCode)
      * @param flowId The flow ID to start
-     * @return The start screen ID from the flow definition
+     * @param rolloutKey Stable identity of the new application, hashed to assign it to a rollout cohort
+     * @return The start screen and snapshot data, to be saved with {@link #persistSnapshot}
      */
     @SuppressWarnings("unchecked")
-    public String getStartScreen(LoanApplication application, String flowId) {
-        log.info("Getting start screen for flowId={}, application={}", flowId, application.getApplicationId());
+    public PreparedFlowStart prepareFlowStart(String flowId, String productCode, String partnerCode, String branchCode,
+                                              String rolloutKey) {
+        log.info("Preparing flow start for flowId={} (productCode={}, partnerCode={}, branchCode={})",
+                flowId, productCode, partnerCode, branchCode);
 
-        // Resolve active flow config
-        FlowConfig flowConfig = configResolutionService.resolveActiveFlowConfig(
-                flowId,
-                application.getProductCode(),
-                application.getPartnerCode(),
-                application.getBranchCode()
-        );
+        // Resolve active flow config (or the candidate of a running rollout)
+        FlowConfig flowConfig = configResolutionService.resolveFlowConfigForStart(
+                flowId, productCode, partnerCode, branchCode, rolloutKey);
 
         Map<String, Object> flowDefinition = flowConfig.getFlowDefinition();
         
@@ -65,19 +105,42 @@ public class FlowEngine {
 
         log.info("Start screen for flowId={} is: {}", flowId, startScreenId);
 
-        // Create flow snapshot (stores flowId, version, screen configs)
-        createFlowSnapshotForStart(application, flowConfig);
+        // Build flow snapshot (stores flowId, version, screen configs)
+        Map<String, Object> snapshotData = Observation.createNotStarted("los.flow.snapshot.build", observationRegistry)
+                .highCardinalityKeyValue("flow.id", flowId)
+                .observe(() -> buildStartSnapshotData(flowConfig, productCode, partnerCode, branchCode));
+        runtimeMetrics.recordSnapshotSize(flowId, snapshotData);
 
-        return startScreenId;
+        return new PreparedFlowStart(flowConfig.getConfigId(), flowConfig.getVersion(), startScreenId, snapshotData);
     }
 
     /**
-     * Create flow snapshot on flow start.
+     * Save a prepared flow snapshot and link it to the application.
+     * The application must already have an ID; the caller persists the updated application.
+     */
+    public void persistSnapshot(LoanApplication application, PreparedFlowStart prepared) {
+        FlowSnapshot snapshot = FlowSnapshot.builder()
+                .applicationId(application.getApplicationId())
+                .flowConfigId(prepared.getFlowConfigId())
+                .snapshotData(prepared.getSnapshotData())
+                .build();
+
+        snapshot = flowSnapshotRepository.save(snapshot);
+
+        // Update application with snapshot ID
+        application.setFlowSnapshotId(snapshot.getSnapshotId());
+
+        log.info("Flow snapshot created with ID={} for application={}, flowId={}", 
+                snapshot.getSnapshotId(), application.getApplicationId(), prepared.getSnapshotData().get("flowId"));
+    }
+
+    /**
+     * Build flow snapshot data on flow start.
      * Stores immutable copy of flow definition and all screen configs.
      */
-    @SuppressWarnings("unchecked")
-    private void createFlowSnapshotForStart(LoanApplication application, FlowConfig flowConfig) {
-        log.info("Creating flow snapshot for application {} on flow start", application.getApplicationId());
+    private Map<String, Object> buildStartSnapshotData(FlowConfig flowConfig, String productCode,
+                                                       String partnerCode, String branchCode) {
+        log.info("Building flow snapshot for flowId={} on flow start", flowConfig.getFlowId());
 
         Map<String, Object> flowDefinition = new HashMap<>(flowConfig.getFlowDefinition());
 
@@ -101,32 +164,24 @@ public class FlowEngine {
             log.debug("Extracted {} screen IDs from flow definition: {}", screenIds.size(), screenIds);
         }
         
-        log.info("Snapshoting {} screens for application {}: {}", 
-                screenIdsToSnapshot.size(), application.getApplicationId(), screenIdsToSnapshot);
+        log.info("Snapshoting {} screens for flowId {}", screenIdsToSnapshot.size(), flowConfig.getFlowId());
+        log.debug("Screens to snapshot for flowId {}: {}", flowConfig.getFlowId(), screenIdsToSnapshot);
         
         // Snapshot all screens (including start screen)
+        Map<String, Map<String, Object>> screenSnapshots = snapshotScreenConfigs(
+                screenIdsToSnapshot, productCode, partnerCode, branchCode);
         for (String screenId : screenIdsToSnapshot) {
-            try {
-                Map<String, Object> screenSnapshot = snapshotScreenConfig(
-                        screenId,
-                        application.getProductCode(),
-                        application.getPartnerCode(),
-                        application.getBranchCode()
-                );
-                if (screenSnapshot != null && !screenSnapshot.isEmpty()) {
-                    snapshotScreens.put(screenId, screenSnapshot);
-                    log.debug("Successfully snapshotted screen config for: {}", screenId);
-                } else {
-                    log.warn("Screen snapshot is null or empty for screenId: {}", screenId);
-                }
-            } catch (Exception e) {
-                log.error("Failed to snapshot screen config for screenId: {}. Error: {}", screenId, e.getMessage(), e);
-                // Continue with other screens - don't fail entire snapshot
+            Map<String, Object> screenSnapshot = screenSnapshots.get(screenId);
+            if (screenSnapshot != null && !screenSnapshot.isEmpty()) {
+                snapshotScreens.put(screenId, screenSnapshot);
+                log.debug("Successfully snapshotted screen config for: {}", screenId);
+            } else {
+                log.warn("Screen snapshot is null or empty for screenId: {}", screenId);
             }
         }
         
-        log.info("Successfully snapshotted {} screen configs for application {}", 
-                snapshotScreens.size(), application.getApplicationId());
+        log.info("Successfully snapshotted {} screen configs for flowId {}", 
+                snapshotScreens.size(), flowConfig.getFlowId());
 
         Map<String, Object> snapshotData = new HashMap<>();
         snapshotData.put("flowId", flowConfig.getFlowId());
@@ -135,28 +190,15 @@ public class FlowEngine {
         snapshotData.put("screenConfigs", snapshotScreens);
 
         // Log flow definition structure for debugging
-        Object screensInFlowDef = flowDefinition.get("screens");
-        log.debug("Creating snapshot - flowDefinition has screens: type={}, count={}", 
-                screensInFlowDef != null ? screensInFlowDef.getClass().getSimpleName() : "null",
-                screensInFlowDef instanceof List ? ((List<?>) screensInFlowDef).size() : 
-                screensInFlowDef instanceof Map ? ((Map<?, ?>) screensInFlowDef).size() : 0);
-
-        // Save snapshot
-        FlowSnapshot snapshot = FlowSnapshot.builder()
-                .applicationId(application.getApplicationId())
-                .flowConfigId(flowConfig.getConfigId())
-                .snapshotData(snapshotData)
-                .build();
-
-        snapshot = flowSnapshotRepository.save(snapshot);
-
-        // Update application with snapshot ID
-        application.setFlowSnapshotId(snapshot.getSnapshotId());
+        if (log.isDebugEnabled()) {
+            Object screensInFlowDef = flowDefinition.get("screens");
+            log.debug("Creating snapshot - flowDefinition has screens: type={}, count={}", 
+                    screensInFlowDef != null ? screensInFlowDef.getClass().getSimpleName() : "null",
+                    screensInFlowDef instanceof List ? ((List<?>) screensInFlowDef).size() : 
+                    screensInFlowDef instanceof Map ? ((Map<?, ?>) screensInFlowDef).size() : 0);
+        }
 
-        log.info("Flow snapshot created with ID={} for application={}, flowId={}, screens count={}", 
-                snapshot.getSnapshotId(), application.getApplicationId(), flowConfig.getFlowId(),
-                screensInFlowDef instanceof List ? ((List<?>) screensInFlowDef).size() : 
-                screensInFlowDef instanceof Map ? ((Map<?, ?>) screensInFlowDef).size() : 0);
+        return snapshotData;
     }
 
     /**
@@ -176,8 +218,10 @@ public class FlowEngine {
         
         // Find current screen in flow
         Object screensObj = flowDefinition.get("screens");
-        log.debug("Looking for screen {} in flow. Screens object type: {}, value: {}", 
-                currentScreenId, screensObj != null ? screensObj.getClass().getSimpleName() : "null", screensObj);
+        if (log.isDebugEnabled()) {
+            log.debug("Looking for screen {} in flow. Screens object type: {}", 
+                    currentScreenId, screensObj != null ? screensObj.getClass().getSimpleName() : "null");
+        }
         Map<String, Object> currentScreen = findScreenInFlow(screensObj, currentScreenId);
         
         if (currentScreen == null) {
@@ -211,10 +255,93 @@ public class FlowEngine {
         log.debug("Evaluating next screen for currentScreenId={}, formData keys: {}", 
                 currentScreenId, formData != null ? formData.keySet() : "null");
         String nextScreen = evaluateNextScreen(currentScreen, formData);
-        log.info("Next screen determined: {} (from currentScreen: {})", nextScreen, currentScreenId);
+        log.debug("Next screen determined: {} (from currentScreen: {})", nextScreen, currentScreenId);
         return nextScreen;
     }
 
+    /**
+     * Make sure the application has a flow snapshot, creating one from the active configs if not
+     * (legacy path for applications started before flow start created snapshots).
+     * Writes a snapshot row, so call it inside a write transaction.
+     */
+    public void ensureSnapshot(LoanApplication application, String flowId) {
+        getFlowDefinition(application, flowId);
+    }
+
+    /**
+     * Version of the flow config the application's snapshot was taken from, or null if it has
+     * no snapshot yet. Served from the snapshot cache.
+     */
+    public Integer getFlowVersion(LoanApplication application) {
+        if (application.getFlowSnapshotId() == null) {
+            return null;
+        }
+        Object version = loadSnapshotData(application.getFlowSnapshotId()).get("flowVersion");
+        return version instanceof Number number ? number.intValue() : null;
+    }
+
+    /**
+     * Load the most recent snapshots, those of the journeys most likely still in progress, into
+     * the snapshot cache (at most its capacity). Used by the startup warm-up.
+     *
+     * @return Number of snapshots loaded
+     */
+    public int preloadSnapshots(int count) {
+        int limit = Math.min(count, snapshotCacheMaxEntries);
+        if (limit <= 0) {
+            return 0;
+        }
+        List<FlowSnapshot> recent = flowSnapshotRepository.findAllByOrderBySnapshotIdDesc(PageRequest.of(0, limit));
+        snapshotCacheLock.lock();
+        try {
+            // Oldest first, so the newest end up most recently used
+            for (int i = recent.size() - 1; i >= 0; i--) {
+                snapshotCache.putIfAbsent(recent.get(i).getSnapshotId(),
+                        new CachedSnapshot(recent.get(i).getSnapshotData()));
+            }
+        } finally {
+            snapshotCacheLock.unlock();
+        }
+        return recent.size();
+    }
+
+    /**
+     * Load snapshot data, served from the in-memory cache when possible.
+     * Callers must treat the returned map as read-only.
+     */
+    private Map<String, Object> loadSnapshotData(Long snapshotId) {
+        return loadSnapshot(snapshotId).data;
+    }
+
+    private CachedSnapshot loadSnapshot(Long snapshotId) {
+        CachedSnapshot cached;
+        snapshotCacheLock.lock();
+        try {
+            cached = snapshotCache.get(snapshotId);
+        } finally {
+            snapshotCacheLock.unlock();
+        }
+        runtimeMetrics.recordCacheAccess("flow-snapshot", cached != null);
+        if (cached != null) {
+            return cached;
+        }
+
+        // Load outside the lock - never hold it across JDBC
+        long loadStart = System.nanoTime();
+        FlowSnapshot snapshot = flowSnapshotRepository.findById(snapshotId)
+                .orElseThrow(() -> new RuntimeException("Flow snapshot not found: " + snapshotId));
+        CachedSnapshot loaded = new CachedSnapshot(snapshot.getSnapshotData());
+        RequestTimingHolder.record("snapshot-load", System.nanoTime() - loadStart);
+
+        snapshotCacheLock.lock();
+        try {
+            snapshotCache.put(snapshotId, loaded);
+        } finally {
+            snapshotCacheLock.unlock();
+        }
+        return loaded;
+    }
+
     /**
      * Get flow definition, creating snapshot if needed.
      * 
@@ -230,9 +357,7 @@ public class FlowEngine {
         if (application.getFlowSnapshotId() != null) {
             log.debug("Application {} has snapshot ID={}, retrieving from snapshot", 
                     application.getApplicationId(), application.getFlowSnapshotId());
-            FlowSnapshot snapshot = flowSnapshotRepository.findById(application.getFlowSnapshotId())
-                    .orElseThrow(() -> new RuntimeException("Flow snapshot not found: " + application.getFlowSnapshotId()));
-            Map<String, Object> snapshotData = snapshot.getSnapshotData();
+            Map<String, Object> snapshotData = loadSnapshotData(application.getFlowSnapshotId());
             log.debug("Retrieved snapshot data, keys: {}", snapshotData.keySet());
             
             // Extract flowDefinition from snapshotData (snapshotData contains flowDefinition, screenConfigs, flowId, flowVersion)
@@ -242,12 +367,14 @@ public class FlowEngine {
                         application.getApplicationId(), snapshotData.keySet());
                 throw new RuntimeException("Flow definition not found in snapshot");
             }
-            Object screensInFlowDef = flowDefinition.get("screens");
-            log.info("Retrieved flow definition from snapshot ID={} for application={}. Screens: type={}, count={}", 
-                    snapshot.getSnapshotId(), application.getApplicationId(),
-                    screensInFlowDef != null ? screensInFlowDef.getClass().getSimpleName() : "null",
-                    screensInFlowDef instanceof List ? ((List<?>) screensInFlowDef).size() : 
-                    screensInFlowDef instanceof Map ? ((Map<?, ?>) screensInFlowDef).size() : 0);
+            if (log.isDebugEnabled()) {
+                Object screensInFlowDef = flowDefinition.get("screens");
+                log.debug("Retrieved flow definition from snapshot ID={} for application={}. Screens: type={}, count={}", 
+                        application.getFlowSnapshotId(), application.getApplicationId(),
+                        screensInFlowDef != null ? screensInFlowDef.getClass().getSimpleName() : "null",
+                        screensInFlowDef instanceof List ? ((List<?>) screensInFlowDef).size() : 
+                        screensInFlowDef instanceof Map ? ((Map<?, ?>) screensInFlowDef).size() : 0);
+            }
             return flowDefinition;
         }
         
@@ -292,16 +419,12 @@ public class FlowEngine {
         
         if (screensObj != null) {
             Set<String> screenIds = extractScreenIds(screensObj);
-            
-            for (String screenId : screenIds) {
-                Map<String, Object> screenSnapshot = snapshotScreenConfig(
-                        screenId,
-                        application.getProductCode(),
-                        application.getPartnerCode(),
-                        application.getBranchCode()
-                );
-                snapshotScreens.put(screenId, screenSnapshot);
-            }
+            snapshotScreens.putAll(snapshotScreenConfigs(
+                    screenIds,
+                    application.getProductCode(),
+                    application.getPartnerCode(),
+                    application.getBranchCode()
+            ));
         }
         
         Map<String, Object> snapshotData = new HashMap<>();
@@ -361,47 +484,42 @@ public class FlowEngine {
     }
 
     /**
-     * Snapshot screen configuration including validation and mapping.
+     * Snapshot screen configurations including validation and mapping, keyed by screenId.
+     * Resolved in one query per config type for all screens (not three per screen).
      */
-    private Map<String, Object> snapshotScreenConfig(String screenId, String productCode, String partnerCode, String branchCode) {
-        Map<String, Object> snapshot = new HashMap<>();
-        
-        // Screen config - use ConfigResolutionService to ensure we only get ACTIVE configs
-        try {
-            Map<String, Object> screenConfig = configResolutionService.getScreenConfig(screenId, productCode, partnerCode, branchCode);
+    private Map<String, Map<String, Object>> snapshotScreenConfigs(Set<String> screenIds, String productCode,
+                                                                   String partnerCode, String branchCode) {
+        // Use ConfigResolutionService to ensure we only get ACTIVE configs
+        ConfigResolutionService.ScreenConfigBatch configs =
+                configResolutionService.resolveActiveScreenConfigs(screenIds, productCode, partnerCode, branchCode);
+
+        Map<String, Map<String, Object>> snapshots = new HashMap<>();
+        for (String screenId : screenIds) {
+            Map<String, Object> snapshot = new HashMap<>();
+
+            Map<String, Object> screenConfig = configs.getScreenConfigs().get(screenId);
             if (screenConfig != null && !screenConfig.isEmpty()) {
                 snapshot.put("screenConfig", screenConfig);
             } else {
-                log.warn("Screen config is null or empty for screenId: {} (productCode={}, partnerCode={}, branchCode={})", 
+                log.warn("Screen config is null or empty for screenId: {} (productCode={}, partnerCode={}, branchCode={})",
                         screenId, productCode, partnerCode, branchCode);
             }
-        } catch (Exception e) {
-            log.error("Failed to get screen config for screenId: {} (productCode={}, partnerCode={}, branchCode={}). Error: {}", 
-                    screenId, productCode, partnerCode, branchCode, e.getMessage());
-            // Don't throw - allow snapshot to continue with other screens
-        }
-        
-        // Validation config (only include ACTIVE configs)
-        try {
-            Map<String, Object> validationConfig = configResolutionService.getValidationConfig(screenId, productCode, partnerCode, branchCode);
+
+            // Validation config (only include ACTIVE configs)
+            Map<String, Object> validationConfig = configs.getValidationConfigs().get(screenId);
             if (validationConfig != null && !validationConfig.isEmpty()) {
                 snapshot.put("validationConfig", validationConfig);
             }
-        } catch (Exception e) {
-            log.debug("No validation config found for screenId: {} (will be skipped). Error: {}", screenId, e.getMessage());
-        }
-        
-        // Field mapping config
-        try {
-            Map<String, Object> mappingConfig = configResolutionService.getFieldMappingConfig(screenId, productCode, partnerCode, branchCode);
+
+            // Field mapping config
+            Map<String, Object> mappingConfig = configs.getMappingConfigs().get(screenId);
             if (mappingConfig != null && !mappingConfig.isEmpty()) {
                 snapshot.put("mappingConfig", mappingConfig);
             }
-        } catch (Exception e) {
-            log.debug("No field mapping config found for screenId: {} (will be skipped). Error: {}", screenId, e.getMessage());
+
+            snapshots.put(screenId, snapshot);
         }
-        
-        return snapshot;
+        return snapshots;
     }
 
     /**
@@ -436,18 +554,27 @@ public class FlowEngine {
         return null;
     }
 
+    /**
+     * Definition of a screen in a flow definition, or null if the flow has no such screen.
+     * Used by the startup warm-up to navigate flows without an application.
+     */
+    public Map<String, Object> findScreenDefinition(Map<String, Object> flowDefinition, String screenId) {
+        return flowDefinition != null ? findScreenInFlow(flowDefinition.get("screens"), screenId) : null;
+    }
+
     /**
      * Evaluate next screen based on conditions in flow.
      * Supports both "next" and "defaultNext" fields for compatibility.
+     * Pure function of the screen definition and form data (no repository access).
      */
     @SuppressWarnings("unchecked")
-    private String evaluateNextScreen(Map<String, Object> currentScreen, Map<String, Object> formData) {
-        log.debug("Evaluating next screen. Current screen keys: {}, formData: {}", 
-                currentScreen.keySet(), formData);
+    public String evaluateNextScreen(Map<String, Object> currentScreen, Map<String, Object> formData) {
+        // Field names only - form values are applicant PII and must not reach the logs
+        log.debug("Evaluating next screen. Current screen keys: {}, formData keys: {}", 
+                currentScreen.keySet(), formData != null ? formData.keySet() : null);
         
         // Check for conditions array first (if present, evaluate them)
         Object conditionsObj = currentScreen.get("conditions");
-        log.debug("Conditions object: {}", conditionsObj);
         if (conditionsObj instanceof List) {
             List<Map<String, Object>> conditions = (List<Map<String, Object>>) conditionsObj;
             for (Map<String, Object> condition : conditions) {
@@ -458,8 +585,8 @@ public class FlowEngine {
                 if (ifCondition != null) {
                     // Format 1: Extract condition from "if" block
                     boolean conditionMatched = evaluateConditionFromIf(ifCondition, formData);
-                    log.debug("Condition evaluation result: {} (ifCondition: {}, formData: {})", 
-                            conditionMatched, ifCondition, formData);
+                    log.debug("Condition evaluation result: {} (fieldId: {})", 
+                            conditionMatched, ifCondition.get("fieldId"));
                     if (conditionMatched) {
                         // Condition matched - get the nextScreen from "then" block
                         Object thenObj = condition.get("then");
@@ -468,10 +595,10 @@ public class FlowEngine {
                             String nextScreen = (String) then.get("nextScreen");
                             log.debug("Condition matched. nextScreen from 'then': '{}'", nextScreen);
                             if (nextScreen != null && !nextScreen.isEmpty() && !"__FLOW_END__".equals(nextScreen)) {
-                                log.info("Returning nextScreen from condition: {}", nextScreen);
+                                log.debug("Returning nextScreen from condition: {}", nextScreen);
                                 return nextScreen;
                             } else if ("__FLOW_END__".equals(nextScreen)) {
-                                log.info("Flow end marker in condition, returning null");
+                                log.debug("Flow end marker in condition, returning null");
                                 return null; // End of flow
                             } else if (nextScreen != null && nextScreen.isEmpty()) {
                                 log.warn("Empty nextScreen in condition 'then' block - falling back to defaultNext");
@@ -498,9 +625,9 @@ public class FlowEngine {
         Object nextObj = currentScreen.get("next");
         if (nextObj == null) {
             nextObj = currentScreen.get("defaultNext");
-            log.debug("Using defaultNext field (next was null). defaultNext: {}", nextObj);
+            log.debug("Using defaultNext field (next was null)");
         } else {
-            log.debug("Using next field: {}", nextObj);
+            log.debug("Using next field");
         }
         
         if (nextObj instanceof String) {
@@ -509,7 +636,7 @@ public class FlowEngine {
             log.debug("Next screen from defaultNext/next field: {}", nextScreen);
             // Handle special end-of-flow marker
             if ("__FLOW_END__".equals(nextScreen)) {
-                log.info("Flow end marker detected, returning null");
+                log.debug("Flow end marker detected, returning null");
                 return null;
             }
             return nextScreen;
@@ -618,6 +745,26 @@ public class FlowEngine {
         return actual.toString().compareTo(expected.toString());
     }
 
+    /**
+     * Get the screens statically reachable from a screen, using the application's flow snapshot.
+     * Returns an empty list if the application has no snapshot yet.
+     *
+     * @param application The loan application
+     * @param fromScreenId The screen to look ahead from (usually the next screen just returned)
+     * @param maxHops Maximum number of transitions to follow
+     * @param maxScreens Upper bound on the number of screens returned
+     */
+    public List<String> getUpcomingScreenIds(LoanApplication application, String fromScreenId, int maxHops, int maxScreens) {
+        if (application.getFlowSnapshotId() == null || fromScreenId == null) {
+            return Collections.emptyList();
+        }
+
+        List<String> upcoming = loadSnapshot(application.getFlowSnapshotId()).graph()
+                .reachableFrom(fromScreenId, maxHops, maxScreens);
+        log.debug("Upcoming screens from {} within {} hops: {}", fromScreenId, maxHops, upcoming);
+        return upcoming;
+    }
+
     /**
      * Get screen configuration from snapshot or active config.
      */
@@ -660,10 +807,7 @@ public class FlowEngine {
      */
     @SuppressWarnings("unchecked")
     private Map<String, Object> getScreenConfigFromSnapshot(Long snapshotId, String screenId) {
-        FlowSnapshot snapshot = flowSnapshotRepository.findById(snapshotId)
-                .orElseThrow(() -> new RuntimeException("Snapshot not found: " + snapshotId));
-        
-        Map<String, Object> snapshotData = snapshot.getSnapshotData();
+        Map<String, Object> snapshotData = loadSnapshotData(snapshotId);
         Map<String, Object> screenConfigs = (Map<String, Object>) snapshotData.get("screenConfigs");
         
         if (screenConfigs == null) {
@@ -689,5 +833,39 @@ public class FlowEngine {
         
         return screenConfig;
     }
-}
 
+    /**
+     * A cached snapshot and the successor graph of its flow definition, compiled on first use
+     * (the graph is immutable, so a concurrent duplicate compile is harmless).
+     */
+    private static final class CachedSnapshot {
+        private final Map<String, Object> data;
+        private volatile FlowGraph graph;
+
+        private CachedSnapshot(Map<String, Object> data) {
+            this.data = data;
+        }
+
+        @SuppressWarnings("unchecked")
+        private FlowGraph graph() {
+            FlowGraph compiled = graph;
+            if (compiled == null) {
+                compiled = FlowGraph.compile((Map<String, Object>) data.get("flowDefinition"));
+                graph = compiled;
+            }
+            return compiled;
+        }
+    }
+
+    /**
+     * Result of {@link #prepareFlowStart}: everything needed to persist a new flow snapshot.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class PreparedFlowStart {
+        private final Long flowConfigId;
+        private final Integer flowVersion;
+        private final String startScreenId;
+        private final Map<String, Object> snapshotData;
+    }
+}
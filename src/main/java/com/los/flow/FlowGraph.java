@@ -0,0 +1,150 @@
+package com.los.flow;
+
+import java.util.*;
+
+/**
+ * Static successor graph compiled from a flow definition.
+ *
+ * Each screen maps to every screen it can statically lead to (default next first,
+ * then conditional branches), ignoring form data. Used to look ahead in the flow,
+ * e.g. to prefetch upcoming screen configs; actual navigation still goes through
+ * {@link FlowEngine#getNextScreen}.
+ */
+public class FlowGraph {
+
+    static final String FLOW_END = "__FLOW_END__";
+
+    private final Map<String, Set<String>> successors;
+
+    private FlowGraph(Map<String, Set<String>> successors) {
+        this.successors = successors;
+    }
+
+    /**
+     * Compile the graph from a flow definition (handles both Map and List "screens" formats).
+     */
+    @SuppressWarnings("unchecked")
+    public static FlowGraph compile(Map<String, Object> flowDefinition) {
+        Map<String, Set<String>> successors = new HashMap<>();
+        Object screensObj = flowDefinition != null ? flowDefinition.get("screens") : null;
+
+        if (screensObj instanceof Map) {
+            Map<String, Object> screens = (Map<String, Object>) screensObj;
+            for (Map.Entry<String, Object> entry : screens.entrySet()) {
+                if (entry.getValue() instanceof Map) {
+                    successors.put(entry.getKey(), collectSuccessors((Map<String, Object>) entry.getValue()));
+                }
+            }
+        } else if (screensObj instanceof List) {
+            for (Object screenObj : (List<Object>) screensObj) {
+                if (screenObj instanceof Map) {
+                    Map<String, Object> screen = (Map<String, Object>) screenObj;
+                    Object id = screen.get("id") != null ? screen.get("id") : screen.get("screenId");
+                    if (id instanceof String) {
+                        successors.put((String) id, collectSuccessors(screen));
+                    }
+                }
+            }
+        }
+
+        return new FlowGraph(successors);
+    }
+
+    /**
+     * Direct successors of a screen (empty if unknown or terminal).
+     */
+    public Set<String> successorsOf(String screenId) {
+        return successors.getOrDefault(screenId, Collections.emptySet());
+    }
+
+    /**
+     * Screens reachable from the given screen within maxHops, in breadth-first order.
+     * The starting screen itself is not included.
+     *
+     * @param fromScreenId The screen to start from
+     * @param maxHops Maximum number of transitions to follow
+     * @param maxScreens Upper bound on the number of screens returned
+     */
+    public List<String> reachableFrom(String fromScreenId, int maxHops, int maxScreens) {
+        List<String> result = new ArrayList<>();
+        if (fromScreenId == null || maxHops <= 0 || maxScreens <= 0) {
+            return result;
+        }
+
+        Set<String> visited = new HashSet<>();
+        visited.add(fromScreenId);
+        List<String> frontier = List.of(fromScreenId);
+
+        for (int hop = 0; hop < maxHops && !frontier.isEmpty(); hop++) {
+            List<String> nextFrontier = new ArrayList<>();
+            for (String screenId : frontier) {
+                for (String successor : successorsOf(screenId)) {
+                    if (visited.add(successor)) {
+                        result.add(successor);
+                        if (result.size() >= maxScreens) {
+                            return result;
+                        }
+                        nextFrontier.add(successor);
+                    }
+                }
+            }
+            frontier = nextFrontier;
+        }
+        return result;
+    }
+
+    /**
+     * Collect all statically possible next screens, mirroring the formats understood by
+     * FlowEngine.evaluateNextScreen: "next"/"defaultNext" (string or map with conditions/default)
+     * and "conditions" ({"if", "then": {"nextScreen"}} or {"field", "operator", "value", "screen"}).
+     */
+    @SuppressWarnings("unchecked")
+    private static Set<String> collectSuccessors(Map<String, Object> screen) {
+        Set<String> result = new LinkedHashSet<>();
+
+        // Default path first - it is the most likely next screen
+        Object nextObj = screen.get("next");
+        if (nextObj == null) {
+            nextObj = screen.get("defaultNext");
+        }
+        if (nextObj instanceof String) {
+            addScreen(result, nextObj);
+        } else if (nextObj instanceof Map) {
+            Map<String, Object> nextConfig = (Map<String, Object>) nextObj;
+            Object defaultNext = nextConfig.get("default") != null ? nextConfig.get("default") : nextConfig.get("defaultNext");
+            addScreen(result, defaultNext);
+            Object conditions = nextConfig.get("conditions");
+            if (conditions instanceof List) {
+                for (Object condition : (List<Object>) conditions) {
+                    if (condition instanceof Map) {
+                        addScreen(result, ((Map<String, Object>) condition).get("screen"));
+                    }
+                }
+            }
+        }
+
+        Object conditionsObj = screen.get("conditions");
+        if (conditionsObj instanceof List) {
+            for (Object conditionObj : (List<Object>) conditionsObj) {
+                if (!(conditionObj instanceof Map)) {
+                    continue;
+                }
+                Map<String, Object> condition = (Map<String, Object>) conditionObj;
+                Object thenObj = condition.get("then");
+                if (thenObj instanceof Map) {
+                    addScreen(result, ((Map<String, Object>) thenObj).get("nextScreen"));
+                } else {
+                    addScreen(result, condition.get("screen"));
+                }
+            }
+        }
+
+        return result;
+    }
+
+    private static void addScreen(Set<String> result, Object screenId) {
+        if (screenId instanceof String && !((String) screenId).isEmpty() && !FLOW_END.equals(screenId)) {
+            result.add((String) screenId);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.los.logging;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Per-request decision for sampled DEBUG logging (see {@link SampledDebugTurboFilter}).
+ */
+public final class DebugLogSampling {
+
+    /**
+     * MDC key marking a request whose DEBUG logs are kept. Copied into @Async tasks with the
+     * rest of the MDC, and written as a field by the JSON encoder.
+     */
+    public static final String MDC_KEY = "debugSampled";
+
+    private DebugLogSampling() {
+        // Utility class
+    }
+
+    /**
+     * @param rate Fraction of requests to sample, 0.0 (none) to 1.0 (all)
+     */
+    public static boolean shouldSample(double rate) {
+        if (rate <= 0.0) {
+            return false;
+        }
+        return rate >= 1.0 || ThreadLocalRandom.current().nextDouble() < rate;
+    }
+}
@@ -0,0 +1,33 @@
+package com.los.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+
+/**
+ * Logback turbo filter that turns DEBUG on for a sampled subset of requests.
+ *
+ * Configured in logback-spring.xml. When {@link DebugLogSampling#MDC_KEY} is set on the
+ * current thread (by CorrelationIdFilter), DEBUG events of loggers under {@link #setLoggerPrefix}
+ * are accepted even though the configured level is INFO. Everything else is left to the
+ * normal level check, so unsampled requests pay one level comparison per DEBUG call.
+ */
+public class SampledDebugTurboFilter extends TurboFilter {
+
+    private String loggerPrefix = "com.los";
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (level != Level.DEBUG || !logger.getName().startsWith(loggerPrefix)) {
+            return FilterReply.NEUTRAL;
+        }
+        return MDC.get(DebugLogSampling.MDC_KEY) != null ? FilterReply.ACCEPT : FilterReply.NEUTRAL;
+    }
+
+    public void setLoggerPrefix(String loggerPrefix) {
+        this.loggerPrefix = loggerPrefix;
+    }
+}
@@ -5,7 +5,8 @@ import com.los.domain.Business;
 import com.los.domain.LoanApplication;
 import com.los.repository.ApplicantRepository;
 import com.los.repository.BusinessRepository;
-import com.los.repository.LoanApplicationRepository;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
@@ -17,26 +18,33 @@ import java.util.Map;
 
 /**
  * Engine for mapping UI form data to domain entities.
+ * Each submission's mappings run in a los.mapping observation (span + timer); the Applicant and
+ * Business writes show up as los.repository child spans.
  */
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class FieldMappingEngine {
 
-    private final LoanApplicationRepository loanApplicationRepository;
     private final ApplicantRepository applicantRepository;
     private final BusinessRepository businessRepository;
     private final Map<String, FieldTransformer> transformers;
+    private final ObservationRegistry observationRegistry;
 
     /**
      * Apply field mappings and persist to database.
      * 
-     * @param applicationId The application ID
+     * Applicant and Business targets are saved here, each loaded and saved once per call however
+     * many of its fields are mapped. LoanApplication targets are only set on the given instance;
+     * the caller persists them together with the application state transition, so the
+     * application row is written once per submission.
+     * 
+     * @param application The loan application
      * @param formData The form data
      * @param mappingConfig The mapping configuration
      */
     @SuppressWarnings("unchecked")
-    public void applyMappings(Long applicationId, Map<String, Object> formData, Map<String, Object> mappingConfig) {
+    public void applyMappings(LoanApplication application, Map<String, Object> formData, Map<String, Object> mappingConfig) {
         List<Map<String, Object>> mappings = (List<Map<String, Object>>) mappingConfig.get("mappings");
         
         if (mappings == null || mappings.isEmpty()) {
@@ -44,13 +52,20 @@ public class FieldMappingEngine {
             return;
         }
 
-        for (Map<String, Object> mapping : mappings) {
-            applyMapping(applicationId, formData, mapping);
-        }
+        Observation.createNotStarted("los.mapping", observationRegistry)
+                .highCardinalityKeyValue("mapping.count", String.valueOf(mappings.size()))
+                .observe(() -> {
+                    MappingTargets targets = new MappingTargets(application.getApplicationId());
+                    for (Map<String, Object> mapping : mappings) {
+                        applyMapping(application, formData, mapping, targets);
+                    }
+                    targets.save();
+                });
     }
 
     @SuppressWarnings("unchecked")
-    private void applyMapping(Long applicationId, Map<String, Object> formData, Map<String, Object> mapping) {
+    private void applyMapping(LoanApplication application, Map<String, Object> formData, Map<String, Object> mapping,
+                              MappingTargets targets) {
         String mappingType = (String) mapping.get("mappingType");
         List<String> sourceFields = (List<String>) mapping.get("sourceFields");
         Map<String, Object> target = (Map<String, Object>) mapping.get("target");
@@ -74,39 +89,27 @@ public class FieldMappingEngine {
         }
 
         // Map to entity
-        mapToEntity(applicationId, targetEntity, targetFields.get(0), value);
+        mapToEntity(application, targets, targetEntity, targetFields.get(0), value);
     }
 
-    private void mapToEntity(Long applicationId, String entityName, String fieldName, Object value) {
+    private void mapToEntity(LoanApplication application, MappingTargets targets, String entityName, String fieldName, Object value) {
         switch (entityName) {
-            case "LoanApplication" -> mapToLoanApplication(applicationId, fieldName, value);
-            case "Applicant" -> mapToApplicant(applicationId, fieldName, value);
-            case "Business" -> mapToBusiness(applicationId, fieldName, value);
+            case "LoanApplication" -> mapToLoanApplication(application, fieldName, value);
+            case "Applicant" -> mapToApplicant(targets.applicant(), fieldName, value);
+            case "Business" -> mapToBusiness(targets.business(), fieldName, value);
             default -> log.warn("Unknown entity: {}", entityName);
         }
     }
 
-    private void mapToLoanApplication(Long applicationId, String fieldName, Object value) {
-        LoanApplication application = loanApplicationRepository.findById(applicationId)
-                .orElseThrow(() -> new RuntimeException("Application not found"));
-
+    private void mapToLoanApplication(LoanApplication application, String fieldName, Object value) {
         switch (fieldName) {
             case "status" -> application.setStatus(value.toString());
             case "currentScreenId" -> application.setCurrentScreenId(value.toString());
             default -> log.warn("Unknown field for LoanApplication: {}", fieldName);
         }
-
-        loanApplicationRepository.save(application);
     }
 
-    private void mapToApplicant(Long applicationId, String fieldName, Object value) {
-        Applicant applicant = applicantRepository.findByApplicationId(applicationId)
-                .stream()
-                .findFirst()
-                .orElseGet(() -> Applicant.builder()
-                        .applicationId(applicationId)
-                        .build());
-
+    private void mapToApplicant(Applicant applicant, String fieldName, Object value) {
         switch (fieldName) {
             case "firstName" -> applicant.setFirstName(value != null ? value.toString() : null);
             case "middleName" -> applicant.setMiddleName(value != null ? value.toString() : null);
@@ -119,16 +122,9 @@ public class FieldMappingEngine {
             case "aadhaarNumber" -> applicant.setAadhaarNumber(value != null ? value.toString() : null);
             default -> log.warn("Unknown field for Applicant: {}", fieldName);
         }
-
-        applicantRepository.save(applicant);
     }
 
-    private void mapToBusiness(Long applicationId, String fieldName, Object value) {
-        Business business = businessRepository.findByApplicationId(applicationId)
-                .orElseGet(() -> Business.builder()
-                        .applicationId(applicationId)
-                        .build());
-
+    private void mapToBusiness(Business business, String fieldName, Object value) {
         switch (fieldName) {
             case "businessName" -> business.setBusinessName(value != null ? value.toString() : null);
             case "businessType" -> business.setBusinessType(value != null ? value.toString() : null);
@@ -137,8 +133,6 @@ public class FieldMappingEngine {
             case "annualTurnover" -> business.setAnnualTurnover(value != null ? Double.parseDouble(value.toString()) : null);
             default -> log.warn("Unknown field for Business: {}", fieldName);
         }
-
-        businessRepository.save(business);
     }
 
     private LocalDate parseDate(String dateStr) {
@@ -149,5 +143,49 @@ public class FieldMappingEngine {
             return null;
         }
     }
-}
 
+    /**
+     * Applicant and Business rows touched by one applyMappings call. Each is loaded (or created)
+     * on first use and saved once at the end, instead of a find + save per mapped field.
+     */
+    private class MappingTargets {
+        private final Long applicationId;
+        private Applicant applicant;
+        private Business business;
+
+        MappingTargets(Long applicationId) {
+            this.applicationId = applicationId;
+        }
+
+        Applicant applicant() {
+            if (applicant == null) {
+                applicant = applicantRepository.findByApplicationId(applicationId)
+                        .stream()
+                        .findFirst()
+                        .orElseGet(() -> Applicant.builder()
+                                .applicationId(applicationId)
+                                .build());
+            }
+            return applicant;
+        }
+
+        Business business() {
+            if (business == null) {
+                business = businessRepository.findByApplicationId(applicationId)
+                        .orElseGet(() -> Business.builder()
+                                .applicationId(applicationId)
+                                .build());
+            }
+            return business;
+        }
+
+        void save() {
+            if (applicant != null) {
+                applicantRepository.save(applicant);
+            }
+            if (business != null) {
+                businessRepository.save(business);
+            }
+        }
+    }
+}
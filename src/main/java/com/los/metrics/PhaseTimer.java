@@ -0,0 +1,29 @@
+package com.los.metrics;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Splits one request into consecutive phases. Each {@link #mark} attributes the time since
+ * the previous mark (or creation) to the named phase; marking the same phase twice adds up.
+ * Not thread-safe: one instance per request.
+ */
+public class PhaseTimer {
+
+    private final Map<String, Long> elapsedNanos = new LinkedHashMap<>();
+    private long lastMark = System.nanoTime();
+
+    public void mark(String phase) {
+        long now = System.nanoTime();
+        elapsedNanos.merge(phase, now - lastMark, Long::sum);
+        lastMark = now;
+    }
+
+    /**
+     * Phase durations in nanoseconds, in the order the phases were first marked.
+     */
+    public Map<String, Long> getElapsedNanos() {
+        return Collections.unmodifiableMap(elapsedNanos);
+    }
+}
@@ -0,0 +1,223 @@
+package com.los.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.los.util.RequestTimingHolder;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Meters for the runtime engines (next-screen phases, config caches, flow snapshots, QR decode,
+ * uploads), exposed through Actuator (/actuator/metrics, /actuator/prometheus).
+ *
+ * Timings recorded here are also added to the current request's RequestTimingHolder, which
+ * RequestTimingFilter returns as a Server-Timing header.
+ *
+ * flowId/screenId tags come from client requests and config, so their cardinality is bounded:
+ * after runtime.metrics.max-tag-values distinct values per tag, further values are reported
+ * as "OTHER".
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RuntimeMetrics {
+
+    static final String OTHER = "OTHER";
+    static final String NONE = "none";
+
+    private final MeterRegistry meterRegistry;
+    private final ObjectMapper objectMapper;
+
+    @Value("${runtime.metrics.max-tag-values:100}")
+    private int maxTagValues;
+
+    @Value("${runtime.metrics.snapshot-size-sample-rate:0.01}")
+    private double snapshotSizeSampleRate;
+
+    private final Map<String, Set<String>> seenTagValues = new ConcurrentHashMap<>();
+
+    /**
+     * Record the phases of one next-screen request (los.runtime.next_screen.phase).
+     */
+    public void recordPhases(String mode, String flowId, String screenId, PhaseTimer phases) {
+        String flowTag = boundedTag("flow", flowId);
+        String screenTag = boundedTag("screen", screenId);
+        for (Map.Entry<String, Long> phase : phases.getElapsedNanos().entrySet()) {
+            Timer.builder("los.runtime.next_screen.phase")
+                    .description("Time spent in each phase of POST /api/v1/runtime/next-screen")
+                    .tag("mode", mode)
+                    .tag("phase", phase.getKey())
+                    .tag("flow", flowTag)
+                    .tag("screen", screenTag)
+                    .register(meterRegistry)
+                    .record(phase.getValue(), TimeUnit.NANOSECONDS);
+            RequestTimingHolder.record(phase.getKey(), phase.getValue());
+        }
+    }
+
+    /**
+     * Record one next-screen request against the flow version the application runs on
+     * (los.runtime.flow_version.requests, tagged mode, flow, version and outcome), so the
+     * versions of a rollout can be compared on latency and error rate under real load.
+     *
+     * @param outcome success, invalid (rejected input), conflict (concurrent update, retried) or error
+     */
+    public void recordFlowVersionRequest(String mode, String flowId, Integer flowVersion, String outcome,
+                                         long elapsedNanos) {
+        Timer.builder("los.runtime.flow_version.requests")
+                .description("Next-screen requests per flow version")
+                .tag("mode", mode)
+                .tag("flow", boundedTag("flow", flowId))
+                .tag("version", flowVersion != null ? boundedTag("flowVersion", String.valueOf(flowVersion)) : NONE)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Count a flow start decided by a running rollout (los.flow.rollout.assignments, cohort
+     * canary or control).
+     */
+    public void recordRolloutAssignment(String flowId, Long rolloutId, boolean canary) {
+        meterRegistry.counter("los.flow.rollout.assignments",
+                "flow", boundedTag("flow", flowId),
+                "rollout", boundedTag("rollout", String.valueOf(rolloutId)),
+                "cohort", canary ? "canary" : "control").increment();
+    }
+
+    /**
+     * Count a lookup in one of the in-memory config caches (los.config.cache.requests).
+     * Hit rate = hit / (hit + miss).
+     */
+    public void recordCacheAccess(String cache, boolean hit) {
+        meterRegistry.counter("los.config.cache.requests", "cache", cache, "result", hit ? "hit" : "miss").increment();
+    }
+
+    /**
+     * Expose the current size of an in-memory config cache (los.config.cache.size).
+     */
+    public <T> void registerCacheSize(String cache, T owner, ToDoubleFunction<T> size) {
+        meterRegistry.gauge("los.config.cache.size", Tags.of("cache", cache), owner, size);
+    }
+
+    /**
+     * Record how long a config change made on another node took to reach this node's
+     * ActiveConfigIndex (los.config.change.propagation_lag): from the change's commit-time
+     * timestamp to the index being updated, for the oldest change in a delivered batch.
+     */
+    public void recordConfigChangeLag(long lagNanos) {
+        Timer.builder("los.config.change.propagation_lag")
+                .description("Time from a config change on another node to this node serving it")
+                .register(meterRegistry)
+                .record(lagNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Record one stage of the startup warm-up (los.startup.warmup, stage index, snapshots,
+     * precompile, journeys or total).
+     */
+    public void recordWarmupStage(String stage, long elapsedNanos) {
+        Timer.builder("los.startup.warmup")
+                .description("Time spent warming up caches and code paths before accepting traffic")
+                .tag("stage", stage)
+                .register(meterRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Record the serialized size of a new flow snapshot (los.flow.snapshot.size, bytes).
+     * Measuring serializes the snapshot a second time, so only a sample of flow starts
+     * (runtime.metrics.snapshot-size-sample-rate) is measured.
+     */
+    public void recordSnapshotSize(String flowId, Map<String, Object> snapshotData) {
+        if (ThreadLocalRandom.current().nextDouble() >= snapshotSizeSampleRate) {
+            return;
+        }
+        CountingOutputStream out = new CountingOutputStream();
+        try {
+            objectMapper.writeValue(out, snapshotData);
+        } catch (IOException e) {
+            log.debug("Could not measure snapshot size: {}", e.getMessage());
+            return;
+        }
+        DistributionSummary.builder("los.flow.snapshot.size")
+                .description("Serialized size of flow snapshots created at flow start (sampled)")
+                .baseUnit("bytes")
+                .tag("flow", boundedTag("flow", flowId))
+                .register(meterRegistry)
+                .record(out.count);
+    }
+
+    /**
+     * Record an Aadhaar QR decode (los.qr.decode, tagged success/failure).
+     */
+    public void recordQrDecode(boolean success, long elapsedNanos) {
+        meterRegistry.timer("los.qr.decode", "outcome", success ? "success" : "failure")
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+        RequestTimingHolder.record("qr-decode", elapsedNanos);
+    }
+
+    /**
+     * Record a stored upload (los.upload.bytes, bytes; los.upload.duration).
+     * Upload throughput: rate(los_upload_bytes_sum[1m]).
+     */
+    public void recordUpload(String fileType, long bytes, long elapsedNanos) {
+        String typeTag = boundedTag("fileType", fileType);
+        DistributionSummary.builder("los.upload.bytes")
+                .description("Size of uploaded files")
+                .baseUnit("bytes")
+                .tag("fileType", typeTag)
+                .register(meterRegistry)
+                .record(bytes);
+        meterRegistry.timer("los.upload.duration", "fileType", typeTag)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+        RequestTimingHolder.record("upload-write", elapsedNanos);
+    }
+
+    /**
+     * Tag value with bounded cardinality: the first maxTagValues distinct values per key are kept,
+     * later ones become "OTHER".
+     */
+    public String boundedTag(String key, String value) {
+        if (value == null || value.isBlank()) {
+            return NONE;
+        }
+        Set<String> seen = seenTagValues.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet());
+        if (seen.contains(value)) {
+            return value;
+        }
+        if (seen.size() >= maxTagValues) {
+            return OTHER;
+        }
+        seen.add(value);
+        return value;
+    }
+
+    private static class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
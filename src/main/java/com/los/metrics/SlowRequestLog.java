@@ -0,0 +1,74 @@
+package com.los.metrics;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Most recent requests slower than runtime.request-timing.slow-threshold-ms, with their
+ * timing breakdown. Filled by RequestTimingFilter once a request has finished (tail sampling:
+ * only slow requests are kept), exposed as /actuator/slowrequests, newest first.
+ */
+@Component
+@Endpoint(id = "slowrequests")
+public class SlowRequestLog {
+
+    @Value("${runtime.request-timing.slow-capture-size:50}")
+    private int capacity;
+
+    private final Deque<SlowRequest> entries = new ArrayDeque<>();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public void capture(SlowRequest request) {
+        lock.lock();
+        try {
+            entries.addFirst(request);
+            while (entries.size() > capacity) {
+                entries.removeLast();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @ReadOperation
+    public List<SlowRequest> recent() {
+        lock.lock();
+        try {
+            return new ArrayList<>(entries);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * One captured request. Durations in milliseconds; timings are the named phases recorded
+     * during the request (see RequestTimingHolder), which may overlap.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class SlowRequest {
+        private final Instant finishedAt;
+        private final String correlationId;
+        private final String method;
+        private final String uri;
+        private final String path;
+        private final int status;
+        private final double totalMs;
+        private final double dbMs;
+        private final int dbStatements;
+        private final int dbConnections;
+        private final Map<String, Double> timingsMs;
+    }
+}
@@ -2,8 +2,10 @@ package com.los.repository;
 
 import com.los.domain.Branch;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -16,4 +18,15 @@ public interface BranchRepository extends JpaRepository<Branch, String> {
      * Find all active branches ordered by branch name.
      */
     List<Branch> findByIsActiveTrueOrderByBranchNameAsc();
+
+    /**
+     * Branches (active or not) updated after the given time, for delta sync.
+     */
+    List<Branch> findByUpdatedAtAfterOrderByBranchNameAsc(LocalDateTime since);
+
+    /**
+     * Latest branch update time (null if there are no branches).
+     */
+    @Query("SELECT MAX(b.updatedAt) FROM Branch b")
+    LocalDateTime findMaxUpdatedAt();
 }
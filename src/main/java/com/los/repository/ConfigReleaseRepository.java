@@ -0,0 +1,13 @@
+package com.los.repository;
+
+import com.los.config.entity.ConfigRelease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ConfigReleaseRepository extends JpaRepository<ConfigRelease, Long> {
+
+    List<ConfigRelease> findTop50ByOrderByReleaseIdDesc();
+}
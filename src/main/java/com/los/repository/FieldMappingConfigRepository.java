@@ -1,11 +1,18 @@
 package com.los.repository;
 
 import com.los.config.entity.FieldMappingConfig;
+import com.los.dto.config.ConfigSummary;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -37,27 +44,133 @@ public interface FieldMappingConfigRepository extends JpaRepository<FieldMapping
         @Param("branchCode") String branchCode
     );
     
+    /**
+     * findByScope for several screens in one query (snapshot creation). Rows come back in the
+     * same precedence order, so the first row per screenId is that screen's match.
+     */
+    @Query("""
+        SELECT fmc FROM FieldMappingConfig fmc 
+        WHERE fmc.screenId IN :screenIds 
+        AND fmc.status = 'ACTIVE'
+        AND (
+            ((fmc.branchCode = :branchCode) OR (fmc.branchCode IS NULL AND :branchCode IS NULL))
+            AND ((fmc.partnerCode = :partnerCode) OR (fmc.partnerCode IS NULL AND :partnerCode IS NULL))
+            AND ((fmc.productCode = :productCode) OR (fmc.productCode IS NULL AND :productCode IS NULL))
+            OR (fmc.branchCode IS NULL 
+                AND ((fmc.partnerCode = :partnerCode) OR (fmc.partnerCode IS NULL AND :partnerCode IS NULL))
+                AND ((fmc.productCode = :productCode) OR (fmc.productCode IS NULL AND :productCode IS NULL)))
+            OR (fmc.branchCode IS NULL 
+                AND fmc.partnerCode IS NULL 
+                AND ((fmc.productCode = :productCode) OR (fmc.productCode IS NULL AND :productCode IS NULL)))
+            OR (fmc.branchCode IS NULL AND fmc.partnerCode IS NULL AND fmc.productCode IS NULL)
+        )
+        ORDER BY fmc.branchCode DESC NULLS LAST, fmc.partnerCode DESC NULLS LAST, fmc.productCode DESC NULLS LAST
+        """)
+    List<FieldMappingConfig> findByScopeForScreens(
+        @Param("screenIds") Collection<String> screenIds,
+        @Param("productCode") String productCode,
+        @Param("partnerCode") String partnerCode,
+        @Param("branchCode") String branchCode
+    );
+    
     Optional<FieldMappingConfig> findByConfigId(Long configId);
     
     /**
-     * Find configs by exact scope and status.
-     * Used for activation to find existing ACTIVE configs.
-     * Handles NULL values correctly.
+     * Admin listing filtered on the referenced field ids; a null filter matches everything.
      */
     @Query("""
-        SELECT fmc FROM FieldMappingConfig fmc 
-        WHERE fmc.screenId = :screenId 
-        AND fmc.status = :status
-        AND (fmc.productCode = :productCode OR (fmc.productCode IS NULL AND :productCode IS NULL))
-        AND (fmc.partnerCode = :partnerCode OR (fmc.partnerCode IS NULL AND :partnerCode IS NULL))
-        AND (fmc.branchCode = :branchCode OR (fmc.branchCode IS NULL AND :branchCode IS NULL))
+        SELECT fmc FROM FieldMappingConfig fmc
+        WHERE (:fieldId IS NULL OR fmc.configId IN (
+            SELECT r.configId FROM FieldMappingConfig r JOIN r.referencedFieldIds f WHERE f = :fieldId))
+        ORDER BY fmc.configId
+        """)
+    List<FieldMappingConfig> findByFilters(@Param("fieldId") String fieldId);
+    
+    /**
+     * One keyset page of summaries (configId after afterId, ascending), without the JSON payload.
+     * Null filters match everything; pass a Pageable of page 0 to cap the page size.
+     */
+    @Query("""
+        SELECT new com.los.dto.config.ConfigSummary('field-mapping', fmc.configId, fmc.screenId, fmc.productCode,
+            fmc.partnerCode, fmc.branchCode, fmc.version, fmc.status, fmc.updatedAt)
+        FROM FieldMappingConfig fmc
+        WHERE (:afterId IS NULL OR fmc.configId > :afterId)
+        AND (:screenId IS NULL OR fmc.screenId = :screenId)
+        AND (:productCode IS NULL OR fmc.productCode = :productCode)
+        AND (:partnerCode IS NULL OR fmc.partnerCode = :partnerCode)
+        AND (:branchCode IS NULL OR fmc.branchCode = :branchCode)
+        AND (:status IS NULL OR fmc.status = :status)
+        ORDER BY fmc.configId
         """)
-    List<FieldMappingConfig> findByScreenIdAndProductCodeAndPartnerCodeAndBranchCodeAndStatus(
+    List<ConfigSummary> findSummaryPage(
+        @Param("afterId") Long afterId,
         @Param("screenId") String screenId,
         @Param("productCode") String productCode,
         @Param("partnerCode") String partnerCode,
         @Param("branchCode") String branchCode,
-        @Param("status") String status
+        @Param("status") String status,
+        Pageable pageable
+    );
+    
+    /**
+     * Summaries of the given versions (release activation and rollback).
+     */
+    @Query("""
+        SELECT new com.los.dto.config.ConfigSummary('field-mapping', fmc.configId, fmc.screenId, fmc.productCode,
+            fmc.partnerCode, fmc.branchCode, fmc.version, fmc.status, fmc.updatedAt)
+        FROM FieldMappingConfig fmc
+        WHERE fmc.configId IN :configIds
+        """)
+    List<ConfigSummary> findSummariesByConfigIds(@Param("configIds") Collection<Long> configIds);
+    
+    /**
+     * Summaries of all versions of the given screens (all scopes and statuses), locked until the
+     * transaction ends (SELECT ... FOR UPDATE), for activation and releases. Two activations of
+     * the same screenId lock overlapping rows (at least each other's DRAFT), so they run one after
+     * the other and the second sees the first's committed result.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+        SELECT new com.los.dto.config.ConfigSummary('field-mapping', fmc.configId, fmc.screenId, fmc.productCode,
+            fmc.partnerCode, fmc.branchCode, fmc.version, fmc.status, fmc.updatedAt)
+        FROM FieldMappingConfig fmc
+        WHERE fmc.screenId IN :screenIds
+        ORDER BY fmc.configId
+        """)
+    List<ConfigSummary> lockSummaries(@Param("screenIds") Collection<String> screenIds);
+    
+    /**
+     * Conditional bulk status change: only rows still in currentStatus are updated, so the
+     * returned count tells whether a concurrent change got there first.
+     */
+    @Modifying
+    @Query("""
+        UPDATE FieldMappingConfig fmc
+        SET fmc.status = :newStatus, fmc.updatedAt = :updatedAt, fmc.lockVersion = fmc.lockVersion + 1
+        WHERE fmc.configId IN :configIds
+        AND fmc.status = :currentStatus
+        """)
+    int updateStatus(
+        @Param("configIds") Collection<Long> configIds,
+        @Param("currentStatus") String currentStatus,
+        @Param("newStatus") String newStatus,
+        @Param("updatedAt") LocalDateTime updatedAt
     );
+    
+    /**
+     * Summaries of all versions that reference a field (impact analysis), without the JSON payload.
+     */
+    @Query("""
+        SELECT new com.los.dto.config.ConfigSummary('field-mapping', fmc.configId, fmc.screenId, fmc.productCode,
+            fmc.partnerCode, fmc.branchCode, fmc.version, fmc.status, fmc.updatedAt)
+        FROM FieldMappingConfig fmc JOIN fmc.referencedFieldIds f
+        WHERE f = :fieldId
+        ORDER BY fmc.screenId, fmc.configId
+        """)
+    List<ConfigSummary> findSummariesReferencingField(@Param("fieldId") String fieldId);
+    
+    /**
+     * All configs in a status (ACTIVE: loading the in-memory ActiveConfigIndex).
+     */
+    List<FieldMappingConfig> findByStatus(String status);
 }
-
@@ -1,11 +1,18 @@
 package com.los.repository;
 
 import com.los.config.entity.FlowConfig;
+import com.los.dto.config.ConfigSummary;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -34,25 +41,103 @@ public interface FlowConfigRepository extends JpaRepository<FlowConfig, Long> {
     Optional<FlowConfig> findByConfigId(Long configId);
     
     /**
-     * Find configs by exact scope and status.
-     * Used for activation to find existing ACTIVE configs.
-     * Handles NULL values correctly.
+     * Admin listing filtered on the derived search columns (dashboard title by prefix);
+     * null filters match everything.
      */
     @Query("""
-        SELECT fc FROM FlowConfig fc 
-        WHERE fc.flowId = :flowId 
-        AND fc.status = :status
-        AND (fc.productCode = :productCode OR (fc.productCode IS NULL AND :productCode IS NULL))
-        AND (fc.partnerCode = :partnerCode OR (fc.partnerCode IS NULL AND :partnerCode IS NULL))
-        AND (fc.branchCode = :branchCode OR (fc.branchCode IS NULL AND :branchCode IS NULL))
+        SELECT fc FROM FlowConfig fc
+        WHERE (:dashboardTitle IS NULL OR fc.dashboardTitle LIKE CONCAT(:dashboardTitle, '%'))
+        AND (:fieldId IS NULL OR fc.configId IN (
+            SELECT r.configId FROM FlowConfig r JOIN r.referencedFieldIds f WHERE f = :fieldId))
+        ORDER BY fc.configId
+        """)
+    List<FlowConfig> findByFilters(
+        @Param("dashboardTitle") String dashboardTitle,
+        @Param("fieldId") String fieldId
+    );
+    
+    /**
+     * One keyset page of summaries (configId after afterId, ascending), without the JSON payload.
+     * Null filters match everything; pass a Pageable of page 0 to cap the page size.
+     */
+    @Query("""
+        SELECT new com.los.dto.config.ConfigSummary('flow', fc.configId, fc.flowId, fc.productCode,
+            fc.partnerCode, fc.branchCode, fc.version, fc.status, fc.updatedAt)
+        FROM FlowConfig fc
+        WHERE (:afterId IS NULL OR fc.configId > :afterId)
+        AND (:flowId IS NULL OR fc.flowId = :flowId)
+        AND (:productCode IS NULL OR fc.productCode = :productCode)
+        AND (:partnerCode IS NULL OR fc.partnerCode = :partnerCode)
+        AND (:branchCode IS NULL OR fc.branchCode = :branchCode)
+        AND (:status IS NULL OR fc.status = :status)
+        ORDER BY fc.configId
         """)
-    List<FlowConfig> findByFlowIdAndProductCodeAndPartnerCodeAndBranchCodeAndStatus(
+    List<ConfigSummary> findSummaryPage(
+        @Param("afterId") Long afterId,
         @Param("flowId") String flowId,
         @Param("productCode") String productCode,
         @Param("partnerCode") String partnerCode,
         @Param("branchCode") String branchCode,
-        @Param("status") String status
+        @Param("status") String status,
+        Pageable pageable
     );
+    
+    /**
+     * Summaries of the given versions (release activation and rollback).
+     */
+    @Query("""
+        SELECT new com.los.dto.config.ConfigSummary('flow', fc.configId, fc.flowId, fc.productCode,
+            fc.partnerCode, fc.branchCode, fc.version, fc.status, fc.updatedAt)
+        FROM FlowConfig fc
+        WHERE fc.configId IN :configIds
+        """)
+    List<ConfigSummary> findSummariesByConfigIds(@Param("configIds") Collection<Long> configIds);
+    
+    /**
+     * Summaries of all versions of the given flows (all scopes and statuses), locked until the
+     * transaction ends (SELECT ... FOR UPDATE), for activation and releases. Two activations of
+     * the same flowId lock overlapping rows (at least each other's DRAFT), so they run one after
+     * the other and the second sees the first's committed result.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+        SELECT new com.los.dto.config.ConfigSummary('flow', fc.configId, fc.flowId, fc.productCode,
+            fc.partnerCode, fc.branchCode, fc.version, fc.status, fc.updatedAt)
+        FROM FlowConfig fc
+        WHERE fc.flowId IN :flowIds
+        ORDER BY fc.configId
+        """)
+    List<ConfigSummary> lockSummaries(@Param("flowIds") Collection<String> flowIds);
+    
+    /**
+     * Conditional bulk status change: only rows still in currentStatus are updated, so the
+     * returned count tells whether a concurrent change got there first.
+     */
+    @Modifying
+    @Query("""
+        UPDATE FlowConfig fc
+        SET fc.status = :newStatus, fc.updatedAt = :updatedAt, fc.lockVersion = fc.lockVersion + 1
+        WHERE fc.configId IN :configIds
+        AND fc.status = :currentStatus
+        """)
+    int updateStatus(
+        @Param("configIds") Collection<Long> configIds,
+        @Param("currentStatus") String currentStatus,
+        @Param("newStatus") String newStatus,
+        @Param("updatedAt") LocalDateTime updatedAt
+    );
+    
+    /**
+     * Summaries of all versions that reference a field (impact analysis), without the JSON payload.
+     */
+    @Query("""
+        SELECT new com.los.dto.config.ConfigSummary('flow', fc.configId, fc.flowId, fc.productCode,
+            fc.partnerCode, fc.branchCode, fc.version, fc.status, fc.updatedAt)
+        FROM FlowConfig fc JOIN fc.referencedFieldIds f
+        WHERE f = :fieldId
+        ORDER BY fc.flowId, fc.configId
+        """)
+    List<ConfigSummary> findSummariesReferencingField(@Param("fieldId") String fieldId);
 
     /**
      * Find all ACTIVE flows for dashboard.
@@ -0,0 +1,15 @@
+package com.los.repository;
+
+import com.los.config.entity.FlowRollout;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface FlowRolloutRepository extends JpaRepository<FlowRollout, Long> {
+
+    List<FlowRollout> findByStatus(String status);
+
+    List<FlowRollout> findTop50ByOrderByRolloutIdDesc();
+}
@@ -1,6 +1,7 @@
 package com.los.repository;
 
 import com.los.config.entity.FlowSnapshot;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -13,5 +14,10 @@ public interface FlowSnapshotRepository extends JpaRepository<FlowSnapshot, Long
     Optional<FlowSnapshot> findByApplicationId(Long applicationId);
     
     List<FlowSnapshot> findByFlowConfigId(Long flowConfigId);
+    
+    /**
+     * Most recent snapshots first (startup warm-up of the snapshot cache).
+     */
+    List<FlowSnapshot> findAllByOrderBySnapshotIdDesc(Pageable pageable);
 }
 
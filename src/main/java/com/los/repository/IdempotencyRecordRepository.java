@@ -0,0 +1,44 @@
+package com.los.repository;
+
+import com.los.domain.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    /**
+     * Reserve a key. Plain INSERT (not save/merge) so a concurrent duplicate fails on the primary key.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO runtime_idempotency_keys (idempotency_key, application_id, request_hash, created_at) " +
+            "VALUES (:idempotencyKey, :applicationId, :requestHash, :createdAt)", nativeQuery = true)
+    int insertReservation(@Param("idempotencyKey") String idempotencyKey,
+                          @Param("applicationId") Long applicationId,
+                          @Param("requestHash") String requestHash,
+                          @Param("createdAt") LocalDateTime createdAt);
+
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.responseBody = :responseBody, r.completedAt = :completedAt " +
+            "WHERE r.idempotencyKey = :idempotencyKey")
+    int complete(@Param("idempotencyKey") String idempotencyKey,
+                 @Param("responseBody") String responseBody,
+                 @Param("completedAt") LocalDateTime completedAt);
+
+    /**
+     * Drop a reservation that was committed without its response (written before responses were
+     * stored in the reserving transaction), so the key can be used again.
+     */
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.idempotencyKey = :idempotencyKey AND r.responseBody IS NULL")
+    int deleteUnanswered(@Param("idempotencyKey") String idempotencyKey);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -2,8 +2,12 @@ package com.los.repository;
 
 import com.los.domain.LoanApplication;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,6 +21,7 @@ public interface LoanApplicationRepository extends JpaRepository<LoanApplication
     /**
      * Find the most recent application by scope and current screen.
      * Used when applicationId is null (e.g., first screen submission after flow start).
+     * Legacy path for clients that do not send a resumeToken; backed by idx_loan_app_scope_screen.
      */
     Optional<LoanApplication> findFirstByProductCodeAndPartnerCodeAndBranchCodeAndCurrentScreenIdOrderByCreatedAtDesc(
             String productCode, String partnerCode, String branchCode, String currentScreenId);
@@ -24,8 +29,24 @@ public interface LoanApplicationRepository extends JpaRepository<LoanApplication
     /**
      * Find the most recent application by scope (without branch).
      * Used when applicationId is null and branchCode is also null.
+     * Legacy path for clients that do not send a resumeToken; backed by idx_loan_app_scope_screen.
      */
     Optional<LoanApplication> findFirstByProductCodeAndPartnerCodeAndCurrentScreenIdOrderByCreatedAtDesc(
             String productCode, String partnerCode, String currentScreenId);
-}
 
+    /**
+     * Move an application to a new screen/status in one conditional UPDATE.
+     * Only succeeds if the row still has the expected version; bumps the version.
+     * 
+     * @return number of rows updated (0 means a concurrent update won)
+     */
+    @Modifying
+    @Query("UPDATE LoanApplication a SET a.currentScreenId = :currentScreenId, a.status = :status, " +
+            "a.version = a.version + 1, a.updatedAt = :updatedAt " +
+            "WHERE a.applicationId = :applicationId AND a.version = :expectedVersion")
+    int transitionState(@Param("applicationId") Long applicationId,
+                        @Param("expectedVersion") Integer expectedVersion,
+                        @Param("currentScreenId") String currentScreenId,
+                        @Param("status") String status,
+                        @Param("updatedAt") LocalDateTime updatedAt);
+}
@@ -1,11 +1,18 @@
 package com.los.repository;
 
 import com.los.config.entity.ScreenConfig;
+import com.los.dto.config.ConfigSummary;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -33,27 +40,131 @@ public interface ScreenConfigRepository extends JpaRepository<ScreenConfig, Long
         @Param("branchCode") String branchCode
     );
     
+    /**
+     * findByScope for several screens in one query (snapshot creation). Rows come back in the
+     * same precedence order, so the first row per screenId is that screen's match.
+     */
+    @Query("""
+        SELECT sc FROM ScreenConfig sc 
+        WHERE sc.screenId IN :screenIds 
+        AND sc.status = 'ACTIVE'
+        AND (
+            (sc.branchCode = :branchCode AND sc.partnerCode = :partnerCode AND sc.productCode = :productCode)
+            OR (sc.branchCode IS NULL AND sc.partnerCode = :partnerCode AND sc.productCode = :productCode)
+            OR (sc.branchCode IS NULL AND sc.partnerCode IS NULL AND sc.productCode = :productCode)
+            OR (sc.branchCode IS NULL AND sc.partnerCode IS NULL AND sc.productCode IS NULL)
+        )
+        ORDER BY sc.branchCode DESC NULLS LAST, sc.partnerCode DESC NULLS LAST, sc.productCode DESC NULLS LAST
+        """)
+    List<ScreenConfig> findByScopeForScreens(
+        @Param("screenIds") Collection<String> screenIds,
+        @Param("productCode") String productCode,
+        @Param("partnerCode") String partnerCode,
+        @Param("branchCode") String branchCode
+    );
+    
     Optional<ScreenConfig> findByConfigId(Long configId);
     
     /**
-     * Find configs by exact scope and status.
-     * Used for activation to find existing ACTIVE configs.
-     * Handles NULL values correctly.
+     * Admin listing filtered on the derived search columns; null filters match everything.
      */
     @Query("""
-        SELECT sc FROM ScreenConfig sc 
-        WHERE sc.screenId = :screenId 
-        AND sc.status = :status
-        AND (sc.productCode = :productCode OR (sc.productCode IS NULL AND :productCode IS NULL))
-        AND (sc.partnerCode = :partnerCode OR (sc.partnerCode IS NULL AND :partnerCode IS NULL))
-        AND (sc.branchCode = :branchCode OR (sc.branchCode IS NULL AND :branchCode IS NULL))
+        SELECT sc FROM ScreenConfig sc
+        WHERE (:screenType IS NULL OR sc.screenType = :screenType)
+        AND (:fieldId IS NULL OR sc.configId IN (
+            SELECT r.configId FROM ScreenConfig r JOIN r.referencedFieldIds f WHERE f = :fieldId))
+        ORDER BY sc.configId
+        """)
+    List<ScreenConfig> findByFilters(
+        @Param("screenType") String screenType,
+        @Param("fieldId") String fieldId
+    );
+    
+    /**
+     * One keyset page of summaries (configId after afterId, ascending), without the JSON payload.
+     * Null filters match everything; pass a Pageable of page 0 to cap the page size.
+     */
+    @Query("""
+        SELECT new com.los.dto.config.ConfigSummary('screen', sc.configId, sc.screenId, sc.productCode,
+            sc.partnerCode, sc.branchCode, sc.version, sc.status, sc.updatedAt)
+        FROM ScreenConfig sc
+        WHERE (:afterId IS NULL OR sc.configId > :afterId)
+        AND (:screenId IS NULL OR sc.screenId = :screenId)
+        AND (:productCode IS NULL OR sc.productCode = :productCode)
+        AND (:partnerCode IS NULL OR sc.partnerCode = :partnerCode)
+        AND (:branchCode IS NULL OR sc.branchCode = :branchCode)
+        AND (:status IS NULL OR sc.status = :status)
+        ORDER BY sc.configId
         """)
-    List<ScreenConfig> findByScreenIdAndProductCodeAndPartnerCodeAndBranchCodeAndStatus(
+    List<ConfigSummary> findSummaryPage(
+        @Param("afterId") Long afterId,
         @Param("screenId") String screenId,
         @Param("productCode") String productCode,
         @Param("partnerCode") String partnerCode,
         @Param("branchCode") String branchCode,
-        @Param("status") String status
+        @Param("status") String status,
+        Pageable pageable
     );
+    
+    /**
+     * Summaries of the given versions (release activation and rollback).
+     */
+    @Query("""
+        SELECT new com.los.dto.config.ConfigSummary('screen', sc.configId, sc.screenId, sc.productCode,
+            sc.partnerCode, sc.branchCode, sc.version, sc.status, sc.updatedAt)
+        FROM ScreenConfig sc
+        WHERE sc.configId IN :configIds
+        """)
+    List<ConfigSummary> findSummariesByConfigIds(@Param("configIds") Collection<Long> configIds);
+    
+    /**
+     * Summaries of all versions of the given screens (all scopes and statuses), locked until the
+     * transaction ends (SELECT ... FOR UPDATE), for activation and releases. Two activations of
+     * the same screenId lock overlapping rows (at least each other's DRAFT), so they run one after
+     * the other and the second sees the first's committed result.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+        SELECT new com.los.dto.config.ConfigSummary('screen', sc.configId, sc.screenId, sc.productCode,
+            sc.partnerCode, sc.branchCode, sc.version, sc.status, sc.updatedAt)
+        FROM ScreenConfig sc
+        WHERE sc.screenId IN :screenIds
+        ORDER BY sc.configId
+        """)
+    List<ConfigSummary> lockSummaries(@Param("screenIds") Collection<String> screenIds);
+    
+    /**
+     * Conditional bulk status change: only rows still in currentStatus are updated, so the
+     * returned count tells whether a concurrent change got there first.
+     */
+    @Modifying
+    @Query("""
+        UPDATE ScreenConfig sc
+        SET sc.status = :newStatus, sc.updatedAt = :updatedAt, sc.lockVersion = sc.lockVersion + 1
+        WHERE sc.configId IN :configIds
+        AND sc.status = :currentStatus
+        """)
+    int updateStatus(
+        @Param("configIds") Collection<Long> configIds,
+        @Param("currentStatus") String currentStatus,
+        @Param("newStatus") String newStatus,
+        @Param("updatedAt") LocalDateTime updatedAt
+    );
+    
+    /**
+     * Summaries of all versions that reference a field (impact analysis), without the JSON payload.
+     */
+    @Query("""
+        SELECT new com.los.dto.config.ConfigSummary('screen', sc.configId, sc.screenId, sc.productCode,
+            sc.partnerCode, sc.branchCode, sc.version, sc.status, sc.updatedAt)
+        FROM ScreenConfig sc JOIN sc.referencedFieldIds f
+        WHERE f = :fieldId
+        ORDER BY sc.screenId, sc.configId
+        """)
+    List<ConfigSummary> findSummariesReferencingField(@Param("fieldId") String fieldId);
+    
+    /**
+     * All configs in a status (ACTIVE: loading the in-memory ActiveConfigIndex).
+     */
+    List<ScreenConfig> findByStatus(String status);
 }
-
@@ -0,0 +1,39 @@
+package com.los.repository;
+
+import com.los.domain.ScreenSubmission;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+@Repository
+public interface ScreenSubmissionRepository extends JpaRepository<ScreenSubmission, Long> {
+
+    /**
+     * Highest seq recorded for an application + screen (0 if none).
+     * Served from the unique (application_id, screen_id, seq) index.
+     */
+    @Query("""
+        SELECT COALESCE(MAX(s.seq), 0) FROM ScreenSubmission s
+        WHERE s.applicationId = :applicationId AND s.screenId = :screenId
+        """)
+    int findMaxSeq(@Param("applicationId") Long applicationId, @Param("screenId") String screenId);
+
+    /**
+     * Stream an application's submissions in submission order.
+     * Must be consumed inside a transaction and closed by the caller.
+     */
+    @QueryHints({
+        @QueryHint(name = HINT_FETCH_SIZE, value = "100"),
+        @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT s FROM ScreenSubmission s WHERE s.applicationId = :applicationId ORDER BY s.submissionId")
+    Stream<ScreenSubmission> streamByApplicationId(@Param("applicationId") Long applicationId);
+}
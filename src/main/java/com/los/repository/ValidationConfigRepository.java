@@ -1,11 +1,18 @@
 package com.los.repository;
 
 import com.los.config.entity.ValidationConfig;
+import com.los.dto.config.ConfigSummary;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -31,29 +38,129 @@ public interface ValidationConfigRepository extends JpaRepository<ValidationConf
         @Param("branchCode") String branchCode
     );
     
+    /**
+     * findByScope for several screens in one query (snapshot creation). Rows come back in the
+     * same precedence order, so the first row per screenId is that screen's match.
+     */
+    @Query("""
+        SELECT vc FROM ValidationConfig vc 
+        WHERE vc.screenId IN :screenIds 
+        AND vc.status = 'ACTIVE'
+        AND (
+            (vc.branchCode = :branchCode AND vc.partnerCode = :partnerCode AND vc.productCode = :productCode)
+            OR (vc.branchCode IS NULL AND vc.partnerCode = :partnerCode AND vc.productCode = :productCode)
+            OR (vc.branchCode IS NULL AND vc.partnerCode IS NULL AND vc.productCode = :productCode)
+            OR (vc.branchCode IS NULL AND vc.partnerCode IS NULL AND vc.productCode IS NULL)
+        )
+        ORDER BY vc.branchCode DESC NULLS LAST, vc.partnerCode DESC NULLS LAST, vc.productCode DESC NULLS LAST
+        """)
+    List<ValidationConfig> findByScopeForScreens(
+        @Param("screenIds") Collection<String> screenIds,
+        @Param("productCode") String productCode,
+        @Param("partnerCode") String partnerCode,
+        @Param("branchCode") String branchCode
+    );
+    
     Optional<ValidationConfig> findByConfigId(Long configId);
     
     /**
-     * Find configs by exact scope and status.
-     * Used for activation to find existing ACTIVE configs.
-     * Handles NULL values correctly.
+     * Admin listing filtered on the referenced field ids; a null filter matches everything.
      */
     @Query("""
-        SELECT vc FROM ValidationConfig vc 
-        WHERE vc.screenId = :screenId 
-        AND vc.status = :status
-        AND (vc.productCode = :productCode OR (vc.productCode IS NULL AND :productCode IS NULL))
-        AND (vc.partnerCode = :partnerCode OR (vc.partnerCode IS NULL AND :partnerCode IS NULL))
-        AND (vc.branchCode = :branchCode OR (vc.branchCode IS NULL AND :branchCode IS NULL))
+        SELECT vc FROM ValidationConfig vc
+        WHERE (:fieldId IS NULL OR vc.configId IN (
+            SELECT r.configId FROM ValidationConfig r JOIN r.referencedFieldIds f WHERE f = :fieldId))
+        ORDER BY vc.configId
+        """)
+    List<ValidationConfig> findByFilters(@Param("fieldId") String fieldId);
+    
+    /**
+     * One keyset page of summaries (configId after afterId, ascending), without the JSON payload.
+     * Null filters match everything; pass a Pageable of page 0 to cap the page size.
+     */
+    @Query("""
+        SELECT new com.los.dto.config.ConfigSummary('validation', vc.configId, vc.screenId, vc.productCode,
+            vc.partnerCode, vc.branchCode, vc.version, vc.status, vc.updatedAt)
+        FROM ValidationConfig vc
+        WHERE (:afterId IS NULL OR vc.configId > :afterId)
+        AND (:screenId IS NULL OR vc.screenId = :screenId)
+        AND (:productCode IS NULL OR vc.productCode = :productCode)
+        AND (:partnerCode IS NULL OR vc.partnerCode = :partnerCode)
+        AND (:branchCode IS NULL OR vc.branchCode = :branchCode)
+        AND (:status IS NULL OR vc.status = :status)
+        ORDER BY vc.configId
         """)
-    List<ValidationConfig> findByScreenIdAndProductCodeAndPartnerCodeAndBranchCodeAndStatus(
+    List<ConfigSummary> findSummaryPage(
+        @Param("afterId") Long afterId,
         @Param("screenId") String screenId,
         @Param("productCode") String productCode,
         @Param("partnerCode") String partnerCode,
         @Param("branchCode") String branchCode,
-        @Param("status") String status
+        @Param("status") String status,
+        Pageable pageable
     );
     
+    /**
+     * Summaries of the given versions (release activation and rollback).
+     */
+    @Query("""
+        SELECT new com.los.dto.config.ConfigSummary('validation', vc.configId, vc.screenId, vc.productCode,
+            vc.partnerCode, vc.branchCode, vc.version, vc.status, vc.updatedAt)
+        FROM ValidationConfig vc
+        WHERE vc.configId IN :configIds
+        """)
+    List<ConfigSummary> findSummariesByConfigIds(@Param("configIds") Collection<Long> configIds);
+    
+    /**
+     * Summaries of all versions of the given screens (all scopes and statuses), locked until the
+     * transaction ends (SELECT ... FOR UPDATE), for activation and releases. Two activations of
+     * the same screenId lock overlapping rows (at least each other's DRAFT), so they run one after
+     * the other and the second sees the first's committed result.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+        SELECT new com.los.dto.config.ConfigSummary('validation', vc.configId, vc.screenId, vc.productCode,
+            vc.partnerCode, vc.branchCode, vc.version, vc.status, vc.updatedAt)
+        FROM ValidationConfig vc
+        WHERE vc.screenId IN :screenIds
+        ORDER BY vc.configId
+        """)
+    List<ConfigSummary> lockSummaries(@Param("screenIds") Collection<String> screenIds);
+    
+    /**
+     * Conditional bulk status change: only rows still in currentStatus are updated, so the
+     * returned count tells whether a concurrent change got there first.
+     */
+    @Modifying
+    @Query("""
+        UPDATE ValidationConfig vc
+        SET vc.status = :newStatus, vc.updatedAt = :updatedAt, vc.lockVersion = vc.lockVersion + 1
+        WHERE vc.configId IN :configIds
+        AND vc.status = :currentStatus
+        """)
+    int updateStatus(
+        @Param("configIds") Collection<Long> configIds,
+        @Param("currentStatus") String currentStatus,
+        @Param("newStatus") String newStatus,
+        @Param("updatedAt") LocalDateTime updatedAt
+    );
+    
+    /**
+     * Summaries of all versions that reference a field (impact analysis), without the JSON payload.
+     */
+    @Query("""
+        SELECT new com.los.dto.config.ConfigSummary('validation', vc.configId, vc.screenId, vc.productCode,
+            vc.partnerCode, vc.branchCode, vc.version, vc.status, vc.updatedAt)
+        FROM ValidationConfig vc JOIN vc.referencedFieldIds f
+        WHERE f = :fieldId
+        ORDER BY vc.screenId, vc.configId
+        """)
+    List<ConfigSummary> findSummariesReferencingField(@Param("fieldId") String fieldId);
+    
     List<ValidationConfig> findByScreenIdAndStatus(String screenId, String status);
+    
+    /**
+     * All configs in a status (ACTIVE: loading the in-memory ActiveConfigIndex).
+     */
+    List<ValidationConfig> findByStatus(String status);
 }
-
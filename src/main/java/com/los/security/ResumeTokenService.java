@@ -0,0 +1,137 @@
+package com.los.security;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Issues and verifies opaque resume tokens for runtime applications.
+ *
+ * A token carries the application id, flow snapshot id and expiry (epoch seconds), signed
+ * with HMAC-SHA256:
+ * {@code base64url("v1:<applicationId>:<snapshotId>:<expiresAt>") + "." + base64url(hmac)}.
+ * Verification is pure computation, so the runtime can resolve which application a
+ * submission belongs to without querying loan_applications by scope. Every next-screen
+ * response carries a fresh token, so the TTL bounds how long an application can sit idle.
+ */
+@Component
+@Slf4j
+public class ResumeTokenService {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final String VERSION = "v1";
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final Mac prototype;
+    private final Duration ttl;
+    private final Clock clock;
+
+    @Autowired
+    public ResumeTokenService(
+            @Value("${runtime.resume-token.secret:${security.jwt.secret:}}") String secret,
+            @Value("${runtime.resume-token.ttl-hours:720}") long ttlHours) {
+        this(secret, Duration.ofHours(ttlHours), Clock.systemUTC());
+    }
+
+    ResumeTokenService(String secret, Duration ttl, Clock clock) {
+        this.ttl = ttl;
+        this.clock = clock;
+        if (secret == null || secret.length() < 32) {
+            throw new IllegalStateException("runtime.resume-token.secret must be at least 32 characters");
+        }
+        try {
+            this.prototype = Mac.getInstance(HMAC_ALGORITHM);
+            this.prototype.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to initialise resume token signer", e);
+        }
+    }
+
+    /**
+     * Issue a token for the given application and snapshot (snapshot may be null for legacy applications).
+     */
+    public String issue(Long applicationId, Long snapshotId) {
+        if (applicationId == null) {
+            throw new IllegalArgumentException("applicationId is required to issue a resume token");
+        }
+        long expiresAt = clock.instant().plus(ttl).getEpochSecond();
+        String payload = VERSION + ":" + applicationId + ":" + (snapshotId != null ? snapshotId : "") + ":" + expiresAt;
+        byte[] payloadBytes = payload.getBytes(StandardCharsets.UTF_8);
+        return ENCODER.encodeToString(payloadBytes) + "." + ENCODER.encodeToString(sign(payloadBytes));
+    }
+
+    /**
+     * Verify a token and extract its claims.
+     *
+     * @return the decoded token, or empty if the token is malformed, expired or the signature does not match
+     */
+    public Optional<ResumeToken> verify(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+        int dot = token.indexOf('.');
+        if (dot <= 0 || dot == token.length() - 1) {
+            return Optional.empty();
+        }
+
+        try {
+            byte[] payloadBytes = DECODER.decode(token.substring(0, dot));
+            byte[] signature = DECODER.decode(token.substring(dot + 1));
+            if (!MessageDigest.isEqual(sign(payloadBytes), signature)) {
+                log.warn("Resume token signature mismatch");
+                return Optional.empty();
+            }
+
+            String[] parts = new String(payloadBytes, StandardCharsets.UTF_8).split(":", -1);
+            if (parts.length != 4 || !VERSION.equals(parts[0])) {
+                return Optional.empty();
+            }
+            if (clock.instant().getEpochSecond() >= Long.parseLong(parts[3])) {
+                log.debug("Resume token for application {} has expired", parts[1]);
+                return Optional.empty();
+            }
+            Long applicationId = Long.valueOf(parts[1]);
+            Long snapshotId = parts[2].isEmpty() ? null : Long.valueOf(parts[2]);
+            return Optional.of(new ResumeToken(applicationId, snapshotId));
+        } catch (IllegalArgumentException e) {
+            // Bad base64 or non-numeric ids
+            log.warn("Malformed resume token: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private byte[] sign(byte[] payload) {
+        try {
+            // Mac is not thread-safe; clone the initialised prototype instead of re-keying per call
+            Mac mac = (Mac) prototype.clone();
+            return mac.doFinal(payload);
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException("HMAC provider does not support cloning", e);
+        }
+    }
+
+    /**
+     * Claims carried by a verified resume token.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class ResumeToken {
+        private final Long applicationId;
+        private final Long snapshotId;
+    }
+}
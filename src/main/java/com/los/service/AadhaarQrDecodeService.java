@@ -1,8 +1,11 @@
 package com.los.service;
 
 import com.los.dto.runtime.AadhaarQrDecodeResponse;
+import com.los.metrics.RuntimeMetrics;
 import com.los.service.qr.UidaiSecureQrDecoder;
 import com.los.util.CorrelationIdHolder;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -22,6 +25,8 @@ import java.util.List;
 public class AadhaarQrDecodeService {
 
     private final UidaiSecureQrDecoder qrDecoder;
+    private final RuntimeMetrics runtimeMetrics;
+    private final ObservationRegistry observationRegistry;
 
     private static final int MIN_QR_PAYLOAD_LENGTH = 1001; // Minimum length for valid Aadhaar QR numeric string
 
@@ -66,11 +71,21 @@ public class AadhaarQrDecodeService {
 
         // Decode UIDAI Secure QR
         UidaiSecureQrDecoder.DecodedAadhaarData decodedData;
-        try {
+        long decodeStart = System.nanoTime();
+        boolean decoded = false;
+        Observation observation = Observation.createNotStarted("los.qr.decoding", observationRegistry)
+                .highCardinalityKeyValue("qr.bytes", String.valueOf(qrBytes.length))
+                .start();
+        try (Observation.Scope scope = observation.openScope()) {
             decodedData = qrDecoder.decode(qrBytes);
+            decoded = true;
         } catch (UidaiSecureQrDecoder.QrDecodeException e) {
             log.error("[{}] Failed to decode Aadhaar QR: {}", correlationId, e.getMessage());
+            observation.error(e);
             throw e;
+        } finally {
+            observation.stop();
+            runtimeMetrics.recordQrDecode(decoded, System.nanoTime() - decodeStart);
         }
 
         // Build response with all decoded fields
@@ -0,0 +1,465 @@
+package com.los.service;
+
+import com.los.config.ConfigChangedEvent;
+import com.los.config.ConfigStatus;
+import com.los.config.change.ConfigChangeChannel;
+import com.los.config.change.ConfigChangeNotice;
+import com.los.config.entity.FieldMappingConfig;
+import com.los.config.entity.FlowConfig;
+import com.los.config.entity.ScreenConfig;
+import com.los.config.entity.ValidationConfig;
+import com.los.metrics.RuntimeMetrics;
+import com.los.repository.FieldMappingConfigRepository;
+import com.los.repository.FlowConfigRepository;
+import com.los.repository.ScreenConfigRepository;
+import com.los.repository.ValidationConfigRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * In-memory index of the ACTIVE version of every config, by config key and exact scope, so
+ * ConfigResolutionService resolves without a query per lookup.
+ *
+ * Loaded in full by the startup warm-up once the application is ready, then kept current incrementally: changes made
+ * on this node are applied right after their transaction commits (ConfigChangedEvent), changes
+ * made on other nodes when the ConfigChangeChannel delivers them. Either way only the changed
+ * config ids travel; their current rows are re-read, so a change applied twice or late is
+ * harmless. Updates run one at a time, each reading the database after the previous one.
+ *
+ * Staleness is bounded: the index stops serving (resolution goes back to the database) while
+ * the channel has not synced for runtime.config-index.max-staleness-ms, e.g. while the config
+ * database is unreachable from the poller.
+ *
+ * Configs served from here are shared between requests: their payloads are unmodifiable and
+ * the entities must not be changed.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ActiveConfigIndex {
+
+    private final ScreenConfigRepository screenConfigRepository;
+    private final ValidationConfigRepository validationConfigRepository;
+    private final FieldMappingConfigRepository fieldMappingConfigRepository;
+    private final FlowConfigRepository flowConfigRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectProvider<ConfigChangeChannel> changeChannel;
+    private final RuntimeMetrics runtimeMetrics;
+
+    @Value("${runtime.config-index.enabled:true}")
+    private boolean enabled;
+
+    @Value("${runtime.config-index.max-staleness-ms:10000}")
+    private long maxStalenessMs;
+
+    private final ReentrantLock updateLock = new ReentrantLock();
+    private final Map<String, TypeIndex<?>> types = new LinkedHashMap<>();
+    private TypeIndex<ScreenConfig> screens;
+    private TypeIndex<ValidationConfig> validations;
+    private TypeIndex<FieldMappingConfig> fieldMappings;
+    private TypeIndex<FlowConfig> flows;
+
+    // Set before loaded, read after it
+    private ConfigChangeChannel channel;
+    private volatile boolean loaded;
+    private volatile boolean stale;
+
+    @PostConstruct
+    void registerTypes() {
+        screens = register(new TypeIndex<>("screen", ScreenConfig::getConfigId, ScreenConfig::getScreenId,
+                ScreenConfig::getProductCode, ScreenConfig::getPartnerCode, ScreenConfig::getBranchCode,
+                ScreenConfig::getStatus, screenConfigRepository::findAllById,
+                () -> screenConfigRepository.findByStatus("ACTIVE"),
+                c -> c.setUiConfig(freeze(c.getUiConfig()))));
+        validations = register(new TypeIndex<>("validation", ValidationConfig::getConfigId, ValidationConfig::getScreenId,
+                ValidationConfig::getProductCode, ValidationConfig::getPartnerCode, ValidationConfig::getBranchCode,
+                ValidationConfig::getStatus, validationConfigRepository::findAllById,
+                () -> validationConfigRepository.findByStatus("ACTIVE"),
+                c -> c.setValidationRules(freeze(c.getValidationRules()))));
+        fieldMappings = register(new TypeIndex<>("field-mapping", FieldMappingConfig::getConfigId,
+                FieldMappingConfig::getScreenId, FieldMappingConfig::getProductCode, FieldMappingConfig::getPartnerCode,
+                FieldMappingConfig::getBranchCode, FieldMappingConfig::getStatus, fieldMappingConfigRepository::findAllById,
+                () -> fieldMappingConfigRepository.findByStatus("ACTIVE"),
+                c -> c.setMappings(freeze(c.getMappings()))));
+        flows = register(new TypeIndex<>("flow", FlowConfig::getConfigId, FlowConfig::getFlowId,
+                FlowConfig::getProductCode, FlowConfig::getPartnerCode, FlowConfig::getBranchCode,
+                FlowConfig::getStatus, flowConfigRepository::findAllById,
+                () -> flowConfigRepository.findByStatus("ACTIVE"),
+                c -> {
+                    c.setFlowDefinition(freeze(c.getFlowDefinition()));
+                    c.setDashboardMeta(freeze(c.getDashboardMeta()));
+                }));
+    }
+
+    /**
+     * Load every ACTIVE config, one query per config type run in parallel on the given
+     * executor. Called once by the startup warm-up (StartupWarmup) when the application is
+     * ready; until then resolution reads the database.
+     */
+    public void load(Executor executor) {
+        if (!enabled) {
+            log.info("Active config index disabled; configs are resolved from the database");
+            return;
+        }
+        channel = changeChannel.getIfAvailable();
+        if (channel != null) {
+            channel.subscribe(this::onRemoteChange);
+        }
+
+        long start = System.nanoTime();
+        updateLock.lock();
+        try {
+            // Changes arriving meanwhile wait for the lock and are then re-read
+            Map<String, CompletableFuture<List<?>>> loads = new LinkedHashMap<>();
+            types.forEach((type, index) -> loads.put(type, CompletableFuture.supplyAsync(
+                    () -> readOnly().execute(status -> index.loadActive.get()), executor)));
+            loads.forEach((type, load) -> types.get(type).applyRows(Set.of(), load.join()));
+            loaded = true;
+        } finally {
+            updateLock.unlock();
+        }
+        runtimeMetrics.registerCacheSize("active-config", this, ActiveConfigIndex::size);
+        log.info("Loaded {} ACTIVE configs into the active config index in {} ms",
+                size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Re-read every ACTIVE config, e.g. after the process was restored from a checkpoint taken
+     * long enough ago that the change log no longer covers it. No-op until loaded.
+     */
+    public void reload() {
+        updateLock.lock();
+        try {
+            if (!loaded) {
+                return;
+            }
+            Map<String, List<?>> rows = readOnly().execute(status -> {
+                Map<String, List<?>> current = new LinkedHashMap<>();
+                types.forEach((type, index) -> current.put(type, index.loadActive.get()));
+                return current;
+            });
+            rows.forEach((type, list) -> types.get(type).replaceRows(list));
+        } finally {
+            updateLock.unlock();
+        }
+        log.info("Reloaded {} ACTIVE configs into the active config index", size());
+    }
+
+    /**
+     * Whether lookups may be answered from the index: loaded, and synced with the other nodes
+     * within the staleness bound.
+     */
+    public boolean isServing() {
+        if (!loaded) {
+            return false;
+        }
+        boolean nowStale = channel != null && channel.staleness().toMillis() > maxStalenessMs;
+        if (nowStale != stale) {
+            stale = nowStale;
+            if (nowStale) {
+                log.warn("Active config index is more than {} ms behind the cluster; resolving from the database",
+                        maxStalenessMs);
+            } else {
+                log.info("Active config index back in sync; resolving from the index");
+            }
+        }
+        return !nowStale;
+    }
+
+    // Lookups with ConfigRepository.findByScope semantics: the match in precedence order
+    // (branch > partner > product > global), as a list of at most one config
+
+    public List<ScreenConfig> findScreenConfigs(String screenId, String productCode, String partnerCode, String branchCode) {
+        return screens.find(screenId, productCode, partnerCode, branchCode);
+    }
+
+    public List<ValidationConfig> findValidationConfigs(String screenId, String productCode, String partnerCode,
+                                                        String branchCode) {
+        return validations.find(screenId, productCode, partnerCode, branchCode);
+    }
+
+    public List<FieldMappingConfig> findFieldMappingConfigs(String screenId, String productCode, String partnerCode,
+                                                            String branchCode) {
+        return fieldMappings.find(screenId, productCode, partnerCode, branchCode);
+    }
+
+    public List<FlowConfig> findFlowConfigs(String flowId, String productCode, String partnerCode, String branchCode) {
+        return flows.find(flowId, productCode, partnerCode, branchCode);
+    }
+
+    /**
+     * findByScopeForScreens semantics: the match of each screen that has one.
+     */
+    public List<ScreenConfig> findScreenConfigs(Collection<String> screenIds, String productCode, String partnerCode,
+                                                String branchCode) {
+        return screens.findAll(screenIds, productCode, partnerCode, branchCode);
+    }
+
+    public List<ValidationConfig> findValidationConfigs(Collection<String> screenIds, String productCode,
+                                                        String partnerCode, String branchCode) {
+        return validations.findAll(screenIds, productCode, partnerCode, branchCode);
+    }
+
+    public List<FieldMappingConfig> findFieldMappingConfigs(Collection<String> screenIds, String productCode,
+                                                            String partnerCode, String branchCode) {
+        return fieldMappings.findAll(screenIds, productCode, partnerCode, branchCode);
+    }
+
+    /**
+     * All ACTIVE validation configs (for precompiling their patterns).
+     */
+    public Collection<ValidationConfig> activeValidationConfigs() {
+        return validations.byScope.values();
+    }
+
+    /**
+     * All ACTIVE flow configs (for the startup warm-up journeys and the dashboard).
+     */
+    public Collection<FlowConfig> activeFlowConfigs() {
+        return flows.byScope.values();
+    }
+
+    /**
+     * Incremented after every update of the ACTIVE flows, so views derived from them (the
+     * dashboard) can tell when to rebuild: a view built after reading version v is current
+     * while the version is still v.
+     */
+    public long activeFlowsVersion() {
+        return flows.version;
+    }
+
+    public int size() {
+        return types.values().stream().mapToInt(index -> index.byScope.size()).sum();
+    }
+
+    /**
+     * Apply a change made on this node once it has committed.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onConfigChanged(ConfigChangedEvent event) {
+        try {
+            refresh(event.getConfigIdsByType());
+        } catch (RuntimeException e) {
+            // The other nodes still get the change; this one catches up on its next restart
+            log.error("Failed to apply {} to the active config index: {}", event.getSource(), e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Apply changes made on other nodes. Failures propagate, so the channel delivers them again.
+     */
+    private void onRemoteChange(ConfigChangeNotice notice) {
+        long received = System.nanoTime();
+        refresh(notice.getConfigIdsByType());
+        runtimeMetrics.recordConfigChangeLag(notice.getMaxAgeNanos() + (System.nanoTime() - received));
+    }
+
+    private void refresh(Map<String, Set<Long>> configIdsByType) {
+        updateLock.lock();
+        try {
+            if (!loaded) {
+                // The initial load (still to come) reads these changes anyway
+                return;
+            }
+            Map<String, List<?>> rows = readOnly().execute(status -> {
+                Map<String, List<?>> current = new HashMap<>();
+                configIdsByType.forEach((type, ids) -> {
+                    TypeIndex<?> index = types.get(type);
+                    if (index != null && !ids.isEmpty()) {
+                        current.put(type, index.loadById.apply(ids));
+                    }
+                });
+                return current;
+            });
+            rows.forEach((type, list) -> types.get(type).applyRows(configIdsByType.get(type), list));
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    /**
+     * A new read-only transaction, also when called after another one has committed.
+     */
+    private TransactionTemplate readOnly() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        template.setReadOnly(true);
+        return template;
+    }
+
+    private <T> TypeIndex<T> register(TypeIndex<T> index) {
+        types.put(index.type, index);
+        return index;
+    }
+
+    /**
+     * Unmodifiable deep copy of a JSON payload (maps, lists and scalars).
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T freeze(T value) {
+        if (value instanceof Map<?, ?> map) {
+            Map<Object, Object> copy = new LinkedHashMap<>();
+            map.forEach((k, v) -> copy.put(k, freeze(v)));
+            return (T) Collections.unmodifiableMap(copy);
+        }
+        if (value instanceof List<?> list) {
+            List<Object> copy = new ArrayList<>(list.size());
+            list.forEach(v -> copy.add(freeze(v)));
+            return (T) Collections.unmodifiableList(copy);
+        }
+        return value;
+    }
+
+    /**
+     * ACTIVE configs of one type by (config key, product, partner, branch). Written only under
+     * updateLock; read without locking.
+     */
+    private static final class TypeIndex<T> {
+        private final String type;
+        private final Function<T, Long> configId;
+        private final Function<T, String> key;
+        private final Function<T, String> productCode;
+        private final Function<T, String> partnerCode;
+        private final Function<T, String> branchCode;
+        private final Function<T, String> status;
+        private final Function<Collection<Long>, List<T>> loadById;
+        private final Supplier<List<T>> loadActive;
+        private final Consumer<T> freezePayload;
+
+        private final Map<List<String>, T> byScope = new ConcurrentHashMap<>();
+        private final Map<Long, List<String>> scopeById = new HashMap<>();
+        private volatile long version;
+
+        private TypeIndex(String type, Function<T, Long> configId, Function<T, String> key,
+                          Function<T, String> productCode, Function<T, String> partnerCode,
+                          Function<T, String> branchCode, Function<T, String> status,
+                          Function<Collection<Long>, List<T>> loadById, Supplier<List<T>> loadActive,
+                          Consumer<T> freezePayload) {
+            this.type = type;
+            this.configId = configId;
+            this.key = key;
+            this.productCode = productCode;
+            this.partnerCode = partnerCode;
+            this.branchCode = branchCode;
+            this.status = status;
+            this.loadById = loadById;
+            this.loadActive = loadActive;
+            this.freezePayload = freezePayload;
+        }
+
+        /**
+         * Same precedence as findByScope: a level only applies when its scope codes are given.
+         */
+        private T lookup(String id, String product, String partner, String branch) {
+            T found = null;
+            if (product != null && partner != null && branch != null) {
+                found = byScope.get(scope(id, product, partner, branch));
+            }
+            if (found == null && product != null && partner != null) {
+                found = byScope.get(scope(id, product, partner, null));
+            }
+            if (found == null && product != null) {
+                found = byScope.get(scope(id, product, null, null));
+            }
+            if (found == null) {
+                found = byScope.get(scope(id, null, null, null));
+            }
+            return found;
+        }
+
+        private List<T> find(String id, String product, String partner, String branch) {
+            T found = lookup(id, product, partner, branch);
+            return found != null ? List.of(found) : List.of();
+        }
+
+        private List<T> findAll(Collection<String> ids, String product, String partner, String branch) {
+            List<T> result = new ArrayList<>(ids.size());
+            for (String id : ids) {
+                T found = lookup(id, product, partner, branch);
+                if (found != null) {
+                    result.add(found);
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Bring the given ids in line with their current rows (ids without a row were deleted),
+         * then add the ACTIVE rows. Removals go first, so a swap of the ACTIVE version within
+         * one scope ends with the new version whatever the order of the ids.
+         */
+        @SuppressWarnings("unchecked")
+        private void applyRows(Set<Long> changedIds, List<?> rows) {
+            for (Long id : changedIds) {
+                remove(id);
+            }
+            for (Object row : rows) {
+                T config = (T) row;
+                if (ConfigStatus.isRuntimeUsable(status.apply(config))) {
+                    freezePayload.accept(config);
+                    List<String> scope = scope(key.apply(config), productCode.apply(config),
+                            partnerCode.apply(config), branchCode.apply(config));
+                    T previous = byScope.put(scope, config);
+                    if (previous != null && !configId.apply(previous).equals(configId.apply(config))) {
+                        log.warn("Two ACTIVE {} configs for {}: {} replaces {} in the index",
+                                type, scope, configId.apply(config), configId.apply(previous));
+                        scopeById.remove(configId.apply(previous));
+                    }
+                    scopeById.put(configId.apply(config), scope);
+                }
+            }
+            version++;
+        }
+
+        /**
+         * Replace the whole index with the given ACTIVE rows. Ids no longer among them are removed
+         * one by one instead of clearing first, so concurrent lookups never see an empty index.
+         */
+        @SuppressWarnings("unchecked")
+        private void replaceRows(List<?> rows) {
+            Set<Long> gone = new HashSet<>(scopeById.keySet());
+            for (Object row : rows) {
+                gone.remove(configId.apply((T) row));
+            }
+            applyRows(gone, rows);
+        }
+
+        private void remove(Long id) {
+            List<String> scope = scopeById.remove(id);
+            if (scope != null) {
+                byScope.computeIfPresent(scope, (s, current) -> configId.apply(current).equals(id) ? null : current);
+            }
+        }
+
+        private static List<String> scope(String id, String product, String partner, String branch) {
+            return Arrays.asList(id, product, partner, branch);
+        }
+    }
+}
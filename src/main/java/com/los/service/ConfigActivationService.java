@@ -1,10 +1,12 @@
 package com.los.service;
 
+import com.los.config.ConfigChangedEvent;
 import com.los.config.ConfigStatus;
 import com.los.config.entity.FieldMappingConfig;
 import com.los.config.entity.FlowConfig;
 import com.los.config.entity.ScreenConfig;
 import com.los.config.entity.ValidationConfig;
+import com.los.dto.config.ConfigSummary;
 import com.los.dto.runtime.ValidationErrorResponse;
 import com.los.exception.ConfigNotFoundException;
 import com.los.exception.ValidationException;
@@ -15,15 +17,19 @@ import com.los.repository.ValidationConfigRepository;
 import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Service for activating configurations across all config types.
@@ -33,6 +39,15 @@ import java.util.Map;
  * - Atomic activation (deprecate old → activate new)
  * - Validation before activation
  * - Audit trail preservation
+ *
+ * Activation is one read of the config, one locking read of the versions of its screen or flow
+ * (SELECT ... FOR UPDATE, no payloads) and conditional status UPDATEs: the previous ACTIVE
+ * version goes ACTIVE → DEPRECATED and the config DRAFT → ACTIVE, each guarded by its current
+ * status. The lock serializes activations of the same screen or flow, so the second one sees
+ * the version the first activated; the guards fail it (CONCURRENT_MODIFICATION) if anything
+ * else changed, so a concurrent activation cannot leave two ACTIVE versions.
+ * The JSON payloads are not rewritten; the "status" the admin UI reads inside them is derived
+ * from the status column when the entity is serialized (see ConfigPayloads).
  */
 @Service
 @RequiredArgsConstructor
@@ -44,6 +59,7 @@ public class ConfigActivationService {
     private final FieldMappingConfigRepository fieldMappingConfigRepository;
     private final ValidationConfigRepository validationConfigRepository;
     private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Activate a ScreenConfig.
@@ -55,9 +71,8 @@ public class ConfigActivationService {
      * 
      * @param configId the config ID to activate
      * @return activated config
-     * Uses REQUIRES_NEW to ensure transaction commits immediately.
      */
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Transactional
     public ScreenConfig activateScreenConfig(Long configId) {
         log.info("Activating ScreenConfig: {}", configId);
         
@@ -70,103 +85,29 @@ public class ConfigActivationService {
             log.warn("Config {} is already ACTIVE", configId);
             return config; // Idempotent
         }
-        
-        if (!ConfigStatus.DRAFT.name().equals(config.getStatus())) {
-            throw new ValidationException(Collections.singletonList(
-                ValidationErrorResponse.FieldError.builder()
-                    .fieldId("status")
-                    .code("INVALID_STATUS")
-                    .message(String.format("Cannot activate config with status %s. Only DRAFT configs can be activated.", 
-                        config.getStatus()))
-                    .build()
-            ));
-        }
+        requireDraft(config.getStatus());
         
         // 3. Validate completeness
         validateScreenConfigCompleteness(config);
         
-        // 4. Find and deprecate previous ACTIVE config in same scope
-        List<ScreenConfig> activeConfigs = screenConfigRepository.findByScreenIdAndProductCodeAndPartnerCodeAndBranchCodeAndStatus(
-            config.getScreenId(),
-            config.getProductCode(),
-            config.getPartnerCode(),
-            config.getBranchCode(),
-            ConfigStatus.ACTIVE.name()
-        );
-        
-        for (ScreenConfig activeConfig : activeConfigs) {
-            log.info("Deprecating previous ACTIVE ScreenConfig: {}", activeConfig.getConfigId());
-            activeConfig.setStatus(ConfigStatus.DEPRECATED.name());
-            screenConfigRepository.save(activeConfig);
-        }
+        // 4. Deprecate previous ACTIVE config in same scope, activate new config
+        List<Long> previousIds = activeIdsInScope(
+            screenConfigRepository.lockSummaries(List.of(config.getScreenId())),
+            config.getProductCode(), config.getPartnerCode(), config.getBranchCode());
+        LocalDateTime now = switchActive("screen", configId, previousIds, screenConfigRepository::updateStatus);
         
-        // 5. Activate new config
+        // 5. Return the config as now stored, without a refetch
+        entityManager.detach(config);
         config.setStatus(ConfigStatus.ACTIVE.name());
-        
-        // CRITICAL: Also update status inside uiConfig JSON to match top-level status
-        // The frontend may read status from uiConfig, so we must keep them in sync
-        Map<String, Object> uiConfig = config.getUiConfig();
-        if (uiConfig != null) {
-            // Create a new HashMap to ensure Hibernate detects the change
-            Map<String, Object> updatedUiConfig = new HashMap<>(uiConfig);
-            updatedUiConfig.put("status", ConfigStatus.ACTIVE.name());
-            config.setUiConfig(updatedUiConfig); // Set it back to trigger converter
-            log.debug("Updated status inside uiConfig to ACTIVE and set back on entity");
-        }
-        
-        ScreenConfig merged = entityManager.merge(config);
-        entityManager.flush(); // Force immediate database write
-        
-        // Also update uiConfig JSON directly in database using SQL to ensure it's persisted
-        if (uiConfig != null) {
-            try {
-                ObjectMapper objectMapper = new ObjectMapper();
-                Map<String, Object> uiConfigForDb = new HashMap<>(uiConfig);
-                uiConfigForDb.put("status", ConfigStatus.ACTIVE.name());
-                String updatedJson = objectMapper.writeValueAsString(uiConfigForDb);
-                
-                // Update the JSON directly in database
-                int jsonUpdated = entityManager.createNativeQuery(
-                        "UPDATE SCREEN_CONFIGS SET UI_CONFIG = ? WHERE CONFIG_ID = ?")
-                        .setParameter(1, updatedJson)
-                        .setParameter(2, configId)
-                        .executeUpdate();
-                entityManager.flush();
-                log.debug("Direct SQL update of uiConfig JSON: {} rows updated", jsonUpdated);
-            } catch (Exception e) {
-                log.error("Failed to update uiConfig JSON directly: {}", e.getMessage(), e);
-            }
-        }
-        
-        entityManager.clear(); // Clear persistence context
-        
-        // Fetch fresh entity from database
-        ScreenConfig freshConfig = screenConfigRepository.findById(configId)
-                .orElseThrow(() -> new ConfigNotFoundException("Screen config not found: " + configId));
-        
-        log.info("Successfully activated ScreenConfig: {} (deprecated {} previous configs). Status: {}", 
-            configId, activeConfigs.size(), freshConfig.getStatus());
-        
-        // Verify status inside uiConfig is also ACTIVE
-        Map<String, Object> freshUiConfig = freshConfig.getUiConfig();
-        if (freshUiConfig != null) {
-            Object statusInUiConfig = freshUiConfig.get("status");
-            if (!ConfigStatus.ACTIVE.name().equals(statusInUiConfig)) {
-                log.warn("WARNING: Status inside uiConfig is '{}' but should be 'ACTIVE'. Frontend may show incorrect status.", 
-                    statusInUiConfig);
-            } else {
-                log.debug("Verified: Status inside uiConfig is also ACTIVE");
-            }
-        }
-        
-        return freshConfig;
+        config.setUpdatedAt(now);
+        config.setLockVersion(nextLockVersion(config.getLockVersion()));
+        return config;
     }
 
     /**
      * Activate a FlowConfig.
-     * Uses REQUIRES_NEW to ensure transaction commits immediately.
      */
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Transactional
     public FlowConfig activateFlowConfig(Long configId) {
         log.info("Activating FlowConfig: {}", configId);
         
@@ -177,134 +118,26 @@ public class ConfigActivationService {
             log.warn("Config {} is already ACTIVE", configId);
             return config;
         }
-        
-        if (!ConfigStatus.DRAFT.name().equals(config.getStatus())) {
-            throw new ValidationException(Collections.singletonList(
-                ValidationErrorResponse.FieldError.builder()
-                    .fieldId("status")
-                    .code("INVALID_STATUS")
-                    .message(String.format("Cannot activate config with status %s. Only DRAFT configs can be activated.", 
-                        config.getStatus()))
-                    .build()
-            ));
-        }
+        requireDraft(config.getStatus());
         
         validateFlowConfigCompleteness(config);
         
-        List<FlowConfig> activeConfigs = flowConfigRepository.findByFlowIdAndProductCodeAndPartnerCodeAndBranchCodeAndStatus(
-            config.getFlowId(),
-            config.getProductCode(),
-            config.getPartnerCode(),
-            config.getBranchCode(),
-            ConfigStatus.ACTIVE.name()
-        );
+        List<Long> previousIds = activeIdsInScope(
+            flowConfigRepository.lockSummaries(List.of(config.getFlowId())),
+            config.getProductCode(), config.getPartnerCode(), config.getBranchCode());
+        LocalDateTime now = switchActive("flow", configId, previousIds, flowConfigRepository::updateStatus);
         
-        for (FlowConfig activeConfig : activeConfigs) {
-            log.info("Deprecating previous ACTIVE FlowConfig: {}", activeConfig.getConfigId());
-            activeConfig.setStatus(ConfigStatus.DEPRECATED.name());
-            flowConfigRepository.save(activeConfig);
-        }
-        
-        log.debug("Setting status to ACTIVE for FlowConfig: {}", configId);
+        entityManager.detach(config);
         config.setStatus(ConfigStatus.ACTIVE.name());
-        log.debug("Status set to: {}", config.getStatus());
-        
-        // CRITICAL: Also update status inside flowDefinition JSON to match top-level status
-        // The frontend reads status from flowDefinition, so we must keep them in sync
-        // We need to create a new Map and set it back to trigger Hibernate's dirty checking
-        Map<String, Object> flowDefinition = config.getFlowDefinition();
-        if (flowDefinition != null) {
-            // Create a new HashMap to ensure Hibernate detects the change
-            Map<String, Object> updatedFlowDefinition = new HashMap<>(flowDefinition);
-            updatedFlowDefinition.put("status", ConfigStatus.ACTIVE.name());
-            config.setFlowDefinition(updatedFlowDefinition); // Set it back to trigger converter
-            log.debug("Updated status inside flowDefinition to ACTIVE and set back on entity");
-        }
-        
-        // Use merge to ensure the entity is managed and changes are tracked
-        FlowConfig merged = entityManager.merge(config);
-        log.debug("After merge, status is: {}", merged.getStatus());
-        
-        entityManager.flush(); // Force immediate database write
-        
-        // Also update flowDefinition JSON directly in database using SQL to ensure it's persisted
-        // This is a fallback to ensure the JSON is definitely updated even if Hibernate doesn't detect the change
-        if (flowDefinition != null) {
-            try {
-                ObjectMapper objectMapper = new ObjectMapper();
-                Map<String, Object> flowDefForDb = new HashMap<>(flowDefinition);
-                flowDefForDb.put("status", ConfigStatus.ACTIVE.name());
-                String updatedJson = objectMapper.writeValueAsString(flowDefForDb);
-                
-                // Update the JSON directly in database
-                int jsonUpdated = entityManager.createNativeQuery(
-                        "UPDATE FLOW_CONFIGS SET FLOW_DEFINITION = ? WHERE CONFIG_ID = ?")
-                        .setParameter(1, updatedJson)
-                        .setParameter(2, configId)
-                        .executeUpdate();
-                entityManager.flush();
-                log.debug("Direct SQL update of flowDefinition JSON: {} rows updated", jsonUpdated);
-            } catch (Exception e) {
-                log.error("Failed to update flowDefinition JSON directly: {}", e.getMessage(), e);
-            }
-        }
-        
-        // Verify with direct SQL query to ensure database was updated
-        // H2 uses uppercase table names in MySQL mode
-        String statusFromDb = (String) entityManager.createNativeQuery(
-                "SELECT STATUS FROM FLOW_CONFIGS WHERE CONFIG_ID = ?")
-                .setParameter(1, configId)
-                .getSingleResult();
-        log.debug("Direct SQL query confirms status in DB: {}", statusFromDb);
-        
-        if (!ConfigStatus.ACTIVE.name().equals(statusFromDb)) {
-            log.error("CRITICAL: Database status mismatch! Expected ACTIVE but DB has: {}. Attempting direct update.", statusFromDb);
-            // Force direct SQL update as fallback
-            int updated = entityManager.createNativeQuery(
-                    "UPDATE FLOW_CONFIGS SET STATUS = ? WHERE CONFIG_ID = ?")
-                    .setParameter(1, ConfigStatus.ACTIVE.name())
-                    .setParameter(2, configId)
-                    .executeUpdate();
-            entityManager.flush();
-            log.warn("Forced direct SQL update to ACTIVE for config {} ({} rows updated)", configId, updated);
-        }
-        
-        // Clear persistence context to force fresh fetch from database
-        entityManager.clear();
-        
-        // Fetch fresh entity from database to ensure we return the latest committed state
-        // This bypasses any Hibernate first-level cache issues
-        FlowConfig freshConfig = flowConfigRepository.findById(configId)
-                .orElseThrow(() -> new ConfigNotFoundException("Flow config not found: " + configId));
-        
-        log.info("Successfully activated FlowConfig: {} (deprecated {} previous configs). Status from DB: {}", 
-            configId, activeConfigs.size(), freshConfig.getStatus());
-        
-        if (!ConfigStatus.ACTIVE.name().equals(freshConfig.getStatus())) {
-            log.error("CRITICAL: Status mismatch after fresh fetch! Expected ACTIVE but got: {}. Config ID: {}", 
-                freshConfig.getStatus(), configId);
-        }
-        
-        // Verify status inside flowDefinition is also ACTIVE
-        Map<String, Object> freshFlowDefinition = freshConfig.getFlowDefinition();
-        if (freshFlowDefinition != null) {
-            Object statusInFlowDef = freshFlowDefinition.get("status");
-            if (!ConfigStatus.ACTIVE.name().equals(statusInFlowDef)) {
-                log.warn("WARNING: Status inside flowDefinition is '{}' but should be 'ACTIVE'. Frontend may show incorrect status.", 
-                    statusInFlowDef);
-            } else {
-                log.debug("Verified: Status inside flowDefinition is also ACTIVE");
-            }
-        }
-        
-        return freshConfig;
+        config.setUpdatedAt(now);
+        config.setLockVersion(nextLockVersion(config.getLockVersion()));
+        return config;
     }
 
     /**
      * Activate a FieldMappingConfig.
-     * Uses REQUIRES_NEW to ensure transaction commits immediately.
      */
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Transactional
     public FieldMappingConfig activateFieldMappingConfig(Long configId) {
         log.info("Activating FieldMappingConfig: {}", configId);
         
@@ -315,93 +148,121 @@ public class ConfigActivationService {
             log.warn("Config {} is already ACTIVE", configId);
             return config;
         }
-        
-        if (!ConfigStatus.DRAFT.name().equals(config.getStatus())) {
-            throw new ValidationException(Collections.singletonList(
-                ValidationErrorResponse.FieldError.builder()
-                    .fieldId("status")
-                    .code("INVALID_STATUS")
-                    .message(String.format("Cannot activate config with status %s. Only DRAFT configs can be activated.", 
-                        config.getStatus()))
-                    .build()
-            ));
-        }
+        requireDraft(config.getStatus());
         
         validateFieldMappingConfigCompleteness(config);
         
-        List<FieldMappingConfig> activeConfigs = fieldMappingConfigRepository.findByScreenIdAndProductCodeAndPartnerCodeAndBranchCodeAndStatus(
-            config.getScreenId(),
-            config.getProductCode(),
-            config.getPartnerCode(),
-            config.getBranchCode(),
-            ConfigStatus.ACTIVE.name()
-        );
-        
-        for (FieldMappingConfig activeConfig : activeConfigs) {
-            log.info("Deprecating previous ACTIVE FieldMappingConfig: {}", activeConfig.getConfigId());
-            activeConfig.setStatus(ConfigStatus.DEPRECATED.name());
-            fieldMappingConfigRepository.save(activeConfig);
-        }
+        List<Long> previousIds = activeIdsInScope(
+            fieldMappingConfigRepository.lockSummaries(List.of(config.getScreenId())),
+            config.getProductCode(), config.getPartnerCode(), config.getBranchCode());
+        LocalDateTime now = switchActive("field-mapping", configId, previousIds,
+            fieldMappingConfigRepository::updateStatus);
         
+        entityManager.detach(config);
         config.setStatus(ConfigStatus.ACTIVE.name());
+        config.setUpdatedAt(now);
+        config.setLockVersion(nextLockVersion(config.getLockVersion()));
+        return config;
+    }
+
+    /**
+     * Activate a ValidationConfig.
+     */
+    @Transactional
+    public ValidationConfig activateValidationConfig(Long configId) {
+        log.info("Activating ValidationConfig: {}", configId);
         
-        // CRITICAL: Also update status inside mappings JSON to match top-level status
-        // The frontend may read status from mappings, so we must keep them in sync
-        Map<String, Object> mappings = config.getMappings();
-        if (mappings != null) {
-            // Create a new HashMap to ensure Hibernate detects the change
-            Map<String, Object> updatedMappings = new HashMap<>(mappings);
-            updatedMappings.put("status", ConfigStatus.ACTIVE.name());
-            config.setMappings(updatedMappings); // Set it back to trigger converter
-            log.debug("Updated status inside mappings to ACTIVE and set back on entity");
-        }
-        
-        FieldMappingConfig merged = entityManager.merge(config);
-        entityManager.flush(); // Force immediate database write
+        ValidationConfig config = validationConfigRepository.findById(configId)
+                .orElseThrow(() -> new ConfigNotFoundException("Validation config not found: " + configId));
         
-        // Also update mappings JSON directly in database using SQL to ensure it's persisted
-        if (mappings != null) {
-            try {
-                ObjectMapper objectMapper = new ObjectMapper();
-                Map<String, Object> mappingsForDb = new HashMap<>(mappings);
-                mappingsForDb.put("status", ConfigStatus.ACTIVE.name());
-                String updatedJson = objectMapper.writeValueAsString(mappingsForDb);
-                
-                // Update the JSON directly in database
-                int jsonUpdated = entityManager.createNativeQuery(
-                        "UPDATE FIELD_MAPPING_CONFIGS SET MAPPINGS = ? WHERE CONFIG_ID = ?")
-                        .setParameter(1, updatedJson)
-                        .setParameter(2, configId)
-                        .executeUpdate();
-                entityManager.flush();
-                log.debug("Direct SQL update of mappings JSON: {} rows updated", jsonUpdated);
-            } catch (Exception e) {
-                log.error("Failed to update mappings JSON directly: {}", e.getMessage(), e);
-            }
+        if (ConfigStatus.ACTIVE.name().equals(config.getStatus())) {
+            log.warn("Config {} is already ACTIVE", configId);
+            return config;
         }
+        requireDraft(config.getStatus());
         
-        entityManager.clear(); // Clear persistence context
-        
-        // Fetch fresh entity from database
-        FieldMappingConfig freshConfig = fieldMappingConfigRepository.findById(configId)
-                .orElseThrow(() -> new ConfigNotFoundException("Field mapping config not found: " + configId));
+        validateValidationConfigCompleteness(config);
         
-        log.info("Successfully activated FieldMappingConfig: {} (deprecated {} previous configs). Status: {}", 
-            configId, activeConfigs.size(), freshConfig.getStatus());
+        List<Long> previousIds = activeIdsInScope(
+            validationConfigRepository.lockSummaries(List.of(config.getScreenId())),
+            config.getProductCode(), config.getPartnerCode(), config.getBranchCode());
+        LocalDateTime now = switchActive("validation", configId, previousIds,
+            validationConfigRepository::updateStatus);
         
-        // Verify status inside mappings is also ACTIVE
-        Map<String, Object> freshMappings = freshConfig.getMappings();
-        if (freshMappings != null) {
-            Object statusInMappings = freshMappings.get("status");
-            if (!ConfigStatus.ACTIVE.name().equals(statusInMappings)) {
-                log.warn("WARNING: Status inside mappings is '{}' but should be 'ACTIVE'. Frontend may show incorrect status.", 
-                    statusInMappings);
-            } else {
-                log.debug("Verified: Status inside mappings is also ACTIVE");
-            }
+        entityManager.detach(config);
+        config.setStatus(ConfigStatus.ACTIVE.name());
+        config.setUpdatedAt(now);
+        config.setLockVersion(nextLockVersion(config.getLockVersion()));
+        return config;
+    }
+
+    /**
+     * Deprecate the previous ACTIVE versions and activate the config, one conditional UPDATE
+     * each, and announce the change to the in-memory views of ACTIVE configs.
+     *
+     * @return the updatedAt written to the changed rows
+     */
+    private LocalDateTime switchActive(String type, Long configId, List<Long> previousIds, StatusUpdate statusUpdate) {
+        LocalDateTime now = LocalDateTime.now();
+        int deprecated = 0;
+        if (!previousIds.isEmpty()) {
+            log.info("Deprecating previous ACTIVE {} configs: {}", type, previousIds);
+            deprecated = statusUpdate.apply(previousIds, ConfigStatus.ACTIVE.name(), ConfigStatus.DEPRECATED.name(), now);
+        }
+        int activated = statusUpdate.apply(List.of(configId), ConfigStatus.DRAFT.name(), ConfigStatus.ACTIVE.name(), now);
+        if (deprecated != previousIds.size() || activated != 1) {
+            // Rolls back the deprecation above
+            throw new ValidationException(Collections.singletonList(
+                ValidationErrorResponse.FieldError.builder()
+                    .fieldId("status")
+                    .code("CONCURRENT_MODIFICATION")
+                    .message("Config " + configId + " or the ACTIVE version it replaces was changed while it was being activated")
+                    .build()
+            ));
         }
-        
-        return freshConfig;
+
+        Set<Long> changed = new LinkedHashSet<>(previousIds);
+        changed.add(configId);
+        eventPublisher.publishEvent(new ConfigChangedEvent("activation of " + type + " config " + configId,
+                Map.of(type, changed)));
+        log.info("Successfully activated {} config {} (deprecated {} previous configs)",
+            type, configId, previousIds.size());
+        return now;
+    }
+
+    /**
+     * Ids of the ACTIVE versions in exactly this scope (NULL-safe), among the versions locked
+     * for the activation.
+     */
+    private static List<Long> activeIdsInScope(List<ConfigSummary> versions, String productCode,
+                                               String partnerCode, String branchCode) {
+        return versions.stream()
+            .filter(version -> ConfigStatus.ACTIVE.name().equals(version.getStatus())
+                && Objects.equals(version.getProductCode(), productCode)
+                && Objects.equals(version.getPartnerCode(), partnerCode)
+                && Objects.equals(version.getBranchCode(), branchCode))
+            .map(ConfigSummary::getConfigId)
+            .collect(Collectors.toList());
+    }
+
+    private void requireDraft(String status) {
+        if (!ConfigStatus.DRAFT.name().equals(status)) {
+            throw new ValidationException(Collections.singletonList(
+                ValidationErrorResponse.FieldError.builder()
+                    .fieldId("status")
+                    .code("INVALID_STATUS")
+                    .message(String.format("Cannot activate config with status %s. Only DRAFT configs can be activated.", 
+                        status))
+                    .build()
+            ));
+        }
+    }
+
+    /**
+     * The lock version the status UPDATE wrote (it increments the column like a versioned save).
+     */
+    private static Integer nextLockVersion(Integer lockVersion) {
+        return lockVersion != null ? lockVersion + 1 : null;
     }
 
     /**
@@ -479,110 +340,6 @@ public class ConfigActivationService {
         // Add more validation rules as needed
     }
 
-    /**
-     * Activate a ValidationConfig.
-     * Uses REQUIRES_NEW to ensure transaction commits immediately.
-     */
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
-    public ValidationConfig activateValidationConfig(Long configId) {
-        log.info("Activating ValidationConfig: {}", configId);
-        
-        ValidationConfig config = validationConfigRepository.findById(configId)
-                .orElseThrow(() -> new ConfigNotFoundException("Validation config not found: " + configId));
-        
-        if (ConfigStatus.ACTIVE.name().equals(config.getStatus())) {
-            log.warn("Config {} is already ACTIVE", configId);
-            return config;
-        }
-        
-        if (!ConfigStatus.DRAFT.name().equals(config.getStatus())) {
-            throw new ValidationException(Collections.singletonList(
-                ValidationErrorResponse.FieldError.builder()
-                    .fieldId("status")
-                    .code("INVALID_STATUS")
-                    .message(String.format("Cannot activate config with status %s. Only DRAFT configs can be activated.", 
-                        config.getStatus()))
-                    .build()
-            ));
-        }
-        
-        validateValidationConfigCompleteness(config);
-        
-        List<ValidationConfig> activeConfigs = validationConfigRepository.findByScreenIdAndProductCodeAndPartnerCodeAndBranchCodeAndStatus(
-            config.getScreenId(),
-            config.getProductCode(),
-            config.getPartnerCode(),
-            config.getBranchCode(),
-            ConfigStatus.ACTIVE.name()
-        );
-        
-        for (ValidationConfig activeConfig : activeConfigs) {
-            log.info("Deprecating previous ACTIVE ValidationConfig: {}", activeConfig.getConfigId());
-            activeConfig.setStatus(ConfigStatus.DEPRECATED.name());
-            validationConfigRepository.save(activeConfig);
-        }
-        
-        config.setStatus(ConfigStatus.ACTIVE.name());
-        
-        // CRITICAL: Also update status inside validationRules JSON to match top-level status
-        // The frontend may read status from validationRules, so we must keep them in sync
-        Map<String, Object> validationRules = config.getValidationRules();
-        if (validationRules != null) {
-            // Create a new HashMap to ensure Hibernate detects the change
-            Map<String, Object> updatedValidationRules = new HashMap<>(validationRules);
-            updatedValidationRules.put("status", ConfigStatus.ACTIVE.name());
-            config.setValidationRules(updatedValidationRules); // Set it back to trigger converter
-            log.debug("Updated status inside validationRules to ACTIVE and set back on entity");
-        }
-        
-        ValidationConfig merged = entityManager.merge(config);
-        entityManager.flush(); // Force immediate database write
-        
-        // Also update validationRules JSON directly in database using SQL to ensure it's persisted
-        if (validationRules != null) {
-            try {
-                ObjectMapper objectMapper = new ObjectMapper();
-                Map<String, Object> validationRulesForDb = new HashMap<>(validationRules);
-                validationRulesForDb.put("status", ConfigStatus.ACTIVE.name());
-                String updatedJson = objectMapper.writeValueAsString(validationRulesForDb);
-                
-                // Update the JSON directly in database
-                int jsonUpdated = entityManager.createNativeQuery(
-                        "UPDATE VALIDATION_CONFIGS SET VALIDATION_RULES = ? WHERE CONFIG_ID = ?")
-                        .setParameter(1, updatedJson)
-                        .setParameter(2, configId)
-                        .executeUpdate();
-                entityManager.flush();
-                log.debug("Direct SQL update of validationRules JSON: {} rows updated", jsonUpdated);
-            } catch (Exception e) {
-                log.error("Failed to update validationRules JSON directly: {}", e.getMessage(), e);
-            }
-        }
-        
-        entityManager.clear(); // Clear persistence context
-        
-        // Fetch fresh entity from database
-        ValidationConfig freshConfig = validationConfigRepository.findById(configId)
-                .orElseThrow(() -> new ConfigNotFoundException("Validation config not found: " + configId));
-        
-        log.info("Successfully activated ValidationConfig: {} (deprecated {} previous configs). Status: {}", 
-            configId, activeConfigs.size(), freshConfig.getStatus());
-        
-        // Verify status inside validationRules is also ACTIVE
-        Map<String, Object> freshValidationRules = freshConfig.getValidationRules();
-        if (freshValidationRules != null) {
-            Object statusInValidationRules = freshValidationRules.get("status");
-            if (!ConfigStatus.ACTIVE.name().equals(statusInValidationRules)) {
-                log.warn("WARNING: Status inside validationRules is '{}' but should be 'ACTIVE'. Frontend may show incorrect status.", 
-                    statusInValidationRules);
-            } else {
-                log.debug("Verified: Status inside validationRules is also ACTIVE");
-            }
-        }
-        
-        return freshConfig;
-    }
-
     /**
      * Validate ValidationConfig completeness before activation.
      */
@@ -607,4 +364,9 @@ public class ConfigActivationService {
         }
         // Add more validation rules as needed
     }
+
+    @FunctionalInterface
+    private interface StatusUpdate {
+        int apply(Collection<Long> configIds, String currentStatus, String newStatus, LocalDateTime updatedAt);
+    }
 }
@@ -0,0 +1,103 @@
+package com.los.service;
+
+import com.los.dto.config.ConfigSummary;
+import com.los.dto.config.ConfigSummaryPage;
+import com.los.repository.FieldMappingConfigRepository;
+import com.los.repository.FlowConfigRepository;
+import com.los.repository.ScreenConfigRepository;
+import com.los.repository.ValidationConfigRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Keyset-paginated summary listings for the config admin UI.
+ *
+ * Pages are ordered by configId and continue after the last configId seen (afterId), so a page
+ * costs the same at any depth and concurrent inserts do not shift later pages. The queries are
+ * JPQL constructor projections: the JSON payload columns are never selected, and full configs
+ * are loaded only by the detail endpoints.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ConfigListingService {
+
+    private final ScreenConfigRepository screenConfigRepository;
+    private final ValidationConfigRepository validationConfigRepository;
+    private final FieldMappingConfigRepository fieldMappingConfigRepository;
+    private final FlowConfigRepository flowConfigRepository;
+
+    @Value("${runtime.admin-listing.default-page-size:50}")
+    private int defaultPageSize;
+
+    @Value("${runtime.admin-listing.max-page-size:500}")
+    private int maxPageSize;
+
+    @Transactional(readOnly = true)
+    public ConfigSummaryPage screenSummaries(Long afterId, Integer requestedLimit, String screenId,
+            String productCode, String partnerCode, String branchCode, String status) {
+        int limit = limit(requestedLimit);
+        return page(screenConfigRepository.findSummaryPage(afterId, screenId,
+                productCode, partnerCode, branchCode, status,
+                fetchOneMore(limit)), limit);
+    }
+
+    @Transactional(readOnly = true)
+    public ConfigSummaryPage validationSummaries(Long afterId, Integer requestedLimit, String screenId,
+            String productCode, String partnerCode, String branchCode, String status) {
+        int limit = limit(requestedLimit);
+        return page(validationConfigRepository.findSummaryPage(afterId, screenId,
+                productCode, partnerCode, branchCode, status,
+                fetchOneMore(limit)), limit);
+    }
+
+    @Transactional(readOnly = true)
+    public ConfigSummaryPage fieldMappingSummaries(Long afterId, Integer requestedLimit, String screenId,
+            String productCode, String partnerCode, String branchCode, String status) {
+        int limit = limit(requestedLimit);
+        return page(fieldMappingConfigRepository.findSummaryPage(afterId, screenId,
+                productCode, partnerCode, branchCode, status,
+                fetchOneMore(limit)), limit);
+    }
+
+    @Transactional(readOnly = true)
+    public ConfigSummaryPage flowSummaries(Long afterId, Integer requestedLimit, String flowId,
+            String productCode, String partnerCode, String branchCode, String status) {
+        int limit = limit(requestedLimit);
+        return page(flowConfigRepository.findSummaryPage(afterId, flowId,
+                productCode, partnerCode, branchCode, status,
+                fetchOneMore(limit)), limit);
+    }
+
+    private int limit(Integer requested) {
+        if (requested == null || requested <= 0) {
+            return Math.min(defaultPageSize, maxPageSize);
+        }
+        return Math.min(requested, maxPageSize);
+    }
+
+    /**
+     * One row beyond the page tells whether another page exists, without a COUNT query.
+     */
+    private static Pageable fetchOneMore(int limit) {
+        return PageRequest.of(0, limit + 1);
+    }
+
+    private static ConfigSummaryPage page(List<ConfigSummary> rows, int limit) {
+        boolean hasMore = rows.size() > limit;
+        List<ConfigSummary> items = hasMore ? rows.subList(0, limit) : rows;
+        return ConfigSummaryPage.builder()
+                .items(items)
+                .limit(limit)
+                .nextAfterId(hasMore ? items.get(items.size() - 1).getConfigId() : null)
+                .hasMore(hasMore)
+                .build();
+    }
+}
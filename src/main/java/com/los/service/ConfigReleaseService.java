@@ -0,0 +1,352 @@
+package com.los.service;
+
+import com.los.config.ConfigChangedEvent;
+import com.los.config.ConfigStatus;
+import com.los.config.entity.ConfigRelease;
+import com.los.config.entity.ConfigReleaseItem;
+import com.los.config.entity.ConfigReleaseReplacedVersion;
+import com.los.dto.config.ConfigReleaseRequest;
+import com.los.dto.config.ConfigSummary;
+import com.los.dto.runtime.ValidationErrorResponse;
+import com.los.exception.ConfigNotFoundException;
+import com.los.exception.ValidationException;
+import com.los.repository.ConfigReleaseRepository;
+import com.los.repository.FieldMappingConfigRepository;
+import com.los.repository.FlowConfigRepository;
+import com.los.repository.ScreenConfigRepository;
+import com.los.repository.ValidationConfigRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Release bundles: activate a set of config versions of any type in one transaction, and roll
+ * a release back as a whole.
+ *
+ * Unlike one-by-one activation (ConfigActivationService), work is done per config type, not per
+ * config: one query loads the requested versions, one locks all versions of their screens or
+ * flows (SELECT ... FOR UPDATE, as activation does) to find the ACTIVE versions they replace,
+ * and two conditional bulk UPDATEs deprecate the old and activate the new; both row counts must
+ * match or the whole release rolls back. A release of any size is about 4 statements per type
+ * plus the release rows, and new applications never see a half-activated release. One
+ * ConfigChangedEvent is published for the whole release.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ConfigReleaseService {
+
+    private final ScreenConfigRepository screenConfigRepository;
+    private final ValidationConfigRepository validationConfigRepository;
+    private final FieldMappingConfigRepository fieldMappingConfigRepository;
+    private final FlowConfigRepository flowConfigRepository;
+    private final ConfigReleaseRepository configReleaseRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional(readOnly = true)
+    public ConfigRelease getRelease(Long releaseId) {
+        return configReleaseRepository.findById(releaseId)
+                .orElseThrow(() -> new ConfigNotFoundException("Config release not found: " + releaseId));
+    }
+
+    @Transactional(readOnly = true)
+    public List<ConfigRelease> getRecentReleases() {
+        return configReleaseRepository.findTop50ByOrderByReleaseIdDesc();
+    }
+
+    /**
+     * Activate all configs of the request together. Every config must be DRAFT, and a release
+     * may hold only one version per config and scope. Fails as a whole, changing nothing, if any
+     * config is missing, not DRAFT, or changed concurrently.
+     */
+    @Transactional
+    public ConfigRelease activateRelease(ConfigReleaseRequest request) {
+        Map<ReleaseTarget, List<Long>> requested = new LinkedHashMap<>();
+        requested.put(target("screen"), request.getScreenConfigIds());
+        requested.put(target("validation"), request.getValidationConfigIds());
+        requested.put(target("field-mapping"), request.getFieldMappingConfigIds());
+        requested.put(target("flow"), request.getFlowConfigIds());
+        requested.values().removeIf(ids -> ids == null || ids.isEmpty());
+        if (requested.isEmpty()) {
+            throw validationError("configIds", "REQUIRED", "A release needs at least one config");
+        }
+        log.info("Activating release '{}': {}", request.getName(), describe(requested));
+
+        List<ValidationErrorResponse.FieldError> errors = new ArrayList<>();
+        Map<ReleaseTarget, ReleasePlan> plans = new LinkedHashMap<>();
+        for (Map.Entry<ReleaseTarget, List<Long>> entry : requested.entrySet()) {
+            plans.put(entry.getKey(), plan(entry.getKey(), new LinkedHashSet<>(entry.getValue()), errors));
+        }
+        if (!errors.isEmpty()) {
+            throw new ValidationException(errors);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<ConfigReleaseItem> items = new ArrayList<>();
+        Set<ConfigReleaseReplacedVersion> replaced = new LinkedHashSet<>();
+        Map<String, Set<Long>> changed = new LinkedHashMap<>();
+        for (Map.Entry<ReleaseTarget, ReleasePlan> entry : plans.entrySet()) {
+            ReleaseTarget target = entry.getKey();
+            ReleasePlan plan = entry.getValue();
+            int deprecated = plan.previousIds.isEmpty() ? 0
+                    : target.updateStatus(plan.previousIds, ConfigStatus.ACTIVE.name(), ConfigStatus.DEPRECATED.name(), now);
+            if (deprecated != plan.previousIds.size()) {
+                // Rolls back the updates already made for other types
+                throw validationError(target.type + "ConfigIds", "CONCURRENT_MODIFICATION",
+                        String.format("%d of %d ACTIVE %s configs replaced by the release were changed while it was activated",
+                                plan.previousIds.size() - deprecated, plan.previousIds.size(), target.type));
+            }
+            int activated = target.updateStatus(plan.configIds, ConfigStatus.DRAFT.name(), ConfigStatus.ACTIVE.name(), now);
+            if (activated != plan.configIds.size()) {
+                throw validationError(target.type + "ConfigIds", "CONCURRENT_MODIFICATION",
+                        String.format("%d of %d %s configs were changed while the release was activated",
+                                plan.configIds.size() - activated, plan.configIds.size(), target.type));
+            }
+            items.addAll(plan.items);
+            plan.previousIds.forEach(id -> replaced.add(new ConfigReleaseReplacedVersion(target.type, id)));
+            changed.put(target.type, union(plan.configIds, plan.previousIds));
+        }
+
+        ConfigRelease release = configReleaseRepository.save(ConfigRelease.builder()
+                .name(request.getName())
+                .description(request.getDescription())
+                .createdBy(request.getCreatedBy())
+                .status(ConfigRelease.STATUS_ACTIVATED)
+                .activatedAt(now)
+                .items(items)
+                .replacedVersions(replaced)
+                .build());
+        eventPublisher.publishEvent(new ConfigChangedEvent("release " + release.getReleaseId(), changed));
+
+        log.info("Activated release {} '{}': {} configs, {} previous versions deprecated",
+                release.getReleaseId(), release.getName(), items.size(), replaced.size());
+        return release;
+    }
+
+    /**
+     * Undo a release: its configs become INACTIVE and the versions they replaced ACTIVE again.
+     * Refused if any of its configs is no longer ACTIVE or a replaced version is no longer
+     * DEPRECATED, i.e. something was activated over the release since.
+     */
+    @Transactional
+    public ConfigRelease rollbackRelease(Long releaseId, String rolledBackBy) {
+        ConfigRelease release = getRelease(releaseId);
+        if (!ConfigRelease.STATUS_ACTIVATED.equals(release.getStatus())) {
+            throw validationError("status", "INVALID_STATUS",
+                    String.format("Release %d is %s; only ACTIVATED releases can be rolled back", releaseId, release.getStatus()));
+        }
+        log.info("Rolling back release {} '{}' ({} configs)", releaseId, release.getName(), release.getItems().size());
+
+        Map<String, Set<Long>> releasedByType = release.getItems().stream()
+                .collect(Collectors.groupingBy(ConfigReleaseItem::getConfigType, LinkedHashMap::new,
+                        Collectors.mapping(ConfigReleaseItem::getConfigId, Collectors.toCollection(LinkedHashSet::new))));
+        Map<String, Set<Long>> replacedByType = release.getReplacedVersions().stream()
+                .collect(Collectors.groupingBy(ConfigReleaseReplacedVersion::getConfigType,
+                        Collectors.mapping(ConfigReleaseReplacedVersion::getConfigId, Collectors.toCollection(LinkedHashSet::new))));
+
+        List<ValidationErrorResponse.FieldError> errors = new ArrayList<>();
+        for (Map.Entry<String, Set<Long>> entry : releasedByType.entrySet()) {
+            ReleaseTarget target = target(entry.getKey());
+            Set<Long> releasedIds = entry.getValue();
+            Set<Long> previousIds = replacedByType.getOrDefault(entry.getKey(), Set.of());
+            Map<Long, String> statuses = target.summaries.apply(union(releasedIds, previousIds)).stream()
+                    .collect(Collectors.toMap(ConfigSummary::getConfigId, ConfigSummary::getStatus));
+            for (Long configId : releasedIds) {
+                if (!ConfigStatus.ACTIVE.name().equals(statuses.get(configId))) {
+                    errors.add(fieldError(target.type + ":" + configId, "SUPERSEDED",
+                            String.format("%s config %d is %s, no longer ACTIVE", target.type, configId,
+                                    statuses.getOrDefault(configId, "deleted"))));
+                }
+            }
+            for (Long configId : previousIds) {
+                if (!ConfigStatus.DEPRECATED.name().equals(statuses.get(configId))) {
+                    errors.add(fieldError(target.type + ":" + configId, "NOT_RESTORABLE",
+                            String.format("Previous %s config %d is %s, no longer DEPRECATED", target.type, configId,
+                                    statuses.getOrDefault(configId, "deleted"))));
+                }
+            }
+        }
+        if (!errors.isEmpty()) {
+            throw new ValidationException(errors);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, Set<Long>> changed = new LinkedHashMap<>();
+        for (Map.Entry<String, Set<Long>> entry : releasedByType.entrySet()) {
+            ReleaseTarget target = target(entry.getKey());
+            Set<Long> releasedIds = entry.getValue();
+            Set<Long> previousIds = replacedByType.getOrDefault(entry.getKey(), Set.of());
+            // Deactivate first, so each scope has at most one ACTIVE version at any point
+            int deactivated = target.updateStatus(releasedIds, ConfigStatus.ACTIVE.name(), ConfigStatus.INACTIVE.name(), now);
+            int restored = previousIds.isEmpty() ? 0
+                    : target.updateStatus(previousIds, ConfigStatus.DEPRECATED.name(), ConfigStatus.ACTIVE.name(), now);
+            if (deactivated != releasedIds.size() || restored != previousIds.size()) {
+                throw validationError(target.type + "ConfigIds", "CONCURRENT_MODIFICATION",
+                        String.format("%s configs of release %d were changed during the rollback", target.type, releaseId));
+            }
+            changed.put(target.type, union(releasedIds, previousIds));
+        }
+
+        release.setStatus(ConfigRelease.STATUS_ROLLED_BACK);
+        release.setRolledBackBy(rolledBackBy);
+        release.setRolledBackAt(now);
+        eventPublisher.publishEvent(new ConfigChangedEvent("rollback of release " + releaseId, changed));
+
+        log.info("Rolled back release {} '{}'", releaseId, release.getName());
+        return release;
+    }
+
+    /**
+     * Check the requested versions of one type, lock all versions of their screens or flows and
+     * find the ACTIVE versions they replace (every one of them, if a scope has several).
+     */
+    private ReleasePlan plan(ReleaseTarget target, Set<Long> configIds, List<ValidationErrorResponse.FieldError> errors) {
+        List<ConfigSummary> configs = target.summaries.apply(configIds);
+        if (configs.size() != configIds.size()) {
+            Set<Long> missing = new LinkedHashSet<>(configIds);
+            configs.forEach(config -> missing.remove(config.getConfigId()));
+            throw new ConfigNotFoundException(String.format("%s configs not found: %s", target.type, missing));
+        }
+
+        Map<String, ConfigSummary> byScope = new HashMap<>();
+        Set<String> keys = new LinkedHashSet<>();
+        for (ConfigSummary config : configs) {
+            if (!ConfigStatus.DRAFT.name().equals(config.getStatus())) {
+                errors.add(fieldError(target.type + ":" + config.getConfigId(), "INVALID_STATUS",
+                        String.format("%s config %d is %s. Only DRAFT configs can be released.",
+                                target.type, config.getConfigId(), config.getStatus())));
+            }
+            ConfigSummary other = byScope.put(scopeKey(config), config);
+            if (other != null) {
+                errors.add(fieldError(target.type + ":" + config.getConfigId(), "DUPLICATE_SCOPE",
+                        String.format("%s configs %d and %d are versions of the same config and scope",
+                                target.type, other.getConfigId(), config.getConfigId())));
+            }
+            keys.add(config.getConfigKey());
+        }
+
+        ReleasePlan plan = new ReleasePlan(configIds);
+        Map<String, List<Long>> activeByScope = new HashMap<>();
+        for (ConfigSummary version : target.lock.apply(keys)) {
+            if (!ConfigStatus.ACTIVE.name().equals(version.getStatus())) {
+                continue;
+            }
+            activeByScope.computeIfAbsent(scopeKey(version), key -> new ArrayList<>()).add(version.getConfigId());
+        }
+        for (ConfigSummary config : configs) {
+            List<Long> previous = activeByScope.getOrDefault(scopeKey(config), List.of());
+            plan.previousIds.addAll(previous);
+            plan.items.add(ConfigReleaseItem.builder()
+                    .configType(target.type)
+                    .configId(config.getConfigId())
+                    .previousConfigId(previous.isEmpty() ? null : previous.get(0))
+                    .build());
+        }
+        return plan;
+    }
+
+    private ReleaseTarget target(String type) {
+        return switch (type) {
+            case "screen" -> new ReleaseTarget(type, screenConfigRepository::findSummariesByConfigIds,
+                    screenConfigRepository::lockSummaries, screenConfigRepository::updateStatus);
+            case "validation" -> new ReleaseTarget(type, validationConfigRepository::findSummariesByConfigIds,
+                    validationConfigRepository::lockSummaries, validationConfigRepository::updateStatus);
+            case "field-mapping" -> new ReleaseTarget(type, fieldMappingConfigRepository::findSummariesByConfigIds,
+                    fieldMappingConfigRepository::lockSummaries, fieldMappingConfigRepository::updateStatus);
+            case "flow" -> new ReleaseTarget(type, flowConfigRepository::findSummariesByConfigIds,
+                    flowConfigRepository::lockSummaries, flowConfigRepository::updateStatus);
+            default -> throw new IllegalArgumentException("Unknown config type: " + type);
+        };
+    }
+
+    private static String scopeKey(ConfigSummary config) {
+        return config.getConfigKey() + "|" + config.getProductCode() + "|" + config.getPartnerCode() + "|" + config.getBranchCode();
+    }
+
+    private static Set<Long> union(Collection<Long> first, Collection<Long> second) {
+        Set<Long> union = new LinkedHashSet<>(first);
+        union.addAll(second);
+        return union;
+    }
+
+    private static String describe(Map<ReleaseTarget, List<Long>> requested) {
+        return requested.entrySet().stream()
+                .map(entry -> entry.getValue().size() + " " + entry.getKey().type)
+                .collect(Collectors.joining(", "));
+    }
+
+    private static ValidationErrorResponse.FieldError fieldError(String fieldId, String code, String message) {
+        return ValidationErrorResponse.FieldError.builder()
+                .fieldId(fieldId)
+                .code(code)
+                .message(message)
+                .build();
+    }
+
+    private static ValidationException validationError(String fieldId, String code, String message) {
+        return new ValidationException(Collections.singletonList(fieldError(fieldId, code, message)));
+    }
+
+    @FunctionalInterface
+    private interface StatusUpdate {
+        int apply(Collection<Long> configIds, String currentStatus, String newStatus, LocalDateTime updatedAt);
+    }
+
+    /**
+     * The repository operations of one config type.
+     */
+    private static final class ReleaseTarget {
+        private final String type;
+        private final Function<Collection<Long>, List<ConfigSummary>> summaries;
+        // All versions of the given keys, locked until the transaction ends
+        private final Function<Collection<String>, List<ConfigSummary>> lock;
+        private final StatusUpdate statusUpdate;
+
+        private ReleaseTarget(String type, Function<Collection<Long>, List<ConfigSummary>> summaries,
+                              Function<Collection<String>, List<ConfigSummary>> lock, StatusUpdate statusUpdate) {
+            this.type = type;
+            this.summaries = summaries;
+            this.lock = lock;
+            this.statusUpdate = statusUpdate;
+        }
+
+        private int updateStatus(Collection<Long> configIds, String currentStatus, String newStatus, LocalDateTime updatedAt) {
+            return statusUpdate.apply(configIds, currentStatus, newStatus, updatedAt);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof ReleaseTarget target && type.equals(target.type);
+        }
+
+        @Override
+        public int hashCode() {
+            return type.hashCode();
+        }
+    }
+
+    private static final class ReleasePlan {
+        private final Set<Long> configIds;
+        private final Set<Long> previousIds = new LinkedHashSet<>();
+        private final List<ConfigReleaseItem> items = new ArrayList<>();
+
+        private ReleasePlan(Set<Long> configIds) {
+            this.configIds = configIds;
+        }
+    }
+}
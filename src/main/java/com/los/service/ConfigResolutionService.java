@@ -10,12 +10,19 @@ import com.los.repository.FieldMappingConfigRepository;
 import com.los.repository.FlowConfigRepository;
 import com.los.repository.ScreenConfigRepository;
 import com.los.repository.ValidationConfigRepository;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 
 /**
  * Service for resolving ACTIVE configurations at runtime.
@@ -30,6 +37,15 @@ import java.util.Map;
  * - New applications get latest ACTIVE configs
  * - Existing applications use their FlowSnapshot (immutable)
  * - Config updates only affect NEW applications
+ * - A running flow rollout may start a share of NEW applications on a DRAFT flow version
+ *   (FlowRolloutService); that is the only way a DRAFT config reaches runtime
+ *
+ * Lookups are answered from the in-memory ActiveConfigIndex while it is serving (loaded and
+ * within its staleness bound), with the same scope precedence as the findByScope queries;
+ * otherwise from those queries.
+ *
+ * Each lookup runs in a los.config.resolution observation (span + timer, tagged with the
+ * config type), with the findByScope query (if any) as a los.repository child span.
  */
 @Service
 @RequiredArgsConstructor
@@ -40,6 +56,9 @@ public class ConfigResolutionService {
     private final ValidationConfigRepository validationConfigRepository;
     private final FieldMappingConfigRepository fieldMappingConfigRepository;
     private final FlowConfigRepository flowConfigRepository;
+    private final ObservationRegistry observationRegistry;
+    private final FlowRolloutService flowRolloutService;
+    private final ActiveConfigIndex activeConfigIndex;
 
     /**
      * Resolve ACTIVE screen config using scope resolution logic.
@@ -59,6 +78,11 @@ public class ConfigResolutionService {
      * @return ScreenConfig entity (ACTIVE status only)
      */
     public ScreenConfig resolveActiveScreenConfig(String screenId, String productCode, String partnerCode, String branchCode) {
+        return resolution("screen", screenId, productCode, partnerCode, branchCode)
+                .observe(() -> findActiveScreenConfig(screenId, productCode, partnerCode, branchCode));
+    }
+
+    private ScreenConfig findActiveScreenConfig(String screenId, String productCode, String partnerCode, String branchCode) {
         if (screenId == null || screenId.isBlank()) {
             throw new IllegalArgumentException("screenId cannot be null or blank");
         }
@@ -67,7 +91,9 @@ public class ConfigResolutionService {
         partnerCode = (partnerCode != null && partnerCode.isBlank()) ? null : partnerCode;
         branchCode = (branchCode != null && branchCode.isBlank()) ? null : branchCode;
         
-        List<ScreenConfig> configs = screenConfigRepository.findByScope(screenId, productCode, partnerCode, branchCode);
+        List<ScreenConfig> configs = activeConfigIndex.isServing()
+                ? activeConfigIndex.findScreenConfigs(screenId, productCode, partnerCode, branchCode)
+                : screenConfigRepository.findByScope(screenId, productCode, partnerCode, branchCode);
         
         if (configs.isEmpty()) {
             throw new ConfigNotFoundException(
@@ -94,6 +120,11 @@ public class ConfigResolutionService {
      * @return Validation rules map, or null if not found
      */
     public Map<String, Object> getValidationConfig(String screenId, String productCode, String partnerCode, String branchCode) {
+        return resolution("validation", screenId, productCode, partnerCode, branchCode)
+                .observe(() -> findActiveValidationRules(screenId, productCode, partnerCode, branchCode));
+    }
+
+    private Map<String, Object> findActiveValidationRules(String screenId, String productCode, String partnerCode, String branchCode) {
         if (screenId == null || screenId.isBlank()) {
             log.warn("screenId is null or blank, cannot resolve validation config");
             return null;
@@ -103,7 +134,9 @@ public class ConfigResolutionService {
         partnerCode = (partnerCode != null && partnerCode.isBlank()) ? null : partnerCode;
         branchCode = (branchCode != null && branchCode.isBlank()) ? null : branchCode;
         
-        List<ValidationConfig> configs = validationConfigRepository.findByScope(screenId, productCode, partnerCode, branchCode);
+        List<ValidationConfig> configs = activeConfigIndex.isServing()
+                ? activeConfigIndex.findValidationConfigs(screenId, productCode, partnerCode, branchCode)
+                : validationConfigRepository.findByScope(screenId, productCode, partnerCode, branchCode);
         
         if (configs.isEmpty()) {
             log.debug("No validation config found for screenId={}, scope={}/{}/{}. Validation will be skipped.", 
@@ -141,6 +174,11 @@ public class ConfigResolutionService {
      * @return FieldMappingConfig entity (ACTIVE status only)
      */
     public FieldMappingConfig resolveActiveFieldMappingConfig(String screenId, String productCode, String partnerCode, String branchCode) {
+        return resolution("field-mapping", screenId, productCode, partnerCode, branchCode)
+                .observe(() -> findActiveFieldMappingConfig(screenId, productCode, partnerCode, branchCode));
+    }
+
+    private FieldMappingConfig findActiveFieldMappingConfig(String screenId, String productCode, String partnerCode, String branchCode) {
         if (screenId == null || screenId.isBlank()) {
             throw new IllegalArgumentException("screenId cannot be null or blank");
         }
@@ -149,7 +187,9 @@ public class ConfigResolutionService {
         partnerCode = (partnerCode != null && partnerCode.isBlank()) ? null : partnerCode;
         branchCode = (branchCode != null && branchCode.isBlank()) ? null : branchCode;
         
-        List<FieldMappingConfig> configs = fieldMappingConfigRepository.findByScope(screenId, productCode, partnerCode, branchCode);
+        List<FieldMappingConfig> configs = activeConfigIndex.isServing()
+                ? activeConfigIndex.findFieldMappingConfigs(screenId, productCode, partnerCode, branchCode)
+                : fieldMappingConfigRepository.findByScope(screenId, productCode, partnerCode, branchCode);
         
         if (configs.isEmpty()) {
             throw new ConfigNotFoundException(
@@ -175,6 +215,27 @@ public class ConfigResolutionService {
      * @return FlowConfig entity (ACTIVE status only)
      */
     public FlowConfig resolveActiveFlowConfig(String flowId, String productCode, String partnerCode, String branchCode) {
+        return resolution("flow", flowId, productCode, partnerCode, branchCode)
+                .observe(() -> findActiveFlowConfig(flowId, productCode, partnerCode, branchCode));
+    }
+
+    /**
+     * Resolve the flow config a NEW application starts on: the ACTIVE version, or the candidate
+     * of a running rollout when the rollout key falls in its share (see FlowRolloutService).
+     * The same key always gets the same version while the rollout is unchanged.
+     *
+     * @param rolloutKey stable identity of the new application for cohort assignment; null
+     *                   starts on the ACTIVE version
+     */
+    public FlowConfig resolveFlowConfigForStart(String flowId, String productCode, String partnerCode,
+                                                String branchCode, String rolloutKey) {
+        FlowConfig active = resolveActiveFlowConfig(flowId, productCode, partnerCode, branchCode);
+        FlowConfig candidate = flowRolloutService.candidateFor(active, blankToNull(productCode),
+                blankToNull(partnerCode), blankToNull(branchCode), rolloutKey);
+        return candidate != null ? candidate : active;
+    }
+
+    private FlowConfig findActiveFlowConfig(String flowId, String productCode, String partnerCode, String branchCode) {
         if (flowId == null || flowId.isBlank()) {
             throw new IllegalArgumentException("flowId cannot be null or blank");
         }
@@ -183,7 +244,9 @@ public class ConfigResolutionService {
         partnerCode = (partnerCode != null && partnerCode.isBlank()) ? null : partnerCode;
         branchCode = (branchCode != null && branchCode.isBlank()) ? null : branchCode;
         
-        List<FlowConfig> configs = flowConfigRepository.findByScope(flowId, productCode, partnerCode, branchCode);
+        List<FlowConfig> configs = activeConfigIndex.isServing()
+                ? activeConfigIndex.findFlowConfigs(flowId, productCode, partnerCode, branchCode)
+                : flowConfigRepository.findByScope(flowId, productCode, partnerCode, branchCode);
         
         if (configs.isEmpty()) {
             throw new ConfigNotFoundException(
@@ -201,5 +264,76 @@ public class ConfigResolutionService {
         
         return config;
     }
-}
 
+    /**
+     * Resolve the ACTIVE screen, validation and field mapping configs of several screens at once,
+     * one query per config type instead of three per screen. Used for FlowSnapshot creation.
+     * Screens without an ACTIVE config of a type are absent from that type's map.
+     */
+    public ScreenConfigBatch resolveActiveScreenConfigs(Collection<String> screenIds, String productCode,
+                                                        String partnerCode, String branchCode) {
+        if (screenIds == null || screenIds.isEmpty()) {
+            return new ScreenConfigBatch(Map.of(), Map.of(), Map.of());
+        }
+        String product = blankToNull(productCode);
+        String partner = blankToNull(partnerCode);
+        String branch = blankToNull(branchCode);
+        String ids = String.join(",", screenIds);
+        boolean fromIndex = activeConfigIndex.isServing();
+
+        Map<String, Map<String, Object>> screenConfigs = resolution("screen", ids, product, partner, branch)
+                .observe(() -> firstPerScreen(fromIndex
+                                ? activeConfigIndex.findScreenConfigs(screenIds, product, partner, branch)
+                                : screenConfigRepository.findByScopeForScreens(screenIds, product, partner, branch),
+                        ScreenConfig::getScreenId, ScreenConfig::getStatus, ScreenConfig::getUiConfig));
+        Map<String, Map<String, Object>> validationConfigs = resolution("validation", ids, product, partner, branch)
+                .observe(() -> firstPerScreen(fromIndex
+                                ? activeConfigIndex.findValidationConfigs(screenIds, product, partner, branch)
+                                : validationConfigRepository.findByScopeForScreens(screenIds, product, partner, branch),
+                        ValidationConfig::getScreenId, ValidationConfig::getStatus, ValidationConfig::getValidationRules));
+        Map<String, Map<String, Object>> mappingConfigs = resolution("field-mapping", ids, product, partner, branch)
+                .observe(() -> firstPerScreen(fromIndex
+                                ? activeConfigIndex.findFieldMappingConfigs(screenIds, product, partner, branch)
+                                : fieldMappingConfigRepository.findByScopeForScreens(screenIds, product, partner, branch),
+                        FieldMappingConfig::getScreenId, FieldMappingConfig::getStatus, FieldMappingConfig::getMappings));
+        return new ScreenConfigBatch(screenConfigs, validationConfigs, mappingConfigs);
+    }
+
+    /**
+     * First row per screenId wins (rows are ordered branch > partner > product).
+     */
+    private static <T> Map<String, Map<String, Object>> firstPerScreen(List<T> configs, Function<T, String> screenId,
+                                                                      Function<T, String> status,
+                                                                      Function<T, Map<String, Object>> data) {
+        Map<String, Map<String, Object>> result = new HashMap<>();
+        for (T config : configs) {
+            if (ConfigStatus.isRuntimeUsable(status.apply(config))) {
+                result.putIfAbsent(screenId.apply(config), data.apply(config));
+            }
+        }
+        return result;
+    }
+
+    private static String blankToNull(String value) {
+        return (value != null && value.isBlank()) ? null : value;
+    }
+
+    private Observation resolution(String configType, String id, String productCode, String partnerCode, String branchCode) {
+        return Observation.createNotStarted("los.config.resolution", observationRegistry)
+                .contextualName("resolve " + configType + " config")
+                .lowCardinalityKeyValue("config.type", configType)
+                .highCardinalityKeyValue("config.id", String.valueOf(id))
+                .highCardinalityKeyValue("config.scope", productCode + "/" + partnerCode + "/" + branchCode);
+    }
+
+    /**
+     * Per-screen config data resolved for a set of screens, keyed by screenId.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class ScreenConfigBatch {
+        private final Map<String, Map<String, Object>> screenConfigs;
+        private final Map<String, Map<String, Object>> validationConfigs;
+        private final Map<String, Map<String, Object>> mappingConfigs;
+    }
+}
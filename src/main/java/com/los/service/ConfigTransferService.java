@@ -0,0 +1,677 @@
+package com.los.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.los.config.ConfigChangedEvent;
+import com.los.config.ConfigStatus;
+import com.los.config.entity.ConfigSearchColumns;
+import com.los.dto.config.ConfigImportReport;
+import com.los.dto.config.ConfigTransferRecord;
+import com.los.dto.runtime.ValidationErrorResponse;
+import com.los.exception.ValidationException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Bulk config export and import as NDJSON (one ConfigTransferRecord per line), for promoting
+ * configs between environments (e.g. UAT to prod) without one API call per config.
+ *
+ * Both directions stream:
+ * - Export reads each table with a forward-only cursor and writes the stored JSON payload
+ *   verbatim through a Jackson generator, so rows are never materialized as entities or lists.
+ * - Import reads records one at a time and processes them in batches of
+ *   runtime.config-transfer.batch-size: records are validated in parallel, checked against the
+ *   target with one query per config type, and written with batched JDBC inserts.
+ *
+ * An import runs in one transaction. Imported ACTIVE versions deprecate the ACTIVE version of
+ * the same scope in the target, as activation does. Conflicts either roll back the whole import
+ * (onConflict=FAIL) or skip the conflicting records (SKIP); a dry run only reports them.
+ *
+ * JDBC rather than JPA so inserts batch regardless of the IDENTITY ids; the derived search
+ * columns are filled here with the same derivation as the entities (ConfigSearchColumns).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ConfigTransferService {
+
+    public static final String NDJSON = "application/x-ndjson";
+
+    private static final String CONFLICT_INVALID = "INVALID";
+    private static final String CONFLICT_DUPLICATE_IN_FILE = "DUPLICATE_IN_FILE";
+    private static final String CONFLICT_VERSION_EXISTS = "VERSION_EXISTS";
+    private static final String CONFLICT_MULTIPLE_ACTIVE = "MULTIPLE_ACTIVE";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${runtime.config-transfer.batch-size:500}")
+    private int batchSize;
+
+    @Value("${runtime.config-transfer.fetch-size:500}")
+    private int fetchSize;
+
+    @Value("${runtime.config-transfer.max-reported-conflicts:1000}")
+    private int maxReportedConflicts;
+
+    /**
+     * What happens to an import that has conflicts.
+     */
+    public enum ConflictMode {
+        /** Roll back the whole import */
+        FAIL,
+        /** Import everything else, skip the conflicting records */
+        SKIP
+    }
+
+    /**
+     * Config tables, with the columns that differ per type.
+     */
+    private enum ConfigTable {
+        SCREEN("screen", "screen_configs", "screen_id", "ui_config", "screen_config_field_refs"),
+        VALIDATION("validation", "validation_configs", "screen_id", "validation_rules", "validation_config_field_refs"),
+        FIELD_MAPPING("field-mapping", "field_mapping_configs", "screen_id", "mappings", "field_mapping_config_field_refs"),
+        FLOW("flow", "flow_configs", "flow_id", "flow_definition", "flow_config_field_refs");
+
+        private final String type;
+        private final String table;
+        private final String keyColumn;
+        private final String payloadColumn;
+        private final String refsTable;
+
+        ConfigTable(String type, String table, String keyColumn, String payloadColumn, String refsTable) {
+            this.type = type;
+            this.table = table;
+            this.keyColumn = keyColumn;
+            this.payloadColumn = payloadColumn;
+            this.refsTable = refsTable;
+        }
+
+        static ConfigTable of(String type) {
+            for (ConfigTable table : values()) {
+                if (table.type.equals(type)) {
+                    return table;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Write all configs of the given types (all types if empty), optionally only one status,
+     * to the stream as NDJSON. Ordered by type, then configId.
+     */
+    public void exportConfigs(Collection<String> types, String status, OutputStream out) throws IOException {
+        Set<ConfigTable> tables = exportTables(types);
+        String statusFilter = status != null && !status.isBlank() ? status.toUpperCase() : null;
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        // Cursor-based fetching needs a transaction (PostgreSQL streams only with autocommit off)
+        transaction.setReadOnly(true);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            transaction.executeWithoutResult(tx -> {
+                for (ConfigTable table : tables) {
+                    long rows = exportTable(table, statusFilter, generator);
+                    log.info("Exported {} {} configs", rows, table.type);
+                }
+            });
+            generator.flush();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private long exportTable(ConfigTable table, String status, JsonGenerator generator) {
+        boolean flow = table == ConfigTable.FLOW;
+        String sql = "SELECT " + table.keyColumn + ", product_code, partner_code, branch_code, version, status, "
+                + "created_by, updated_by, " + table.payloadColumn + (flow ? ", dashboard_meta" : "")
+                + " FROM " + table.table
+                + (status != null ? " WHERE status = ?" : "")
+                + " ORDER BY config_id";
+        long[] rows = {0};
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            if (status != null) {
+                statement.setString(1, status);
+            }
+            return statement;
+        }, (RowCallbackHandler) resultSet -> {
+            try {
+                writeRecord(generator, table, resultSet, flow);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            rows[0]++;
+        });
+        return rows[0];
+    }
+
+    private static void writeRecord(JsonGenerator generator, ConfigTable table, ResultSet resultSet, boolean flow)
+            throws IOException, SQLException {
+        generator.writeStartObject();
+        generator.writeStringField("type", table.type);
+        generator.writeStringField("configKey", resultSet.getString(1));
+        generator.writeStringField("productCode", resultSet.getString(2));
+        generator.writeStringField("partnerCode", resultSet.getString(3));
+        generator.writeStringField("branchCode", resultSet.getString(4));
+        generator.writeNumberField("version", resultSet.getInt(5));
+        generator.writeStringField("status", resultSet.getString(6));
+        generator.writeStringField("createdBy", resultSet.getString(7));
+        generator.writeStringField("updatedBy", resultSet.getString(8));
+        writeRawJson(generator, "payload", resultSet.getString(9));
+        if (flow) {
+            writeRawJson(generator, "dashboardMeta", resultSet.getString(10));
+        }
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    /**
+     * Copy a stored JSON document into the output without parsing it. Line breaks can only be
+     * whitespace in valid JSON (inside strings they are escaped), so replacing them keeps the
+     * record on one line without changing the document.
+     */
+    private static void writeRawJson(JsonGenerator generator, String field, String json) throws IOException {
+        generator.writeFieldName(field);
+        if (json == null || json.isBlank()) {
+            generator.writeNull();
+        } else {
+            generator.writeRawValue(json.indexOf('\n') >= 0 || json.indexOf('\r') >= 0
+                    ? json.replace('\n', ' ').replace('\r', ' ')
+                    : json);
+        }
+    }
+
+    private static Set<ConfigTable> exportTables(Collection<String> types) {
+        if (types == null || types.isEmpty()) {
+            return new LinkedHashSet<>(Arrays.asList(ConfigTable.values()));
+        }
+        Set<ConfigTable> tables = new LinkedHashSet<>();
+        for (String type : types) {
+            ConfigTable table = ConfigTable.of(type);
+            if (table == null) {
+                throw new ValidationException(Collections.singletonList(
+                    ValidationErrorResponse.FieldError.builder()
+                        .fieldId("types")
+                        .code("INVALID_VALUE")
+                        .message(String.format("Unknown config type '%s'. Must be one of: screen, validation, field-mapping, flow", type))
+                        .build()
+                ));
+            }
+            tables.add(table);
+        }
+        return tables;
+    }
+
+    /**
+     * Import an NDJSON stream. With dryRun nothing is written; the report lists what the import
+     * would insert and deprecate, and every conflict.
+     */
+    public ConfigImportReport importConfigs(InputStream in, boolean dryRun, ConflictMode conflictMode) throws IOException {
+        long startNanos = System.nanoTime();
+        ImportRun run = new ImportRun(dryRun, conflictMode);
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(dryRun);
+        try {
+            transaction.executeWithoutResult(tx -> {
+                readInBatches(in, run);
+                if (!dryRun && run.failed()) {
+                    tx.setRollbackOnly();
+                } else if (!run.activeChanges.isEmpty()) {
+                    eventPublisher.publishEvent(new ConfigChangedEvent("config import", run.activeChanges));
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        ConfigImportReport report = run.report;
+        report.setCommitted(!dryRun && !run.failed());
+        report.setDurationMs((System.nanoTime() - startNanos) / 1_000_000);
+        log.info("Config import{}: {} records, {} inserted, {} deprecated, {} conflicts, committed={} in {} ms",
+                dryRun ? " (dry run)" : "", report.getRecords(), report.getInserted(), report.getDeprecated(),
+                report.getConflicts(), report.isCommitted(), report.getDurationMs());
+        return report;
+    }
+
+    private void readInBatches(InputStream in, ImportRun run) {
+        try (MappingIterator<ConfigTransferRecord> records = objectMapper.readerFor(ConfigTransferRecord.class).readValues(in)) {
+            List<ImportLine> batch = new ArrayList<>(batchSize);
+            long line = 0;
+            while (true) {
+                ConfigTransferRecord record;
+                try {
+                    if (!records.hasNextValue()) {
+                        break;
+                    }
+                    line++;
+                    record = records.nextValue();
+                } catch (JsonProcessingException e) {
+                    throw new ValidationException(Collections.singletonList(
+                        ValidationErrorResponse.FieldError.builder()
+                            .fieldId("line " + line)
+                            .code("INVALID_JSON")
+                            .message(e.getOriginalMessage())
+                            .build()
+                    ));
+                }
+                batch.add(new ImportLine(line, record));
+                if (batch.size() >= batchSize) {
+                    processBatch(batch, run);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (!batch.isEmpty()) {
+                processBatch(batch, run);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void processBatch(List<ImportLine> batch, ImportRun run) {
+        // CPU-bound checks (payload walks, regex compilation) in parallel; DB work stays on this thread
+        batch.parallelStream().forEach(ImportLine::validate);
+
+        Map<ConfigTable, List<ImportLine>> byTable = new EnumMap<>(ConfigTable.class);
+        for (ImportLine line : batch) {
+            run.report.setRecords(run.report.getRecords() + 1);
+            run.scope(line.record).setRecords(run.scope(line.record).getRecords() + 1);
+            if (line.error != null) {
+                run.conflict(line, CONFLICT_INVALID, line.error);
+                continue;
+            }
+            if (!run.seenVersions.add(line.versionKey())) {
+                run.conflict(line, CONFLICT_DUPLICATE_IN_FILE, "Same type, key, scope and version appears earlier in the file");
+                continue;
+            }
+            if (line.isActive() && !run.seenActiveScopes.add(line.scopeKey())) {
+                run.conflict(line, CONFLICT_MULTIPLE_ACTIVE, "Another ACTIVE version of this config and scope appears earlier in the file");
+                continue;
+            }
+            byTable.computeIfAbsent(line.table, table -> new ArrayList<>()).add(line);
+        }
+
+        for (Map.Entry<ConfigTable, List<ImportLine>> entry : byTable.entrySet()) {
+            importLines(entry.getKey(), entry.getValue(), run);
+        }
+    }
+
+    private void importLines(ConfigTable table, List<ImportLine> lines, ImportRun run) {
+        ExistingConfigs existing = loadExisting(table, lines);
+
+        List<ImportLine> accepted = new ArrayList<>(lines.size());
+        List<Long> toDeprecate = new ArrayList<>();
+        for (ImportLine line : lines) {
+            if (existing.versions.contains(line.versionKey())) {
+                run.conflict(line, CONFLICT_VERSION_EXISTS, "Version " + line.record.getVersion() + " already exists in the target");
+                continue;
+            }
+            accepted.add(line);
+            if (line.isActive()) {
+                List<Long> activeIds = existing.activeIds.getOrDefault(line.scopeKey(), List.of());
+                toDeprecate.addAll(activeIds);
+                ConfigImportReport.ScopeReport scope = run.scope(line.record);
+                scope.setActivated(scope.getActivated() + 1);
+                scope.setDeprecated(scope.getDeprecated() + activeIds.size());
+            }
+        }
+
+        run.report.setDeprecated(run.report.getDeprecated() + toDeprecate.size());
+        for (ImportLine line : accepted) {
+            ConfigImportReport.ScopeReport scope = run.scope(line.record);
+            scope.setInserted(scope.getInserted() + 1);
+        }
+        run.report.setInserted(run.report.getInserted() + accepted.size());
+
+        if (run.writes()) {
+            deprecate(table, toDeprecate);
+            List<Long> insertedIds = insert(table, accepted);
+            Set<Long> changedIds = run.activeChanges.computeIfAbsent(table.type, type -> new LinkedHashSet<>());
+            changedIds.addAll(toDeprecate);
+            for (int i = 0; i < accepted.size(); i++) {
+                if (accepted.get(i).isActive()) {
+                    changedIds.add(insertedIds.get(i));
+                }
+            }
+            if (changedIds.isEmpty()) {
+                run.activeChanges.remove(table.type);
+            }
+        }
+    }
+
+    /**
+     * Existing versions and ACTIVE ids in the target for the keys of one batch (one query).
+     */
+    private ExistingConfigs loadExisting(ConfigTable table, List<ImportLine> lines) {
+        Set<String> keys = new HashSet<>();
+        lines.forEach(line -> keys.add(line.record.getConfigKey()));
+        ExistingConfigs existing = new ExistingConfigs();
+        namedParameterJdbcTemplate.query(
+                "SELECT config_id, " + table.keyColumn + ", product_code, partner_code, branch_code, version, status"
+                        + " FROM " + table.table + " WHERE " + table.keyColumn + " IN (:keys)",
+                Map.of("keys", keys),
+                (RowCallbackHandler) resultSet -> {
+                    String scopeKey = scopeKey(table.type, resultSet.getString(2), resultSet.getString(3),
+                            resultSet.getString(4), resultSet.getString(5));
+                    existing.versions.add(scopeKey + "#" + resultSet.getInt(6));
+                    if (ConfigStatus.ACTIVE.name().equals(resultSet.getString(7))) {
+                        existing.activeIds.computeIfAbsent(scopeKey, key -> new ArrayList<>()).add(resultSet.getLong(1));
+                    }
+                });
+        return existing;
+    }
+
+    private void deprecate(ConfigTable table, List<Long> configIds) {
+        if (configIds.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate("UPDATE " + table.table + " SET status = ?, updated_at = ? WHERE config_id = ?",
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement statement, int i) throws SQLException {
+                        statement.setString(1, ConfigStatus.DEPRECATED.name());
+                        statement.setTimestamp(2, now);
+                        statement.setLong(3, configIds.get(i));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return configIds.size();
+                    }
+                });
+    }
+
+    /**
+     * @return the generated config ids, in the order of the lines
+     */
+    private List<Long> insert(ConfigTable table, List<ImportLine> lines) {
+        if (lines.isEmpty()) {
+            return List.of();
+        }
+        boolean screen = table == ConfigTable.SCREEN;
+        boolean flow = table == ConfigTable.FLOW;
+        String sql = "INSERT INTO " + table.table + " (" + table.keyColumn + ", product_code, partner_code, branch_code, "
+                + "version, status, " + table.payloadColumn + ", created_by, updated_by, created_at, updated_at, lock_version"
+                + (screen ? ", screen_type" : "")
+                + (flow ? ", dashboard_meta, dashboard_title" : "")
+                + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0" + (screen ? ", ?" : "") + (flow ? ", ?, ?" : "") + ")";
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(sql, new String[]{"config_id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement statement, int i) throws SQLException {
+                        ImportLine line = lines.get(i);
+                        ConfigTransferRecord record = line.record;
+                        statement.setString(1, record.getConfigKey());
+                        statement.setString(2, record.getProductCode());
+                        statement.setString(3, record.getPartnerCode());
+                        statement.setString(4, record.getBranchCode());
+                        statement.setInt(5, record.getVersion());
+                        statement.setString(6, record.getStatus());
+                        statement.setString(7, toJson(record.getPayload()));
+                        statement.setString(8, record.getCreatedBy());
+                        statement.setString(9, record.getUpdatedBy());
+                        statement.setTimestamp(10, now);
+                        statement.setTimestamp(11, now);
+                        if (screen) {
+                            statement.setString(12, ConfigSearchColumns.screenType(record.getPayload()));
+                        }
+                        if (flow) {
+                            statement.setString(12, record.getDashboardMeta() != null ? toJson(record.getDashboardMeta()) : null);
+                            statement.setString(13, ConfigSearchColumns.dashboardTitle(record.getDashboardMeta()));
+                        }
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return lines.size();
+                    }
+                },
+                keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        List<Long> configIds = new ArrayList<>(lines.size());
+        List<Object[]> refs = new ArrayList<>();
+        for (int i = 0; i < lines.size(); i++) {
+            long configId = generatedId(keys.get(i));
+            configIds.add(configId);
+            for (String fieldId : lines.get(i).referencedFieldIds) {
+                refs.add(new Object[]{configId, fieldId});
+            }
+        }
+        if (!refs.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO " + table.refsTable + " (config_id, field_id) VALUES (?, ?)", refs);
+        }
+        return configIds;
+    }
+
+    /**
+     * The generated config_id; drivers differ in the key column name (config_id, CONFIG_ID, GENERATED_KEY).
+     */
+    private static long generatedId(Map<String, Object> keys) {
+        Object id = keys.size() == 1 ? keys.values().iterator().next() : keys.get("config_id");
+        if (id == null) {
+            id = keys.get("CONFIG_ID");
+        }
+        return ((Number) Objects.requireNonNull(id, "No generated config_id returned")).longValue();
+    }
+
+    private String toJson(Map<String, Object> value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Error converting Map to JSON", e);
+        }
+    }
+
+    private static String scopeKey(String type, String configKey, String productCode, String partnerCode, String branchCode) {
+        return type + "|" + configKey + "|" + productCode + "|" + partnerCode + "|" + branchCode;
+    }
+
+    private static String scopeLabel(ConfigTransferRecord record) {
+        return orWildcard(record.getProductCode()) + "/" + orWildcard(record.getPartnerCode()) + "/"
+                + orWildcard(record.getBranchCode());
+    }
+
+    private static String orWildcard(String code) {
+        return code != null ? code : "*";
+    }
+
+    /**
+     * One record of the import stream with its validation outcome.
+     */
+    private static final class ImportLine {
+        private final long line;
+        private final ConfigTransferRecord record;
+        private ConfigTable table;
+        private Set<String> referencedFieldIds = Set.of();
+        private String error;
+
+        private ImportLine(long line, ConfigTransferRecord record) {
+            this.line = line;
+            this.record = record;
+        }
+
+        /**
+         * The same completeness rules as activation, plus compilable regex patterns.
+         * Normalizes status and blank scope codes.
+         */
+        private void validate() {
+            table = ConfigTable.of(record.getType());
+            if (table == null) {
+                error = "Unknown config type '" + record.getType() + "'";
+                return;
+            }
+            record.setProductCode(blankToNull(record.getProductCode()));
+            record.setPartnerCode(blankToNull(record.getPartnerCode()));
+            record.setBranchCode(blankToNull(record.getBranchCode()));
+            if (record.getConfigKey() == null || record.getConfigKey().isBlank()) {
+                error = "configKey is required";
+            } else if (record.getConfigKey().length() > 100) {
+                error = "configKey is longer than 100 characters";
+            } else if (tooLong(record.getProductCode()) || tooLong(record.getPartnerCode()) || tooLong(record.getBranchCode())) {
+                error = "Scope codes are limited to 50 characters";
+            } else if (record.getVersion() == null || record.getVersion() < 1) {
+                error = "version must be 1 or greater";
+            } else if (!ConfigStatus.isValid(record.getStatus())) {
+                error = "Invalid status '" + record.getStatus() + "'. Must be one of: DRAFT, ACTIVE, INACTIVE, DEPRECATED";
+            } else if (record.getPayload() == null || record.getPayload().isEmpty()) {
+                error = "payload cannot be empty";
+            } else {
+                record.setStatus(record.getStatus().toUpperCase());
+                error = table == ConfigTable.VALIDATION ? invalidPattern(record.getPayload()) : null;
+            }
+            if (error == null) {
+                referencedFieldIds = ConfigSearchColumns.referencedFieldIds(record.getPayload());
+            }
+        }
+
+        private boolean isActive() {
+            return ConfigStatus.ACTIVE.name().equals(record.getStatus());
+        }
+
+        private String scopeKey() {
+            return ConfigTransferService.scopeKey(table.type, record.getConfigKey(), record.getProductCode(),
+                    record.getPartnerCode(), record.getBranchCode());
+        }
+
+        private String versionKey() {
+            return scopeKey() + "#" + record.getVersion();
+        }
+
+        private static boolean tooLong(String code) {
+            return code != null && code.length() > 50;
+        }
+
+        private static String blankToNull(String code) {
+            return code == null || code.isBlank() ? null : code;
+        }
+
+        /**
+         * First "pattern" in the validation rules that does not compile, as an error message.
+         */
+        private static String invalidPattern(Map<String, Object> validationRules) {
+            if (!(validationRules.get("fields") instanceof Map<?, ?> fields)) {
+                return null;
+            }
+            for (Map.Entry<?, ?> field : fields.entrySet()) {
+                if (field.getValue() instanceof Map<?, ?> rules && rules.get("pattern") instanceof String pattern) {
+                    try {
+                        Pattern.compile(pattern);
+                    } catch (PatternSyntaxException e) {
+                        return "Invalid pattern for field '" + field.getKey() + "': " + e.getDescription();
+                    }
+                }
+            }
+            return null;
+        }
+    }
+
+    private static final class ExistingConfigs {
+        private final Set<String> versions = new HashSet<>();
+        private final Map<String, List<Long>> activeIds = new HashMap<>();
+    }
+
+    /**
+     * State of one import. Only keys of seen versions are kept across batches (for duplicate and
+     * multiple-ACTIVE checks), not the records.
+     */
+    private final class ImportRun {
+        private final boolean dryRun;
+        private final ConflictMode conflictMode;
+        private final ConfigImportReport report;
+        private final Set<String> seenVersions = new HashSet<>();
+        private final Set<String> seenActiveScopes = new HashSet<>();
+        /** Configs made ACTIVE or DEPRECATED, per type, for the ConfigChangedEvent */
+        private final Map<String, Set<Long>> activeChanges = new LinkedHashMap<>();
+        private long reportedConflicts;
+
+        private ImportRun(boolean dryRun, ConflictMode conflictMode) {
+            this.dryRun = dryRun;
+            this.conflictMode = conflictMode;
+            this.report = ConfigImportReport.builder().dryRun(dryRun).build();
+        }
+
+        private ConfigImportReport.ScopeReport scope(ConfigTransferRecord record) {
+            return report.getScopes().computeIfAbsent(scopeLabel(record), label -> new ConfigImportReport.ScopeReport());
+        }
+
+        private void conflict(ImportLine line, String code, String message) {
+            report.setConflicts(report.getConflicts() + 1);
+            if (conflictMode == ConflictMode.SKIP) {
+                report.setSkipped(report.getSkipped() + 1);
+            }
+            if (reportedConflicts++ < maxReportedConflicts) {
+                scope(line.record).getConflicts().add(ConfigImportReport.Conflict.builder()
+                        .line(line.line)
+                        .type(line.record.getType())
+                        .configKey(line.record.getConfigKey())
+                        .version(line.record.getVersion())
+                        .code(code)
+                        .message(message)
+                        .build());
+            }
+        }
+
+        private boolean failed() {
+            return conflictMode == ConflictMode.FAIL && report.getConflicts() > 0;
+        }
+
+        /**
+         * Once an import is going to be rolled back, later batches are only checked, not written.
+         */
+        private boolean writes() {
+            return !dryRun && !failed();
+        }
+    }
+}
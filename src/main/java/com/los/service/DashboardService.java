@@ -3,17 +3,29 @@ package com.los.service;
 import com.los.config.entity.FlowConfig;
 import com.los.dto.dashboard.DashboardFlowResponse;
 import com.los.dto.dashboard.DashboardFlowsResponse;
+import com.los.metrics.RuntimeMetrics;
 import com.los.repository.FlowConfigRepository;
+import com.los.util.ETagUtil;
+import jakarta.annotation.PostConstruct;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 
 /**
  * Service for dashboard operations.
  * Provides list of available flows for the home screen.
+ *
+ * Listings are precomputed per (product, partner, branch) from the ActiveConfigIndex, holding
+ * only the dashboard metadata, together with their ETag. A view is rebuilt on the first request
+ * after the ACTIVE flows change (activation, rollback, rollout, CRUD or another node's change),
+ * so a home-screen call is a map lookup, or a 304 when the client's ETag still matches. While the
+ * index is not serving (startup, change channel behind), listings are read from the database.
  */
 @Service
 @RequiredArgsConstructor
@@ -21,6 +33,34 @@ import java.util.stream.Collectors;
 public class DashboardService {
 
     private final FlowConfigRepository flowConfigRepository;
+    private final ActiveConfigIndex activeConfigIndex;
+    private final RuntimeMetrics runtimeMetrics;
+
+    // Distinct scopes kept; scope codes come from clients, so the views are LRU-bounded
+    @Value("${runtime.dashboard.max-views:1000}")
+    private int maxViews;
+
+    private final ReentrantLock viewsLock = new ReentrantLock();
+    private final Map<List<String>, DashboardView> views = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<List<String>, DashboardView> eldest) {
+            return size() > maxViews;
+        }
+    };
+
+    @PostConstruct
+    void registerCacheMetrics() {
+        runtimeMetrics.registerCacheSize("dashboard", this, DashboardService::viewCount);
+    }
+
+    private int viewCount() {
+        viewsLock.lock();
+        try {
+            return views.size();
+        } finally {
+            viewsLock.unlock();
+        }
+    }
 
     /**
      * Get all available flows for a given product/partner/branch.
@@ -33,61 +73,119 @@ public class DashboardService {
      * @return Dashboard response with list of flows
      */
     public DashboardFlowsResponse getAvailableFlows(String productCode, String partnerCode, String branchCode) {
+        return getDashboardView(productCode, partnerCode, branchCode).getResponse();
+    }
+
+    /**
+     * Same listing as {@link #getAvailableFlows}, with its ETag. The response is shared between
+     * requests and must not be modified.
+     */
+    public DashboardView getDashboardView(String productCode, String partnerCode, String branchCode) {
+        boolean unscoped = productCode == null || partnerCode == null;
+        List<String> scope = unscoped
+                ? Arrays.asList(null, null, null)
+                : Arrays.asList(productCode, partnerCode, branchCode);
+
+        if (!activeConfigIndex.isServing()) {
+            return buildView(scope, -1, loadActiveFlows(productCode, partnerCode, branchCode, unscoped));
+        }
+
+        long version = activeConfigIndex.activeFlowsVersion();
+        DashboardView view;
+        viewsLock.lock();
+        try {
+            view = views.get(scope);
+        } finally {
+            viewsLock.unlock();
+        }
+        boolean hit = view != null && view.version == version;
+        runtimeMetrics.recordCacheAccess("dashboard", hit);
+        if (hit) {
+            return view;
+        }
+
+        view = buildView(scope, version, activeFlowsFromIndex(productCode, partnerCode, branchCode, unscoped));
+        viewsLock.lock();
+        try {
+            DashboardView current = views.get(scope);
+            if (current == null || current.version < version) {
+                views.put(scope, view);
+            }
+        } finally {
+            viewsLock.unlock();
+        }
+        return view;
+    }
+
+    private List<FlowConfig> loadActiveFlows(String productCode, String partnerCode, String branchCode,
+                                             boolean unscoped) {
         log.info("Fetching available flows for product={}, partner={}, branch={}", 
                 productCode, partnerCode, branchCode);
 
-        List<FlowConfig> flowConfigs;
-
         // If no product/partner provided, return ALL ACTIVE flows (for testing)
-        if (productCode == null || partnerCode == null) {
+        if (unscoped) {
             log.info("No product/partner provided - returning ALL ACTIVE flows (testing mode)");
-            flowConfigs = flowConfigRepository.findByStatus("ACTIVE");
-        } else {
-            // Fetch all ACTIVE flows matching the scope
-            flowConfigs = flowConfigRepository.findAllActiveByScope(
-                    productCode, 
-                    partnerCode, 
-                    branchCode
-            );
+            return flowConfigRepository.findByStatus("ACTIVE");
         }
+        // Fetch all ACTIVE flows matching the scope
+        return flowConfigRepository.findAllActiveByScope(productCode, partnerCode, branchCode);
+    }
+
+    /**
+     * ACTIVE flows applicable to the scope, at the same levels as findAllActiveByScope.
+     */
+    private List<FlowConfig> activeFlowsFromIndex(String productCode, String partnerCode, String branchCode,
+                                                  boolean unscoped) {
+        List<FlowConfig> result = new ArrayList<>();
+        for (FlowConfig config : activeConfigIndex.activeFlowConfigs()) {
+            if (unscoped || appliesTo(config, productCode, partnerCode, branchCode)) {
+                result.add(config);
+            }
+        }
+        return result;
+    }
+
+    private static boolean appliesTo(FlowConfig config, String productCode, String partnerCode, String branchCode) {
+        if (config.getBranchCode() != null) {
+            return config.getBranchCode().equals(branchCode) && productCode.equals(config.getProductCode())
+                    && partnerCode.equals(config.getPartnerCode());
+        }
+        if (config.getPartnerCode() != null) {
+            return partnerCode.equals(config.getPartnerCode()) && productCode.equals(config.getProductCode());
+        }
+        return config.getProductCode() == null || productCode.equals(config.getProductCode());
+    }
 
-        log.debug("Found {} flow configs before deduplication", flowConfigs.size());
+    private DashboardView buildView(List<String> scope, long version, List<FlowConfig> flowConfigs) {
+        log.debug("Building dashboard view for scope {} from {} flow configs", scope, flowConfigs.size());
 
         // Apply scope resolution: for each flowId, take the most specific config
         Map<String, FlowConfig> deduplicatedFlows = deduplicateByScope(flowConfigs);
 
-        log.info("Returning {} unique flows after scope resolution", deduplicatedFlows.size());
-
         // Map to DTOs
         List<DashboardFlowResponse> flowResponses = deduplicatedFlows.values().stream()
                 .map(this::mapToDto)
-                .collect(Collectors.toList());
+                .collect(Collectors.toUnmodifiableList());
 
-        return DashboardFlowsResponse.builder()
+        DashboardFlowsResponse response = DashboardFlowsResponse.builder()
                 .flows(flowResponses)
                 .build();
+        return new DashboardView(response, ETagUtil.compute(response), version);
     }
 
     /**
      * Deduplicate flows by flowId, keeping the most specific scope.
-     * Precedence: BRANCH > PARTNER > PRODUCT
+     * Precedence: BRANCH > PARTNER > PRODUCT > global. Sorted by flowId, so equal listings
+     * get equal ETags.
      */
     private Map<String, FlowConfig> deduplicateByScope(List<FlowConfig> configs) {
-        Map<String, FlowConfig> result = new HashMap<>();
+        Map<String, FlowConfig> result = new TreeMap<>();
 
         for (FlowConfig config : configs) {
-            String flowId = config.getFlowId();
-            
-            if (!result.containsKey(flowId)) {
-                // First occurrence of this flowId
-                result.put(flowId, config);
-            } else {
-                // Already have a config for this flowId
-                // Keep the more specific one
-                FlowConfig existing = result.get(flowId);
-                if (isMoreSpecific(config, existing)) {
-                    result.put(flowId, config);
-                }
+            FlowConfig existing = result.get(config.getFlowId());
+            // Keep the more specific one
+            if (existing == null || specificity(config) > specificity(existing)) {
+                result.put(config.getFlowId(), config);
             }
         }
 
@@ -95,28 +193,16 @@ public class DashboardService {
     }
 
     /**
-     * Check if config1 is more specific than config2.
-     * Branch-level is most specific, then partner, then product.
+     * Branch-level is most specific, then partner, then product, then global.
      */
-    private boolean isMoreSpecific(FlowConfig config1, FlowConfig config2) {
-        // Branch level is most specific
-        if (config1.getBranchCode() != null && config2.getBranchCode() == null) {
-            return true;
-        }
-        if (config1.getBranchCode() == null && config2.getBranchCode() != null) {
-            return false;
-        }
-        
-        // Partner level
-        if (config1.getPartnerCode() != null && config2.getPartnerCode() == null) {
-            return true;
+    private static int specificity(FlowConfig config) {
+        if (config.getBranchCode() != null) {
+            return 3;
         }
-        if (config1.getPartnerCode() == null && config2.getPartnerCode() != null) {
-            return false;
+        if (config.getPartnerCode() != null) {
+            return 2;
         }
-        
-        // Same specificity level
-        return false;
+        return config.getProductCode() != null ? 1 : 0;
     }
 
     /**
@@ -151,4 +237,21 @@ public class DashboardService {
                 .startable(true) // All ACTIVE flows are startable
                 .build();
     }
+
+    /**
+     * A precomputed dashboard listing and its ETag.
+     */
+    @Getter
+    public static class DashboardView {
+        private final DashboardFlowsResponse response;
+        private final String etag;
+        // ActiveConfigIndex.activeFlowsVersion() it was built from (-1: read from the database)
+        private final long version;
+
+        private DashboardView(DashboardFlowsResponse response, String etag, long version) {
+            this.response = response;
+            this.etag = etag;
+            this.version = version;
+        }
+    }
 }
@@ -2,6 +2,7 @@ package com.los.service;
 
 import com.los.domain.UploadedFile;
 import com.los.dto.runtime.FileUploadResponse;
+import com.los.metrics.RuntimeMetrics;
 import com.los.repository.LoanApplicationRepository;
 import com.los.repository.UploadedFileRepository;
 import lombok.RequiredArgsConstructor;
@@ -30,6 +31,7 @@ public class FileUploadService {
 
     private final UploadedFileRepository uploadedFileRepository;
     private final LoanApplicationRepository loanApplicationRepository;
+    private final RuntimeMetrics runtimeMetrics;
 
     @Value("${file.upload.directory:${user.dir}/data/uploads}")
     private String uploadDirectory;
@@ -86,7 +88,9 @@ public class FileUploadService {
         // Save file to disk
         Path filePath = uploadPath.resolve(uniqueFileName);
         try {
+            long copyStart = System.nanoTime();
             Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
+            runtimeMetrics.recordUpload(fileType, file.getSize(), System.nanoTime() - copyStart);
             log.info("File saved to: {}", filePath);
         } catch (IOException e) {
             log.error("Failed to save file: {}", filePath, e);
@@ -0,0 +1,351 @@
+package com.los.service;
+
+import com.los.config.ConfigStatus;
+import com.los.config.entity.FlowConfig;
+import com.los.config.entity.FlowRollout;
+import com.los.dto.config.FlowRolloutRequest;
+import com.los.dto.runtime.ValidationErrorResponse;
+import com.los.exception.ConfigNotFoundException;
+import com.los.exception.ValidationException;
+import com.los.metrics.RuntimeMetrics;
+import com.los.repository.FlowConfigRepository;
+import com.los.repository.FlowRolloutRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Canary and scheduled activation of flow config versions (FlowRollout).
+ *
+ * A rollout serves a DRAFT flow version to a share of the NEW applications in its scope, while
+ * the rest keep starting on the ACTIVE version. Which applications get the candidate is decided
+ * by a deterministic hash of the rollout key, so the same key always lands in the same cohort;
+ * the chosen version is then pinned by the application's FlowSnapshot for the whole journey.
+ * Promotion (explicit, or at activateAt) activates the candidate through ConfigActivationService.
+ *
+ * Flow starts consult an in-memory table of the RUNNING rollouts, including their candidate
+ * configs, so a rollout adds no query to the start path. The table is rebuilt after every
+ * rollout change on this node and every runtime.flow-rollout.poll-interval-ms, which also picks
+ * up changes made on other nodes.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FlowRolloutService {
+
+    private final FlowRolloutRepository flowRolloutRepository;
+    private final FlowConfigRepository flowConfigRepository;
+    private final ConfigActivationService configActivationService;
+    private final PlatformTransactionManager transactionManager;
+    private final RuntimeMetrics runtimeMetrics;
+
+    // RUNNING rollouts by flowId. Replaced as a whole on reload, so flow starts read it without locking.
+    private volatile Map<String, List<RunningRollout>> rolloutsByFlow = Map.of();
+
+    @PostConstruct
+    void loadRollouts() {
+        reload();
+    }
+
+    @Transactional(readOnly = true)
+    public FlowRollout getRollout(Long rolloutId) {
+        return flowRolloutRepository.findById(rolloutId)
+                .orElseThrow(() -> new ConfigNotFoundException("Flow rollout not found: " + rolloutId));
+    }
+
+    @Transactional(readOnly = true)
+    public List<FlowRollout> getRecentRollouts() {
+        return flowRolloutRepository.findTop50ByOrderByRolloutIdDesc();
+    }
+
+    /**
+     * Start a rollout of a DRAFT flow config. Only one rollout may run per flow and scope.
+     */
+    @Transactional
+    public FlowRollout startRollout(FlowRolloutRequest request) {
+        FlowConfig candidate = flowConfigRepository.findById(request.getFlowConfigId())
+                .orElseThrow(() -> new ConfigNotFoundException("Flow config not found: " + request.getFlowConfigId()));
+        if (!ConfigStatus.DRAFT.name().equals(candidate.getStatus())) {
+            throw validationError("flowConfigId", "INVALID_STATUS",
+                    String.format("Cannot roll out config with status %s. Only DRAFT configs can be rolled out.",
+                            candidate.getStatus()));
+        }
+        if (request.getStartsAt() != null && request.getActivateAt() != null
+                && request.getActivateAt().isBefore(request.getStartsAt())) {
+            throw validationError("activateAt", "INVALID_SCHEDULE", "activateAt must not be before startsAt");
+        }
+        boolean scopeTaken = flowRolloutRepository.findByStatus(FlowRollout.STATUS_RUNNING).stream()
+                .anyMatch(running -> running.getFlowId().equals(candidate.getFlowId())
+                        && sameScope(running.getProductCode(), running.getPartnerCode(), running.getBranchCode(),
+                        candidate.getProductCode(), candidate.getPartnerCode(), candidate.getBranchCode()));
+        if (scopeTaken) {
+            throw validationError("flowConfigId", "ROLLOUT_EXISTS",
+                    "A rollout is already running for flow " + candidate.getFlowId() + " in this scope");
+        }
+
+        FlowRollout rollout = flowRolloutRepository.save(FlowRollout.builder()
+                .flowConfigId(candidate.getConfigId())
+                .flowId(candidate.getFlowId())
+                .productCode(candidate.getProductCode())
+                .partnerCode(candidate.getPartnerCode())
+                .branchCode(candidate.getBranchCode())
+                .percentage(request.getPercentage())
+                .startsAt(request.getStartsAt())
+                .activateAt(request.getActivateAt())
+                .status(FlowRollout.STATUS_RUNNING)
+                .createdBy(request.getCreatedBy())
+                .createdAt(LocalDateTime.now())
+                .build());
+        reloadAfterCommit();
+        log.info("Started rollout {} of flow config {} ({}) at {}%", rollout.getRolloutId(),
+                candidate.getConfigId(), candidate.getFlowId(), rollout.getPercentage());
+        return rollout;
+    }
+
+    /**
+     * Change the share of new applications that start on the candidate (e.g. 5 → 25 → 50).
+     */
+    @Transactional
+    public FlowRollout updatePercentage(Long rolloutId, int percentage) {
+        if (percentage < 0 || percentage > 100) {
+            throw validationError("percentage", "OUT_OF_RANGE", "percentage must be between 0 and 100");
+        }
+        FlowRollout rollout = requireRunning(rolloutId);
+        rollout.setPercentage(percentage);
+        reloadAfterCommit();
+        log.info("Rollout {} now at {}%", rolloutId, percentage);
+        return rollout;
+    }
+
+    /**
+     * Activate the candidate for all new applications and end the rollout.
+     */
+    @Transactional
+    public FlowRollout promote(Long rolloutId, String promotedBy) {
+        FlowRollout rollout = requireRunning(rolloutId);
+        configActivationService.activateFlowConfig(rollout.getFlowConfigId());
+        return end(rollout, FlowRollout.STATUS_PROMOTED, promotedBy);
+    }
+
+    /**
+     * Stop serving the candidate; it stays DRAFT. Applications already started on it keep it.
+     */
+    @Transactional
+    public FlowRollout cancel(Long rolloutId, String cancelledBy) {
+        return end(requireRunning(rolloutId), FlowRollout.STATUS_CANCELLED, cancelledBy);
+    }
+
+    /**
+     * Reject changes to a flow config that a running rollout serves: its canary cohort must see
+     * one fixed version.
+     */
+    public void requireNotInRollout(Long flowConfigId) {
+        boolean inRollout = rolloutsByFlow.values().stream()
+                .flatMap(List::stream)
+                .anyMatch(rollout -> rollout.candidate.getConfigId().equals(flowConfigId));
+        if (inRollout) {
+            throw validationError("configId", "ROLLOUT_IN_PROGRESS",
+                    "Flow config " + flowConfigId + " is being rolled out; promote or cancel the rollout first");
+        }
+    }
+
+    /**
+     * The candidate a new application should start on instead of the resolved ACTIVE version,
+     * or null. A running rollout applies when its scope matches the application's and is at
+     * least as specific as the ACTIVE version's (so it is what activation would make win), its
+     * start time has passed, and the rollout key hashes into its share.
+     */
+    public FlowConfig candidateFor(FlowConfig active, String productCode, String partnerCode, String branchCode,
+                                   String rolloutKey) {
+        List<RunningRollout> rollouts = rolloutsByFlow.get(active.getFlowId());
+        if (rollouts == null || rolloutKey == null) {
+            return null;
+        }
+        int activeSpecificity = specificity(active.getProductCode(), active.getPartnerCode(), active.getBranchCode());
+        LocalDateTime now = LocalDateTime.now();
+        RunningRollout applicable = null;
+        for (RunningRollout rollout : rollouts) {
+            FlowConfig candidate = rollout.candidate;
+            int candidateSpecificity = specificity(candidate.getProductCode(), candidate.getPartnerCode(),
+                    candidate.getBranchCode());
+            if (rollout.started(now) && candidateSpecificity >= activeSpecificity
+                    && matches(candidate, productCode, partnerCode, branchCode)
+                    && (applicable == null || candidateSpecificity > specificity(applicable.candidate.getProductCode(),
+                    applicable.candidate.getPartnerCode(), applicable.candidate.getBranchCode()))) {
+                applicable = rollout;
+            }
+        }
+        if (applicable == null) {
+            return null;
+        }
+        boolean canary = bucket(applicable.rolloutId, rolloutKey) < applicable.percentage * 100;
+        runtimeMetrics.recordRolloutAssignment(active.getFlowId(), applicable.rolloutId, canary);
+        return canary ? applicable.candidate : null;
+    }
+
+    /**
+     * Activate rollouts whose activateAt has passed, end rollouts whose candidate was activated or
+     * changed status elsewhere, and rebuild the in-memory table.
+     */
+    @Scheduled(fixedDelayString = "${runtime.flow-rollout.poll-interval-ms:15000}")
+    public void poll() {
+        LocalDateTime now = LocalDateTime.now();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        for (FlowRollout running : flowRolloutRepository.findByStatus(FlowRollout.STATUS_RUNNING)) {
+            try {
+                transaction.executeWithoutResult(status -> settle(running.getRolloutId(), now));
+            } catch (RuntimeException e) {
+                log.warn("Could not settle rollout {}: {}", running.getRolloutId(), e.getMessage());
+            }
+        }
+        reload();
+    }
+
+    private void settle(Long rolloutId, LocalDateTime now) {
+        FlowRollout rollout = flowRolloutRepository.findById(rolloutId).orElse(null);
+        if (rollout == null || !FlowRollout.STATUS_RUNNING.equals(rollout.getStatus())) {
+            return;
+        }
+        String candidateStatus = flowConfigRepository.findById(rollout.getFlowConfigId())
+                .map(FlowConfig::getStatus)
+                .orElse(null);
+        if (ConfigStatus.ACTIVE.name().equals(candidateStatus)) {
+            end(rollout, FlowRollout.STATUS_PROMOTED, "system");
+        } else if (!ConfigStatus.DRAFT.name().equals(candidateStatus)) {
+            end(rollout, FlowRollout.STATUS_CANCELLED, "system");
+        } else if (rollout.getActivateAt() != null && !rollout.getActivateAt().isAfter(now)) {
+            log.info("Scheduled activation of flow config {} (rollout {})", rollout.getFlowConfigId(), rolloutId);
+            configActivationService.activateFlowConfig(rollout.getFlowConfigId());
+            end(rollout, FlowRollout.STATUS_PROMOTED, "scheduler");
+        }
+    }
+
+    /**
+     * Rebuild the in-memory table from the RUNNING rollouts and their (still DRAFT) candidates.
+     */
+    void reload() {
+        List<FlowRollout> running = flowRolloutRepository.findByStatus(FlowRollout.STATUS_RUNNING);
+        Map<Long, FlowConfig> candidates = running.isEmpty() ? Map.of()
+                : flowConfigRepository.findAllById(running.stream().map(FlowRollout::getFlowConfigId).toList())
+                        .stream().collect(Collectors.toMap(FlowConfig::getConfigId, Function.identity()));
+
+        Map<String, List<RunningRollout>> table = new HashMap<>();
+        for (FlowRollout rollout : running) {
+            FlowConfig candidate = candidates.get(rollout.getFlowConfigId());
+            if (candidate != null && ConfigStatus.DRAFT.name().equals(candidate.getStatus())) {
+                table.computeIfAbsent(rollout.getFlowId(), flowId -> new ArrayList<>())
+                        .add(new RunningRollout(rollout.getRolloutId(), rollout.getPercentage(),
+                                rollout.getStartsAt(), candidate));
+            }
+        }
+        table.replaceAll((flowId, rollouts) -> List.copyOf(rollouts));
+        rolloutsByFlow = Collections.unmodifiableMap(table);
+        log.debug("Loaded {} running flow rollouts", running.size());
+    }
+
+    private FlowRollout requireRunning(Long rolloutId) {
+        FlowRollout rollout = getRollout(rolloutId);
+        if (!FlowRollout.STATUS_RUNNING.equals(rollout.getStatus())) {
+            throw validationError("rolloutId", "INVALID_STATUS",
+                    "Rollout " + rolloutId + " is " + rollout.getStatus() + ", not RUNNING");
+        }
+        return rollout;
+    }
+
+    private FlowRollout end(FlowRollout rollout, String status, String endedBy) {
+        rollout.setStatus(status);
+        rollout.setEndedBy(endedBy);
+        rollout.setEndedAt(LocalDateTime.now());
+        reloadAfterCommit();
+        log.info("Rollout {} of flow config {} {}", rollout.getRolloutId(), rollout.getFlowConfigId(),
+                status.toLowerCase());
+        return rollout;
+    }
+
+    private void reloadAfterCommit() {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                reload();
+            }
+        });
+    }
+
+    /**
+     * Deterministic bucket 0-9999 of a rollout key (FNV-1a), salted with the rollout id so
+     * successive rollouts do not always pick the same cohort.
+     */
+    static int bucket(Long rolloutId, String rolloutKey) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : (rolloutId + ":" + rolloutKey).getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return (int) Math.floorMod(hash, 10_000L);
+    }
+
+    /**
+     * Whether a config of this scope would be resolved for an application of the given scope
+     * (same precedence levels as FlowConfigRepository.findByScope).
+     */
+    private static boolean matches(FlowConfig config, String productCode, String partnerCode, String branchCode) {
+        return (config.getProductCode() == null || config.getProductCode().equals(productCode))
+                && (config.getPartnerCode() == null || config.getPartnerCode().equals(partnerCode))
+                && (config.getBranchCode() == null || config.getBranchCode().equals(branchCode));
+    }
+
+    private static int specificity(String productCode, String partnerCode, String branchCode) {
+        return (productCode != null ? 1 : 0) + (partnerCode != null ? 1 : 0) + (branchCode != null ? 1 : 0);
+    }
+
+    private static boolean sameScope(String productA, String partnerA, String branchA,
+                                     String productB, String partnerB, String branchB) {
+        return Objects.equals(productA, productB) && Objects.equals(partnerA, partnerB)
+                && Objects.equals(branchA, branchB);
+    }
+
+    private static ValidationException validationError(String fieldId, String code, String message) {
+        return new ValidationException(Collections.singletonList(
+                ValidationErrorResponse.FieldError.builder()
+                        .fieldId(fieldId)
+                        .code(code)
+                        .message(message)
+                        .build()));
+    }
+
+    private static final class RunningRollout {
+        private final Long rolloutId;
+        private final int percentage;
+        private final LocalDateTime startsAt;
+        private final FlowConfig candidate;
+
+        private RunningRollout(Long rolloutId, int percentage, LocalDateTime startsAt, FlowConfig candidate) {
+            this.rolloutId = rolloutId;
+            this.percentage = percentage;
+            this.startsAt = startsAt;
+            this.candidate = candidate;
+        }
+
+        private boolean started(LocalDateTime now) {
+            return startsAt == null || !startsAt.isAfter(now);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.los.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.los.domain.IdempotencyRecord;
+import com.los.dto.runtime.NextScreenRequest;
+import com.los.dto.runtime.NextScreenResponse;
+import com.los.dto.runtime.ValidationErrorResponse;
+import com.los.exception.ConcurrentRequestException;
+import com.los.exception.ValidationException;
+import com.los.repository.IdempotencyRecordRepository;
+import com.los.util.ETagUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Idempotency keys for the runtime next-screen API.
+ *
+ * The key is reserved, and the built response stored, inside the write transaction of the
+ * state change it guards, so a committed key always has its response. A retried or
+ * double-tapped submission with the same key is answered from the stored response instead of
+ * re-running the pipeline; one arriving while the original is uncommitted blocks on the key's
+ * insert and then fails as a conflict, to be retried against the committed response.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class IdempotencyService {
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${runtime.idempotency.retention-hours:24}")
+    private long retentionHours;
+
+    /**
+     * Hash of the request fields that determine the outcome (prefetch hints are excluded).
+     */
+    public String hashRequest(NextScreenRequest request) {
+        Map<String, Object> identity = new HashMap<>();
+        identity.put("applicationId", request.getApplicationId());
+        identity.put("resumeToken", request.getResumeToken());
+        identity.put("currentScreenId", request.getCurrentScreenId());
+        identity.put("flowId", request.getFlowId());
+        identity.put("productCode", request.getProductCode());
+        identity.put("partnerCode", request.getPartnerCode());
+        identity.put("branchCode", request.getBranchCode());
+        identity.put("formData", request.getFormData());
+        return ETagUtil.hash(identity);
+    }
+
+    /**
+     * Look up the stored response for a key.
+     *
+     * A reservation committed without a response is reclaimed: responses are written in the
+     * reserving transaction, so such a key was abandoned, and would otherwise refuse every retry
+     * until it is purged.
+     *
+     * @return the stored response, or empty if the key has not been used yet (or was reclaimed)
+     * @throws ValidationException if the key was used for a different request
+     */
+    @Transactional
+    public Optional<NextScreenResponse> findStoredResponse(String idempotencyKey, String requestHash) {
+        Optional<IdempotencyRecord> existing = idempotencyRecordRepository.findById(idempotencyKey);
+        if (existing.isEmpty()) {
+            return Optional.empty();
+        }
+
+        IdempotencyRecord record = existing.get();
+        if (!record.getRequestHash().equals(requestHash)) {
+            throw new ValidationException(List.of(ValidationErrorResponse.FieldError.builder()
+                    .fieldId("idempotencyKey")
+                    .code("IDEMPOTENCY_KEY_REUSED")
+                    .message("Idempotency key was already used for a different request")
+                    .build()));
+        }
+        if (record.getResponseBody() == null) {
+            log.warn("Reclaiming idempotency key {} reserved without a response", idempotencyKey);
+            idempotencyRecordRepository.deleteUnanswered(idempotencyKey);
+            return Optional.empty();
+        }
+
+        try {
+            log.info("Answering duplicate request for idempotency key {} from stored response", idempotencyKey);
+            return Optional.of(objectMapper.readValue(record.getResponseBody(), NextScreenResponse.class));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored response for idempotency key " + idempotencyKey + " is unreadable", e);
+        }
+    }
+
+    /**
+     * Reserve a key as part of the caller's write transaction.
+     *
+     * @throws ConcurrentRequestException if another request already reserved the key
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reserve(String idempotencyKey, Long applicationId, String requestHash) {
+        try {
+            idempotencyRecordRepository.insertReservation(idempotencyKey, applicationId, requestHash, LocalDateTime.now());
+        } catch (DataIntegrityViolationException e) {
+            throw new ConcurrentRequestException("Idempotency key " + idempotencyKey + " is already in use", e);
+        }
+    }
+
+    /**
+     * Store the response for a key reserved in the caller's write transaction.
+     *
+     * @throws IllegalStateException if the response cannot be serialized (the transaction then
+     *         rolls back rather than committing the key without a response)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void complete(String idempotencyKey, NextScreenResponse response) {
+        String body;
+        try {
+            body = objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Response for idempotency key " + idempotencyKey + " cannot be stored", e);
+        }
+        if (idempotencyRecordRepository.complete(idempotencyKey, body, LocalDateTime.now()) == 0) {
+            throw new IllegalStateException("Idempotency key " + idempotencyKey + " was not reserved");
+        }
+    }
+
+    /**
+     * Drop keys past the retention window.
+     */
+    @Scheduled(fixedDelayString = "${runtime.idempotency.purge-interval-ms:3600000}")
+    @Transactional
+    public void purgeExpired() {
+        int deleted = idempotencyRecordRepository.deleteCreatedBefore(LocalDateTime.now().minusHours(retentionHours));
+        if (deleted > 0) {
+            log.info("Purged {} expired idempotency keys", deleted);
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package com.los.service;
 
+import com.los.config.ConfigChangedEvent;
+import com.los.config.change.ConfigChangeChannel;
+import com.los.config.change.ConfigChangeNotice;
 import com.los.domain.Branch;
 import com.los.domain.Partner;
 import com.los.domain.Product;
@@ -10,21 +13,40 @@ import com.los.dto.masterdata.ProductDTO;
 import com.los.repository.BranchRepository;
 import com.los.repository.PartnerRepository;
 import com.los.repository.ProductRepository;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
  * Service for managing and retrieving master data.
  * This service provides a consolidated view of all master data (Partners, Products, Branches).
  * 
- * Data is cached for performance as master data is READ-HEAVY and WRITE-RARE.
+ * Data is cached for performance as master data is READ-HEAVY and WRITE-RARE. The masterData
+ * cache is a Caffeine cache (spring.cache.caffeine.spec: size bound and TTL, the TTL bounding
+ * how long a change made directly in the database goes unseen). It is cleared explicitly by
+ * {@link #evictMasterData}, on this node and, through the ConfigChangeChannel, on the others.
+ *
+ * Branches can be synced incrementally: the version is the latest branch UPDATED_AT (epoch
+ * millis, UTC), and {@link #getMasterDataSince} returns the branches updated after a version.
+ * Branches are deactivated (IS_ACTIVE = FALSE) rather than deleted, so removals show up too.
  */
 @Service
 @RequiredArgsConstructor
@@ -34,21 +56,42 @@ public class MasterDataService {
     private final PartnerRepository partnerRepository;
     private final ProductRepository productRepository;
     private final BranchRepository branchRepository;
+    private final CacheManager cacheManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectProvider<ConfigChangeChannel> changeChannel;
+
+    /**
+     * Change type of master data evictions on the ConfigChangeChannel (config id 0: all)
+     */
+    public static final String CHANGE_TYPE = "master-data";
+    static final String CACHE_NAME = "masterData";
+
+    // Delta responses reach back this far before sinceVersion, so branch updates committed
+    // late with an earlier UPDATED_AT are not missed (clients apply them idempotently by code)
+    @Value("${runtime.master-data.delta-overlap-ms:5000}")
+    private long deltaOverlapMs;
+
+    @PostConstruct
+    void subscribeToRemoteEvictions() {
+        changeChannel.ifAvailable(channel -> channel.subscribe(this::onRemoteChange));
+    }
 
     /**
      * Get all master data in a single consolidated response.
      * Returns only ACTIVE records, sorted by name.
      * If no data found, returns empty arrays (not null, not 404).
      * 
-     * Results are cached to improve performance.
-     * Cache is evicted only on application restart.
+     * Results are cached to improve performance, until evicted or expired.
      * 
      * @return consolidated master data response
      */
-    @Cacheable(value = "masterData", key = "'all'")
+    @Cacheable(value = CACHE_NAME, key = "'all'")
     @Transactional(readOnly = true)
     public MasterDataResponse getAllMasterData() {
         log.info("Fetching all master data from database");
+
+        // Version first: a branch changed while the lists are read is sent again next time
+        long version = branchVersion();
         
         // Fetch active partners
         List<Partner> partners = partnerRepository.findByIsActiveTrueOrderByPartnerNameAsc();
@@ -75,9 +118,99 @@ public class MasterDataService {
                 .partners(partnerDTOs.isEmpty() ? Collections.emptyList() : partnerDTOs)
                 .products(productDTOs.isEmpty() ? Collections.emptyList() : productDTOs)
                 .branches(branchDTOs.isEmpty() ? Collections.emptyList() : branchDTOs)
+                .version(version)
+                .delta(false)
                 .build();
     }
 
+    /**
+     * Master data for a client holding the given branch data version: all active partners and
+     * products, and only the branches updated since then (deactivated ones as removedBranchCodes).
+     * Empty when the version is ahead of the server's (e.g. after a database restore); the
+     * caller then sends the full response from {@link #getAllMasterData}.
+     *
+     * Only the delta for a client that is already up to date is cached: that is what polling
+     * clients ask for, and older versions would otherwise add an entry each and crowd out 'all'.
+     *
+     * @param sinceVersion Version from the client's previous response
+     * @return delta master data response, or empty if the full list should be sent
+     */
+    @Cacheable(value = CACHE_NAME, key = "'since:' + #sinceVersion",
+            unless = "#result == null || #result.version != #sinceVersion")
+    @Transactional(readOnly = true)
+    public Optional<MasterDataResponse> getMasterDataSince(long sinceVersion) {
+        long version = branchVersion();
+        if (sinceVersion > version) {
+            log.info("Master data version {} is ahead of the current {}; sending the full list", sinceVersion, version);
+            return Optional.empty();
+        }
+
+        LocalDateTime since = toDateTime(sinceVersion - deltaOverlapMs);
+        List<BranchDTO> changed = new ArrayList<>();
+        List<String> removed = new ArrayList<>();
+        for (Branch branch : branchRepository.findByUpdatedAtAfterOrderByBranchNameAsc(since)) {
+            if (Boolean.TRUE.equals(branch.getIsActive())) {
+                changed.add(mapToBranchDTO(branch));
+            } else {
+                removed.add(branch.getBranchCode());
+            }
+        }
+        log.info("Master data delta since version {}: {} changed, {} removed branches", sinceVersion,
+                changed.size(), removed.size());
+
+        return Optional.of(MasterDataResponse.builder()
+                .partners(partnerRepository.findByIsActiveTrueOrderByPartnerNameAsc().stream()
+                        .map(this::mapToPartnerDTO)
+                        .collect(Collectors.toList()))
+                .products(productRepository.findByIsActiveTrueOrderByProductNameAsc().stream()
+                        .map(this::mapToProductDTO)
+                        .collect(Collectors.toList()))
+                .branches(changed)
+                .removedBranchCodes(removed)
+                .version(version)
+                .delta(true)
+                .build());
+    }
+
+    /**
+     * Clear the master data cache here and on the other nodes, e.g. after partners, products
+     * or branches were changed in the database.
+     *
+     * @param reason What changed, for logs
+     */
+    @Transactional
+    public void evictMasterData(String reason) {
+        clearCache();
+        log.info("Master data cache evicted: {}", reason);
+        // ConfigChangeRelay writes it to the change channel before commit
+        eventPublisher.publishEvent(new ConfigChangedEvent("master data eviction: " + reason,
+                Map.of(CHANGE_TYPE, Set.of(0L))));
+    }
+
+    private void onRemoteChange(ConfigChangeNotice notice) {
+        if (notice.getConfigIdsByType().containsKey(CHANGE_TYPE)) {
+            clearCache();
+            log.info("Master data cache evicted by another node");
+        }
+    }
+
+    private void clearCache() {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    private long branchVersion() {
+        LocalDateTime latest = branchRepository.findMaxUpdatedAt();
+        return latest != null ? latest.toInstant(ZoneOffset.UTC).toEpochMilli() : 0;
+    }
+
+    private static LocalDateTime toDateTime(long version) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(version, 1000),
+                (int) Math.floorMod(version, 1000) * 1_000_000, ZoneOffset.UTC);
+    }
+
     /**
      * Map Partner entity to PartnerDTO.
      */
@@ -1,23 +1,37 @@
 package com.los.service;
 
 import com.los.domain.LoanApplication;
+import com.los.dto.runtime.ValidationErrorResponse;
 import com.los.dto.runtime.NextScreenRequest;
 import com.los.dto.runtime.NextScreenResponse;
+import com.los.dto.runtime.PrefetchedScreenConfig;
 import com.los.flow.FlowEngine;
-import com.los.mapping.FieldMappingEngine;
+import com.los.metrics.PhaseTimer;
+import com.los.metrics.RuntimeMetrics;
+import com.los.exception.ConcurrentRequestException;
+import com.los.exception.ValidationException;
 import com.los.repository.*;
+import com.los.security.ResumeTokenService;
+import com.los.util.ETagUtil;
 import com.los.service.FileUploadService;
 import com.los.validation.ValidationEngine;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
 
 /**
  * Main orchestration service for runtime API.
@@ -30,10 +44,27 @@ public class RuntimeOrchestrationService {
 
     private final LoanApplicationRepository loanApplicationRepository;
     private final ValidationEngine validationEngine;
-    private final FieldMappingEngine fieldMappingEngine;
     private final FlowEngine flowEngine;
     private final ConfigResolutionService configResolutionService;
     private final FileUploadService fileUploadService;
+    private final RuntimePersistenceService runtimePersistenceService;
+    private final ResumeTokenService resumeTokenService;
+    private final IdempotencyService idempotencyService;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+    private final RuntimeMetrics runtimeMetrics;
+
+    @Value("${runtime.prefetch.max-hops:3}")
+    private int prefetchMaxHops;
+
+    @Value("${runtime.prefetch.max-screens:6}")
+    private int prefetchMaxScreens;
+
+    @Value("${runtime.state-update.max-attempts:3}")
+    private int stateUpdateMaxAttempts;
+
+    @Value("${runtime.state-update.backoff-ms:25}")
+    private long stateUpdateBackoffMs;
 
     /**
      * Process screen submission and determine next screen.
@@ -42,61 +73,147 @@ public class RuntimeOrchestrationService {
      * Supports two modes:
      * 1. Flow Start (currentScreenId == null): Initializes flow and returns first screen
      * 2. Screen Progression (currentScreenId != null): Validates, maps, and navigates to next screen
+     * 
+     * Not transactional as a whole: config/snapshot reads, validation and flow evaluation run
+     * outside any write transaction, and only the state changes go through the short
+     * transactions in RuntimePersistenceService.
+     * 
+     * A conflicting concurrent update of the same application is retried (bounded, with jittered
+     * backoff) against fresh state. When the request carries an idempotencyKey, its response is
+     * stored in the same transaction as the state change, and a duplicate submission is answered
+     * from it instead of re-running the pipeline.
      */
-    @Transactional
     public NextScreenResponse processNextScreen(NextScreenRequest request) {
-        log.info("Processing next screen for application: {}", request.getApplicationId());
+        log.debug("Processing next screen for application: {}", request.getApplicationId());
+
+        String idempotencyKey = request.getIdempotencyKey() != null && !request.getIdempotencyKey().isBlank()
+                ? request.getIdempotencyKey() : null;
+        String requestHash = idempotencyKey != null ? idempotencyService.hashRequest(request) : null;
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                if (idempotencyKey != null) {
+                    Optional<NextScreenResponse> stored = idempotencyService.findStoredResponse(idempotencyKey, requestHash);
+                    if (stored.isPresent()) {
+                        return stored.get();
+                    }
+                }
 
-        // Branch based on flow start vs. screen progression
-        if (request.getCurrentScreenId() == null) {
-            return handleFlowStart(request);
-        } else {
-            return handleScreenProgression(request);
+                // Branch based on flow start vs. screen progression
+                return request.getCurrentScreenId() == null
+                        ? handleFlowStart(request, idempotencyKey, requestHash)
+                        : handleScreenProgression(request, idempotencyKey, requestHash);
+            } catch (OptimisticLockingFailureException | ConcurrentRequestException e) {
+                if (attempt >= stateUpdateMaxAttempts) {
+                    log.warn("Giving up after {} attempts for application {}: {}",
+                            attempt, request.getApplicationId(), e.getMessage());
+                    throw new ConcurrentRequestException(
+                            "Application was updated concurrently, please retry", e);
+                }
+                log.info("Concurrent update on attempt {} for application {}, retrying: {}",
+                        attempt, request.getApplicationId(), e.getMessage());
+                backoff(attempt);
+            }
         }
     }
 
     /**
-     * Handle flow start: Create application, snapshot flow, return first screen.
+     * Sleep before the next attempt: exponential backoff with full jitter, so colliding
+     * double-taps do not retry in lockstep.
      */
-    private NextScreenResponse handleFlowStart(NextScreenRequest request) {
-        log.info("Handling flow start for flowId={}", request.getFlowId());
-
-        // Create new application
-        LoanApplication application = LoanApplication.builder()
-                .productCode(request.getProductCode())
-                .partnerCode(request.getPartnerCode())
-                .branchCode(request.getBranchCode())
-                .status("INITIATED")
-                .build();
-        application = loanApplicationRepository.save(application);
-
-        // Get start screen from flow and create snapshot
-        String startScreenId = flowEngine.getStartScreen(application, request.getFlowId());
-        
-        // Update application with start screen
-        application.setCurrentScreenId(startScreenId);
-        loanApplicationRepository.save(application);
-
-        // Get screen config for first screen
-        Map<String, Object> screenConfig = flowEngine.getScreenConfig(application, startScreenId);
+    private void backoff(int attempt) {
+        long ceiling = stateUpdateBackoffMs << (attempt - 1);
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConcurrentRequestException("Interrupted while retrying concurrent update", e);
+        }
+    }
 
-        // Build response
-        return NextScreenResponse.builder()
-                .applicationId(application.getApplicationId())
-                .nextScreenId(startScreenId)
-                .screenConfig(screenConfig)
-                .status(application.getStatus())
-                .build();
+    /**
+     * Handle flow start: Create application, snapshot flow, return first screen.
+     * Phases (los.runtime.next_screen.phase): resolve, persist, render.
+     * 
+     * The application ID only exists once the application is saved, after the flow version is
+     * chosen, so rollout cohorts are assigned by the request's idempotencyKey (stable across
+     * retries of the same start) or, without one, a random key. The snapshot then pins the
+     * chosen version for the whole journey.
+     */
+    private NextScreenResponse handleFlowStart(NextScreenRequest request, String idempotencyKey, String requestHash) {
+        log.debug("Handling flow start for flowId={}", request.getFlowId());
+        PhaseTimer phases = new PhaseTimer();
+        long start = System.nanoTime();
+        Integer flowVersion = null;
+        String outcome = "error";
+        try {
+            // Resolve flow config and build snapshot (read-only)
+            String rolloutKey = idempotencyKey != null ? idempotencyKey : UUID.randomUUID().toString();
+            FlowEngine.PreparedFlowStart prepared = flowEngine.prepareFlowStart(request.getFlowId(),
+                    request.getProductCode(), request.getPartnerCode(), request.getBranchCode(), rolloutKey);
+            flowVersion = prepared.getFlowVersion();
+            String startScreenId = prepared.getStartScreenId();
+            phases.mark("resolve");
+
+            // Create application on the start screen together with its snapshot (write transaction)
+            NextScreenResponse response = persistAndRender(idempotencyKey, () -> {
+                LoanApplication application = runtimePersistenceService.startApplication(
+                        request.getProductCode(), request.getPartnerCode(), request.getBranchCode(), prepared,
+                        idempotencyKey, requestHash);
+                phases.mark("persist");
+
+                NextScreenResponse rendered = renderResponse(application, startScreenId, request);
+                phases.mark("render");
+                return rendered;
+            });
+            outcome = "success";
+            return response;
+        } catch (ValidationException e) {
+            outcome = "invalid";
+            throw e;
+        } catch (OptimisticLockingFailureException | ConcurrentRequestException e) {
+            outcome = "conflict";
+            throw e;
+        } finally {
+            runtimeMetrics.recordPhases("start", request.getFlowId(), null, phases);
+            runtimeMetrics.recordFlowVersionRequest("start", request.getFlowId(), flowVersion, outcome,
+                    System.nanoTime() - start);
+        }
     }
 
     /**
      * Handle screen progression: Validate, map, persist, navigate to next screen.
+     * Phases (los.runtime.next_screen.phase): resolve, validate, camera-check, navigate, map, render.
      */
-    private NextScreenResponse handleScreenProgression(NextScreenRequest request) {
-        log.info("Handling screen progression from screenId={}", request.getCurrentScreenId());
+    private NextScreenResponse handleScreenProgression(NextScreenRequest request, String idempotencyKey,
+                                                       String requestHash) {
+        log.debug("Handling screen progression from screenId={}", request.getCurrentScreenId());
+        PhaseTimer phases = new PhaseTimer();
+        long start = System.nanoTime();
+        Integer flowVersion = null;
+        String outcome = "error";
+        try {
+            // Get or create application
+            LoanApplication application = getOrCreateApplication(request);
+            flowVersion = flowEngine.getFlowVersion(application);
+            NextScreenResponse response = progressScreen(request, application, idempotencyKey, requestHash, phases);
+            outcome = "success";
+            return response;
+        } catch (ValidationException e) {
+            outcome = "invalid";
+            throw e;
+        } catch (OptimisticLockingFailureException | ConcurrentRequestException e) {
+            outcome = "conflict";
+            throw e;
+        } finally {
+            runtimeMetrics.recordPhases("progress", request.getFlowId(), request.getCurrentScreenId(), phases);
+            runtimeMetrics.recordFlowVersionRequest("progress", request.getFlowId(), flowVersion, outcome,
+                    System.nanoTime() - start);
+        }
+    }
 
-        // Get or create application
-        LoanApplication application = getOrCreateApplication(request);
+    private NextScreenResponse progressScreen(NextScreenRequest request, LoanApplication application,
+                                              String idempotencyKey, String requestHash, PhaseTimer phases) {
 
         // Handle null/empty formData (use empty map as default)
         Map<String, Object> formData = request.getFormData();
@@ -112,6 +229,7 @@ public class RuntimeOrchestrationService {
                 application.getPartnerCode(),
                 application.getBranchCode()
         );
+        phases.mark("resolve");
 
         // Step 1: Validate form data (skipped if validationConfig is null)
         // WebView fields are automatically ignored by ValidationEngine
@@ -122,74 +240,154 @@ public class RuntimeOrchestrationService {
         } else {
             log.debug("No validation config found for screen: {}. Skipping validation.", request.getCurrentScreenId());
         }
+        phases.mark("validate");
 
         // Step 1.5: Validate required camera uploads
-        validateRequiredCameraUploads(application.getApplicationId(), request.getCurrentScreenId());
+        validateRequiredCameraUploads(application, request.getCurrentScreenId());
+        phases.mark("camera-check");
 
-        // Step 2: Apply field mappings and persist
-        log.debug("Applying field mappings");
+        // Step 2: Resolve field mappings (applied together with the state update in Step 4)
         Map<String, Object> mappingConfig = configResolutionService.getFieldMappingConfig(
                 request.getCurrentScreenId(),
                 application.getProductCode(),
                 application.getPartnerCode(),
                 application.getBranchCode()
         );
-        fieldMappingEngine.applyMappings(application.getApplicationId(), formData, mappingConfig);
+        phases.mark("resolve");
 
-        // Step 3: Determine next screen
-        log.info("Determining next screen for application={}, currentScreenId={}, formData keys={}", 
+        // Legacy applications without a snapshot get one first (short write transaction)
+        if (application.getFlowSnapshotId() == null) {
+            application = runtimePersistenceService.createLegacySnapshot(application, request.getFlowId());
+        }
+
+        // Step 3: Determine next screen (pure evaluation against the snapshot)
+        log.debug("Determining next screen for application={}, currentScreenId={}, formData keys={}", 
                 application.getApplicationId(), request.getCurrentScreenId(), 
                 formData != null ? formData.keySet() : "null");
-        // Pass flowId to getNextScreen so it can create snapshot if needed
         String nextScreenId = flowEngine.getNextScreen(application, request.getCurrentScreenId(), formData, request.getFlowId());
-        log.info("Next screen determined: {} (from currentScreen: {})", nextScreenId, request.getCurrentScreenId());
-
-        // Update application status
-        if (nextScreenId != null) {
-            application.setCurrentScreenId(nextScreenId);
-            application.setStatus("IN_PROGRESS");
-            log.info("Updated application {}: currentScreenId={}, status=IN_PROGRESS", 
-                    application.getApplicationId(), nextScreenId);
-        } else {
-            // End of flow
-            application.setStatus("COMPLETED");
-            log.info("Flow ended for application {}. Status set to COMPLETED", application.getApplicationId());
+        log.debug("Next screen determined: {} (from currentScreen: {})", nextScreenId, request.getCurrentScreenId());
+        phases.mark("navigate");
+
+        // Step 4: Record submission, apply mappings and update application state (write transaction)
+        // Step 5: Render the next screen
+        log.debug("Applying field mappings");
+        LoanApplication evaluated = application;
+        Map<String, Object> submitted = formData;
+        NextScreenResponse response = persistAndRender(idempotencyKey, () -> {
+            LoanApplication updated = runtimePersistenceService.recordProgress(
+                    evaluated, request.getCurrentScreenId(), submitted, mappingConfig, nextScreenId,
+                    idempotencyKey, requestHash);
+            phases.mark("map");
+
+            NextScreenResponse rendered = renderResponse(updated, nextScreenId, request);
+            phases.mark("render");
+            return rendered;
+        });
+
+        log.debug("Returning response: applicationId={}, nextScreenId={}, status={}", 
+                response.getApplicationId(), response.getNextScreenId(), response.getStatus());
+        
+        return response;
+    }
+
+    /**
+     * Run the state change and render its response in one transaction when the request carries
+     * an idempotency key, storing the response with the key's reservation: a key is then never
+     * committed without its response, whatever fails afterwards. Without a key the state change
+     * keeps its own short transaction and rendering runs outside it.
+     */
+    private NextScreenResponse persistAndRender(String idempotencyKey, Supplier<NextScreenResponse> persist) {
+        if (idempotencyKey == null) {
+            return persist.get();
         }
-        loanApplicationRepository.save(application);
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            NextScreenResponse response = persist.get();
+            idempotencyService.complete(idempotencyKey, response);
+            return response;
+        });
+    }
 
-        // Step 4: Get next screen config
+    /**
+     * Response for the screen the application is now on (no screen config at the end of the flow).
+     */
+    private NextScreenResponse renderResponse(LoanApplication application, String screenId, NextScreenRequest request) {
         Map<String, Object> screenConfig = null;
-        if (nextScreenId != null) {
-            log.info("Getting screen config for nextScreenId: {}", nextScreenId);
-            screenConfig = flowEngine.getScreenConfig(application, nextScreenId);
-            log.info("Retrieved screen config for {}: screenId={}", 
-                    nextScreenId, screenConfig != null ? screenConfig.get("screenId") : "null");
+        if (screenId != null) {
+            log.debug("Getting screen config for screenId: {}", screenId);
+            screenConfig = flowEngine.getScreenConfig(application, screenId);
         }
 
-        // Build response
-        NextScreenResponse response = NextScreenResponse.builder()
+        return NextScreenResponse.builder()
                 .applicationId(application.getApplicationId())
-                .nextScreenId(nextScreenId)
+                .nextScreenId(screenId)
                 .screenConfig(screenConfig)
+                .screenConfigETag(ETagUtil.compute(screenConfig))
                 .status(application.getStatus())
+                .resumeToken(resumeTokenService.issue(application.getApplicationId(), application.getFlowSnapshotId()))
+                .prefetchedScreens(prefetchUpcomingScreens(application, screenId, request))
                 .build();
-        
-        log.info("Returning response: applicationId={}, nextScreenId={}, status={}", 
-                response.getApplicationId(), response.getNextScreenId(), response.getStatus());
-        
-        return response;
+    }
+
+    /**
+     * Collect screen configs for screens statically reachable from the screen being returned,
+     * so the client can render the following screens without another round trip.
+     * Screens whose ETag the client already holds are returned without a config body.
+     * 
+     * @return prefetched configs, or null when prefetching was not requested
+     */
+    private List<PrefetchedScreenConfig> prefetchUpcomingScreens(LoanApplication application, String fromScreenId,
+                                                                 NextScreenRequest request) {
+        if (fromScreenId == null || request.getPrefetchHops() == null || request.getPrefetchHops() <= 0) {
+            return null;
+        }
+
+        int hops = Math.min(request.getPrefetchHops(), prefetchMaxHops);
+        Map<String, String> knownETags = request.getKnownScreenETags() != null
+                ? request.getKnownScreenETags() : Map.of();
+
+        List<PrefetchedScreenConfig> prefetched = new ArrayList<>();
+        for (String screenId : flowEngine.getUpcomingScreenIds(application, fromScreenId, hops, prefetchMaxScreens)) {
+            Map<String, Object> config;
+            try {
+                config = flowEngine.getScreenConfig(application, screenId);
+            } catch (RuntimeException e) {
+                // Prefetch is best-effort; the screen is resolved again when actually navigated to
+                log.debug("Skipping prefetch for screen {}: {}", screenId, e.getMessage());
+                continue;
+            }
+
+            String etag = ETagUtil.compute(config);
+            boolean notModified = ETagUtil.matches(knownETags.get(screenId), etag);
+            prefetched.add(PrefetchedScreenConfig.builder()
+                    .screenId(screenId)
+                    .etag(etag)
+                    .screenConfig(notModified ? null : config)
+                    .notModified(notModified)
+                    .build());
+        }
+
+        log.debug("Prefetched {} upcoming screens from {} for application {}",
+                prefetched.size(), fromScreenId, application.getApplicationId());
+        return prefetched;
     }
 
     /**
      * Get existing application or create new one.
      * 
-     * When applicationId is null (e.g., first screen submission after flow start),
-     * attempts to find the application created during flow start by matching:
-     * - productCode, partnerCode, branchCode, and currentScreenId
+     * Resolution order:
+     * 1. Explicit applicationId
+     * 2. Signed resumeToken (issued by every next-screen response) - no lookup query needed
+     * 3. Legacy fallback: latest application matching productCode, partnerCode, branchCode
+     *    and currentScreenId. Kept only until clients send resumeToken; usage is counted
+     *    in the los.runtime.application.legacy_lookup metric.
      * 
-     * If not found, creates a new application (fallback for edge cases).
+     * If nothing is found, creates a new application (fallback for edge cases).
      */
     private LoanApplication getOrCreateApplication(NextScreenRequest request) {
+        if (request.getResumeToken() != null && !request.getResumeToken().isBlank()) {
+            return resolveFromResumeToken(request);
+        }
+
         if (request.getApplicationId() != null) {
             return loanApplicationRepository.findById(request.getApplicationId())
                     .orElseThrow(() -> new RuntimeException("Application not found: " + request.getApplicationId()));
@@ -216,6 +414,9 @@ public class RuntimeOrchestrationService {
             );
         }
         
+        meterRegistry.counter("los.runtime.application.legacy_lookup",
+                "outcome", existingApplication.isPresent() ? "found" : "created").increment();
+
         if (existingApplication.isPresent()) {
             LoanApplication app = existingApplication.get();
             log.info("Found existing application ID={} for first screen submission (productCode={}, partnerCode={}, currentScreenId={})",
@@ -239,18 +440,52 @@ public class RuntimeOrchestrationService {
         return loanApplicationRepository.save(application);
     }
 
+    /**
+     * Resolve the application from a signed resume token.
+     * The token is verified in memory; the only query is the primary-key load of the application itself.
+     */
+    private LoanApplication resolveFromResumeToken(NextScreenRequest request) {
+        ResumeTokenService.ResumeToken token = resumeTokenService.verify(request.getResumeToken())
+                .orElseThrow(() -> invalidResumeToken("Resume token is invalid, expired or has been tampered with"));
+
+        if (request.getApplicationId() != null && !request.getApplicationId().equals(token.getApplicationId())) {
+            throw invalidResumeToken("Resume token does not belong to application " + request.getApplicationId());
+        }
+
+        LoanApplication application = loanApplicationRepository.findById(token.getApplicationId())
+                .orElseThrow(() -> new RuntimeException("Application not found: " + token.getApplicationId()));
+
+        // A token minted for an earlier snapshot must not be replayed against a re-snapshotted application
+        if (token.getSnapshotId() != null && application.getFlowSnapshotId() != null
+                && !token.getSnapshotId().equals(application.getFlowSnapshotId())) {
+            throw invalidResumeToken("Resume token refers to a different flow snapshot");
+        }
+
+        log.debug("Resolved application {} from resume token", application.getApplicationId());
+        return application;
+    }
+
+    private ValidationException invalidResumeToken(String message) {
+        return new ValidationException(List.of(ValidationErrorResponse.FieldError.builder()
+                .fieldId("resumeToken")
+                .code("INVALID_RESUME_TOKEN")
+                .message(message)
+                .build()));
+    }
+
     /**
      * Validate that required camera fields are uploaded.
      * Backend MUST re-check - do NOT trust frontend flags.
      */
     @SuppressWarnings("unchecked")
-    private void validateRequiredCameraUploads(Long applicationId, String screenId) {
+    private void validateRequiredCameraUploads(LoanApplication application, String screenId) {
+        Long applicationId = application.getApplicationId();
         log.debug("Validating required camera uploads for applicationId={}, screenId={}", 
                 applicationId, screenId);
 
-        // Get screen config to find camera fields
+        // Get screen config to find camera fields (in the application's scope, like validation)
         Map<String, Object> screenConfig = configResolutionService.getScreenConfig(
-                screenId, null, null, null);
+                screenId, application.getProductCode(), application.getPartnerCode(), application.getBranchCode());
 
         if (screenConfig == null) {
             log.warn("Screen config not found for screenId={}. Skipping camera validation.", screenId);
@@ -297,7 +532,7 @@ public class RuntimeOrchestrationService {
                 throw new RuntimeException("Required camera uploads are missing. Cannot proceed.");
             }
             
-            log.info("All required camera fields uploaded: applicationId={}, screenId={}, fields={}", 
+            log.debug("All required camera fields uploaded: applicationId={}, screenId={}, fields={}", 
                     applicationId, screenId, requiredCameraFields);
         } else {
             log.debug("No required camera fields found for screenId={}", screenId);
@@ -0,0 +1,136 @@
+package com.los.service;
+
+import com.los.domain.LoanApplication;
+import com.los.flow.FlowEngine;
+import com.los.mapping.FieldMappingEngine;
+import com.los.repository.LoanApplicationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Write side of the runtime API.
+ *
+ * RuntimeOrchestrationService resolves configs, validates and evaluates the flow without a
+ * transaction; only the state changes below run in (short) write transactions, so a DB
+ * connection is held for the inserts/updates and not for the CPU-bound phases.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RuntimePersistenceService {
+
+    private final LoanApplicationRepository loanApplicationRepository;
+    private final FieldMappingEngine fieldMappingEngine;
+    private final FlowEngine flowEngine;
+    private final ScreenSubmissionService screenSubmissionService;
+    private final IdempotencyService idempotencyService;
+
+    /**
+     * Create a new application positioned on the start screen, with its prepared flow snapshot.
+     * 
+     * @param idempotencyKey Optional key to reserve in the same transaction (null if none)
+     */
+    @Transactional
+    public LoanApplication startApplication(String productCode, String partnerCode, String branchCode,
+                                            FlowEngine.PreparedFlowStart prepared,
+                                            String idempotencyKey, String requestHash) {
+        LoanApplication application = LoanApplication.builder()
+                .productCode(productCode)
+                .partnerCode(partnerCode)
+                .branchCode(branchCode)
+                .status("INITIATED")
+                .currentScreenId(prepared.getStartScreenId())
+                .build();
+        application = loanApplicationRepository.save(application);
+
+        if (idempotencyKey != null) {
+            idempotencyService.reserve(idempotencyKey, application.getApplicationId(), requestHash);
+        }
+
+        flowEngine.persistSnapshot(application, prepared);
+        return loanApplicationRepository.save(application);
+    }
+
+    /**
+     * Create a flow snapshot for an application that does not have one yet (legacy path).
+     */
+    @Transactional
+    public LoanApplication createLegacySnapshot(LoanApplication application, String flowId) {
+        LoanApplication managed = loadForUpdate(application);
+        flowEngine.ensureSnapshot(managed, flowId);
+        return loanApplicationRepository.save(managed);
+    }
+
+    /**
+     * Record a validated screen submission: append the raw submission, apply field mappings
+     * and move the application to the next screen (or complete it when nextScreenId is null).
+     * 
+     * The application row is written once, by a conditional UPDATE on the version read at the
+     * start of the request (the next screen was evaluated against that state).
+     * 
+     * @param application The application as read at the start of the request; updated in place
+     * @param idempotencyKey Optional key to reserve in the same transaction (null if none)
+     * @return The updated application
+     * @throws ObjectOptimisticLockingFailureException if the application changed since it was read
+     */
+    @Transactional
+    public LoanApplication recordProgress(LoanApplication application, String currentScreenId,
+                                          Map<String, Object> formData, Map<String, Object> mappingConfig,
+                                          String nextScreenId, String idempotencyKey, String requestHash) {
+        Long applicationId = application.getApplicationId();
+
+        // Reserve first so a concurrent duplicate fails before writing anything else
+        if (idempotencyKey != null) {
+            idempotencyService.reserve(idempotencyKey, applicationId, requestHash);
+        }
+
+        screenSubmissionService.append(applicationId, currentScreenId, formData);
+
+        // Applicant/Business rows are saved; LoanApplication targets are applied to the instance
+        fieldMappingEngine.applyMappings(application, formData, mappingConfig);
+
+        String status;
+        String targetScreenId;
+        if (nextScreenId != null) {
+            status = "IN_PROGRESS";
+            targetScreenId = nextScreenId;
+        } else {
+            // End of flow
+            status = "COMPLETED";
+            targetScreenId = application.getCurrentScreenId();
+        }
+
+        int updated = loanApplicationRepository.transitionState(
+                applicationId, application.getVersion(), targetScreenId, status, LocalDateTime.now());
+        if (updated == 0) {
+            log.warn("Application {} was modified concurrently (expected version {})", applicationId, application.getVersion());
+            throw new ObjectOptimisticLockingFailureException(LoanApplication.class, applicationId);
+        }
+
+        application.setCurrentScreenId(targetScreenId);
+        application.setStatus(status);
+        application.setVersion(application.getVersion() + 1);
+        log.info("Updated application {}: currentScreenId={}, status={}", applicationId, targetScreenId, status);
+        return application;
+    }
+
+    /**
+     * Re-load the application inside the current transaction and make sure nobody else moved it
+     * on since it was read (the next screen was evaluated against that state).
+     */
+    private LoanApplication loadForUpdate(LoanApplication application) {
+        LoanApplication managed = loanApplicationRepository.findById(application.getApplicationId())
+                .orElseThrow(() -> new RuntimeException("Application not found: " + application.getApplicationId()));
+        if (!Objects.equals(managed.getVersion(), application.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(LoanApplication.class, application.getApplicationId());
+        }
+        return managed;
+    }
+}
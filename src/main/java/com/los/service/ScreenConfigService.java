@@ -1,5 +1,7 @@
 package com.los.service;
 
+import com.los.config.ConfigChangedEvent;
+import com.los.config.ConfigStatus;
 import com.los.config.entity.ScreenConfig;
 import com.los.dto.config.ScreenConfigDto;
 import com.los.exception.ConfigNotFoundException;
@@ -7,6 +9,7 @@ import com.los.repository.ScreenConfigRepository;
 import com.los.util.ConfigStatusValidator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -14,6 +17,7 @@ import java.util.List;
 
 /**
  * Service for managing screen configurations.
+ * Creating, updating or deleting an ACTIVE config publishes a ConfigChangedEvent.
  */
 @Service
 @RequiredArgsConstructor
@@ -21,9 +25,17 @@ import java.util.List;
 public class ScreenConfigService {
 
     private final ScreenConfigRepository screenConfigRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public List<ScreenConfig> getAllConfigs() {
-        return screenConfigRepository.findAll();
+    /**
+     * All screen configs, filtered in the database on the derived search columns when a
+     * screen type or referenced field id is given.
+     */
+    public List<ScreenConfig> getAllConfigs(String screenType, String fieldId) {
+        if (screenType == null && fieldId == null) {
+            return screenConfigRepository.findAll();
+        }
+        return screenConfigRepository.findByFilters(screenType, fieldId);
     }
 
     public ScreenConfig getConfigById(Long configId) {
@@ -48,12 +60,17 @@ public class ScreenConfigService {
                 .build();
 
         log.debug("Creating screen config with status: {}", status);
-        return screenConfigRepository.save(config);
+        ScreenConfig created = screenConfigRepository.save(config);
+        if (ConfigStatus.isRuntimeUsable(status)) {
+            eventPublisher.publishEvent(ConfigChangedEvent.single("screen", created.getConfigId(), "creation"));
+        }
+        return created;
     }
 
     @Transactional
     public ScreenConfig updateConfig(Long configId, ScreenConfigDto dto) {
         ScreenConfig config = getConfigById(configId);
+        boolean wasActive = ConfigStatus.isRuntimeUsable(config.getStatus());
         
         // Validate status if provided
         String status = ConfigStatusValidator.validateIfProvided(dto.getStatus());
@@ -65,7 +82,11 @@ public class ScreenConfigService {
         config.setUpdatedBy(dto.getUpdatedBy());
 
         log.debug("Updating screen config {} with status: {}", configId, config.getStatus());
-        return screenConfigRepository.save(config);
+        ScreenConfig updated = screenConfigRepository.save(config);
+        if (wasActive || ConfigStatus.isRuntimeUsable(updated.getStatus())) {
+            eventPublisher.publishEvent(ConfigChangedEvent.single("screen", configId, "update"));
+        }
+        return updated;
     }
 
     @Transactional
@@ -88,10 +109,11 @@ public class ScreenConfigService {
 
     @Transactional
     public void deleteConfig(Long configId) {
-        if (!screenConfigRepository.existsById(configId)) {
-            throw new ConfigNotFoundException("Screen config not found: " + configId);
+        ScreenConfig config = getConfigById(configId);
+        screenConfigRepository.delete(config);
+        if (ConfigStatus.isRuntimeUsable(config.getStatus())) {
+            eventPublisher.publishEvent(ConfigChangedEvent.single("screen", configId, "deletion"));
         }
-        screenConfigRepository.deleteById(configId);
     }
 }
 
@@ -0,0 +1,109 @@
+package com.los.service;
+
+import com.los.domain.ScreenSubmission;
+import com.los.dto.runtime.ScreenSubmissionRecord;
+import com.los.exception.ConcurrentRequestException;
+import com.los.repository.ScreenSubmissionRepository;
+import com.los.service.submission.SubmissionPayloadCodec;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Append-only log of raw screen submissions.
+ *
+ * Every screen progression records the formData exactly as submitted, keyed by
+ * (applicationId, screenId, seq), so unmapped fields survive for replays,
+ * re-mapping and analytics. Writes are a single INSERT in the caller's transaction.
+ * Two concurrent submissions for the same screen can read the same max seq; the loser
+ * hits the unique index and surfaces as a ConcurrentRequestException, which the runtime
+ * retry loop handles by re-running the request (and reading a fresh seq).
+ */
+@Service
+@Slf4j
+public class ScreenSubmissionService {
+
+    private final ScreenSubmissionRepository screenSubmissionRepository;
+    private final EntityManager entityManager;
+    private final SubmissionPayloadCodec codec;
+    private final boolean enabled;
+
+    public ScreenSubmissionService(ScreenSubmissionRepository screenSubmissionRepository,
+                                   EntityManager entityManager,
+                                   @Value("${runtime.submission-log.enabled:true}") boolean enabled,
+                                   @Value("${runtime.submission-log.compression.enabled:true}") boolean compressionEnabled,
+                                   @Value("${runtime.submission-log.compression.threshold-bytes:1024}") int compressionThresholdBytes) {
+        this.screenSubmissionRepository = screenSubmissionRepository;
+        this.entityManager = entityManager;
+        this.enabled = enabled;
+        this.codec = new SubmissionPayloadCodec(compressionEnabled, compressionThresholdBytes);
+    }
+
+    /**
+     * Append a submission to the log. Joins the caller's transaction.
+     *
+     * @return the stored seq for this application + screen, or null when the log is disabled
+     * @throws ConcurrentRequestException if a concurrent submission took the same seq
+     */
+    @Transactional
+    public Integer append(Long applicationId, String screenId, Map<String, Object> formData) {
+        if (!enabled) {
+            return null;
+        }
+
+        SubmissionPayloadCodec.EncodedPayload encoded = codec.encode(formData);
+        int seq = screenSubmissionRepository.findMaxSeq(applicationId, screenId) + 1;
+
+        ScreenSubmission submission = ScreenSubmission.builder()
+                .applicationId(applicationId)
+                .screenId(screenId)
+                .seq(seq)
+                .encoding(encoded.getEncoding())
+                .payload(encoded.getBytes())
+                .payloadSize(encoded.getUncompressedSize())
+                .build();
+        try {
+            // Flush now so a seq collision is reported here rather than at commit
+            screenSubmissionRepository.saveAndFlush(submission);
+        } catch (DataIntegrityViolationException e) {
+            throw new ConcurrentRequestException("Submission seq " + seq + " for application " + applicationId
+                    + ", screen " + screenId + " was taken by a concurrent request", e);
+        }
+
+        log.debug("Recorded submission seq={} for application={}, screenId={} ({} bytes, {})",
+                seq, applicationId, screenId, encoded.getBytes().length, encoded.getEncoding());
+        return seq;
+    }
+
+    /**
+     * Iterate an application's submission history in submission order.
+     * Rows are streamed and detached one at a time, so memory stays flat for long histories.
+     */
+    @Transactional(readOnly = true)
+    public void forEachSubmission(Long applicationId, Consumer<ScreenSubmissionRecord> consumer) {
+        try (Stream<ScreenSubmission> submissions = screenSubmissionRepository.streamByApplicationId(applicationId)) {
+            submissions.forEach(submission -> {
+                consumer.accept(toRecord(submission));
+                entityManager.detach(submission);
+            });
+        }
+    }
+
+    private ScreenSubmissionRecord toRecord(ScreenSubmission submission) {
+        return ScreenSubmissionRecord.builder()
+                .submissionId(submission.getSubmissionId())
+                .applicationId(submission.getApplicationId())
+                .screenId(submission.getScreenId())
+                .seq(submission.getSeq())
+                .submittedAt(submission.getSubmittedAt())
+                .formData(codec.decode(submission.getEncoding(), submission.getPayload()))
+                .build();
+    }
+}
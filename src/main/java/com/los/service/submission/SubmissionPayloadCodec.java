@@ -0,0 +1,92 @@
+package com.los.service.submission;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encodes raw formData for the screen submission log.
+ *
+ * Payloads are written as Smile (binary JSON) and optionally GZIP-compressed
+ * once they reach the configured threshold. The encoding is stored next to the
+ * payload so the threshold can change without breaking existing rows.
+ */
+public class SubmissionPayloadCodec {
+
+    public static final String ENCODING_SMILE = "SMILE";
+    public static final String ENCODING_SMILE_GZIP = "SMILE_GZIP";
+
+    private static final ObjectMapper SMILE_MAPPER = new ObjectMapper(new SmileFactory());
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {};
+
+    private final boolean compressionEnabled;
+    private final int compressionThresholdBytes;
+
+    public SubmissionPayloadCodec(boolean compressionEnabled, int compressionThresholdBytes) {
+        this.compressionEnabled = compressionEnabled;
+        this.compressionThresholdBytes = compressionThresholdBytes;
+    }
+
+    /**
+     * Encode formData. Never returns null; an empty map encodes to a small Smile document.
+     */
+    public EncodedPayload encode(Map<String, Object> formData) {
+        try {
+            byte[] smile = SMILE_MAPPER.writeValueAsBytes(formData != null ? formData : Map.of());
+            if (compressionEnabled && smile.length >= compressionThresholdBytes) {
+                return new EncodedPayload(ENCODING_SMILE_GZIP, gzip(smile), smile.length);
+            }
+            return new EncodedPayload(ENCODING_SMILE, smile, smile.length);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Error encoding submission payload", e);
+        }
+    }
+
+    /**
+     * Decode a stored payload back to formData.
+     */
+    public Map<String, Object> decode(String encoding, byte[] payload) {
+        try {
+            if (ENCODING_SMILE_GZIP.equals(encoding)) {
+                try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(payload))) {
+                    return SMILE_MAPPER.readValue(in, MAP_TYPE);
+                }
+            }
+            if (ENCODING_SMILE.equals(encoding)) {
+                return SMILE_MAPPER.readValue(payload, MAP_TYPE);
+            }
+            throw new IllegalArgumentException("Unknown submission payload encoding: " + encoding);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Error decoding submission payload", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 2 + 32);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Encoded payload plus the metadata stored alongside it.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class EncodedPayload {
+        private final String encoding;
+        private final byte[] bytes;
+        private final int uncompressedSize;
+    }
+}
@@ -0,0 +1,85 @@
+package com.los.util;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Thread-local accumulator for database usage of the current request.
+ * Fed by ConnectionTrackingDataSource, read and reset by DbUsageFilter.
+ */
+public class DbUsageHolder {
+
+    private static final ThreadLocal<Usage> usage = new ThreadLocal<>();
+
+    public static void start() {
+        usage.set(new Usage());
+    }
+
+    /**
+     * Usage of the current request, or null when called outside a tracked request.
+     */
+    public static Usage get() {
+        return usage.get();
+    }
+
+    public static void clear() {
+        usage.remove();
+    }
+
+    /**
+     * Mutable per-request counters. Only touched by the request thread.
+     */
+    public static class Usage {
+        private long connectionHoldNanos;
+        private int connectionCount;
+        private int statementCount;
+        private int executionCount;
+        private long executionNanos;
+        private final Map<String, Integer> executionsBySql = new HashMap<>();
+
+        public void recordConnection(long holdNanos) {
+            connectionHoldNanos += holdNanos;
+            connectionCount++;
+        }
+
+        public void recordStatement() {
+            statementCount++;
+        }
+
+        public void recordExecution(String sql, long elapsedNanos) {
+            executionCount++;
+            executionNanos += elapsedNanos;
+            if (sql != null) {
+                executionsBySql.merge(sql, 1, Integer::sum);
+            }
+        }
+
+        public long getConnectionHoldNanos() {
+            return connectionHoldNanos;
+        }
+
+        public int getConnectionCount() {
+            return connectionCount;
+        }
+
+        public int getStatementCount() {
+            return statementCount;
+        }
+
+        public int getExecutionCount() {
+            return executionCount;
+        }
+
+        public long getExecutionNanos() {
+            return executionNanos;
+        }
+
+        /**
+         * Executions per distinct SQL string (same SQL with different parameters counts as one).
+         */
+        public Map<String, Integer> getExecutionsBySql() {
+            return Collections.unmodifiableMap(executionsBySql);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.los.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Utility class for computing strong ETags and content hashes over JSON-shaped data.
+ */
+@Slf4j
+public class ETagUtil {
+
+    // Sorted keys so logically equal maps always hash the same, regardless of HashMap order
+    private static final ObjectMapper canonicalMapper = new ObjectMapper()
+            .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+
+    private ETagUtil() {
+        // Utility class
+    }
+
+    /**
+     * Compute a quoted strong ETag (e.g. {@code "3f2a..."}) for the given value.
+     * Returns null if the value is null.
+     */
+    public static String compute(Object value) {
+        String hash = hash(value);
+        return hash != null ? "\"" + hash + "\"" : null;
+    }
+
+    /**
+     * Content hash (32 hex chars) of the canonical JSON form of the given value.
+     * Returns null if the value is null.
+     */
+    public static String hash(Object value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            byte[] json = canonicalMapper.writeValueAsBytes(value);
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            // 128 bits is plenty for cache validation
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (JsonProcessingException e) {
+            log.error("Error serializing value for hashing", e);
+            throw new IllegalArgumentException("Error computing content hash", e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Check whether a client-supplied ETag (quoted or bare, optionally weak) matches.
+     */
+    public static boolean matches(String clientETag, String currentETag) {
+        if (clientETag == null || currentETag == null) {
+            return false;
+        }
+        return normalize(clientETag).equals(normalize(currentETag));
+    }
+
+    private static String normalize(String etag) {
+        String value = etag.trim();
+        if (value.startsWith("W/")) {
+            value = value.substring(2);
+        }
+        if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+            value = value.substring(1, value.length() - 1);
+        }
+        return value;
+    }
+}
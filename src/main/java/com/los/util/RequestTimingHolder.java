@@ -0,0 +1,67 @@
+package com.los.util;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Thread-local accumulator for named timings of the current request (runtime phases,
+ * snapshot loads, QR decode, upload writes). Fed through RuntimeMetrics and FlowEngine,
+ * read and reset by RequestTimingFilter.
+ */
+public class RequestTimingHolder {
+
+    private static final ThreadLocal<Timings> timings = new ThreadLocal<>();
+
+    public static Timings start() {
+        Timings current = new Timings(System.nanoTime());
+        timings.set(current);
+        return current;
+    }
+
+    /**
+     * Timings of the current request, or null when called outside a tracked request.
+     */
+    public static Timings get() {
+        return timings.get();
+    }
+
+    /**
+     * Add a timing to the current request; no-op outside a tracked request.
+     */
+    public static void record(String name, long elapsedNanos) {
+        Timings current = timings.get();
+        if (current != null) {
+            current.record(name, elapsedNanos);
+        }
+    }
+
+    public static void clear() {
+        timings.remove();
+    }
+
+    /**
+     * Mutable per-request timings, in the order first recorded. Recording the same name twice
+     * adds up. Only touched by the request thread.
+     */
+    public static class Timings {
+        private final long startNanos;
+        private final Map<String, Long> elapsedNanos = new LinkedHashMap<>();
+
+        Timings(long startNanos) {
+            this.startNanos = startNanos;
+        }
+
+        public void record(String name, long nanos) {
+            elapsedNanos.merge(name, nanos, Long::sum);
+        }
+
+        public long getStartNanos() {
+            return startNanos;
+        }
+
+        public Map<String, Long> getElapsedNanos() {
+            return Collections.unmodifiableMap(elapsedNanos);
+        }
+    }
+}
@@ -3,6 +3,8 @@ package com.los.validation;
 import com.los.dto.runtime.ValidationErrorResponse;
 import com.los.exception.ValidationException;
 import com.los.service.ConfigResolutionService;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
@@ -13,6 +15,7 @@ import java.util.Map;
 
 /**
  * Core validation engine that executes validation rules.
+ * Each validation runs in a los.validation observation (span + timer, outcome valid/invalid).
  */
 @Component
 @RequiredArgsConstructor
@@ -21,6 +24,7 @@ public class ValidationEngine {
 
     private final List<ValidationRule> validationRules;
     private final ConfigResolutionService configResolutionService;
+    private final ObservationRegistry observationRegistry;
 
     /**
      * Validates form data against validation configuration.
@@ -48,9 +52,29 @@ public class ValidationEngine {
      * @param branchCode Branch code (for resolving screen config)
      * @throws ValidationException if validation fails
      */
-    @SuppressWarnings("unchecked")
     public void validate(Map<String, Object> formData, Map<String, Object> validationConfig,
                         String screenId, String productCode, String partnerCode, String branchCode) {
+        Observation observation = Observation.createNotStarted("los.validation", observationRegistry)
+                .highCardinalityKeyValue("screen.id", String.valueOf(screenId))
+                .start();
+        try (Observation.Scope scope = observation.openScope()) {
+            doValidate(formData, validationConfig, screenId, productCode, partnerCode, branchCode);
+            observation.lowCardinalityKeyValue("outcome", "valid");
+        } catch (ValidationException e) {
+            // Invalid input is an expected outcome, not a span error
+            observation.lowCardinalityKeyValue("outcome", "invalid");
+            throw e;
+        } catch (RuntimeException e) {
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.stop();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void doValidate(Map<String, Object> formData, Map<String, Object> validationConfig,
+                            String screenId, String productCode, String partnerCode, String branchCode) {
         // Skip validation if config is null or empty
         if (validationConfig == null || validationConfig.isEmpty()) {
             log.debug("Validation config is null or empty. Skipping validation.");
@@ -5,14 +5,30 @@ import com.los.validation.ValidationRule;
 import org.springframework.stereotype.Component;
 
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 
 /**
  * Validates field value against a regex pattern.
+ * Patterns are compiled once and kept (up to MAX_CACHED_PATTERNS distinct ones); the startup
+ * warm-up precompiles those of all ACTIVE validation configs.
  */
 @Component
 public class RegexValidationRule implements ValidationRule {
 
+    static final int MAX_CACHED_PATTERNS = 1000;
+
+    private final Map<String, Pattern> compiledPatterns = new ConcurrentHashMap<>();
+
+    /**
+     * Compile a config pattern ahead of its first use.
+     *
+     * @throws java.util.regex.PatternSyntaxException if the pattern is invalid
+     */
+    public void precompile(String pattern) {
+        compile(pattern);
+    }
+
     @Override
     public boolean isApplicable(Map<String, Object> fieldRules) {
         return fieldRules.containsKey("pattern");
@@ -27,11 +43,21 @@ public class RegexValidationRule implements ValidationRule {
         String pattern = (String) fieldRules.get("pattern");
         String errorMessage = (String) fieldRules.getOrDefault("patternMessage", "Invalid format");
 
-        if (!Pattern.matches(pattern, fieldValue.toString())) {
+        if (!compile(pattern).matcher(fieldValue.toString()).matches()) {
             return ValidationResult.failure("INVALID_FORMAT", errorMessage);
         }
 
         return ValidationResult.success();
     }
-}
 
+    private Pattern compile(String pattern) {
+        Pattern compiled = compiledPatterns.get(pattern);
+        if (compiled == null) {
+            compiled = Pattern.compile(pattern);
+            if (compiledPatterns.size() < MAX_CACHED_PATTERNS) {
+                compiledPatterns.putIfAbsent(pattern, compiled);
+            }
+        }
+        return compiled;
+    }
+}
@@ -0,0 +1,8 @@
+-- Composite index for the legacy "latest application by scope" lookup used when a
+-- next-screen request carries neither applicationId nor resumeToken.
+-- Equality columns first, created_at last so the ORDER BY created_at DESC LIMIT 1
+-- is answered by a backward index scan instead of a sort. branch_code is left out:
+-- the branch-scoped variant filters it while walking the same index range, so one
+-- index serves both repository queries.
+CREATE INDEX idx_loan_app_scope_screen
+    ON loan_applications(product_code, partner_code, current_screen_id, created_at);
@@ -0,0 +1,13 @@
+-- Idempotency keys for the runtime next-screen API.
+-- A row is reserved in the same transaction as the state change it guards; the
+-- response is stored once built so duplicate submissions can be answered from it.
+CREATE TABLE runtime_idempotency_keys (
+    idempotency_key VARCHAR(100) PRIMARY KEY,
+    application_id BIGINT,
+    request_hash VARCHAR(64) NOT NULL,
+    response_body TEXT,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    completed_at TIMESTAMP
+);
+
+CREATE INDEX idx_idempotency_created ON runtime_idempotency_keys(created_at);
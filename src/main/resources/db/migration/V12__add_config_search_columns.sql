@@ -0,0 +1,44 @@
+-- Derived search columns for config admin filtering and impact analysis.
+-- Filled from the JSON payloads by the application on every save (ConfigSearchColumns);
+-- rows that existed before this migration are filled by the V13 Java migration
+-- (ConfigSearchColumnsBackfill). Same SQL for H2, PostgreSQL and MySQL.
+ALTER TABLE screen_configs ADD COLUMN screen_type VARCHAR(50);
+ALTER TABLE flow_configs ADD COLUMN dashboard_title VARCHAR(255);
+
+CREATE INDEX idx_screen_config_type ON screen_configs(screen_type);
+CREATE INDEX idx_flow_config_dashboard_title ON flow_configs(dashboard_title);
+
+-- Field ids referenced by each config version (one row per config and field)
+CREATE TABLE screen_config_field_refs (
+    config_id BIGINT NOT NULL,
+    field_id VARCHAR(100) NOT NULL,
+    PRIMARY KEY (config_id, field_id),
+    FOREIGN KEY (config_id) REFERENCES screen_configs(config_id)
+);
+
+CREATE TABLE validation_config_field_refs (
+    config_id BIGINT NOT NULL,
+    field_id VARCHAR(100) NOT NULL,
+    PRIMARY KEY (config_id, field_id),
+    FOREIGN KEY (config_id) REFERENCES validation_configs(config_id)
+);
+
+CREATE TABLE field_mapping_config_field_refs (
+    config_id BIGINT NOT NULL,
+    field_id VARCHAR(100) NOT NULL,
+    PRIMARY KEY (config_id, field_id),
+    FOREIGN KEY (config_id) REFERENCES field_mapping_configs(config_id)
+);
+
+CREATE TABLE flow_config_field_refs (
+    config_id BIGINT NOT NULL,
+    field_id VARCHAR(100) NOT NULL,
+    PRIMARY KEY (config_id, field_id),
+    FOREIGN KEY (config_id) REFERENCES flow_configs(config_id)
+);
+
+-- Lookup by field id ("which configs use this field?")
+CREATE INDEX idx_screen_config_field_refs_field ON screen_config_field_refs(field_id);
+CREATE INDEX idx_validation_config_field_refs_field ON validation_config_field_refs(field_id);
+CREATE INDEX idx_field_mapping_config_field_refs_field ON field_mapping_config_field_refs(field_id);
+CREATE INDEX idx_flow_config_field_refs_field ON flow_config_field_refs(field_id);
@@ -0,0 +1,24 @@
+-- Release bundles: sets of config versions activated together in one transaction
+-- (ConfigReleaseService). Items record the ACTIVE version each config replaced, so a
+-- release can be rolled back as a whole.
+CREATE TABLE config_releases (
+    release_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    name VARCHAR(100) NOT NULL,
+    description VARCHAR(500),
+    status VARCHAR(20) NOT NULL,
+    created_by VARCHAR(100),
+    activated_at TIMESTAMP NOT NULL,
+    rolled_back_by VARCHAR(100),
+    rolled_back_at TIMESTAMP
+);
+
+CREATE TABLE config_release_items (
+    release_id BIGINT NOT NULL,
+    config_type VARCHAR(20) NOT NULL,
+    config_id BIGINT NOT NULL,
+    previous_config_id BIGINT,
+    PRIMARY KEY (release_id, config_type, config_id),
+    FOREIGN KEY (release_id) REFERENCES config_releases(release_id)
+);
+
+CREATE INDEX idx_config_release_activated ON config_releases(activated_at);
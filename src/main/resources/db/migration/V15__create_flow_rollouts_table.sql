@@ -0,0 +1,20 @@
+-- Canary and scheduled flow rollouts (FlowRolloutService): a DRAFT flow config version served
+-- to a percentage of new applications in its scope, optionally activated at a set time.
+CREATE TABLE flow_rollouts (
+    rollout_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    flow_config_id BIGINT NOT NULL,
+    flow_id VARCHAR(100) NOT NULL,
+    product_code VARCHAR(50),
+    partner_code VARCHAR(50),
+    branch_code VARCHAR(50),
+    percentage INT NOT NULL,
+    starts_at TIMESTAMP,
+    activate_at TIMESTAMP,
+    status VARCHAR(20) NOT NULL,
+    created_by VARCHAR(100),
+    created_at TIMESTAMP NOT NULL,
+    ended_by VARCHAR(100),
+    ended_at TIMESTAMP
+);
+
+CREATE INDEX idx_flow_rollouts_status ON flow_rollouts(status);
@@ -0,0 +1,13 @@
+-- Cluster-wide config change feed (DatabaseConfigChangeChannel): one row per config whose
+-- ACTIVE state a transaction changed, written in that transaction. Every node polls rows above
+-- the last change_id it has seen and refreshes its ActiveConfigIndex from them.
+CREATE TABLE config_change_log (
+    change_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    config_type VARCHAR(20) NOT NULL,
+    config_id BIGINT NOT NULL,
+    source VARCHAR(200),
+    node_id VARCHAR(100) NOT NULL,
+    changed_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_config_change_log_changed_at ON config_change_log(changed_at);
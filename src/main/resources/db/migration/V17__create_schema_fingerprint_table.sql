@@ -0,0 +1,7 @@
+-- Fingerprint of the migration scripts the schema was last migrated with (FlywayConfig). With
+-- runtime.startup.skip-unchanged-migrations, startup skips Flyway while the scripts still match.
+CREATE TABLE schema_fingerprint (
+    id INT PRIMARY KEY,
+    fingerprint VARCHAR(64) NOT NULL,
+    updated_at TIMESTAMP NOT NULL
+);
@@ -0,0 +1,16 @@
+-- Every ACTIVE version a release deprecated (ConfigReleaseService). A scope can have more than
+-- one ACTIVE version, and config_release_items.previous_config_id holds only one of them, so
+-- rollback restores the versions listed here.
+CREATE TABLE config_release_replaced_versions (
+    release_id BIGINT NOT NULL,
+    config_type VARCHAR(20) NOT NULL,
+    config_id BIGINT NOT NULL,
+    PRIMARY KEY (release_id, config_type, config_id),
+    FOREIGN KEY (release_id) REFERENCES config_releases(release_id)
+);
+
+-- Releases activated before this table existed replaced the versions their items record
+INSERT INTO config_release_replaced_versions (release_id, config_type, config_id)
+SELECT DISTINCT release_id, config_type, previous_config_id
+FROM config_release_items
+WHERE previous_config_id IS NOT NULL;
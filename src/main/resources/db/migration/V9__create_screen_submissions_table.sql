@@ -0,0 +1,16 @@
+-- Append-only log of raw per-screen form submissions
+-- Payload is the encoded formData exactly as submitted (see SubmissionPayloadCodec)
+CREATE TABLE screen_submissions (
+    submission_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    application_id BIGINT NOT NULL,
+    screen_id VARCHAR(100) NOT NULL,
+    seq INT NOT NULL,
+    encoding VARCHAR(20) NOT NULL,
+    payload VARBINARY NOT NULL,
+    payload_size INT NOT NULL,
+    submitted_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uq_screen_submission UNIQUE (application_id, screen_id, seq),
+    FOREIGN KEY (application_id) REFERENCES loan_applications(application_id)
+);
+
+CREATE INDEX idx_screen_submission_app ON screen_submissions(application_id, submission_id);
@@ -0,0 +1,94 @@
+package com.los.config;
+
+import org.flywaydb.core.api.Location;
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.migration.Context;
+import org.flywaydb.core.api.migration.JavaMigration;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the migration fingerprint used to skip unchanged Flyway runs.
+ * Tests that Java migrations are covered as well as the SQL scripts.
+ */
+class FlywayConfigTest {
+
+    private static final Location[] LOCATIONS = {new Location("classpath:db/migration")};
+
+    private final FlywayConfig flywayConfig = new FlywayConfig();
+
+    @Test
+    void testFingerprint_StableForSameMigrations() {
+        // When
+        String first = flywayConfig.migrationFingerprint(LOCATIONS, new JavaMigration[]{new StubMigration("13")});
+        String second = flywayConfig.migrationFingerprint(LOCATIONS, new JavaMigration[]{new StubMigration("13")});
+
+        // Then
+        assertNotNull(first);
+        assertEquals(first, second);
+    }
+
+    @Test
+    void testFingerprint_ChangesWhenJavaMigrationAdded() {
+        // When
+        String sqlOnly = flywayConfig.migrationFingerprint(LOCATIONS, new JavaMigration[0]);
+        String withJava = flywayConfig.migrationFingerprint(LOCATIONS, new JavaMigration[]{new StubMigration("13")});
+
+        // Then: A new Java migration must not be skipped
+        assertNotEquals(sqlOnly, withJava);
+    }
+
+    @Test
+    void testFingerprint_ChangesWhenJavaMigrationVersionChanges() {
+        // When
+        String v13 = flywayConfig.migrationFingerprint(LOCATIONS, new JavaMigration[]{new StubMigration("13")});
+        String v19 = flywayConfig.migrationFingerprint(LOCATIONS, new JavaMigration[]{new StubMigration("19")});
+
+        // Then
+        assertNotEquals(v13, v19);
+    }
+
+    @Test
+    void testFingerprint_JavaMigrationsOnly() {
+        // Given: No scripts at the location, only a registered bean
+        Location[] empty = {new Location("classpath:db/does-not-exist")};
+
+        // When / Then: Still fingerprinted rather than falling back to a full Flyway run
+        assertNull(flywayConfig.migrationFingerprint(empty, new JavaMigration[0]));
+        assertNotNull(flywayConfig.migrationFingerprint(empty, new JavaMigration[]{new StubMigration("13")}));
+    }
+
+    private static class StubMigration implements JavaMigration {
+
+        private final String version;
+
+        StubMigration(String version) {
+            this.version = version;
+        }
+
+        @Override
+        public MigrationVersion getVersion() {
+            return MigrationVersion.fromVersion(version);
+        }
+
+        @Override
+        public String getDescription() {
+            return "stub";
+        }
+
+        @Override
+        public Integer getChecksum() {
+            return null;
+        }
+
+        @Override
+        public boolean canExecuteInTransaction() {
+            return true;
+        }
+
+        @Override
+        public void migrate(Context context) {
+        }
+    }
+}
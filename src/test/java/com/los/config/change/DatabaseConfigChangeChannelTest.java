@@ -0,0 +1,170 @@
+package com.los.config.change;
+
+import com.los.config.ConfigChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the config_change_log poller: changes committed out of change_id order, holes
+ * left by rolled-back transactions, and the node's own changes. Each test polls with its own
+ * channel instance (a separate "node") against the shared database.
+ */
+@SpringBootTest(properties = {
+        "runtime.db.backend=jdbc",
+        "spring.datasource.url=jdbc:h2:mem:los-service-test;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "runtime.warmup.enabled=false",
+        "runtime.request-timing.log-requests=false"
+})
+class DatabaseConfigChangeChannelTest {
+
+    private static final String TYPE = "screen";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private DatabaseConfigChangeChannel receiver;
+    private DatabaseConfigChangeChannel sender;
+    private final List<ConfigChangeNotice> received = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        receiver = channel("receiver-" + System.nanoTime());
+        sender = channel("sender-" + System.nanoTime());
+        receiver.subscribe(received::add);
+
+        // Start after everything already in the log
+        ReflectionTestUtils.setField(receiver, "gapTimeoutMs", 0L);
+        receiver.poll();
+        received.clear();
+        ReflectionTestUtils.setField(receiver, "gapTimeoutMs", 60_000L);
+    }
+
+    @Test
+    void testChangeCommittedOutOfOrderIsDeliveredOnce() throws Exception {
+        // Given: A change holding a lower change_id still uncommitted while a later one commits
+        long slowId = System.nanoTime();
+        long fastId = slowId + 1;
+        CountDownLatch inserted = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> slow = executor.submit(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                publish(slowId);
+                inserted.countDown();
+                await(commit);
+            }));
+            assertTrue(inserted.await(10, TimeUnit.SECONDS));
+            publish(fastId);
+
+            // When: Polled before and after the slow change commits
+            receiver.poll();
+            commit.countDown();
+            slow.get(10, TimeUnit.SECONDS);
+            receiver.poll();
+            receiver.poll();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Then: The later change first, the late one on the next poll, neither repeated
+        assertEquals(List.of(fastId, slowId), deliveredIds());
+    }
+
+    @Test
+    void testRolledBackHoleIsSkippedAfterGapTimeout() {
+        // Given: A rolled-back change leaves a hole below a committed one
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            publish(System.nanoTime());
+            status.setRollbackOnly();
+        });
+        long committedId = System.nanoTime();
+        publish(committedId);
+
+        // When: Polled while the hole is younger than the gap timeout
+        receiver.poll();
+        long held = watermark(receiver);
+        receiver.poll();
+
+        // Then: Delivered once; the watermark waits below the hole
+        assertEquals(List.of(committedId), deliveredIds());
+        assertEquals(held, watermark(receiver));
+        assertTrue(maxChangeId() > held);
+
+        // When: The hole outlives the gap timeout
+        ReflectionTestUtils.setField(receiver, "gapTimeoutMs", 0L);
+        receiver.poll();
+
+        // Then: The watermark moves past it, without delivering anything again
+        assertEquals(maxChangeId(), watermark(receiver));
+        assertEquals(List.of(committedId), deliveredIds());
+    }
+
+    @Test
+    void testOwnChangesAreNotDelivered() {
+        // Given
+        long ownId = System.nanoTime();
+        receiver.publish(new ConfigChangedEvent("test", Map.of(TYPE, Set.of(ownId))));
+
+        // When
+        receiver.poll();
+
+        // Then: The node applied it itself after commit
+        assertTrue(deliveredIds().isEmpty());
+    }
+
+    private DatabaseConfigChangeChannel channel(String nodeId) {
+        DatabaseConfigChangeChannel channel = new DatabaseConfigChangeChannel(jdbcTemplate);
+        ReflectionTestUtils.setField(channel, "nodeId", nodeId);
+        ReflectionTestUtils.setField(channel, "batchSize", 500);
+        ReflectionTestUtils.setField(channel, "gapTimeoutMs", 60_000L);
+        return channel;
+    }
+
+    private void publish(long configId) {
+        sender.publish(new ConfigChangedEvent("test", Map.of(TYPE, Set.of(configId))));
+    }
+
+    private List<Long> deliveredIds() {
+        List<Long> ids = new ArrayList<>();
+        received.forEach(notice -> ids.addAll(notice.getConfigIdsByType().getOrDefault(TYPE, Set.of())));
+        return ids;
+    }
+
+    private long watermark(DatabaseConfigChangeChannel channel) {
+        return (Long) ReflectionTestUtils.getField(channel, "watermark");
+    }
+
+    private long maxChangeId() {
+        return jdbcTemplate.queryForObject("SELECT MAX(change_id) FROM config_change_log", Long.class);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
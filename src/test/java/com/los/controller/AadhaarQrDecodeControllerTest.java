@@ -3,6 +3,9 @@ package com.los.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.los.dto.runtime.AadhaarQrDecodeRequest;
 import com.los.dto.runtime.AadhaarQrDecodeResponse;
+import com.los.filter.DbUsageFilter;
+import com.los.filter.RequestTimingFilter;
+import com.los.security.SecurityConfig;
 import com.los.service.AadhaarQrDecodeService;
 import com.los.service.qr.UidaiSecureQrDecoder;
 import com.los.util.CorrelationIdHolder;
@@ -12,6 +15,10 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.mapping.JpaMetamodelMappingContext;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -22,9 +29,13 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 /**
  * Unit tests for Aadhaar QR decode controller.
- * Tests backward compatibility with both qrPayloadBase64 and qrData fields.
+ * Tests the numeric qrPayload request and the mapping of decode failures to responses.
  */
-@WebMvcTest(AadhaarQrDecodeController.class)
+@WebMvcTest(controllers = AadhaarQrDecodeController.class,
+        // Metrics filters need the actuator MeterRegistry, which the MVC slice does not create
+        excludeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE,
+                classes = {DbUsageFilter.class, RequestTimingFilter.class}))
+@Import(SecurityConfig.class)
 class AadhaarQrDecodeControllerTest {
 
     @Autowired
@@ -36,7 +47,11 @@ class AadhaarQrDecodeControllerTest {
     @MockBean
     private AadhaarQrDecodeService qrDecodeService;
 
-    private static final String VALID_BASE64 = "dGVzdHFycGF5bG9hZA=="; // "testqrpayload" in Base64
+    // @EnableJpaAuditing on the application class needs a mapping context; the slice has no JPA
+    @MockBean
+    private JpaMetamodelMappingContext jpaMappingContext;
+
+    private static final String VALID_PAYLOAD = "7".repeat(1200); // Secure QR: digits only, > 1000
     private static final String DECODED_NAME = "John Doe";
     private static final String DECODED_GENDER = "M";
     private static final String DECODED_DOB = "1990-01-15";
@@ -53,10 +68,10 @@ class AadhaarQrDecodeControllerTest {
     }
 
     @Test
-    void testDecodeWithQrPayloadBase64() throws Exception {
-        // Given: Request with qrPayloadBase64 field
+    void testDecodeWithNumericPayload() throws Exception {
+        // Given: Request with a numeric Secure QR payload
         AadhaarQrDecodeRequest request = AadhaarQrDecodeRequest.builder()
-                .qrPayloadBase64(VALID_BASE64)
+                .qrPayload(VALID_PAYLOAD)
                 .build();
 
         AadhaarQrDecodeResponse response = AadhaarQrDecodeResponse.builder()
@@ -66,7 +81,7 @@ class AadhaarQrDecodeControllerTest {
                 .aadhaarLast4(DECODED_AADHAAR_LAST4)
                 .build();
 
-        when(qrDecodeService.decodeAadhaarQr(VALID_BASE64)).thenReturn(response);
+        when(qrDecodeService.decodeAadhaarQr(VALID_PAYLOAD)).thenReturn(response);
 
         // When & Then: Should decode successfully
         mockMvc.perform(post("/api/v1/qr/aadhaar/decode")
@@ -80,131 +95,71 @@ class AadhaarQrDecodeControllerTest {
     }
 
     @Test
-    void testDecodeWithQrDataFallback() throws Exception {
-        // Given: Request with qrData field (backward compatibility)
+    void testDecodeWithPayloadMissing() throws Exception {
+        // Given: Request without payload
         AadhaarQrDecodeRequest request = AadhaarQrDecodeRequest.builder()
-                .qrData(VALID_BASE64)
-                .build();
-
-        AadhaarQrDecodeResponse response = AadhaarQrDecodeResponse.builder()
-                .name(DECODED_NAME)
-                .gender(DECODED_GENDER)
-                .dob(DECODED_DOB)
-                .aadhaarLast4(DECODED_AADHAAR_LAST4)
                 .build();
 
-        when(qrDecodeService.decodeAadhaarQr(VALID_BASE64)).thenReturn(response);
-
-        // When & Then: Should decode successfully using qrData
+        // When & Then: Should return 400 from request validation
         mockMvc.perform(post("/api/v1/qr/aadhaar/decode")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(request)))
-                .andExpect(status().isOk())
-                .andExpect(jsonPath("$.name").value(DECODED_NAME))
-                .andExpect(jsonPath("$.gender").value(DECODED_GENDER))
-                .andExpect(jsonPath("$.dob").value(DECODED_DOB))
-                .andExpect(jsonPath("$.aadhaarLast4").value(DECODED_AADHAAR_LAST4));
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0].fieldId").value("qrPayload"))
+                .andExpect(jsonPath("$.errors[0].code").value("INVALID_REQUEST"));
     }
 
     @Test
-    void testDecodeWithBothFields_PrefersQrPayloadBase64() throws Exception {
-        // Given: Request with both fields (should prefer qrPayloadBase64)
-        String primaryPayload = VALID_BASE64;
-        String fallbackPayload = "YWx0ZXJuYXRpdmU="; // "alternative" in Base64
-
+    void testDecodeWithBase64Payload() throws Exception {
+        // Given: Request with a Base64 payload (old format, not digits)
         AadhaarQrDecodeRequest request = AadhaarQrDecodeRequest.builder()
-                .qrPayloadBase64(primaryPayload)
-                .qrData(fallbackPayload)
-                .build();
-
-        AadhaarQrDecodeResponse response = AadhaarQrDecodeResponse.builder()
-                .name(DECODED_NAME)
-                .gender(DECODED_GENDER)
-                .dob(DECODED_DOB)
-                .aadhaarLast4(DECODED_AADHAAR_LAST4)
+                .qrPayload("dGVzdHFycGF5bG9hZA==".repeat(60))
                 .build();
 
-        when(qrDecodeService.decodeAadhaarQr(primaryPayload)).thenReturn(response);
-
-        // When & Then: Should use qrPayloadBase64 (primary field)
+        // When & Then: Should return 400 from request validation
         mockMvc.perform(post("/api/v1/qr/aadhaar/decode")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(request)))
-                .andExpect(status().isOk())
-                .andExpect(jsonPath("$.name").value(DECODED_NAME));
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0].message").value("QR payload must contain only digits"));
     }
 
     @Test
-    void testDecodeWithEmptyQrPayloadBase64_UsesQrData() throws Exception {
-        // Given: Request with empty qrPayloadBase64 but valid qrData
+    void testDecodeWithInvalidPayload() throws Exception {
+        // Given: Service rejects the payload
         AadhaarQrDecodeRequest request = AadhaarQrDecodeRequest.builder()
-                .qrPayloadBase64("")
-                .qrData(VALID_BASE64)
-                .build();
-
-        AadhaarQrDecodeResponse response = AadhaarQrDecodeResponse.builder()
-                .name(DECODED_NAME)
-                .gender(DECODED_GENDER)
-                .dob(DECODED_DOB)
-                .aadhaarLast4(DECODED_AADHAAR_LAST4)
+                .qrPayload(VALID_PAYLOAD)
                 .build();
 
-        when(qrDecodeService.decodeAadhaarQr(VALID_BASE64)).thenReturn(response);
-
-        // When & Then: Should use qrData as fallback
-        mockMvc.perform(post("/api/v1/qr/aadhaar/decode")
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .content(objectMapper.writeValueAsString(request)))
-                .andExpect(status().isOk())
-                .andExpect(jsonPath("$.name").value(DECODED_NAME));
-    }
-
-    @Test
-    void testDecodeWithBothFieldsMissing() throws Exception {
-        // Given: Request with both fields missing
-        AadhaarQrDecodeRequest request = AadhaarQrDecodeRequest.builder()
-                .build();
+        when(qrDecodeService.decodeAadhaarQr(anyString()))
+                .thenThrow(new IllegalArgumentException("QR payload must contain only digits (0-9)"));
 
-        // When & Then: Should return 400 with error message
+        // When & Then: Should return 400 with the service message
         mockMvc.perform(post("/api/v1/qr/aadhaar/decode")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.errorCode").value("INVALID_REQUEST"))
-                .andExpect(jsonPath("$.message").value("QR payload Base64 is required"));
+                .andExpect(jsonPath("$.message").value("QR payload must contain only digits (0-9)"));
     }
 
     @Test
-    void testDecodeWithBothFieldsEmpty() throws Exception {
-        // Given: Request with both fields empty
+    void testDecodeFailure() throws Exception {
+        // Given: Payload cannot be decoded
         AadhaarQrDecodeRequest request = AadhaarQrDecodeRequest.builder()
-                .qrPayloadBase64("")
-                .qrData("")
+                .qrPayload(VALID_PAYLOAD)
                 .build();
 
-        // When & Then: Should return 400 with error message
-        mockMvc.perform(post("/api/v1/qr/aadhaar/decode")
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .content(objectMapper.writeValueAsString(request)))
-                .andExpect(status().isBadRequest())
-                .andExpect(jsonPath("$.errorCode").value("INVALID_REQUEST"))
-                .andExpect(jsonPath("$.message").value("QR payload Base64 is required"));
-    }
-
-    @Test
-    void testDecodeWithWhitespaceOnly() throws Exception {
-        // Given: Request with whitespace-only fields
-        AadhaarQrDecodeRequest request = AadhaarQrDecodeRequest.builder()
-                .qrPayloadBase64("   ")
-                .qrData("   ")
-                .build();
+        when(qrDecodeService.decodeAadhaarQr(anyString()))
+                .thenThrow(new UidaiSecureQrDecoder.QrDecodeException("Decompression failed",
+                        UidaiSecureQrDecoder.QrDecodeErrorType.INVALID_COMPRESSION));
 
-        // When & Then: Should return 400 with error message
+        // When & Then: Should return 422
         mockMvc.perform(post("/api/v1/qr/aadhaar/decode")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(request)))
-                .andExpect(status().isBadRequest())
-                .andExpect(jsonPath("$.errorCode").value("INVALID_REQUEST"))
-                .andExpect(jsonPath("$.message").value("QR payload Base64 is required"));
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.errorCode").value("QR_DECODE_FAILED"))
+                .andExpect(jsonPath("$.message").value("Unsupported Aadhaar QR compression format"));
     }
 }
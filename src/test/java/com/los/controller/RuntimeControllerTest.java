@@ -0,0 +1,95 @@
+package com.los.controller;
+
+import com.los.dto.runtime.NextScreenRequest;
+import com.los.dto.runtime.NextScreenResponse;
+import com.los.filter.DbUsageFilter;
+import com.los.filter.RequestTimingFilter;
+import com.los.security.SecurityConfig;
+import com.los.service.RuntimeOrchestrationService;
+import com.los.service.ScreenSubmissionService;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.mapping.JpaMetamodelMappingContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Unit tests for the runtime controller's handling of the Idempotency-Key header.
+ */
+@WebMvcTest(controllers = RuntimeController.class,
+        // Metrics filters need the actuator MeterRegistry, which the MVC slice does not create
+        excludeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE,
+                classes = {DbUsageFilter.class, RequestTimingFilter.class}))
+@Import(SecurityConfig.class)
+class RuntimeControllerTest {
+
+    private static final String PROGRESS_BODY = "{\"applicationId\":1,\"currentScreenId\":\"personal-info\",\"formData\":{}}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private RuntimeOrchestrationService orchestrationService;
+
+    @MockBean
+    private ScreenSubmissionService screenSubmissionService;
+
+    // @EnableJpaAuditing on the application class needs a mapping context; the slice has no JPA
+    @MockBean
+    private JpaMetamodelMappingContext jpaMappingContext;
+
+    @Test
+    void testHeaderIsUsedAsIdempotencyKey() throws Exception {
+        // Given
+        when(orchestrationService.processNextScreen(any()))
+                .thenReturn(NextScreenResponse.builder().applicationId(1L).nextScreenId("address").build());
+
+        // When
+        mockMvc.perform(post("/api/v1/runtime/next-screen")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("Idempotency-Key", "key-1")
+                        .content(PROGRESS_BODY))
+                .andExpect(status().isOk());
+
+        // Then
+        ArgumentCaptor<NextScreenRequest> request = ArgumentCaptor.forClass(NextScreenRequest.class);
+        verify(orchestrationService).processNextScreen(request.capture());
+        assertEquals("key-1", request.getValue().getIdempotencyKey());
+    }
+
+    @Test
+    void testOverlongHeaderIsRejectedLikeTheBodyField() throws Exception {
+        // When / Then: 422 before anything is reserved
+        mockMvc.perform(post("/api/v1/runtime/next-screen")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("Idempotency-Key", "k".repeat(NextScreenRequest.IDEMPOTENCY_KEY_MAX_LENGTH + 1))
+                        .content(PROGRESS_BODY))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.errors[0].fieldId").value("idempotencyKey"))
+                .andExpect(jsonPath("$.errors[0].code").value("INVALID_REQUEST"));
+        verifyNoInteractions(orchestrationService);
+    }
+
+    @Test
+    void testBlankHeaderIsRejected() throws Exception {
+        mockMvc.perform(post("/api/v1/runtime/next-screen")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("Idempotency-Key", "   ")
+                        .content(PROGRESS_BODY))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.errors[0].fieldId").value("idempotencyKey"));
+        verifyNoInteractions(orchestrationService);
+    }
+}
@@ -0,0 +1,193 @@
+package com.los.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Regression test for JDBC statements per runtime request (los.http.db.statements).
+ * Fails when flow start or a screen submission goes over its statement budget, e.g. when a
+ * per-screen or per-field query loop (N+1) creeps back into snapshot creation or field mapping.
+ *
+ * The flow has six screens and the submitted screen maps five fields, so a loop of that kind
+ * adds well over the headroom left in the budgets.
+ */
+@SpringBootTest(properties = {
+        "runtime.request-timing.log-requests=false",
+        "spring.jpa.show-sql=false"
+})
+@AutoConfigureMockMvc
+class RuntimeStatementBudgetTest {
+
+    private static final String NEXT_SCREEN = "/api/v1/runtime/next-screen";
+    private static final String PRODUCT_CODE = "BUDGET";
+    private static final String PARTNER_CODE = "BUDGET_PARTNER";
+    private static final String FLOW_ID = "budget-flow";
+    private static final List<String> SCREEN_IDS = List.of(
+            "personal-info", "business-info", "retail-details", "service-details", "loan-details", "review");
+
+    // Currently about 10 statements each; the N+1 versions were above 20
+    private static final int FLOW_START_STATEMENT_BUDGET = 15;
+    private static final int SUBMISSION_STATEMENT_BUDGET = 15;
+
+    @TempDir
+    static Path dataDir;
+
+    @DynamicPropertySource
+    static void databaseDirectory(DynamicPropertyRegistry registry) {
+        registry.add("los.h2.data-dir", () -> dataDir.toString());
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUpMasterData() {
+        // Loan applications reference products and partners
+        jdbcTemplate.update("MERGE INTO products (product_code, product_name, is_active) KEY (product_code) VALUES (?, ?, TRUE)",
+                PRODUCT_CODE, "Budget Test Product");
+        jdbcTemplate.update("MERGE INTO partners (partner_code, partner_name, is_active) KEY (partner_code) VALUES (?, ?, TRUE)",
+                PARTNER_CODE, "Budget Test Partner");
+    }
+
+    @Test
+    void testFlowStartAndSubmissionStayWithinStatementBudget() throws Exception {
+        // Given: An ACTIVE six-screen flow with validation and field mappings on personal-info
+        seedFlow();
+
+        // When: Starting the flow
+        Map<String, Object> start = new LinkedHashMap<>();
+        start.put("flowId", FLOW_ID);
+        start.put("productCode", PRODUCT_CODE);
+        start.put("partnerCode", PARTNER_CODE);
+        double before = statementTotal();
+        Map<String, Object> started = postJson(NEXT_SCREEN, start);
+        double flowStartStatements = statementTotal() - before;
+
+        // Then: Snapshot creation resolves configs per type, not per screen
+        assertNotNull(started.get("applicationId"));
+        assertTrue(flowStartStatements <= FLOW_START_STATEMENT_BUDGET,
+                "Flow start ran " + flowStartStatements + " statements, budget " + FLOW_START_STATEMENT_BUDGET);
+
+        // When: Submitting personal-info (validation + five mapped applicant fields)
+        Map<String, Object> submission = new LinkedHashMap<>();
+        submission.put("applicationId", started.get("applicationId"));
+        submission.put("resumeToken", started.get("resumeToken"));
+        submission.put("currentScreenId", started.get("nextScreenId"));
+        submission.put("flowId", FLOW_ID);
+        submission.put("productCode", PRODUCT_CODE);
+        submission.put("partnerCode", PARTNER_CODE);
+        submission.put("formData", Map.of(
+                "firstName", "Ravi",
+                "lastName", "Sharma",
+                "mobile", "9876543210",
+                "email", "ravi@example.com",
+                "gender", "MALE"));
+        before = statementTotal();
+        postJson(NEXT_SCREEN, submission);
+        double submissionStatements = statementTotal() - before;
+
+        // Then: The applicant is loaded and saved once, not once per mapped field
+        assertTrue(submissionStatements <= SUBMISSION_STATEMENT_BUDGET,
+                "Submission ran " + submissionStatements + " statements, budget " + SUBMISSION_STATEMENT_BUDGET);
+    }
+
+    private void seedFlow() throws Exception {
+        for (String screenId : SCREEN_IDS) {
+            createAndActivate("screens", screenBody(screenId, "uiConfig",
+                    Map.of("title", screenId, "fields", List.of())));
+        }
+        createAndActivate("validations", screenBody("personal-info", "validationRules", Map.of(
+                "fields", Map.of("firstName", Map.of("required", true)))));
+        createAndActivate("field-mappings", screenBody("personal-info", "mappings", Map.of(
+                "mappings", List.of(
+                        applicantMapping("firstName"),
+                        applicantMapping("lastName"),
+                        applicantMapping("mobile"),
+                        applicantMapping("email"),
+                        applicantMapping("gender")))));
+
+        Map<String, Object> screens = new LinkedHashMap<>();
+        for (int i = 0; i < SCREEN_IDS.size(); i++) {
+            Map<String, Object> screen = new LinkedHashMap<>();
+            screen.put("name", SCREEN_IDS.get(i));
+            screen.put("next", i + 1 < SCREEN_IDS.size() ? SCREEN_IDS.get(i + 1) : null);
+            screens.put(SCREEN_IDS.get(i), screen);
+        }
+        Map<String, Object> flowBody = new LinkedHashMap<>();
+        flowBody.put("flowId", FLOW_ID);
+        flowBody.put("productCode", PRODUCT_CODE);
+        flowBody.put("partnerCode", PARTNER_CODE);
+        flowBody.put("flowDefinition", Map.of("startScreen", SCREEN_IDS.get(0), "screens", screens));
+        flowBody.put("createdBy", "test");
+        createAndActivate("flows", flowBody);
+    }
+
+    private static Map<String, Object> applicantMapping(String field) {
+        return Map.of(
+                "mappingType", "ONE_TO_ONE",
+                "sourceFields", List.of(field),
+                "target", Map.of("entity", "Applicant", "fields", List.of(field)),
+                "dataType", "STRING");
+    }
+
+    private static Map<String, Object> screenBody(String screenId, String payloadKey, Map<String, Object> payload) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("screenId", screenId);
+        body.put("productCode", PRODUCT_CODE);
+        body.put("partnerCode", PARTNER_CODE);
+        body.put(payloadKey, payload);
+        body.put("createdBy", "test");
+        return body;
+    }
+
+    private void createAndActivate(String configType, Map<String, Object> body) throws Exception {
+        Map<String, Object> created = postJson("/api/v1/configs/" + configType, body);
+        postJson("/api/v1/configs/" + configType + "/" + created.get("configId") + "/activate", Map.of());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> postJson(String path, Map<String, Object> body) throws Exception {
+        String response = mockMvc.perform(post(path)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(body)))
+                .andExpect(status().is2xxSuccessful())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(response, Map.class);
+    }
+
+    private double statementTotal() {
+        DistributionSummary summary = meterRegistry.find("los.http.db.statements").tag("uri", NEXT_SCREEN).summary();
+        return summary != null ? summary.totalAmount() : 0.0;
+    }
+}
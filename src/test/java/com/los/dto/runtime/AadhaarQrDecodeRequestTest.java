@@ -1,132 +1,110 @@
 package com.los.dto.runtime;
 
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
+import java.util.Set;
+import java.util.stream.Collectors;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
  * Unit tests for AadhaarQrDecodeRequest DTO.
- * Tests backward compatibility logic for qrPayloadBase64 and qrData fields.
+ * Tests the Bean Validation constraints on the numeric qrPayload field.
  */
 class AadhaarQrDecodeRequestTest {
 
-    @Test
-    void testGetQrPayload_PrefersQrPayloadBase64() {
-        // Given: Both fields present
-        AadhaarQrDecodeRequest request = AadhaarQrDecodeRequest.builder()
-                .qrPayloadBase64("primary")
-                .qrData("fallback")
-                .build();
+    private static ValidatorFactory validatorFactory;
+    private static Validator validator;
 
-        // When & Then: Should return primary field
-        assertEquals("primary", request.getQrPayload());
-        assertEquals("qrPayloadBase64", request.getUsedFieldName());
+    @BeforeAll
+    static void setUpValidator() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
     }
 
-    @Test
-    void testGetQrPayload_UsesQrDataWhenPrimaryMissing() {
-        // Given: Only qrData present
-        AadhaarQrDecodeRequest request = AadhaarQrDecodeRequest.builder()
-                .qrData("fallback")
-                .build();
-
-        // When & Then: Should return fallback field
-        assertEquals("fallback", request.getQrPayload());
-        assertEquals("qrData", request.getUsedFieldName());
+    @AfterAll
+    static void closeValidator() {
+        validatorFactory.close();
     }
 
     @Test
-    void testGetQrPayload_UsesQrDataWhenPrimaryEmpty() {
-        // Given: Primary empty, fallback present
+    void testValidNumericPayload() {
+        // Given: Digits only, longer than 1000 characters
         AadhaarQrDecodeRequest request = AadhaarQrDecodeRequest.builder()
-                .qrPayloadBase64("")
-                .qrData("fallback")
+                .qrPayload("1".repeat(1001))
                 .build();
 
-        // When & Then: Should return fallback field
-        assertEquals("fallback", request.getQrPayload());
-        assertEquals("qrData", request.getUsedFieldName());
-    }
-
-    @Test
-    void testGetQrPayload_TrimsWhitespace() {
-        // Given: Fields with whitespace
-        AadhaarQrDecodeRequest request = AadhaarQrDecodeRequest.builder()
-                .qrPayloadBase64("  payload  ")
-                .build();
+        // When
+        Set<ConstraintViolation<AadhaarQrDecodeRequest>> violations = validator.validate(request);
 
-        // When & Then: Should return trimmed value
-        assertEquals("payload", request.getQrPayload());
+        // Then: No violations
+        assertTrue(violations.isEmpty());
     }
 
     @Test
-    void testHasQrPayload_ReturnsTrueWhenPresent() {
-        // Given: QR payload present
-        AadhaarQrDecodeRequest request = AadhaarQrDecodeRequest.builder()
-                .qrPayloadBase64("payload")
-                .build();
+    void testMissingPayload() {
+        // Given: No payload
+        AadhaarQrDecodeRequest request = AadhaarQrDecodeRequest.builder().build();
+
+        // When
+        Set<String> messages = messages(request);
 
-        // When & Then: Should return true
-        assertTrue(request.hasQrPayload());
+        // Then: Required
+        assertTrue(messages.contains("QR payload is required"));
     }
 
     @Test
-    void testHasQrPayload_ReturnsFalseWhenBothMissing() {
-        // Given: Both fields missing
+    void testBlankPayload() {
+        // Given: Whitespace only
         AadhaarQrDecodeRequest request = AadhaarQrDecodeRequest.builder()
+                .qrPayload("   ")
                 .build();
 
-        // When & Then: Should return false
-        assertFalse(request.hasQrPayload());
-        assertNull(request.getQrPayload());
-        assertNull(request.getUsedFieldName());
+        // When
+        Set<String> messages = messages(request);
+
+        // Then: Required and digits-only both fail
+        assertTrue(messages.contains("QR payload is required"));
+        assertTrue(messages.contains("QR payload must contain only digits"));
     }
 
     @Test
-    void testHasQrPayload_ReturnsFalseWhenBothEmpty() {
-        // Given: Both fields empty
+    void testNonNumericPayload() {
+        // Given: Base64 (the old format) instead of digits
         AadhaarQrDecodeRequest request = AadhaarQrDecodeRequest.builder()
-                .qrPayloadBase64("")
-                .qrData("")
+                .qrPayload("dGVzdHFycGF5bG9hZA==".repeat(60))
                 .build();
 
-        // When & Then: Should return false
-        assertFalse(request.hasQrPayload());
-        assertNull(request.getQrPayload());
-        assertNull(request.getUsedFieldName());
+        // When
+        Set<String> messages = messages(request);
+
+        // Then: Digits-only fails, length is fine
+        assertEquals(Set.of("QR payload must contain only digits"), messages);
     }
 
     @Test
-    void testHasQrPayload_ReturnsFalseWhenBothWhitespace() {
-        // Given: Both fields whitespace-only
+    void testPayloadTooShort() {
+        // Given: Digits only, exactly 1000 characters
         AadhaarQrDecodeRequest request = AadhaarQrDecodeRequest.builder()
-                .qrPayloadBase64("   ")
-                .qrData("   ")
+                .qrPayload("1".repeat(1000))
                 .build();
 
-        // When & Then: Should return false
-        assertFalse(request.hasQrPayload());
-        assertNull(request.getQrPayload());
-        assertNull(request.getUsedFieldName());
-    }
-
-    @Test
-    void testGetUsedFieldName_ReturnsCorrectField() {
-        // Test primary field
-        AadhaarQrDecodeRequest request1 = AadhaarQrDecodeRequest.builder()
-                .qrPayloadBase64("payload")
-                .build();
-        assertEquals("qrPayloadBase64", request1.getUsedFieldName());
+        // When
+        Set<String> messages = messages(request);
 
-        // Test fallback field
-        AadhaarQrDecodeRequest request2 = AadhaarQrDecodeRequest.builder()
-                .qrData("payload")
-                .build();
-        assertEquals("qrData", request2.getUsedFieldName());
+        // Then: Length fails
+        assertEquals(Set.of("QR payload must be at least 1001 characters"), messages);
+    }
 
-        // Test both missing
-        AadhaarQrDecodeRequest request3 = AadhaarQrDecodeRequest.builder()
-                .build();
-        assertNull(request3.getUsedFieldName());
+    private static Set<String> messages(AadhaarQrDecodeRequest request) {
+        return validator.validate(request).stream()
+                .map(ConstraintViolation::getMessage)
+                .collect(Collectors.toSet());
     }
 }
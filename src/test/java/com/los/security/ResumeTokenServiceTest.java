@@ -0,0 +1,120 @@
+package com.los.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ResumeTokenService.
+ * Tests round-trips, expiry and rejection of tampered or malformed tokens.
+ */
+class ResumeTokenServiceTest {
+
+    private static final String SECRET = "resume-token-test-secret-0123456789abcdef";
+    private static final Instant NOW = Instant.parse("2026-01-15T10:00:00Z");
+    private static final Duration TTL = Duration.ofHours(1);
+
+    private final ResumeTokenService service = serviceAt(NOW);
+
+    @Test
+    void testRoundTrip_CarriesApplicationAndSnapshot() {
+        // When
+        Optional<ResumeTokenService.ResumeToken> token = service.verify(service.issue(42L, 7L));
+
+        // Then
+        assertTrue(token.isPresent());
+        assertEquals(42L, token.get().getApplicationId());
+        assertEquals(7L, token.get().getSnapshotId());
+    }
+
+    @Test
+    void testRoundTrip_LegacyApplicationWithoutSnapshot() {
+        // When
+        Optional<ResumeTokenService.ResumeToken> token = service.verify(service.issue(42L, null));
+
+        // Then
+        assertTrue(token.isPresent());
+        assertNull(token.get().getSnapshotId());
+    }
+
+    @Test
+    void testExpiry_ValidUntilTtlElapses() {
+        // Given
+        String token = service.issue(42L, 7L);
+
+        // When / Then: Accepted just before the TTL, rejected from then on
+        assertTrue(serviceAt(NOW.plus(TTL).minusSeconds(1)).verify(token).isPresent());
+        assertTrue(serviceAt(NOW.plus(TTL)).verify(token).isEmpty());
+        assertTrue(serviceAt(NOW.plus(Duration.ofDays(30))).verify(token).isEmpty());
+    }
+
+    @Test
+    void testTamper_ChangedPayloadIsRejected() {
+        // Given: The payload re-encoded for another application, signature kept
+        String token = service.issue(42L, 7L);
+        String payload = new String(Base64.getUrlDecoder().decode(token.substring(0, token.indexOf('.'))),
+                StandardCharsets.UTF_8);
+        String forged = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(payload.replace(":42:", ":43:").getBytes(StandardCharsets.UTF_8))
+                + token.substring(token.indexOf('.'));
+
+        // When / Then
+        assertTrue(service.verify(forged).isEmpty());
+    }
+
+    @Test
+    void testTamper_ExtendedExpiryIsRejected() {
+        // Given: The expiry pushed out without re-signing
+        String token = service.issue(42L, 7L);
+        String payload = new String(Base64.getUrlDecoder().decode(token.substring(0, token.indexOf('.'))),
+                StandardCharsets.UTF_8);
+        String extended = payload.substring(0, payload.lastIndexOf(':') + 1) + Long.MAX_VALUE;
+        String forged = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(extended.getBytes(StandardCharsets.UTF_8))
+                + token.substring(token.indexOf('.'));
+
+        // When / Then
+        assertTrue(serviceAt(NOW.plus(Duration.ofDays(2))).verify(forged).isEmpty());
+    }
+
+    @Test
+    void testSignature_OtherSecretIsRejected() {
+        // Given: A token signed with a different secret
+        ResumeTokenService other = new ResumeTokenService("another-secret-of-at-least-32-characters!",
+                TTL, Clock.fixed(NOW, ZoneOffset.UTC));
+
+        // When / Then
+        assertTrue(service.verify(other.issue(42L, 7L)).isEmpty());
+    }
+
+    @Test
+    void testMalformedTokensAreRejected() {
+        // Given
+        String token = service.issue(42L, 7L);
+
+        // When / Then
+        assertTrue(service.verify(null).isEmpty());
+        assertTrue(service.verify("").isEmpty());
+        assertTrue(service.verify("no-dot").isEmpty());
+        assertTrue(service.verify(token.substring(0, token.indexOf('.') + 1)).isEmpty());
+        assertTrue(service.verify("!!!." + token.substring(token.indexOf('.') + 1)).isEmpty());
+        assertTrue(service.verify(token + "x").isEmpty());
+    }
+
+    @Test
+    void testShortSecretIsRefused() {
+        assertThrows(IllegalStateException.class, () -> new ResumeTokenService("too-short", 720));
+    }
+
+    private static ResumeTokenService serviceAt(Instant now) {
+        return new ResumeTokenService(SECRET, TTL, Clock.fixed(now, ZoneOffset.UTC));
+    }
+}
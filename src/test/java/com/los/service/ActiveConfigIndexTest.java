@@ -0,0 +1,215 @@
+package com.los.service;
+
+import com.los.config.ConfigStatus;
+import com.los.config.ConfigChangedEvent;
+import com.los.config.change.ConfigChangeChannel;
+import com.los.config.change.ConfigChangeNotice;
+import com.los.config.entity.ScreenConfig;
+import com.los.metrics.RuntimeMetrics;
+import com.los.repository.FieldMappingConfigRepository;
+import com.los.repository.FlowConfigRepository;
+import com.los.repository.ScreenConfigRepository;
+import com.los.repository.ValidationConfigRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for how ActiveConfigIndex follows changes: notices from other nodes (also repeated or
+ * late ones), a full reload for changes the channel never delivered, and the staleness bound.
+ * Each test runs its own index against the shared database, fed by a stub channel.
+ */
+@SpringBootTest(properties = {
+        "runtime.db.backend=jdbc",
+        "spring.datasource.url=jdbc:h2:mem:los-service-test;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "runtime.warmup.enabled=false",
+        "runtime.request-timing.log-requests=false"
+})
+class ActiveConfigIndexTest {
+
+    private static final String PRODUCT_CODE = "ENTREPRENEURIAL";
+    private static final String PARTNER_CODE = "SAMASTA";
+
+    @Autowired
+    private ScreenConfigRepository screenConfigRepository;
+
+    @Autowired
+    private ValidationConfigRepository validationConfigRepository;
+
+    @Autowired
+    private FieldMappingConfigRepository fieldMappingConfigRepository;
+
+    @Autowired
+    private FlowConfigRepository flowConfigRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private RuntimeMetrics runtimeMetrics;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private StubChannel channel;
+    private ActiveConfigIndex index;
+
+    @BeforeEach
+    void setUp() {
+        channel = new StubChannel();
+        @SuppressWarnings("unchecked")
+        ObjectProvider<ConfigChangeChannel> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(channel);
+
+        index = new ActiveConfigIndex(screenConfigRepository, validationConfigRepository, fieldMappingConfigRepository,
+                flowConfigRepository, transactionManager, provider, runtimeMetrics);
+        ReflectionTestUtils.setField(index, "enabled", true);
+        ReflectionTestUtils.setField(index, "maxStalenessMs", 10_000L);
+        index.registerTypes();
+    }
+
+    @Test
+    void testRemoteChangeIsApplied() {
+        // Given: A loaded index, then a screen activated on another node
+        index.load(Runnable::run);
+        String screenId = "index-remote-" + System.nanoTime();
+        Long configId = saveScreen(screenId, 1, ConfigStatus.ACTIVE);
+        assertTrue(find(screenId).isEmpty());
+
+        // When
+        channel.deliver(Map.of("screen", Set.of(configId)));
+
+        // Then
+        assertEquals(List.of(configId), configIds(find(screenId)));
+    }
+
+    @Test
+    void testRepeatedOrLateNoticeFollowsCurrentRow() {
+        // Given: An ACTIVE screen in the index, replaced by a new version on another node
+        String screenId = "index-late-" + System.nanoTime();
+        Long first = saveScreen(screenId, 1, ConfigStatus.ACTIVE);
+        index.load(Runnable::run);
+        setStatus(first, ConfigStatus.DEPRECATED);
+        Long second = saveScreen(screenId, 2, ConfigStatus.ACTIVE);
+
+        // When: The swap arrives, then the older activation of the first version arrives again
+        channel.deliver(Map.of("screen", Set.of(first, second)));
+        channel.deliver(Map.of("screen", Set.of(first)));
+
+        // Then: The index holds what the database holds, not the last notice
+        assertEquals(List.of(second), configIds(find(screenId)));
+    }
+
+    @Test
+    void testReloadCatchesUpOnUndeliveredChanges() {
+        // Given: Changes the channel never delivered (e.g. a change_id skipped after the gap timeout)
+        String addedId = "index-reload-added-" + System.nanoTime();
+        String removedId = "index-reload-removed-" + System.nanoTime();
+        Long removed = saveScreen(removedId, 1, ConfigStatus.ACTIVE);
+        index.load(Runnable::run);
+        Long added = saveScreen(addedId, 1, ConfigStatus.ACTIVE);
+        setStatus(removed, ConfigStatus.DEPRECATED);
+        assertTrue(find(addedId).isEmpty());
+        assertEquals(List.of(removed), configIds(find(removedId)));
+
+        // When
+        index.reload();
+
+        // Then
+        assertEquals(List.of(added), configIds(find(addedId)));
+        assertTrue(find(removedId).isEmpty());
+    }
+
+    @Test
+    void testNoticeBeforeLoadIsPickedUpByLoad() {
+        // Given: A change arriving before the initial load (ignored, the load reads it anyway)
+        String screenId = "index-early-" + System.nanoTime();
+        Long configId = saveScreen(screenId, 1, ConfigStatus.ACTIVE);
+        index.onConfigChanged(new ConfigChangedEvent("test", Map.of("screen", Set.of(configId))));
+        assertFalse(index.isServing());
+
+        // When
+        index.load(Runnable::run);
+
+        // Then
+        assertEquals(List.of(configId), configIds(find(screenId)));
+    }
+
+    @Test
+    void testStopsServingWhileChannelIsBehind() {
+        // Given
+        index.load(Runnable::run);
+        assertTrue(index.isServing());
+
+        // When / Then: Beyond max-staleness the index steps aside, and comes back once synced
+        channel.staleness = Duration.ofSeconds(11);
+        assertFalse(index.isServing());
+        channel.staleness = Duration.ZERO;
+        assertTrue(index.isServing());
+    }
+
+    private List<ScreenConfig> find(String screenId) {
+        return index.findScreenConfigs(screenId, PRODUCT_CODE, PARTNER_CODE, null);
+    }
+
+    private static List<Long> configIds(List<ScreenConfig> configs) {
+        return configs.stream().map(ScreenConfig::getConfigId).toList();
+    }
+
+    private Long saveScreen(String screenId, int version, ConfigStatus status) {
+        return screenConfigRepository.save(ScreenConfig.builder()
+                .screenId(screenId)
+                .productCode(PRODUCT_CODE)
+                .partnerCode(PARTNER_CODE)
+                .version(version)
+                .status(status.name())
+                .uiConfig(Map.of("title", screenId, "fields", List.of()))
+                .createdBy("test")
+                .build()).getConfigId();
+    }
+
+    private void setStatus(Long configId, ConfigStatus status) {
+        jdbcTemplate.update("UPDATE screen_configs SET status = ? WHERE config_id = ?", status.name(), configId);
+    }
+
+    /**
+     * Channel whose deliveries and staleness are driven by the test.
+     */
+    private static final class StubChannel implements ConfigChangeChannel {
+        private Consumer<ConfigChangeNotice> subscriber;
+        private volatile Duration staleness = Duration.ZERO;
+
+        @Override
+        public void publish(ConfigChangedEvent event) {
+        }
+
+        @Override
+        public void subscribe(Consumer<ConfigChangeNotice> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public Duration staleness() {
+            return staleness;
+        }
+
+        void deliver(Map<String, Set<Long>> configIdsByType) {
+            subscriber.accept(new ConfigChangeNotice(configIdsByType, 0));
+        }
+    }
+}
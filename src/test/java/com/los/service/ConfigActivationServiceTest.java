@@ -0,0 +1,123 @@
+package com.los.service;
+
+import com.los.config.ConfigStatus;
+import com.los.config.entity.ScreenConfig;
+import com.los.dto.config.ConfigSummary;
+import com.los.exception.ValidationException;
+import com.los.repository.ScreenConfigRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+/**
+ * Tests for one-by-one config activation: exactly one ACTIVE version per scope, also when two
+ * activations of the same scope run at the same time.
+ */
+@SpringBootTest(properties = {
+        "runtime.db.backend=jdbc",
+        "spring.datasource.url=jdbc:h2:mem:los-service-test;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "runtime.warmup.enabled=false",
+        "runtime.request-timing.log-requests=false"
+})
+class ConfigActivationServiceTest {
+
+    private static final String PRODUCT_CODE = "ENTREPRENEURIAL";
+    private static final String PARTNER_CODE = "SAMASTA";
+
+    @Autowired
+    private ConfigActivationService configActivationService;
+
+    @Autowired
+    private ScreenConfigRepository screenConfigRepository;
+
+    @Test
+    void testActivationDeprecatesPreviousActiveVersion() {
+        // Given: An ACTIVE version and a new DRAFT in the same scope
+        String screenId = "activation-" + System.nanoTime();
+        Long previous = saveDraft(screenId, 1);
+        configActivationService.activateScreenConfig(previous);
+        Long next = saveDraft(screenId, 2);
+
+        // When
+        configActivationService.activateScreenConfig(next);
+
+        // Then: The new version is ACTIVE and the previous one DEPRECATED
+        assertEquals(ConfigStatus.ACTIVE.name(), status(next));
+        assertEquals(ConfigStatus.DEPRECATED.name(), status(previous));
+    }
+
+    @Test
+    void testConcurrentActivationsInOneScopeLeaveOneActiveVersion() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (int round = 0; round < 10; round++) {
+                // Given: Two DRAFTs of the same screen and scope, no ACTIVE version yet
+                String screenId = "activation-race-" + round + "-" + System.nanoTime();
+                Long first = saveDraft(screenId, 1);
+                Long second = saveDraft(screenId, 2);
+
+                // When: Both are activated at the same time
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<?>> activations = new ArrayList<>();
+                for (Long configId : List.of(first, second)) {
+                    activations.add(executor.submit((Callable<Void>) () -> {
+                        start.await();
+                        configActivationService.activateScreenConfig(configId);
+                        return null;
+                    }));
+                }
+                start.countDown();
+
+                // Then: Each succeeds or is refused as a concurrent modification
+                for (Future<?> activation : activations) {
+                    try {
+                        activation.get(30, TimeUnit.SECONDS);
+                    } catch (ExecutionException e) {
+                        ValidationException refused = assertInstanceOf(ValidationException.class, e.getCause());
+                        assertEquals("CONCURRENT_MODIFICATION", refused.getErrors().get(0).getCode());
+                    }
+                }
+
+                // And: The scope has exactly one ACTIVE version
+                List<ConfigSummary> active = screenConfigRepository.findSummariesByConfigIds(List.of(first, second))
+                        .stream()
+                        .filter(config -> ConfigStatus.ACTIVE.name().equals(config.getStatus()))
+                        .collect(Collectors.toList());
+                assertEquals(1, active.size(), "ACTIVE versions of " + screenId + ": " + active);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Long saveDraft(String screenId, int version) {
+        return screenConfigRepository.save(ScreenConfig.builder()
+                .screenId(screenId)
+                .productCode(PRODUCT_CODE)
+                .partnerCode(PARTNER_CODE)
+                .version(version)
+                .status(ConfigStatus.DRAFT.name())
+                .uiConfig(Map.of("title", screenId, "fields", List.of()))
+                .createdBy("test")
+                .build()).getConfigId();
+    }
+
+    private String status(Long configId) {
+        return screenConfigRepository.findById(configId).orElseThrow().getStatus();
+    }
+}
@@ -0,0 +1,163 @@
+package com.los.service;
+
+import com.los.config.ConfigStatus;
+import com.los.config.entity.ConfigRelease;
+import com.los.config.entity.ConfigReleaseReplacedVersion;
+import com.los.config.entity.ScreenConfig;
+import com.los.config.entity.ValidationConfig;
+import com.los.dto.config.ConfigReleaseRequest;
+import com.los.exception.ValidationException;
+import com.los.repository.ConfigReleaseRepository;
+import com.los.repository.ScreenConfigRepository;
+import com.los.repository.ValidationConfigRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests for release bundles: all configs of a release are activated together or not at all,
+ * and a rollback restores every version the release replaced.
+ */
+@SpringBootTest(properties = {
+        "runtime.db.backend=jdbc",
+        "spring.datasource.url=jdbc:h2:mem:los-service-test;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "runtime.warmup.enabled=false",
+        "runtime.request-timing.log-requests=false"
+})
+class ConfigReleaseServiceTest {
+
+    private static final String PRODUCT_CODE = "ENTREPRENEURIAL";
+    private static final String PARTNER_CODE = "SAMASTA";
+
+    @Autowired
+    private ConfigReleaseService configReleaseService;
+
+    @Autowired
+    private ConfigReleaseRepository configReleaseRepository;
+
+    @Autowired
+    private ScreenConfigRepository screenConfigRepository;
+
+    @Autowired
+    private ValidationConfigRepository validationConfigRepository;
+
+    @Test
+    void testReleaseAndRollbackRestoreEveryReplacedVersion() {
+        // Given: A scope with two ACTIVE screen versions (e.g. from an import) and a new DRAFT
+        String screenId = "release-" + System.nanoTime();
+        Long firstActive = saveScreen(screenId, 1, ConfigStatus.ACTIVE);
+        Long secondActive = saveScreen(screenId, 2, ConfigStatus.ACTIVE);
+        Long draft = saveScreen(screenId, 3, ConfigStatus.DRAFT);
+        Long validationDraft = saveValidation(screenId, ConfigStatus.DRAFT);
+
+        // When: Releasing the DRAFTs
+        ConfigRelease release = configReleaseService.activateRelease(request(draft, validationDraft));
+
+        // Then: Both previous versions are deprecated and recorded
+        assertEquals(ConfigStatus.ACTIVE.name(), screenStatus(draft));
+        assertEquals(ConfigStatus.ACTIVE.name(), validationStatus(validationDraft));
+        assertEquals(ConfigStatus.DEPRECATED.name(), screenStatus(firstActive));
+        assertEquals(ConfigStatus.DEPRECATED.name(), screenStatus(secondActive));
+        assertEquals(Set.of(new ConfigReleaseReplacedVersion("screen", firstActive),
+                        new ConfigReleaseReplacedVersion("screen", secondActive)),
+                configReleaseRepository.findById(release.getReleaseId()).orElseThrow().getReplacedVersions());
+
+        // When: Rolling the release back
+        configReleaseService.rollbackRelease(release.getReleaseId(), "test");
+
+        // Then: The released configs are INACTIVE and both replaced versions ACTIVE again
+        assertEquals(ConfigStatus.INACTIVE.name(), screenStatus(draft));
+        assertEquals(ConfigStatus.INACTIVE.name(), validationStatus(validationDraft));
+        assertEquals(ConfigStatus.ACTIVE.name(), screenStatus(firstActive));
+        assertEquals(ConfigStatus.ACTIVE.name(), screenStatus(secondActive));
+    }
+
+    @Test
+    void testReleaseWithNonDraftConfigChangesNothing() {
+        // Given: A DRAFT screen with an ACTIVE predecessor, and a validation that is not DRAFT
+        String screenId = "release-invalid-" + System.nanoTime();
+        Long active = saveScreen(screenId, 1, ConfigStatus.ACTIVE);
+        Long draft = saveScreen(screenId, 2, ConfigStatus.DRAFT);
+        Long inactiveValidation = saveValidation(screenId, ConfigStatus.INACTIVE);
+        long releases = configReleaseRepository.count();
+
+        // When
+        ValidationException error = assertThrows(ValidationException.class,
+                () -> configReleaseService.activateRelease(request(draft, inactiveValidation)));
+
+        // Then: The release is refused as a whole
+        assertEquals("INVALID_STATUS", error.getErrors().get(0).getCode());
+        assertEquals(ConfigStatus.DRAFT.name(), screenStatus(draft));
+        assertEquals(ConfigStatus.ACTIVE.name(), screenStatus(active));
+        assertEquals(releases, configReleaseRepository.count());
+    }
+
+    @Test
+    void testRollbackRefusedAfterLaterActivation() {
+        // Given: A released screen that a later release replaced
+        String screenId = "release-superseded-" + System.nanoTime();
+        Long original = saveScreen(screenId, 1, ConfigStatus.ACTIVE);
+        Long released = saveScreen(screenId, 2, ConfigStatus.DRAFT);
+        ConfigRelease release = configReleaseService.activateRelease(request(released, null));
+        Long later = saveScreen(screenId, 3, ConfigStatus.DRAFT);
+        configReleaseService.activateRelease(request(later, null));
+
+        // When
+        ValidationException error = assertThrows(ValidationException.class,
+                () -> configReleaseService.rollbackRelease(release.getReleaseId(), "test"));
+
+        // Then: Nothing changes
+        assertEquals("SUPERSEDED", error.getErrors().get(0).getCode());
+        assertEquals(ConfigStatus.ACTIVE.name(), screenStatus(later));
+        assertEquals(ConfigStatus.DEPRECATED.name(), screenStatus(released));
+        assertEquals(ConfigStatus.DEPRECATED.name(), screenStatus(original));
+    }
+
+    private static ConfigReleaseRequest request(Long screenConfigId, Long validationConfigId) {
+        return ConfigReleaseRequest.builder()
+                .name("test-release")
+                .createdBy("test")
+                .screenConfigIds(List.of(screenConfigId))
+                .validationConfigIds(validationConfigId != null ? List.of(validationConfigId) : List.of())
+                .build();
+    }
+
+    private Long saveScreen(String screenId, int version, ConfigStatus status) {
+        return screenConfigRepository.save(ScreenConfig.builder()
+                .screenId(screenId)
+                .productCode(PRODUCT_CODE)
+                .partnerCode(PARTNER_CODE)
+                .version(version)
+                .status(status.name())
+                .uiConfig(Map.of("title", screenId, "fields", List.of()))
+                .createdBy("test")
+                .build()).getConfigId();
+    }
+
+    private Long saveValidation(String screenId, ConfigStatus status) {
+        return validationConfigRepository.save(ValidationConfig.builder()
+                .screenId(screenId)
+                .productCode(PRODUCT_CODE)
+                .partnerCode(PARTNER_CODE)
+                .version(1)
+                .status(status.name())
+                .validationRules(Map.of("fields", Map.of("name", Map.of("required", true))))
+                .createdBy("test")
+                .build()).getConfigId();
+    }
+
+    private String screenStatus(Long configId) {
+        return screenConfigRepository.findById(configId).orElseThrow().getStatus();
+    }
+
+    private String validationStatus(Long configId) {
+        return validationConfigRepository.findById(configId).orElseThrow().getStatus();
+    }
+}
@@ -0,0 +1,159 @@
+package com.los.service;
+
+import com.los.config.ConfigStatus;
+import com.los.config.entity.FlowConfig;
+import com.los.config.entity.FlowRollout;
+import com.los.exception.ValidationException;
+import com.los.metrics.RuntimeMetrics;
+import com.los.repository.FlowConfigRepository;
+import com.los.repository.FlowRolloutRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for FlowRolloutService cohort assignment.
+ * Tests FNV-1a bucket stability and bounds, and the percentage thresholds.
+ */
+class FlowRolloutServiceTest {
+
+    private static final String FLOW_ID = "onboarding";
+    private static final int KEYS = 10_000;
+
+    private FlowRolloutRepository flowRolloutRepository;
+    private FlowConfigRepository flowConfigRepository;
+    private FlowRolloutService service;
+
+    private final FlowConfig active = FlowConfig.builder()
+            .configId(1L).flowId(FLOW_ID).status(ConfigStatus.ACTIVE.name()).build();
+    private final FlowConfig candidate = FlowConfig.builder()
+            .configId(2L).flowId(FLOW_ID).status(ConfigStatus.DRAFT.name()).build();
+
+    @BeforeEach
+    void setUp() {
+        flowRolloutRepository = mock(FlowRolloutRepository.class);
+        flowConfigRepository = mock(FlowConfigRepository.class);
+        service = new FlowRolloutService(flowRolloutRepository, flowConfigRepository,
+                mock(ConfigActivationService.class), mock(PlatformTransactionManager.class), mock(RuntimeMetrics.class));
+    }
+
+    @Test
+    void testBucket_KnownFnv1aValue() {
+        // Given / When / Then: Pinned so a change to the hash does not silently reshuffle cohorts
+        assertEquals(1940, FlowRolloutService.bucket(1L, "agent-42"));
+    }
+
+    @Test
+    void testBucket_StableAndWithinBounds() {
+        for (int i = 0; i < KEYS; i++) {
+            // When
+            int bucket = FlowRolloutService.bucket(7L, "key-" + i);
+
+            // Then: Same key, same bucket; always in 0-9999
+            assertEquals(bucket, FlowRolloutService.bucket(7L, "key-" + i));
+            assertTrue(bucket >= 0 && bucket < 10_000, "bucket out of range: " + bucket);
+        }
+    }
+
+    @Test
+    void testBucket_SaltedByRolloutId() {
+        // When: The same keys bucketed for two rollouts
+        long same = 0;
+        for (int i = 0; i < KEYS; i++) {
+            if (FlowRolloutService.bucket(1L, "key-" + i) == FlowRolloutService.bucket(2L, "key-" + i)) {
+                same++;
+            }
+        }
+
+        // Then: Cohorts are independent rather than identical
+        assertTrue(same < KEYS / 100, "buckets repeat across rollouts: " + same);
+    }
+
+    @Test
+    void testPercentageBounds_ZeroAndHundred() {
+        // Given / When / Then: 0% never serves the candidate, 100% always does
+        runningAt(0);
+        assertEquals(0, canaryCount());
+        runningAt(100);
+        assertEquals(KEYS, canaryCount());
+    }
+
+    @Test
+    void testPercentage_ShareIsCloseToRequested() {
+        // Given
+        runningAt(25);
+
+        // When
+        int canaries = canaryCount();
+
+        // Then: Within 2 percentage points of 25% over 10,000 keys
+        assertTrue(Math.abs(canaries - KEYS / 4) < KEYS / 50, "canary share off: " + canaries);
+    }
+
+    @Test
+    void testPercentage_RaisingKeepsExistingCohort() {
+        // Given: Keys in the 10% cohort
+        runningAt(10);
+        List<String> cohort = new ArrayList<>();
+        for (int i = 0; i < KEYS; i++) {
+            if (service.candidateFor(active, null, null, null, "key-" + i) != null) {
+                cohort.add("key-" + i);
+            }
+        }
+
+        // When
+        runningAt(50);
+
+        // Then: Nobody moves back to the ACTIVE version
+        assertFalse(cohort.isEmpty());
+        for (String key : cohort) {
+            assertSame(candidate, service.candidateFor(active, null, null, null, key));
+        }
+    }
+
+    @Test
+    void testNoRolloutKeyGetsActiveVersion() {
+        runningAt(100);
+        assertNull(service.candidateFor(active, null, null, null, null));
+    }
+
+    @Test
+    void testUpdatePercentage_RejectsOutOfRange() {
+        // When / Then
+        ValidationException low = assertThrows(ValidationException.class, () -> service.updatePercentage(1L, -1));
+        ValidationException high = assertThrows(ValidationException.class, () -> service.updatePercentage(1L, 101));
+        assertEquals("OUT_OF_RANGE", low.getErrors().get(0).getCode());
+        assertEquals("OUT_OF_RANGE", high.getErrors().get(0).getCode());
+        verifyNoInteractions(flowRolloutRepository);
+    }
+
+    private void runningAt(int percentage) {
+        FlowRollout rollout = FlowRollout.builder()
+                .rolloutId(7L)
+                .flowConfigId(candidate.getConfigId())
+                .flowId(FLOW_ID)
+                .percentage(percentage)
+                .status(FlowRollout.STATUS_RUNNING)
+                .build();
+        when(flowRolloutRepository.findByStatus(FlowRollout.STATUS_RUNNING)).thenReturn(List.of(rollout));
+        when(flowConfigRepository.findAllById(any())).thenReturn(List.of(candidate));
+        service.reload();
+    }
+
+    private int canaryCount() {
+        int canaries = 0;
+        for (int i = 0; i < KEYS; i++) {
+            if (service.candidateFor(active, null, null, null, "key-" + i) != null) {
+                canaries++;
+            }
+        }
+        return canaries;
+    }
+}
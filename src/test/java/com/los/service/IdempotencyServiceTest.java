@@ -0,0 +1,149 @@
+package com.los.service;
+
+import com.los.dto.runtime.NextScreenRequest;
+import com.los.dto.runtime.NextScreenResponse;
+import com.los.exception.ConcurrentRequestException;
+import com.los.exception.ValidationException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for idempotency keys: reservation, replay of the stored response, a key reused for
+ * another request, and a duplicate arriving while the original is in flight.
+ */
+@SpringBootTest(properties = {
+        "runtime.db.backend=jdbc",
+        "spring.datasource.url=jdbc:h2:mem:los-service-test;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "runtime.warmup.enabled=false",
+        "runtime.request-timing.log-requests=false"
+})
+class IdempotencyServiceTest {
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void testCompletedKeyReplaysStoredResponse() {
+        // Given: A key reserved and answered in the same transaction
+        String key = "replay-" + System.nanoTime();
+        String hash = idempotencyService.hashRequest(request("Ravi"));
+        transactionTemplate.executeWithoutResult(status -> {
+            idempotencyService.reserve(key, 1L, hash);
+            idempotencyService.complete(key, NextScreenResponse.builder()
+                    .applicationId(1L).nextScreenId("address").status("IN_PROGRESS").build());
+        });
+
+        // When
+        Optional<NextScreenResponse> replay = idempotencyService.findStoredResponse(key, hash);
+
+        // Then
+        assertTrue(replay.isPresent());
+        assertEquals(1L, replay.get().getApplicationId());
+        assertEquals("address", replay.get().getNextScreenId());
+    }
+
+    @Test
+    void testFailedRequestLeavesNoReservation() {
+        // Given: The state change fails after the key was reserved
+        String key = "rolled-back-" + System.nanoTime();
+        String hash = idempotencyService.hashRequest(request("Ravi"));
+        assertThrows(IllegalStateException.class, () -> transactionTemplate.executeWithoutResult(status -> {
+            idempotencyService.reserve(key, 1L, hash);
+            throw new IllegalStateException("rendering failed");
+        }));
+
+        // When / Then: The retry runs normally instead of waiting on the key
+        assertTrue(idempotencyService.findStoredResponse(key, hash).isEmpty());
+        assertDoesNotThrow(() -> reserve(key, hash));
+    }
+
+    @Test
+    void testCompleteRequiresReservingTransaction() {
+        // When / Then: Outside the write transaction, or without a reservation, nothing is stored
+        NextScreenResponse response = NextScreenResponse.builder().applicationId(1L).build();
+        String key = "unreserved-" + System.nanoTime();
+        assertThrows(RuntimeException.class, () -> idempotencyService.complete(key, response));
+        assertThrows(IllegalStateException.class, () -> transactionTemplate.executeWithoutResult(
+                status -> idempotencyService.complete(key, response)));
+    }
+
+    @Test
+    void testUnusedKeyHasNoStoredResponse() {
+        assertTrue(idempotencyService.findStoredResponse("unused-" + System.nanoTime(), "hash").isEmpty());
+    }
+
+    @Test
+    void testKeyReusedForDifferentRequestIsRejected() {
+        // Given
+        String key = "reused-" + System.nanoTime();
+        reserve(key, idempotencyService.hashRequest(request("Ravi")));
+        String otherHash = idempotencyService.hashRequest(request("Sita"));
+
+        // When / Then
+        ValidationException ex = assertThrows(ValidationException.class,
+                () -> idempotencyService.findStoredResponse(key, otherHash));
+        assertEquals("IDEMPOTENCY_KEY_REUSED", ex.getErrors().get(0).getCode());
+    }
+
+    @Test
+    void testUnansweredReservationIsReclaimed() {
+        // Given: A reservation committed without its response (written before responses were
+        // stored in the reserving transaction)
+        String key = "abandoned-" + System.nanoTime();
+        String hash = idempotencyService.hashRequest(request("Ravi"));
+        reserve(key, hash);
+
+        // When
+        Optional<NextScreenResponse> stored = idempotencyService.findStoredResponse(key, hash);
+
+        // Then: Treated as unused, so the retry can reserve it again
+        assertTrue(stored.isEmpty());
+        assertDoesNotThrow(() -> reserve(key, hash));
+    }
+
+    @Test
+    void testSecondReservationIsConcurrentRequest() {
+        // Given
+        String key = "duplicate-" + System.nanoTime();
+        String hash = idempotencyService.hashRequest(request("Ravi"));
+        reserve(key, hash);
+
+        // When / Then
+        assertThrows(ConcurrentRequestException.class, () -> reserve(key, hash));
+    }
+
+    @Test
+    void testHashIgnoresPrefetchHints() {
+        // Given: The same submission with and without prefetch hints
+        NextScreenRequest plain = request("Ravi");
+        NextScreenRequest withHints = request("Ravi");
+        withHints.setPrefetchHops(2);
+        withHints.setKnownScreenETags(Map.of("address", "etag-1"));
+
+        // When / Then
+        assertEquals(idempotencyService.hashRequest(plain), idempotencyService.hashRequest(withHints));
+        assertNotEquals(idempotencyService.hashRequest(plain), idempotencyService.hashRequest(request("Sita")));
+    }
+
+    private void reserve(String key, String hash) {
+        transactionTemplate.executeWithoutResult(status -> idempotencyService.reserve(key, 1L, hash));
+    }
+
+    private NextScreenRequest request(String firstName) {
+        return NextScreenRequest.builder()
+                .applicationId(1L)
+                .currentScreenId("personal-info")
+                .formData(Map.of("firstName", firstName))
+                .build();
+    }
+}
@@ -0,0 +1,129 @@
+package com.los.service;
+
+import com.los.dto.masterdata.BranchDTO;
+import com.los.dto.masterdata.MasterDataResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for branch delta sync: changed and deactivated branches since a version, the fallback
+ * for a version ahead of the server, and which delta responses are cached.
+ */
+@SpringBootTest(properties = {
+        "runtime.db.backend=jdbc",
+        "spring.datasource.url=jdbc:h2:mem:los-service-test;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "runtime.warmup.enabled=false",
+        "runtime.request-timing.log-requests=false"
+})
+class MasterDataServiceTest {
+
+    private static final String PARTNER_CODE = "SAMASTA";
+
+    @Autowired
+    private MasterDataService masterDataService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("MERGE INTO partners (partner_code, partner_name, is_active) KEY (partner_code) VALUES (?, ?, TRUE)",
+                PARTNER_CODE, "Master Data Test Partner");
+        cache().clear();
+    }
+
+    @Test
+    void testDeltaReturnsChangedAndRemovedBranches() {
+        // Given: A client at the current version, then one branch added and one deactivated
+        long clientVersion = masterDataService.getAllMasterData().getVersion();
+        long changedAt = clientVersion + 60_000;
+        String added = "ADDED-" + System.nanoTime();
+        String removed = "REMOVED-" + System.nanoTime();
+        saveBranch(added, true, changedAt);
+        saveBranch(removed, false, changedAt);
+        cache().clear();
+
+        // When
+        MasterDataResponse delta = masterDataService.getMasterDataSince(clientVersion).orElseThrow();
+
+        // Then: The changes since the client's version, at the new version
+        assertTrue(delta.getDelta());
+        assertEquals(changedAt, delta.getVersion());
+        List<String> branchCodes = delta.getBranches().stream().map(BranchDTO::getCode).toList();
+        assertTrue(branchCodes.contains(added));
+        assertFalse(branchCodes.contains(removed));
+        assertTrue(delta.getRemovedBranchCodes().contains(removed));
+        assertFalse(delta.getRemovedBranchCodes().contains(added));
+        assertFalse(delta.getPartners().isEmpty());
+    }
+
+    @Test
+    void testDeltaForOlderVersionIsNotCached() {
+        // Given: A branch changed after the client's version
+        long clientVersion = masterDataService.getAllMasterData().getVersion();
+        saveBranch("OLDER-" + System.nanoTime(), true, clientVersion + 60_000);
+        cache().clear();
+
+        // When
+        masterDataService.getMasterDataSince(clientVersion);
+
+        // Then: Every stale version would otherwise get its own entry
+        assertNull(cache().get("since:" + clientVersion));
+    }
+
+    @Test
+    void testDeltaForCurrentVersionIsCached() {
+        // Given: A client already at the current version
+        long current = masterDataService.getAllMasterData().getVersion();
+
+        // When
+        MasterDataResponse first = masterDataService.getMasterDataSince(current).orElseThrow();
+        MasterDataResponse second = masterDataService.getMasterDataSince(current).orElseThrow();
+
+        // Then
+        assertEquals(current, first.getVersion());
+        assertNotNull(cache().get("since:" + current));
+        assertSame(first, second);
+    }
+
+    @Test
+    void testVersionAheadOfServerFallsBackToFullResponse() {
+        // Given: A client version beyond the latest branch update (e.g. after a restore)
+        long current = masterDataService.getAllMasterData().getVersion();
+        long ahead = current + 3_600_000;
+
+        // When
+        Optional<MasterDataResponse> delta = masterDataService.getMasterDataSince(ahead);
+
+        // Then: No delta and nothing cached; the full response stays under 'all'
+        assertTrue(delta.isEmpty());
+        assertNull(cache().get("since:" + ahead));
+        assertNotNull(cache().get("all"));
+    }
+
+    private void saveBranch(String code, boolean active, long updatedAt) {
+        LocalDateTime timestamp = LocalDateTime.ofEpochSecond(updatedAt / 1000,
+                (int) (updatedAt % 1000) * 1_000_000, ZoneOffset.UTC);
+        jdbcTemplate.update("INSERT INTO branches (branch_code, branch_name, partner_code, is_active, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?)", code, code + " Branch", PARTNER_CODE, active, timestamp, timestamp);
+    }
+
+    private Cache cache() {
+        return cacheManager.getCache(MasterDataService.CACHE_NAME);
+    }
+}
@@ -0,0 +1,122 @@
+package com.los.service;
+
+import com.los.dto.runtime.NextScreenRequest;
+import com.los.dto.runtime.NextScreenResponse;
+import com.los.dto.runtime.ValidationErrorResponse;
+import com.los.exception.ConcurrentRequestException;
+import com.los.exception.ValidationException;
+import com.los.flow.FlowEngine;
+import com.los.metrics.RuntimeMetrics;
+import com.los.repository.LoanApplicationRepository;
+import com.los.security.ResumeTokenService;
+import com.los.validation.ValidationEngine;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the retry loop of RuntimeOrchestrationService.processNextScreen.
+ * Conflicts are driven through the idempotency lookup, which runs first on every attempt.
+ */
+class RuntimeOrchestrationServiceTest {
+
+    private static final String KEY = "key-1";
+    private static final String HASH = "hash-1";
+
+    private IdempotencyService idempotencyService;
+    private RuntimeOrchestrationService service;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyService = mock(IdempotencyService.class);
+        when(idempotencyService.hashRequest(any())).thenReturn(HASH);
+
+        service = new RuntimeOrchestrationService(
+                mock(LoanApplicationRepository.class), mock(ValidationEngine.class), mock(FlowEngine.class),
+                mock(ConfigResolutionService.class), mock(FileUploadService.class),
+                mock(RuntimePersistenceService.class), mock(ResumeTokenService.class), idempotencyService,
+                mock(PlatformTransactionManager.class), mock(MeterRegistry.class), mock(RuntimeMetrics.class));
+        ReflectionTestUtils.setField(service, "stateUpdateMaxAttempts", 3);
+        ReflectionTestUtils.setField(service, "stateUpdateBackoffMs", 1L);
+    }
+
+    @Test
+    void testDuplicateRequestIsAnsweredFromStoredResponse() {
+        // Given: The key already holds a completed response
+        NextScreenResponse stored = NextScreenResponse.builder().applicationId(7L).nextScreenId("address").build();
+        when(idempotencyService.findStoredResponse(KEY, HASH)).thenReturn(Optional.of(stored));
+
+        // When
+        NextScreenResponse response = service.processNextScreen(request());
+
+        // Then: Replayed without running the pipeline again
+        assertSame(stored, response);
+        verify(idempotencyService, never()).complete(any(), any());
+    }
+
+    @Test
+    void testConflictIsRetriedUntilOriginalCompletes() {
+        // Given: The original request is still in flight for the first two attempts
+        NextScreenResponse stored = NextScreenResponse.builder().applicationId(7L).nextScreenId("address").build();
+        when(idempotencyService.findStoredResponse(KEY, HASH))
+                .thenThrow(new ConcurrentRequestException("in progress"))
+                .thenThrow(new ConcurrentRequestException("in progress"))
+                .thenReturn(Optional.of(stored));
+
+        // When
+        NextScreenResponse response = service.processNextScreen(request());
+
+        // Then
+        assertSame(stored, response);
+        verify(idempotencyService, times(3)).findStoredResponse(KEY, HASH);
+    }
+
+    @Test
+    void testGivesUpAfterMaxAttempts() {
+        // Given: Every attempt conflicts
+        ConcurrentRequestException conflict = new ConcurrentRequestException("in progress");
+        when(idempotencyService.findStoredResponse(KEY, HASH)).thenThrow(conflict);
+
+        // When
+        ConcurrentRequestException ex = assertThrows(ConcurrentRequestException.class,
+                () -> service.processNextScreen(request()));
+
+        // Then: Bounded by max-attempts, reported as a 409 with the last conflict as cause
+        verify(idempotencyService, times(3)).findStoredResponse(KEY, HASH);
+        assertSame(conflict, ex.getCause());
+    }
+
+    @Test
+    void testValidationErrorIsNotRetried() {
+        // Given: The key was used for a different request
+        when(idempotencyService.findStoredResponse(KEY, HASH)).thenThrow(new ValidationException(List.of(
+                ValidationErrorResponse.FieldError.builder()
+                        .fieldId("idempotencyKey")
+                        .code("IDEMPOTENCY_KEY_REUSED")
+                        .message("reused")
+                        .build())));
+
+        // When / Then
+        assertThrows(ValidationException.class, () -> service.processNextScreen(request()));
+        verify(idempotencyService, times(1)).findStoredResponse(KEY, HASH);
+    }
+
+    private NextScreenRequest request() {
+        return NextScreenRequest.builder()
+                .applicationId(7L)
+                .currentScreenId("personal-info")
+                .idempotencyKey(KEY)
+                .formData(Map.of("firstName", "Ravi"))
+                .build();
+    }
+}
@@ -0,0 +1,74 @@
+package com.los.service;
+
+import com.los.domain.ScreenSubmission;
+import com.los.exception.ConcurrentRequestException;
+import com.los.repository.ScreenSubmissionRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ScreenSubmissionService.
+ * Tests seq assignment and how a lost seq race is reported.
+ */
+class ScreenSubmissionServiceTest {
+
+    private ScreenSubmissionRepository repository;
+    private ScreenSubmissionService service;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(ScreenSubmissionRepository.class);
+        service = new ScreenSubmissionService(repository, mock(EntityManager.class), true, true, 1024);
+    }
+
+    @Test
+    void testAppend_AssignsNextSeq() {
+        // Given: Two submissions already recorded for the screen
+        when(repository.findMaxSeq(1L, "personal-info")).thenReturn(2);
+
+        // When
+        Integer seq = service.append(1L, "personal-info", Map.of("firstName", "Ravi"));
+
+        // Then
+        ArgumentCaptor<ScreenSubmission> saved = ArgumentCaptor.forClass(ScreenSubmission.class);
+        verify(repository).saveAndFlush(saved.capture());
+        assertEquals(3, seq);
+        assertEquals(3, saved.getValue().getSeq());
+    }
+
+    @Test
+    void testAppend_SeqCollisionIsReportedAsConcurrentRequest() {
+        // Given: A concurrent submission already inserted the same seq
+        when(repository.findMaxSeq(1L, "personal-info")).thenReturn(0);
+        when(repository.saveAndFlush(any(ScreenSubmission.class)))
+                .thenThrow(new DataIntegrityViolationException("uk_screen_submissions_seq"));
+
+        // When / Then: Retryable conflict rather than a raw constraint violation
+        ConcurrentRequestException ex = assertThrows(ConcurrentRequestException.class,
+                () -> service.append(1L, "personal-info", Map.of("firstName", "Ravi")));
+        assertInstanceOf(DataIntegrityViolationException.class, ex.getCause());
+    }
+
+    @Test
+    void testAppend_DisabledLogWritesNothing() {
+        // Given
+        ScreenSubmissionService disabled = new ScreenSubmissionService(
+                repository, mock(EntityManager.class), false, true, 1024);
+
+        // When
+        Integer seq = disabled.append(1L, "personal-info", Map.of());
+
+        // Then
+        assertNull(seq);
+        verifyNoInteractions(repository);
+    }
+}
@@ -0,0 +1,78 @@
+package com.los.service.submission;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SubmissionPayloadCodec.
+ * Tests round-trips for both plain and compressed encodings.
+ */
+class SubmissionPayloadCodecTest {
+
+    @Test
+    void testRoundTrip_SmallPayloadIsNotCompressed() {
+        // Given: Payload below the compression threshold
+        SubmissionPayloadCodec codec = new SubmissionPayloadCodec(true, 1024);
+        Map<String, Object> formData = Map.of("firstName", "Ravi", "loanAmount", 50000, "consent", true);
+
+        // When
+        SubmissionPayloadCodec.EncodedPayload encoded = codec.encode(formData);
+
+        // Then: Stored as plain Smile and decodes to the same data
+        assertEquals(SubmissionPayloadCodec.ENCODING_SMILE, encoded.getEncoding());
+        assertEquals(encoded.getBytes().length, encoded.getUncompressedSize());
+        assertEquals(formData, codec.decode(encoded.getEncoding(), encoded.getBytes()));
+    }
+
+    @Test
+    void testRoundTrip_LargePayloadIsCompressed() {
+        // Given: Payload above the compression threshold
+        SubmissionPayloadCodec codec = new SubmissionPayloadCodec(true, 64);
+        Map<String, Object> formData = new HashMap<>();
+        for (int i = 0; i < 50; i++) {
+            formData.put("field" + i, "value-" + i);
+        }
+        formData.put("members", List.of(Map.of("name", "A"), Map.of("name", "B")));
+
+        // When
+        SubmissionPayloadCodec.EncodedPayload encoded = codec.encode(formData);
+
+        // Then: Stored compressed and decodes to the same data
+        assertEquals(SubmissionPayloadCodec.ENCODING_SMILE_GZIP, encoded.getEncoding());
+        assertTrue(encoded.getBytes().length < encoded.getUncompressedSize());
+        assertEquals(formData, codec.decode(encoded.getEncoding(), encoded.getBytes()));
+    }
+
+    @Test
+    void testEncode_CompressionDisabled() {
+        // Given: Compression disabled
+        SubmissionPayloadCodec codec = new SubmissionPayloadCodec(false, 0);
+
+        // When
+        SubmissionPayloadCodec.EncodedPayload encoded = codec.encode(Map.of("a", "b"));
+
+        // Then
+        assertEquals(SubmissionPayloadCodec.ENCODING_SMILE, encoded.getEncoding());
+    }
+
+    @Test
+    void testEncode_NullFormDataEncodesEmptyMap() {
+        SubmissionPayloadCodec codec = new SubmissionPayloadCodec(true, 1024);
+
+        SubmissionPayloadCodec.EncodedPayload encoded = codec.encode(null);
+
+        assertTrue(codec.decode(encoded.getEncoding(), encoded.getBytes()).isEmpty());
+    }
+
+    @Test
+    void testDecode_UnknownEncodingRejected() {
+        SubmissionPayloadCodec codec = new SubmissionPayloadCodec(true, 1024);
+
+        assertThrows(IllegalArgumentException.class, () -> codec.decode("XML", new byte[0]));
+    }
+}